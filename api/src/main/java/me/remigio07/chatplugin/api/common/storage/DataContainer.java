@@ -126,7 +126,7 @@ public Path getFlatFile() {
 		StorageMethod method = StorageManager.getInstance().getMethod();
 		
 		if (method.isFlatFile())
-			return StorageManager.getInstance().getFolder().resolve(getName() + (method == StorageMethod.YAML ? ".yml" : ".json"));
+			return StorageManager.getInstance().getFolder().resolve(getName() + (method == StorageMethod.YAML ? ".yml" : method == StorageMethod.JOURNAL ? ".journal" : ".json"));
 		throw new UnsupportedOperationException("Unable to obtain a data container's file when using " + method.getName() + " as storage method.");
 	}
 	
@@ -0,0 +1,102 @@
+/*
+ * 	ChatPlugin - A feature-rich and modular chat ecosystem, lightweight and efficient by design.
+ * 	Copyright 2025  Remigio07
+ * 	
+ * 	This program is distributed in the hope that it will be useful,
+ * 	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * 	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * 	GNU Affero General Public License for more details.
+ * 	
+ * 	You should have received a copy of the GNU Affero General Public License
+ * 	along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ * 	
+ * 	<https://remigio07.me/chatplugin>
+ */
+
+package me.remigio07.chatplugin.api.common.storage;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import me.remigio07.chatplugin.api.common.player.OfflinePlayer;
+import me.remigio07.chatplugin.api.common.util.annotation.NotNull;
+import me.remigio07.chatplugin.api.common.util.annotation.Nullable;
+
+/**
+ * Represents a player's row in {@link DataContainer#PLAYERS}
+ * along with their IP addresses' history, read all at once.
+ * 
+ * <p>Profiles are snapshots: changes made to the storage after
+ * {@link StorageConnector#getPlayerProfile(OfflinePlayer)} are not reflected.</p>
+ * 
+ * @see StorageConnector#getPlayerProfile(OfflinePlayer)
+ */
+public class PlayerProfile {
+	
+	private Map<PlayersDataType<?>, Object> data;
+	private List<String> ipAddresses;
+	
+	/**
+	 * Constructs a new player profile.
+	 * 
+	 * <p>Types missing from <code>data</code> are considered missing from the storage,
+	 * i.e. their column has not been created yet; <code>null</code> values are SQL <code>NULL</code>.</p>
+	 * 
+	 * @param data Profile's data, already converted to each type's class
+	 * @param ipAddresses Player's IP addresses' history
+	 */
+	public PlayerProfile(Map<PlayersDataType<?>, Object> data, List<String> ipAddresses) {
+		this.data = data;
+		this.ipAddresses = Collections.unmodifiableList(ipAddresses);
+	}
+	
+	/**
+	 * Gets the specified type's value in this profile.
+	 * 
+	 * @param <T> Data's type
+	 * @param type Data's type
+	 * @return Stored data
+	 */
+	@SuppressWarnings("unchecked")
+	@Nullable(why = "Stored data may be SQL NULL")
+	public <T> T get(PlayersDataType<T> type) {
+		return (T) data.get(type);
+	}
+	
+	/**
+	 * Checks if the storage contains the specified type's column.
+	 * 
+	 * <p>It may be missing if the storage has been created by older ChatPlugin versions.</p>
+	 * 
+	 * @param type Data's type
+	 * @return Whether the column is stored
+	 */
+	public boolean contains(PlayersDataType<?> type) {
+		return data.containsKey(type);
+	}
+	
+	/**
+	 * Gets this profile's player's ID.
+	 * 
+	 * @return Player's ID
+	 * @see PlayersDataType#ID
+	 */
+	public int getID() {
+		return get(PlayersDataType.ID);
+	}
+	
+	/**
+	 * Gets this profile's player's IP addresses' history
+	 * stored in {@link DataContainer#IP_ADDRESSES}.
+	 * 
+	 * <p>Will return an empty list if no older IP addresses are stored.</p>
+	 * 
+	 * @return Player's IP addresses' history
+	 */
+	@NotNull
+	public List<String> getIPAddresses() {
+		return ipAddresses;
+	}
+	
+}
@@ -18,9 +18,14 @@
 import java.io.IOException;
 import java.net.InetAddress;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import me.remigio07.chatplugin.api.ChatPlugin;
 import me.remigio07.chatplugin.api.common.player.OfflinePlayer;
@@ -29,8 +34,10 @@
 import me.remigio07.chatplugin.api.common.punishment.mute.Mute;
 import me.remigio07.chatplugin.api.common.punishment.warning.Warning;
 import me.remigio07.chatplugin.api.common.punishment.warning.WarningManager;
+import me.remigio07.chatplugin.api.common.storage.StorageExecutor.StorageTask;
 import me.remigio07.chatplugin.api.common.storage.database.DatabaseConnector;
 import me.remigio07.chatplugin.api.common.storage.flat_file.FlatFileConnector;
+import me.remigio07.chatplugin.api.common.util.Utils;
 import me.remigio07.chatplugin.api.common.util.annotation.NotNull;
 import me.remigio07.chatplugin.api.common.util.annotation.Nullable;
 import me.remigio07.chatplugin.api.common.util.manager.ChatPluginManagerException;
@@ -63,10 +70,27 @@ public abstract class StorageConnector {
 	 * and ChatPlugin has not finished loading yet
 	 */
 	public void incrementPlayerStat(PlayersDataType<? extends Number> type, OfflinePlayer player) throws SQLException, IOException {
+		incrementPlayerStat(type, player, 1);
+	}
+	
+	/**
+	 * Increments a player's statistic in the storage by the specified amount.
+	 * 
+	 * @param type Data's type
+	 * @param player Player to set data for
+	 * @param amount Amount to add
+	 * @throws SQLException If something goes wrong and {@link StorageMethod#isDatabase()}
+	 * @throws IOException If something goes wrong and {@link StorageMethod#isFlatFile()}
+	 * @throws IllegalArgumentException If <code>type</code> is not one of the following: {@link PlayersDataType#MESSAGES_SENT MESSAGES_SENT}, {@link PlayersDataType#ANTISPAM_INFRACTIONS ANTISPAM_INFRACTIONS},
+	 * {@link PlayersDataType#BANS BANS}, {@link PlayersDataType#WARNINGS WARNINGS}, {@link PlayersDataType#KICKS KICKS}, {@link PlayersDataType#MUTES MUTES}
+	 * @throws IllegalStateException If <code>!</code>{@link Environment#isProxy()}
+	 * and ChatPlugin has not finished loading yet
+	 */
+	public void incrementPlayerStat(PlayersDataType<? extends Number> type, OfflinePlayer player, int amount) throws SQLException, IOException {
 		if (type.ordinal() > PlayersDataType.MESSAGES_SENT.ordinal() - 1) {
 			Number stat = getPlayerData(type, player);
 			
-			setPlayerData(type, player, stat == null ? 0 : ((stat instanceof Short ? stat.shortValue() : stat.intValue()) + 1));
+			setPlayerData(type, player, stat == null ? amount : ((stat instanceof Short ? stat.shortValue() : stat.intValue()) + amount));
 		} else throw new IllegalArgumentException("Specified column type does not represent a stat: " + type.name());
 	}
 	
@@ -124,6 +148,34 @@ public OfflinePlayer getPlayer(int playerID) throws SQLException {
 				) : null;
 	}
 	
+	/**
+	 * Gets a player's profile from the storage, which contains all of their
+	 * data in {@link DataContainer#PLAYERS} and their IP addresses' history.
+	 * 
+	 * <p>Will return <code>null</code> if the player is not stored.</p>
+	 * 
+	 * <p>Connectors read the whole profile using a single query or lookup,
+	 * so this is faster than multiple {@link #getPlayerData(PlayersDataType, OfflinePlayer)} calls.</p>
+	 * 
+	 * @param player Player to get the profile for
+	 * @return Player's profile
+	 * @throws SQLException If something goes wrong and {@link StorageMethod#isDatabase()}
+	 * @throws IllegalStateException If <code>!</code>{@link Environment#isProxy()}
+	 * and ChatPlugin has not finished loading yet
+	 */
+	@Nullable(why = "Player may not be stored")
+	public PlayerProfile getPlayerProfile(OfflinePlayer player) throws SQLException {
+		Integer id = getPlayerData(PlayersDataType.ID, player);
+		
+		if (id == null)
+			return null;
+		Map<PlayersDataType<?>, Object> data = new HashMap<>();
+		
+		for (PlayersDataType<?> type : PlayersDataType.values())
+			data.put(type, type == PlayersDataType.ID ? id : getPlayerData(type, id));
+		return new PlayerProfile(data, Utils.getListFromString(select(DataContainer.IP_ADDRESSES, "ip_addresses", String.class, new WhereCondition("player_id", WhereCondition.WhereOperator.EQUAL, id))));
+	}
+	
 	/**
 	 * Disactives all active warnings in the storage for the specified player.
 	 * 
@@ -672,6 +724,173 @@ public static StorageConnector getInstance() {
 	 */
 	public abstract String getEngineVersion() throws SQLException;
 	
+	/**
+	 * Asynchronously selects an object from the storage.
+	 * 
+	 * <p>Runs {@link #select(DataContainer, String, Class, WhereCondition...)} on {@link StorageManager#getExecutor()}.
+	 * Operations on the same container run in the order they are submitted; identical selects submitted while one is
+	 * still queued share its result.</p>
+	 * 
+	 * @param <T> Object's type
+	 * @param container Target container
+	 * @param position Object's position (path or column)
+	 * @param type Object's type
+	 * @param conditions Conditions to respect
+	 * @return Object's future
+	 */
+	public <T> CompletableFuture<T> selectAsync(DataContainer container, String position, Class<T> type, WhereCondition... conditions) {
+		return submit(container, Arrays.asList("select", container, position, type, getConditionsKey(conditions)), () -> select(container, position, type, conditions));
+	}
+	
+	/**
+	 * Asynchronously counts the entries in the storage which respect the specified conditions.
+	 * 
+	 * <p>Runs {@link #count(DataContainer, WhereCondition...)} on {@link StorageManager#getExecutor()}.
+	 * Operations on the same container run in the order they are submitted; identical counts submitted
+	 * while one is still queued share its result.</p>
+	 * 
+	 * @param container Target container
+	 * @param conditions Conditions to respect
+	 * @return Count's future
+	 */
+	public CompletableFuture<Number> countAsync(DataContainer container, WhereCondition... conditions) {
+		return submit(container, Arrays.asList("count", container, getConditionsKey(conditions)), () -> count(container, conditions));
+	}
+	
+	/**
+	 * Asynchronously updates the entries in the storage which respect the specified conditions.
+	 * 
+	 * <p>Runs {@link #update(DataContainer, String, Object, WhereCondition...)} on {@link StorageManager#getExecutor()}.
+	 * Operations on the same container run in the order they are submitted.</p>
+	 * 
+	 * @param container Target container
+	 * @param position Data's position (path or column)
+	 * @param data Data to set
+	 * @param conditions Conditions to respect
+	 * @return Updated entries' future
+	 */
+	public CompletableFuture<Integer> updateAsync(DataContainer container, String position, Object data, WhereCondition... conditions) {
+		return getExecutor().submit(container, () -> update(container, position, data, conditions));
+	}
+	
+	/**
+	 * Asynchronously gets a player's data from the storage.
+	 * 
+	 * <p>Runs {@link #getPlayerData(PlayersDataType, OfflinePlayer)} on {@link StorageManager#getExecutor()}.
+	 * Operations on the same player run in the order they are submitted; identical reads submitted right
+	 * after one which is still queued (i.e. with no other operations on the player in between) share its result.</p>
+	 * 
+	 * @param <T> Data's type
+	 * @param type Data's type
+	 * @param player Player to get data for
+	 * @return Data's future
+	 */
+	public <T> CompletableFuture<T> getPlayerDataAsync(PlayersDataType<T> type, OfflinePlayer player) {
+		return submit(player.getUUID(), Arrays.asList("getPlayerData", type, player.getUUID()), () -> getPlayerData(type, player));
+	}
+	
+	/**
+	 * Asynchronously sets data for a player in the storage.
+	 * 
+	 * <p>Runs {@link #setPlayerData(PlayersDataType, OfflinePlayer, Object)} on {@link StorageManager#getExecutor()}.
+	 * Operations on the same player run in the order they are submitted; if another write of the same type for
+	 * the same player is still queued and no other operations on the player have been submitted after it,
+	 * it is replaced by this one, so only the latest data is written.</p>
+	 * 
+	 * @param type Data's type
+	 * @param player Player to set data for
+	 * @param data Data to set or <code>null</code>
+	 * @return Write's future
+	 */
+	public CompletableFuture<Void> setPlayerDataAsync(PlayersDataType<?> type, OfflinePlayer player, @Nullable(why = "Data will become SQL NULL if null") Object data) {
+		return getExecutor().submit(player.getUUID(), Arrays.asList("setPlayerData", type, player.getUUID()), () -> {
+			setPlayerData(type, player, data);
+			return null;
+		}, (queued, task) -> task);
+	}
+	
+	/**
+	 * Asynchronously increments a player's statistic in the storage by the specified amount.
+	 * 
+	 * <p>Runs {@link #incrementPlayerStat(PlayersDataType, OfflinePlayer, int)} on {@link StorageManager#getExecutor()}.
+	 * Operations on the same player run in the order they are submitted; if another increment of the same stat for
+	 * the same player is still queued and no other operations on the player have been submitted after it,
+	 * the amounts are summed and written at once.</p>
+	 * 
+	 * @param type Data's type
+	 * @param player Player to increment the stat for
+	 * @param amount Amount to add
+	 * @return Increment's future
+	 * @throws IllegalArgumentException If <code>type</code> is not one of the following: {@link PlayersDataType#MESSAGES_SENT MESSAGES_SENT}, {@link PlayersDataType#ANTISPAM_INFRACTIONS ANTISPAM_INFRACTIONS},
+	 * {@link PlayersDataType#BANS BANS}, {@link PlayersDataType#WARNINGS WARNINGS}, {@link PlayersDataType#KICKS KICKS}, {@link PlayersDataType#MUTES MUTES}
+	 */
+	public CompletableFuture<Void> incrementPlayerStatAsync(PlayersDataType<? extends Number> type, OfflinePlayer player, int amount) {
+		if (type.ordinal() < PlayersDataType.MESSAGES_SENT.ordinal())
+			throw new IllegalArgumentException("Specified column type does not represent a stat: " + type.name());
+		return getExecutor().submit(player.getUUID(), Arrays.asList("incrementPlayerStat", type, player.getUUID()), new StatIncrement(type, player, amount), (queued, task) -> new StatIncrement(
+				type,
+				player,
+				((StatIncrement) queued).amount + ((StatIncrement) task).amount
+				));
+	}
+	
+	/**
+	 * Asynchronously inserts a new player in the storage.
+	 * 
+	 * <p>Runs {@link #insertNewPlayer(OfflinePlayer)} on {@link StorageManager#getExecutor()}.
+	 * Operations on the same player run in the order they are submitted; insertions of the
+	 * same player submitted while one is still queued share its result.</p>
+	 * 
+	 * @param player Player to insert
+	 * @return Insertion's future
+	 */
+	public CompletableFuture<Void> insertNewPlayerAsync(OfflinePlayer player) {
+		return submit(player.getUUID(), Arrays.asList("insertNewPlayer", player.getUUID()), () -> {
+			insertNewPlayer(player);
+			return null;
+		});
+	}
+	
+	private <T> CompletableFuture<T> submit(Object orderingKey, Object coalescingKey, StorageTask<T> task) {
+		return getExecutor().submit(orderingKey, coalescingKey, task, null);
+	}
+	
+	private static StorageExecutor getExecutor() {
+		StorageExecutor executor = StorageManager.getInstance().getExecutor();
+		
+		if (executor == null)
+			throw new IllegalStateException("Storage executor has not been loaded yet");
+		return executor;
+	}
+	
+	private static List<Object> getConditionsKey(WhereCondition... conditions) {
+		List<Object> key = new ArrayList<>(conditions.length * 3);
+		
+		for (WhereCondition condition : conditions)
+			key.addAll(Arrays.asList(condition.getFirstTermPosition(), condition.getOperator(), condition.getSecondTermValue()));
+		return key;
+	}
+	
+	private class StatIncrement implements StorageTask<Void> {
+		
+		private PlayersDataType<? extends Number> type;
+		private OfflinePlayer player;
+		private int amount;
+		
+		private StatIncrement(PlayersDataType<? extends Number> type, OfflinePlayer player, int amount) {
+			this.type = type;
+			this.player = player;
+			this.amount = amount;
+		}
+		
+		@Override
+		public Void call() throws Exception {
+			incrementPlayerStat(type, player, amount);
+			return null;
+		}
+		
+	}
+	
 	/**
 	 * Represents a <a href="https://www.w3schools.com/SQl/sql_where.asp"><code>WHERE</code></a> SQL condition.
 	 */
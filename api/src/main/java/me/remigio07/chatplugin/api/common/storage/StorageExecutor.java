@@ -0,0 +1,288 @@
+/*
+ * 	ChatPlugin - A feature-rich and modular chat ecosystem, lightweight and efficient by design.
+ * 	Copyright 2025  Remigio07
+ * 	
+ * 	This program is distributed in the hope that it will be useful,
+ * 	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * 	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * 	GNU Affero General Public License for more details.
+ * 	
+ * 	You should have received a copy of the GNU Affero General Public License
+ * 	along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ * 	
+ * 	<https://remigio07.me/chatplugin>
+ */
+
+package me.remigio07.chatplugin.api.common.storage;
+
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BinaryOperator;
+
+import me.remigio07.chatplugin.api.common.util.annotation.Nullable;
+import me.remigio07.chatplugin.api.common.util.manager.LogManager;
+
+/**
+ * Bounded executor which runs the storage's asynchronous operations.
+ * 
+ * <p>Tasks are distributed among single-threaded lanes by their ordering key: tasks
+ * with the same key (i.e. the same player) always run on the same lane, in the order
+ * they have been submitted. Tasks submitted with the same coalescing key while another
+ * one is still queued are merged into it instead of being queued again, but only if no
+ * other task with the same ordering key has been submitted in the meantime: this way,
+ * coalescing never moves a task before or after the ones submitted between the two.</p>
+ * 
+ * @see StorageManager#getExecutor()
+ */
+public class StorageExecutor {
+	
+	private ThreadPoolExecutor[] lanes;
+	private Map<Object, Task<?>> queued = new ConcurrentHashMap<>(), tails = new ConcurrentHashMap<>();
+	private AtomicInteger nextLane = new AtomicInteger();
+	private AtomicLong completedTasks = new AtomicLong(), coalescedTasks = new AtomicLong(), totalLatency = new AtomicLong();
+	
+	/**
+	 * Constructs a new storage executor.
+	 * 
+	 * <p>Threads are started lazily, when the first task is submitted to their lane.</p>
+	 * 
+	 * @param threads Amount of lanes (one thread each)
+	 * @param queueSize Max amount of tasks queued per lane
+	 */
+	public StorageExecutor(int threads, int queueSize) {
+		lanes = new ThreadPoolExecutor[Math.max(threads, 1)];
+		
+		for (int i = 0; i < lanes.length; i++) {
+			String name = "ChatPlugin Storage Worker #" + (i + 1);
+			
+			lanes[i] = new ThreadPoolExecutor(
+					1,
+					1,
+					0L,
+					TimeUnit.MILLISECONDS,
+					new ArrayBlockingQueue<>(Math.max(queueSize, 1)),
+					runnable -> {
+						Thread thread = new Thread(runnable, name);
+						
+						thread.setDaemon(true);
+						return thread;
+					}
+					);
+		}
+	}
+	
+	/**
+	 * Submits a task to this executor.
+	 * 
+	 * <p>The returned future is completed exceptionally with a {@link RejectedExecutionException}
+	 * if the task's lane's queue is full or if this executor has been shut down.</p>
+	 * 
+	 * @param <T> Task's result's type
+	 * @param orderingKey Task's ordering key, or <code>null</code> if the task may run on any lane
+	 * @param task Task to run
+	 * @return Task's result's future
+	 */
+	public <T> CompletableFuture<T> submit(@Nullable(why = "Unordered tasks run on any lane") Object orderingKey, StorageTask<T> task) {
+		Task<T> wrapper = new Task<>(orderingKey, null, task);
+		
+		if (orderingKey == null)
+			execute(null, wrapper);
+		else tails.compute(orderingKey, (key, tail) -> execute(key, wrapper) ? wrapper : tail);
+		return wrapper.future;
+	}
+	
+	/**
+	 * Submits a task to this executor, coalescing it with the queued one having the same coalescing key, if any.
+	 * 
+	 * <p>When the task is coalesced, the queued task's future is returned and the queued task keeps its place in
+	 * the queue: if <code>merger</code> is <code>null</code>, the queued task is kept as is (i.e. identical reads
+	 * share their result), otherwise it is replaced with <code>merger.apply(queuedTask, task)</code>.
+	 * Tasks that already started running are never coalesced, and neither are tasks followed by
+	 * other ones with the same ordering key (i.e. a read queued before a write is not shared
+	 * with a read submitted after it).</p>
+	 * 
+	 * @param <T> Task's result's type
+	 * @param orderingKey Task's ordering key, or <code>null</code> if the task may run on any lane
+	 * @param coalescingKey Task's coalescing key
+	 * @param task Task to run
+	 * @param merger Function which merges the queued task with the new one, or <code>null</code> to keep the queued one
+	 * @return Task's result's future, possibly shared with other callers
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> CompletableFuture<T> submit(
+			@Nullable(why = "Unordered tasks run on any lane") Object orderingKey,
+			Object coalescingKey,
+			StorageTask<T> task,
+			@Nullable(why = "Queued task is kept as is if null") BinaryOperator<StorageTask<T>> merger
+			) {
+		Task<T> wrapper = new Task<>(orderingKey == null ? coalescingKey : orderingKey, coalescingKey, task);
+		AtomicReference<Task<T>> queuedTask = new AtomicReference<>();
+		
+		tails.compute(wrapper.orderingKey, (laneKey, tail) -> { // tasks with the same ordering key are submitted one at a time
+			queuedTask.set((Task<T>) queued.compute(coalescingKey, (key, other) -> {
+				if (other == null || other != tail)
+					return wrapper;
+				if (merger != null)
+					((Task<T>) other).task = merger.apply(((Task<T>) other).task, task);
+				return other;
+			}));
+			
+			if (queuedTask.get() != wrapper) {
+				coalescedTasks.incrementAndGet();
+				return tail;
+			} return execute(laneKey, wrapper) ? wrapper : tail;
+		});
+		return queuedTask.get().future;
+	}
+	
+	private boolean execute(Object orderingKey, Task<?> task) {
+		int lane = orderingKey == null ? nextLane.getAndIncrement() : orderingKey.hashCode();
+		
+		try {
+			lanes[(lane & Integer.MAX_VALUE) % lanes.length].execute(task);
+			return true;
+		} catch (RejectedExecutionException ree) {
+			if (task.coalescingKey != null)
+				queued.remove(task.coalescingKey, task);
+			task.future.completeExceptionally(ree);
+			return false;
+		}
+	}
+	
+	/**
+	 * Stops accepting new tasks and waits for the queued ones to complete.
+	 * 
+	 * @param timeout Max time to wait, in milliseconds
+	 */
+	public void shutdown(long timeout) {
+		long deadline = System.currentTimeMillis() + timeout;
+		
+		for (ThreadPoolExecutor lane : lanes)
+			lane.shutdown();
+		try {
+			for (ThreadPoolExecutor lane : lanes) {
+				if (!lane.awaitTermination(Math.max(deadline - System.currentTimeMillis(), 0L), TimeUnit.MILLISECONDS)) {
+					LogManager.log("Storage executor did not finish running the queued tasks within {0} ms; skipping {1} tasks.", 1, timeout, getQueueDepth());
+					
+					for (ThreadPoolExecutor other : lanes)
+						for (Runnable task : other.shutdownNow())
+							((Task<?>) task).future.completeExceptionally(new RejectedExecutionException("Storage executor has been shut down"));
+					break;
+				}
+			}
+		} catch (InterruptedException ie) {
+			Thread.currentThread().interrupt();
+		} LogManager.log("Storage executor ran {0} tasks ({1} coalesced) with an average latency of {2} ms.", 4, completedTasks.get(), coalescedTasks.get(), getAverageLatency());
+	}
+	
+	/**
+	 * Gets the amount of tasks currently queued.
+	 * 
+	 * @return Queue's depth
+	 */
+	public int getQueueDepth() {
+		int depth = 0;
+		
+		for (ThreadPoolExecutor lane : lanes)
+			depth += lane.getQueue().size();
+		return depth;
+	}
+	
+	/**
+	 * Gets the amount of tasks completed since this executor has been constructed.
+	 * 
+	 * @return Completed tasks
+	 */
+	public long getCompletedTasks() {
+		return completedTasks.get();
+	}
+	
+	/**
+	 * Gets the amount of tasks coalesced with already queued
+	 * ones since this executor has been constructed.
+	 * 
+	 * @return Coalesced tasks
+	 */
+	public long getCoalescedTasks() {
+		return coalescedTasks.get();
+	}
+	
+	/**
+	 * Gets the average time elapsed between a task's submission
+	 * and its completion, including the time spent queued.
+	 * 
+	 * @return Average latency, in milliseconds
+	 */
+	public double getAverageLatency() {
+		long completedTasks = this.completedTasks.get();
+		return completedTasks == 0 ? 0D : totalLatency.get() / 1000000D / completedTasks;
+	}
+	
+	@Override
+	public String toString() {
+		return new StringJoiner(", ", "StorageExecutor{", "}")
+				.add("lanes=" + lanes.length)
+				.add("queueDepth=" + getQueueDepth())
+				.add("completedTasks=" + completedTasks.get())
+				.add("coalescedTasks=" + coalescedTasks.get())
+				.add("averageLatency=" + Math.round(getAverageLatency() * 100) / 100D + " ms")
+				.toString();
+	}
+	
+	/**
+	 * Represents a storage operation run by {@link StorageExecutor}.
+	 * 
+	 * @param <T> Operation's result's type
+	 */
+	@FunctionalInterface
+	public static interface StorageTask<T> {
+		
+		/**
+		 * Runs this operation.
+		 * 
+		 * @return Operation's result
+		 * @throws Exception If something goes wrong
+		 */
+		public T call() throws Exception;
+		
+	}
+	
+	private class Task<T> implements Runnable {
+		
+		private Object orderingKey, coalescingKey;
+		private volatile StorageTask<T> task;
+		private CompletableFuture<T> future = new CompletableFuture<>();
+		private long submissionTime = System.nanoTime();
+		
+		private Task(Object orderingKey, Object coalescingKey, StorageTask<T> task) {
+			this.orderingKey = orderingKey;
+			this.coalescingKey = coalescingKey;
+			this.task = task;
+		}
+		
+		@Override
+		public void run() {
+			if (coalescingKey != null)
+				queued.remove(coalescingKey, this); // tasks submitted from now on will not be merged into this one
+			if (orderingKey != null)
+				tails.remove(orderingKey, this);
+			try {
+				future.complete(task.call());
+			} catch (Throwable t) {
+				future.completeExceptionally(t);
+			} totalLatency.addAndGet(System.nanoTime() - submissionTime);
+			completedTasks.incrementAndGet();
+		}
+		
+	}
+	
+}
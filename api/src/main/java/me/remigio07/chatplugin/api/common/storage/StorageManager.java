@@ -41,6 +41,7 @@ public abstract class StorageManager implements ChatPluginManager {
 	
 	protected static StorageManager instance;
 	protected StorageConnector connector;
+	protected StorageExecutor executor;
 	protected boolean enabled;
 	protected StorageMethod method;
 	protected Path folder;
@@ -60,13 +61,18 @@ public void load() throws ChatPluginManagerException {
 			throw new ChatPluginManagerException(this, e);
 		} method = StorageMethod.valueOf(ConfigurationType.CONFIG.get().getString("storage.method").toUpperCase());
 		playersAutoCleanerPeriod = Utils.getTime(ConfigurationType.CONFIG.get().getString("storage.players-auto-cleaner-period"), false, false);
+		executor = new StorageExecutor(ConfigurationType.CONFIG.get().getInt("storage.async.threads"), ConfigurationType.CONFIG.get().getInt("storage.async.queue-size"));
 	}
 	
 	@Override
 	public void unload() throws ChatPluginManagerException {
 		enabled = false;
 		
-		try {
+		if (executor != null) {
+			executor.shutdown(Utils.getTime(ConfigurationType.CONFIG.get().getString("storage.async.shutdown-timeout"), false, false));
+			
+			executor = null;
+		} try {
 			connector.unload();
 		} catch (SQLException | IOException e) {
 			throw new ChatPluginManagerException(this, e);
@@ -86,6 +92,18 @@ public StorageConnector getConnector() {
 		return connector;
 	}
 	
+	/**
+	 * Gets the executor which runs the connector's asynchronous operations.
+	 * 
+	 * <p><strong>Found at:</strong> "storage.async" in {@link ConfigurationType#CONFIG}</p>
+	 * 
+	 * @return Storage's executor
+	 * @see StorageConnector#getPlayerDataAsync(PlayersDataType, me.remigio07.chatplugin.api.common.player.OfflinePlayer)
+	 */
+	public StorageExecutor getExecutor() {
+		return executor;
+	}
+	
 	/**
 	 * Gets the storage method currently in use.
 	 * 
@@ -43,7 +43,16 @@ public enum StorageMethod {
 	/**
 	 * JSON flat-file storage method.
 	 */
-	JSON("JSON");
+	JSON("JSON"),
+	
+	/**
+	 * Append-only flat-file storage method.
+	 * 
+	 * <p>Changes are appended to each data container's journal instead of
+	 * rewriting the whole file, which is periodically compacted. Existing
+	 * {@link #YAML} and {@link #JSON} files are imported on first load.</p>
+	 */
+	JOURNAL("Journal");
 	
 	private String name;
 	
@@ -77,7 +86,7 @@ public boolean isDatabase() {
 	 * @return Whether this is a flat-file method
 	 */
 	public boolean isFlatFile() {
-		return this == YAML || this == JSON;
+		return this == YAML || this == JSON || this == JOURNAL;
 	}
 	
 }
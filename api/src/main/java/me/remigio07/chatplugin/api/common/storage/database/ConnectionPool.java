@@ -0,0 +1,472 @@
+/*
+ * 	ChatPlugin - A feature-rich and modular chat ecosystem, lightweight and efficient by design.
+ * 	Copyright 2025  Remigio07
+ * 	
+ * 	This program is distributed in the hope that it will be useful,
+ * 	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * 	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * 	GNU Affero General Public License for more details.
+ * 	
+ * 	You should have received a copy of the GNU Affero General Public License
+ * 	along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ * 	
+ * 	<https://remigio07.me/chatplugin>
+ */
+
+package me.remigio07.chatplugin.api.common.storage.database;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import me.remigio07.chatplugin.api.common.util.manager.LogManager;
+
+/**
+ * Fixed-size pool of connections to the database.
+ * 
+ * <p>Connections are opened lazily, up to {@link #getSize()}, and borrowed by
+ * {@link #prepareStatement(String)}: the returned statement gives its connection
+ * back to the pool when it gets closed, so it must always be used in a
+ * <code>try</code>-with-resources block. A thread which already holds a connection
+ * reuses it for nested statements instead of borrowing another one.</p>
+ * 
+ * <p>Connections are validated only when borrowed after being idle for longer than
+ * {@link #getValidationInterval()} instead of before every statement, and each of them
+ * keeps a LRU cache of its prepared statements, so the same SQL is compiled only once.</p>
+ * 
+ * @see DatabaseConnector#getPool()
+ */
+public class ConnectionPool {
+	
+	private static final long WAIT_STEP = 50L;
+	private BlockingDeque<PooledConnection> idleConnections = new LinkedBlockingDeque<>();
+	private ThreadLocal<PooledConnection> heldConnections = new ThreadLocal<>();
+	private AtomicInteger openConnections = new AtomicInteger(), activeConnections = new AtomicInteger(), waitingThreads = new AtomicInteger();
+	private LongAdder borrows = new LongAdder(), waits = new LongAdder(), waitTime = new LongAdder();
+	private ConnectionFactory factory;
+	private int size, statementCacheSize;
+	private long validationInterval, borrowTimeout;
+	private volatile boolean closed;
+	
+	/**
+	 * Constructs a new connection pool.
+	 * 
+	 * @param factory Factory used to open new connections
+	 * @param size Max connections' amount
+	 * @param statementCacheSize Max prepared statements cached per connection
+	 * @param validationInterval Idle time after which connections get validated, in milliseconds
+	 * @param borrowTimeout Max time to wait for a connection when all of them are in use, in milliseconds
+	 * @throws IllegalArgumentException If <code>size &lt; 1</code>
+	 */
+	public ConnectionPool(ConnectionFactory factory, int size, int statementCacheSize, long validationInterval, long borrowTimeout) {
+		if (size < 1)
+			throw new IllegalArgumentException("Pool's size cannot be lower than 1");
+		this.factory = factory;
+		this.size = size;
+		this.statementCacheSize = Math.max(statementCacheSize, 0);
+		this.validationInterval = validationInterval;
+		this.borrowTimeout = borrowTimeout;
+	}
+	
+	/**
+	 * Adds an already open connection to this pool's idle connections.
+	 * 
+	 * <p>Useful to reuse the connection opened by a connector to create its tables.</p>
+	 * 
+	 * @param connection Connection to add
+	 * @throws IllegalStateException If this pool is already full
+	 */
+	public void addConnection(Connection connection) {
+		if (openConnections.incrementAndGet() > size) {
+			openConnections.decrementAndGet();
+			throw new IllegalStateException("Connection pool is already full");
+		} idleConnections.offerFirst(new PooledConnection(connection));
+	}
+	
+	/**
+	 * Prepares a statement using a connection of this pool.
+	 * 
+	 * <p>The connection is given back to the pool when the statement gets closed.</p>
+	 * 
+	 * @param sql SQL statement
+	 * @return Compiled SQL statement
+	 * @throws SQLException If something goes wrong or no connections became available in time
+	 */
+	public PreparedStatement prepareStatement(String sql) throws SQLException {
+		PooledConnection connection = heldConnections.get();
+		
+		if (connection == null)
+			heldConnections.set(connection = borrow());
+		connection.holds++;
+		
+		try {
+			return connection.prepareStatement(sql);
+		} catch (SQLException sqle) {
+			release(connection, sqle);
+			throw sqle;
+		}
+	}
+	
+	private PooledConnection borrow() throws SQLException {
+		long deadline = -1;
+		
+		while (true) {
+			if (closed)
+				throw new SQLException("Connection pool has been closed");
+			PooledConnection connection = idleConnections.pollFirst();
+			
+			if (connection == null) {
+				if (openConnections.incrementAndGet() <= size) {
+					try {
+						connection = new PooledConnection(factory.createConnection());
+					} catch (Exception e) {
+						openConnections.decrementAndGet();
+						throw e instanceof SQLException ? (SQLException) e : new SQLException("Unable to open a new connection to the database", e);
+					}
+				} else {
+					long ms = System.currentTimeMillis();
+					
+					openConnections.decrementAndGet();
+					
+					if (deadline == -1) {
+						deadline = ms + borrowTimeout;
+						
+						waits.increment();
+					} else if (ms >= deadline)
+						throw new SQLTimeoutException("No connections to the database became available in " + borrowTimeout + " ms (pool's size: " + size + ")");
+					waitingThreads.incrementAndGet();
+					
+					try { // short waits: a broken connection is discarded instead of being given back, freeing a slot
+						connection = idleConnections.pollFirst(Math.min(deadline - ms, WAIT_STEP), TimeUnit.MILLISECONDS);
+					} catch (InterruptedException ie) {
+						Thread.currentThread().interrupt();
+						throw new SQLException("Interrupted while waiting for a connection to the database", ie);
+					} finally {
+						waitingThreads.decrementAndGet();
+						waitTime.add(System.currentTimeMillis() - ms);
+					} if (connection == null)
+						continue;
+				}
+			} else if (System.currentTimeMillis() - connection.lastUsed > validationInterval && !connection.validate()) {
+				LogManager.log("Connection to database timed out; reconnecting.", 3);
+				discard(connection);
+				continue;
+			} activeConnections.incrementAndGet();
+			borrows.increment();
+			return connection;
+		}
+	}
+	
+	private void release(PooledConnection connection, SQLException exception) {
+		if (isConnectionError(exception))
+			connection.broken = true;
+		if (--connection.holds > 0)
+			return;
+		heldConnections.remove();
+		activeConnections.decrementAndGet();
+		
+		connection.lastUsed = System.currentTimeMillis();
+		
+		if (connection.broken || closed)
+			discard(connection);
+		else idleConnections.offerFirst(connection);
+	}
+	
+	private void discard(PooledConnection connection) {
+		openConnections.decrementAndGet();
+		connection.close();
+	}
+	
+	private static boolean isConnectionError(Throwable throwable) {
+		return throwable instanceof SQLException && ((SQLException) throwable).getSQLState() != null && ((SQLException) throwable).getSQLState().startsWith("08"); // SQLSTATE class 08: connection exception
+	}
+	
+	/**
+	 * Closes this pool and all of its idle connections.
+	 * 
+	 * <p>Connections currently in use will be closed when given back.</p>
+	 */
+	public void close() {
+		closed = true;
+		PooledConnection connection;
+		
+		while ((connection = idleConnections.pollFirst()) != null)
+			discard(connection);
+	}
+	
+	/**
+	 * Gets the max amount of connections this pool can open.
+	 * 
+	 * <p><strong>Found at:</strong> "storage.database.pool.size" in config.yml</p>
+	 * 
+	 * @return Pool's size
+	 */
+	public int getSize() {
+		return size;
+	}
+	
+	/**
+	 * Gets the max amount of prepared statements cached per connection.
+	 * 
+	 * <p><strong>Found at:</strong> "storage.database.pool.statement-cache-size" in config.yml</p>
+	 * 
+	 * @return Statement cache's size
+	 */
+	public int getStatementCacheSize() {
+		return statementCacheSize;
+	}
+	
+	/**
+	 * Gets the time after which idle connections get validated when borrowed, in milliseconds.
+	 * 
+	 * <p><strong>Found at:</strong> "storage.database.pool.validation-interval" in config.yml</p>
+	 * 
+	 * @return Validation interval
+	 */
+	public long getValidationInterval() {
+		return validationInterval;
+	}
+	
+	/**
+	 * Gets the max time to wait for a connection when all of them are in use, in milliseconds.
+	 * 
+	 * <p><strong>Found at:</strong> "storage.database.pool.borrow-timeout" in config.yml</p>
+	 * 
+	 * @return Borrow timeout
+	 */
+	public long getBorrowTimeout() {
+		return borrowTimeout;
+	}
+	
+	/**
+	 * Gets the amount of connections currently open, either idle or in use.
+	 * 
+	 * @return Open connections' amount
+	 */
+	public int getOpenConnections() {
+		return openConnections.get();
+	}
+	
+	/**
+	 * Gets the amount of connections currently in use.
+	 * 
+	 * @return Active connections' amount
+	 */
+	public int getActiveConnections() {
+		return activeConnections.get();
+	}
+	
+	/**
+	 * Gets the amount of connections currently idle.
+	 * 
+	 * @return Idle connections' amount
+	 */
+	public int getIdleConnections() {
+		return idleConnections.size();
+	}
+	
+	/**
+	 * Gets the amount of threads currently waiting for a connection.
+	 * 
+	 * @return Waiting threads' amount
+	 */
+	public int getWaitingThreads() {
+		return waitingThreads.get();
+	}
+	
+	/**
+	 * Gets the amount of connections borrowed since this pool's creation.
+	 * 
+	 * @return Borrows' amount
+	 */
+	public long getBorrows() {
+		return borrows.sum();
+	}
+	
+	/**
+	 * Gets the amount of borrows which had to wait for
+	 * a connection to be given back since this pool's creation.
+	 * 
+	 * @return Waits' amount
+	 */
+	public long getWaits() {
+		return waits.sum();
+	}
+	
+	/**
+	 * Gets the total time spent waiting for a connection since this pool's creation, in milliseconds.
+	 * 
+	 * @return Total wait time
+	 */
+	public long getTotalWaitTime() {
+		return waitTime.sum();
+	}
+	
+	/**
+	 * Gets the average time spent waiting for a connection
+	 * by the borrows which had to wait, in milliseconds.
+	 * 
+	 * @return Average wait time
+	 */
+	public double getAverageWaitTime() {
+		long waits = this.waits.sum();
+		return waits == 0 ? 0 : waitTime.sum() / (double) waits;
+	}
+	
+	@Override
+	public String toString() {
+		return "ConnectionPool{size=" + size + ",open=" + getOpenConnections() + ",active=" + getActiveConnections() + ",idle=" + getIdleConnections() + ",waiting=" + getWaitingThreads() + ",borrows=" + getBorrows() + ",waits=" + getWaits() + ",averageWaitTime=" + getAverageWaitTime() + "}";
+	}
+	
+	/**
+	 * Represents the factory used by a {@link ConnectionPool} to open new connections.
+	 */
+	@FunctionalInterface
+	public interface ConnectionFactory {
+		
+		/**
+		 * Opens a new connection to the database.
+		 * 
+		 * @return New connection
+		 * @throws Exception If something goes wrong
+		 */
+		public Connection createConnection() throws Exception;
+		
+	}
+	
+	private class PooledConnection {
+		
+		private Connection connection;
+		private Map<String, PreparedStatement> statements = new LinkedHashMap<>(16, 0.75F, true);
+		private List<PreparedStatement> statementsInUse = new ArrayList<>();
+		private long lastUsed = System.currentTimeMillis();
+		private int holds;
+		private boolean broken;
+		
+		private PooledConnection(Connection connection) {
+			this.connection = connection;
+		}
+		
+		private PreparedStatement prepareStatement(String sql) throws SQLException {
+			PreparedStatement statement = statements.get(sql);
+			boolean cached = statement != null && !statementsInUse.contains(statement); // nested statements with the same SQL
+			
+			if (!cached) {
+				statement = connection.prepareStatement(sql);
+				
+				if (statementCacheSize > 0 && !statements.containsKey(sql)) {
+					statements.put(sql, statement);
+					
+					cached = true;
+					
+					if (statements.size() > statementCacheSize) {
+						Iterator<PreparedStatement> iterator = statements.values().iterator();
+						PreparedStatement eldest = iterator.next();
+						
+						if (!statementsInUse.contains(eldest)) // otherwise closed when given back
+							closeQuietly(eldest);
+						iterator.remove();
+					}
+				}
+			} statementsInUse.add(statement);
+			return wrap(sql, statement, cached);
+		}
+		
+		private PreparedStatement wrap(String sql, PreparedStatement statement, boolean cached) {
+			List<ResultSet> results = new ArrayList<>(1);
+			boolean[] released = { false };
+			return (PreparedStatement) Proxy.newProxyInstance(ConnectionPool.class.getClassLoader(), new Class<?>[] { PreparedStatement.class }, (proxy, method, args) -> {
+				switch (method.getName()) {
+				case "close":
+					if (!released[0]) {
+						released[0] = true;
+						
+						statementsInUse.remove(statement);
+						
+						try {
+							for (ResultSet result : results)
+								result.close();
+							if (cached && statements.get(sql) == statement)
+								statement.clearParameters();
+							else statement.close();
+						} catch (SQLException sqle) {
+							release(this, sqle);
+							throw sqle;
+						} release(this, null);
+					} return null;
+				case "isClosed":
+					return released[0] || statement.isClosed();
+				case "getConnection":
+					return connection;
+				case "equals":
+					return proxy == args[0];
+				case "hashCode":
+					return System.identityHashCode(proxy);
+				case "toString":
+					return statement.toString();
+				} if (released[0])
+					throw new SQLException("Statement has already been closed");
+				try {
+					Object value = method.invoke(statement, args);
+					
+					if (value instanceof ResultSet)
+						results.add((ResultSet) value);
+					return value;
+				} catch (InvocationTargetException ite) {
+					if (isConnectionError(ite.getCause()))
+						broken = true;
+					throw ite.getCause();
+				}
+			});
+		}
+		
+		private boolean validate() {
+			long ms = System.currentTimeMillis();
+			
+			try {
+				if (connection.isClosed() || !connection.isValid(5))
+					return false;
+				DatabaseManager.getInstance().getPing().set((int) (System.currentTimeMillis() - ms));
+				return true;
+			} catch (SQLException sqle) {
+				return false;
+			}
+		}
+		
+		private void close() {
+			for (PreparedStatement statement : statements.values())
+				closeQuietly(statement);
+			statements.clear();
+			
+			try {
+				connection.close();
+			} catch (SQLException sqle) {
+				LogManager.log("SQLException occurred while closing a connection to the database: {0}", 2, sqle.getLocalizedMessage());
+			}
+		}
+		
+		private void closeQuietly(PreparedStatement statement) {
+			try {
+				statement.close();
+			} catch (SQLException sqle) {
+				// ignored
+			}
+		}
+		
+	}
+	
+}
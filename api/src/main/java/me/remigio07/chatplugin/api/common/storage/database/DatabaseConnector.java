@@ -20,10 +20,15 @@
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -34,15 +39,20 @@
 import me.remigio07.chatplugin.api.ChatPlugin;
 import me.remigio07.chatplugin.api.common.player.OfflinePlayer;
 import me.remigio07.chatplugin.api.common.storage.DataContainer;
+import me.remigio07.chatplugin.api.common.storage.PlayerProfile;
 import me.remigio07.chatplugin.api.common.storage.PlayersDataType;
 import me.remigio07.chatplugin.api.common.storage.StorageConnector;
 import me.remigio07.chatplugin.api.common.storage.StorageManager;
+import me.remigio07.chatplugin.api.common.storage.configuration.ConfigurationType;
+import me.remigio07.chatplugin.api.common.util.Utils;
 import me.remigio07.chatplugin.api.common.util.VersionUtils;
 import me.remigio07.chatplugin.api.common.util.annotation.NotNull;
 import me.remigio07.chatplugin.api.common.util.annotation.Nullable;
 import me.remigio07.chatplugin.api.common.util.manager.ChatPluginManagerException;
 import me.remigio07.chatplugin.api.common.util.manager.LogManager;
 import me.remigio07.chatplugin.api.common.util.manager.TaskManager;
+import me.remigio07.chatplugin.api.common.util.packet.Packets;
+import me.remigio07.chatplugin.api.server.util.manager.ProxyManager;
 import me.remigio07.chatplugin.bootstrap.Environment;
 
 /**
@@ -51,12 +61,65 @@
 public abstract class DatabaseConnector extends StorageConnector {
 	
 	protected Connection connection;
+	protected ConnectionPool pool;
+	protected PlayerRowCache playerCache = new PlayerRowCache(ConfigurationType.CONFIG.get().getInt("storage.database.player-cache.max-size"));
 	
 	@Override
 	public void unload() throws SQLException {
-		if (connection != null)
+		if (pool != null) // also closes the connection
+			pool.close();
+		else if (connection != null)
 			connection.close();
 		connection = null;
+		pool = null;
+		
+		playerCache.invalidateAll();
+	}
+	
+	/**
+	 * Opens a new connection to the database.
+	 * 
+	 * <p>Connectors which override this method can call {@link #loadPool()}
+	 * to serve their statements using a {@link ConnectionPool}.</p>
+	 * 
+	 * @return New connection
+	 * @throws Exception If something goes wrong
+	 * @throws UnsupportedOperationException If this connector does not support pooling
+	 */
+	protected Connection createConnection() throws Exception {
+		throw new UnsupportedOperationException("Connector " + getClass().getSimpleName() + " does not support connection pooling");
+	}
+	
+	/**
+	 * Creates this connector's connection pool using the values specified in the config
+	 * and adds the {@link #connection} opened by {@link #load()} to it, if any.
+	 * 
+	 * <p>Statements will be prepared using the pool's connections afterwards.</p>
+	 * 
+	 * @see #createConnection()
+	 */
+	protected void loadPool() {
+		pool = new ConnectionPool(
+				this::createConnection,
+				getPoolSize(),
+				ConfigurationType.CONFIG.get().getInt("storage.database.pool.statement-cache-size"),
+				Utils.getTime(ConfigurationType.CONFIG.get().getString("storage.database.pool.validation-interval"), false, false),
+				Utils.getTime(ConfigurationType.CONFIG.get().getString("storage.database.pool.borrow-timeout"), false, false)
+				);
+		
+		if (connection != null)
+			pool.addConnection(connection);
+	}
+	
+	/**
+	 * Gets the pool's size specified in the config.
+	 * 
+	 * <p><strong>Found at:</strong> "storage.database.pool.size" in {@link ConfigurationType#CONFIG}</p>
+	 * 
+	 * @return Pool's size
+	 */
+	protected int getPoolSize() {
+		return Math.max(ConfigurationType.CONFIG.get().getInt("storage.database.pool.size"), 1);
 	}
 	
 	@Override
@@ -74,12 +137,21 @@ public int update(DataContainer container, String position, Object data, WhereCo
 		Object[] args = Arrays.copyOf(new Object[] { data }, conditions.length + 1);
 		
 		System.arraycopy(combineSecondTermValues(conditions), 0, args, 1, conditions.length);
-		return executeUpdate("UPDATE " + container.getDatabaseTableID() + " SET " + position + " = ?" + combineWhereConditions(conditions), args);
+		
+		int rows = executeUpdate("UPDATE " + container.getDatabaseTableID() + " SET " + position + " = ?" + combineWhereConditions(conditions), args);
+		
+		if (container == DataContainer.PLAYERS && rows > 0)
+			invalidatePlayerRow(-1);
+		return rows;
 	}
 	
 	@Override
 	public int delete(DataContainer container, WhereCondition... conditions) throws SQLException {
-		return executeUpdate("DELETE FROM " + container.getDatabaseTableID() + combineWhereConditions(conditions), combineSecondTermValues(conditions));
+		int rows = executeUpdate("DELETE FROM " + container.getDatabaseTableID() + combineWhereConditions(conditions), combineSecondTermValues(conditions));
+		
+		if (container == DataContainer.PLAYERS && rows > 0)
+			invalidatePlayerRow(-1);
+		return rows;
 	}
 	
 	@Override
@@ -130,6 +202,9 @@ public void setData(DataContainer table, String column, int id, @Nullable(why =
 		if (table == DataContainer.PUBLIC_MESSAGES || table == DataContainer.PRIVATE_MESSAGES)
 			throw new IllegalArgumentException("Unable to set data to table " + table.getDatabaseTableID() + " using an ID since that table does not have IDs");
 		executeUpdate("UPDATE " + table.getDatabaseTableID() + " SET " + column + " = ? WHERE " + table.getIDColumn() + " = ?", data, id);
+		
+		if (table == DataContainer.PLAYERS)
+			invalidatePlayerRow(id);
 	}
 	
 	@NotNull
@@ -145,29 +220,100 @@ public void removeEntry(DataContainer table, int id) throws SQLException {
 		if (table == DataContainer.PUBLIC_MESSAGES || table == DataContainer.PRIVATE_MESSAGES)
 			throw new IllegalArgumentException("Unable to remove entry in table " + table.getDatabaseTableID() + " using an ID since that table does not have IDs");
 		executeUpdate("DELETE FROM " + table.getDatabaseTableID() + " WHERE " + table.getIDColumn() + " = ?", id);
+		
+		if (table == DataContainer.PLAYERS)
+			invalidatePlayerRow(id);
 	}
 	
 	@Override
 	@Nullable(why = "Stored data may be SQL NULL")
 	public <T> T getPlayerData(PlayersDataType<T> type, OfflinePlayer player) throws SQLException {
 		boolean onlineMode = ChatPlugin.getInstance().isOnlineMode();
+		
+		if (isPlayerCacheUsable())
+			return getPlayerData(type, playerCache.get(player), "player_" + (onlineMode ? "uuid" : "name"), onlineMode ? player.getUUID().toString() : player.getName());
 		return convertNumber(get("SELECT " + type.getDatabaseTableID() + " FROM " + DataContainer.PLAYERS.getDatabaseTableID() + " WHERE player_" + (onlineMode ? "uuid" : "name") + " = ?", type.getDatabaseTableID(), type.getType(), onlineMode ? player.getUUID().toString() : player.getName()), type);
 	}
 	
 	@Override
 	public <T> T getPlayerData(PlayersDataType<T> type, int playerID) throws SQLException {
+		if (isPlayerCacheUsable())
+			return getPlayerData(type, playerCache.get(playerID), "id", playerID);
 		return convertNumber(get("SELECT " + type.getDatabaseTableID() + " FROM " + DataContainer.PLAYERS.getDatabaseTableID() + " WHERE id = ?", type.getDatabaseTableID(), type.getType(), playerID), type);
 	}
 	
+	@SuppressWarnings("unchecked")
+	private <T> T getPlayerData(PlayersDataType<T> type, @Nullable(why = "Row may not be cached") Map<PlayersDataType<?>, Object> row, String column, Object value) throws SQLException {
+		if (row == null) {
+			long stamp = playerCache.getStamp();
+			
+			try (
+					PreparedStatement statement = prepareStatement("SELECT * FROM " + DataContainer.PLAYERS.getDatabaseTableID() + " WHERE " + column + " = ?", value);
+					ResultSet result = statement.executeQuery();
+					) {
+				if (!result.next())
+					return null;
+				row = readPlayerRow(result);
+				
+				playerCache.put(row, stamp);
+			}
+		} return (T) row.get(type);
+	}
+	
+	private Map<PlayersDataType<?>, Object> readPlayerRow(ResultSet result) throws SQLException {
+		ResultSetMetaData metadata = result.getMetaData();
+		Set<String> columns = new HashSet<>();
+		Map<PlayersDataType<?>, Object> row = new HashMap<>();
+		
+		for (int i = 1; i <= metadata.getColumnCount(); i++)
+			columns.add(metadata.getColumnLabel(i).toLowerCase());
+		for (PlayersDataType<?> type : PlayersDataType.values())
+			if (columns.contains(type.getDatabaseTableID())) // may be missing if created by older ChatPlugin versions
+				row.put(type, convertNumber(result.getObject(type.getDatabaseTableID()), type));
+		return row;
+	}
+	
+	@Override
+	@Nullable(why = "Player may not be stored")
+	public PlayerProfile getPlayerProfile(OfflinePlayer player) throws SQLException {
+		boolean onlineMode = ChatPlugin.getInstance().isOnlineMode();
+		long stamp = playerCache.getStamp();
+		
+		try (
+				PreparedStatement statement = prepareStatement("SELECT p.*, i.ip_addresses FROM " + DataContainer.PLAYERS.getDatabaseTableID() + " p LEFT JOIN " + DataContainer.IP_ADDRESSES.getDatabaseTableID() + " i ON i.player_id = p.id WHERE p.player_" + (onlineMode ? "uuid" : "name") + " = ?", onlineMode ? player.getUUID().toString() : player.getName());
+				ResultSet result = statement.executeQuery();
+				) {
+			if (!result.next())
+				return null;
+			Map<PlayersDataType<?>, Object> data = readPlayerRow(result);
+			
+			if (isPlayerCacheUsable())
+				playerCache.put(data, stamp);
+			return new PlayerProfile(data, Utils.getListFromString(result.getString("ip_addresses")));
+		}
+	}
+	
 	@Override
 	public void setPlayerData(PlayersDataType<?> type, OfflinePlayer player, @Nullable(why = "Data will become SQL NULL if null") Object data) throws SQLException {
 		if (type == PlayersDataType.ID)
 			throw new IllegalArgumentException("Unable to change a player's ID");
-		if (isPlayerStored(player)) {
-			boolean onlineMode = ChatPlugin.getInstance().isOnlineMode();
-			
-			executeUpdate("UPDATE " + DataContainer.PLAYERS.getDatabaseTableID() + " SET " + type.getDatabaseTableID() + " = ? WHERE player_" + (onlineMode ? "uuid" : "name") + " = ?", data, onlineMode ? player.getUUID().toString() : player.getName());
-		} else LogManager.log("The plugin tried to write data into the database (table: {0}, column: {1}) for a player ({2}) who has never played on the server. Data: \"{3}\".", 2, DataContainer.PLAYERS.getDatabaseTableID(), type.getDatabaseTableID(), player.getName(), String.valueOf(data));
+		Integer playerID = getPlayerData(PlayersDataType.ID, player);
+		
+		if (playerID != null)
+			writePlayerData(type, playerID, data);
+		else LogManager.log("The plugin tried to write data into the database (table: {0}, column: {1}) for a player ({2}) who has never played on the server. Data: \"{3}\".", 2, DataContainer.PLAYERS.getDatabaseTableID(), type.getDatabaseTableID(), player.getName(), String.valueOf(data));
+	}
+	
+	@Override
+	public void incrementPlayerStat(PlayersDataType<? extends Number> type, OfflinePlayer player, int amount) throws SQLException {
+		if (type.ordinal() < PlayersDataType.MESSAGES_SENT.ordinal())
+			throw new IllegalArgumentException("Specified column type does not represent a stat: " + type.name());
+		Integer playerID = getPlayerData(PlayersDataType.ID, player);
+		
+		if (playerID != null && executeUpdate("UPDATE " + DataContainer.PLAYERS.getDatabaseTableID() + " SET " + type.getDatabaseTableID() + " = COALESCE(" + type.getDatabaseTableID() + ", 0) + ? WHERE id = ?", amount, playerID) != 0) {
+			playerCache.increment(playerID, type, amount);
+			broadcastPlayerRowInvalidation(playerID);
+		} else LogManager.log("The plugin tried to write data into the database (table: {0}, column: {1}) for a player ({2}) who has never played on the server. Data: \"+{3}\".", 2, DataContainer.PLAYERS.getDatabaseTableID(), type.getDatabaseTableID(), player.getName(), amount);
 	}
 	
 	@Override
@@ -175,23 +321,80 @@ public void setPlayerData(PlayersDataType<?> type, int playerID, @Nullable(why =
 		if (type == PlayersDataType.ID)
 			throw new IllegalArgumentException("Unable to change a player's ID");
 		if (isPlayerStored(playerID))
-			executeUpdate("UPDATE " + DataContainer.PLAYERS.getDatabaseTableID() + " SET " + type.getDatabaseTableID() + " = ? WHERE id = ?", data, playerID);
+			writePlayerData(type, playerID, data);
 		else LogManager.log("The plugin tried to write data into the database (table: {0}, column: {1}) for a player (ID: #{2}) who has never played on the server. Data: \"{3}\".", 2, DataContainer.PLAYERS.getDatabaseTableID(), type.getDatabaseTableID(), playerID, String.valueOf(data));
 	}
 	
+	private void writePlayerData(PlayersDataType<?> type, int playerID, @Nullable(why = "Data will become SQL NULL if null") Object data) throws SQLException {
+		executeUpdate("UPDATE " + DataContainer.PLAYERS.getDatabaseTableID() + " SET " + type.getDatabaseTableID() + " = ? WHERE id = ?", data, playerID);
+		
+		if (type == PlayersDataType.PLAYER_IP && data != null)
+			recordIPAddress(playerID, data.toString());
+		if (data == null || (type.getType() == String.class ? data instanceof String : data instanceof Number))
+			playerCache.set(playerID, type, convertNumber(data, type));
+		else playerCache.invalidate(playerID);
+		broadcastPlayerRowInvalidation(playerID);
+	}
+	
+	/**
+	 * Removes a player's row from {@link #getPlayerCache()} and, when multi
+	 * instance mode is enabled, from the other servers' caches too.
+	 * 
+	 * <p>Call this after writing to {@link DataContainer#PLAYERS} using raw SQL.</p>
+	 * 
+	 * @param playerID Player's ID, or -1 to invalidate every row
+	 */
+	public void invalidatePlayerRow(int playerID) {
+		if (playerID == -1)
+			playerCache.invalidateAll();
+		else playerCache.invalidate(playerID);
+		broadcastPlayerRowInvalidation(playerID);
+	}
+	
+	@SuppressWarnings("deprecation")
+	private void broadcastPlayerRowInvalidation(int playerID) {
+		if (isMultiInstance())
+			ProxyManager.getInstance().sendPluginMessage(Packets.Misc.playerRowInvalidation(ProxyManager.getInstance().getServerID(), playerID));
+	}
+	
+	private boolean isPlayerCacheUsable() {
+		return playerCache.isEnabled() && !isMultiInstance(); // other servers may write rows and nothing receives their invalidations yet
+	}
+	
+	private boolean isMultiInstance() {
+		return !Environment.isProxy() && ProxyManager.getInstance() != null && ProxyManager.getInstance().isEnabled();
+	}
+	
 	@NotNull
 	@Override
 	public List<OfflinePlayer> getPlayers(InetAddress ipAddress, boolean includeOlder) throws SQLException {
 		List<OfflinePlayer> list = new ArrayList<>();
-		List<String> uuids = getColumnValues("SELECT player_uuid FROM " + DataContainer.PLAYERS.getDatabaseTableID() + " WHERE player_ip = ?", "player_uuid", String.class, ipAddress.getHostAddress());
-		List<String> names = getColumnValues("SELECT player_name FROM " + DataContainer.PLAYERS.getDatabaseTableID() + " WHERE player_ip = ?", "player_name", String.class, ipAddress.getHostAddress());
 		
-		for (int i = 0; i < uuids.size(); i++)
-			list.add(new OfflinePlayer(UUID.fromString(uuids.get(i)), names.get(i)));
-		if (includeOlder)
-			for (Number id : getColumnValues("SELECT player_id FROM " + DataContainer.IP_ADDRESSES.getDatabaseTableID() + " WHERE player_ip LIKE ?", "player_id", Number.class, "%" + ipAddress.getHostAddress() + "%"))
-				list.add(getPlayer(id.intValue()));
-		return list;
+		try (
+				PreparedStatement statement = includeOlder
+						? prepareStatement("SELECT p.player_uuid, p.player_name FROM " + DataContainer.PLAYERS.getDatabaseTableID() + " p WHERE p.player_ip = ? OR p.id IN (SELECT h.player_id FROM " + SchemaMigrator.getIPHistoryTableID() + " h WHERE h.ip = ?)", ipAddress.getHostAddress(), ipAddress.getHostAddress())
+						: prepareStatement("SELECT player_uuid, player_name FROM " + DataContainer.PLAYERS.getDatabaseTableID() + " WHERE player_ip = ?", ipAddress.getHostAddress());
+				ResultSet result = statement.executeQuery();
+				) {
+			while (result.next())
+				list.add(new OfflinePlayer(UUID.fromString(result.getString(1)), result.getString(2)));
+		} return list;
+	}
+	
+	/**
+	 * Records a player's IP address in {@link SchemaMigrator#getIPHistoryTableID()}.
+	 * 
+	 * <p>This is called automatically when {@link PlayersDataType#PLAYER_IP} is set.</p>
+	 * 
+	 * @param playerID Player's ID
+	 * @param ipAddress Player's IP address
+	 * @throws SQLException If something goes wrong
+	 */
+	protected void recordIPAddress(int playerID, String ipAddress) throws SQLException {
+		long now = System.currentTimeMillis();
+		
+		if (executeUpdate("UPDATE " + SchemaMigrator.getIPHistoryTableID() + " SET last_seen = ? WHERE player_id = ? AND ip = ?", now, playerID, ipAddress) == 0)
+			executeUpdate("INSERT INTO " + SchemaMigrator.getIPHistoryTableID() + " (player_id, ip, first_seen, last_seen) VALUES (?, ?, ?, ?)", playerID, ipAddress, now, now);
 	}
 	
 	@Override
@@ -203,12 +406,16 @@ public void insertNewPlayer(OfflinePlayer player) throws SQLException {
 		
 		if (player.isOnline()) {
 			executeUpdate("UPDATE " + DataContainer.PLAYERS.getDatabaseTableID() + " SET player_ip = ? WHERE player_uuid = ?", player.getIPAddress().getHostAddress(), player.getUUID().toString());
+			recordIPAddress(getPlayerData(PlayersDataType.ID, player).intValue(), player.getIPAddress().getHostAddress());
 			
 			if (Environment.isBukkit())
 				executeUpdate("UPDATE " + DataContainer.PLAYERS.getDatabaseTableID() + " SET time_played = ? WHERE player_uuid = ?", player.toAdapter().bukkitValue().getStatistic(Statistic.valueOf(VersionUtils.getVersion().getProtocol() < 341 ? "PLAY_ONE_TICK" : "PLAY_ONE_MINUTE")) * 50, player.getUUID().toString());
 			else if (Environment.isSponge() && player.toAdapter().spongeValue().getStatisticData().get(Keys.STATISTICS).isPresent())
 				executeUpdate("UPDATE " + DataContainer.PLAYERS.getDatabaseTableID() + " SET time_played = ? WHERE player_uuid = ?", player.toAdapter().spongeValue().getStatisticData().get(Keys.STATISTICS).get().getOrDefault(Statistics.TIME_PLAYED, 0L) * 50, player.getUUID().toString());
-		}
+		} Integer playerID = playerCache.getID(player);
+		
+		if (playerID != null) // cached by getPlayerData(...) before the updates above
+			playerCache.invalidate(playerID);
 	}
 	
 	@Override
@@ -221,7 +428,9 @@ public void cleanOldPlayers() {
 				try {
 					for (Number id : getColumnValues("SELECT id FROM " + DataContainer.PLAYERS.getDatabaseTableID() + " WHERE last_logout IS NOT NULL AND last_logout < ?", "id", Number.class, System.currentTimeMillis() - StorageManager.getInstance().getPlayersAutoCleanerPeriod())) {
 						executeUpdate("DELETE FROM " + DataContainer.PLAYERS.getDatabaseTableID() + " WHERE id = ?", id.intValue());
-						executeUpdate("DELETE FROM " + DataContainer.IP_ADDRESSES.getDatabaseTableID() + " WHERE id = ?", id.intValue());
+						executeUpdate("DELETE FROM " + DataContainer.IP_ADDRESSES.getDatabaseTableID() + " WHERE player_id = ?", id.intValue());
+						executeUpdate("DELETE FROM " + SchemaMigrator.getIPHistoryTableID() + " WHERE player_id = ?", id.intValue());
+						invalidatePlayerRow(id.intValue());
 						old++;
 					}
 				} catch (SQLException sqle) {
@@ -234,15 +443,34 @@ public void cleanOldPlayers() {
 	/**
 	 * Gets the connection to the database currently in use.
 	 * 
+	 * <p>If this connector uses a {@link ConnectionPool}, this is the first
+	 * connection opened, which may be used by other threads at the same time:
+	 * use {@link #prepareStatement(String, Object...)} instead.</p>
+	 * 
 	 * @return Current connection
 	 */
 	public Connection getConnection() {
 		return connection;
 	}
 	
+	/**
+	 * Gets this connector's connection pool.
+	 * 
+	 * <p>Will return <code>null</code> if this connector does not use a pool.</p>
+	 * 
+	 * @return Connection pool
+	 */
+	@Nullable(why = "Connector may not use a pool")
+	public ConnectionPool getPool() {
+		return pool;
+	}
+	
 	/**
 	 * Checks if the connection is still open and valid
 	 * and tries to open it again if it is closed.
+	 * 
+	 * <p>Not called by connectors which use a {@link ConnectionPool},
+	 * whose connections are validated only after being idle for a while.</p>
 	 */
 	@SuppressWarnings("deprecation")
 	public void checkConnection() {
@@ -266,6 +494,9 @@ public void checkConnection() {
 	 * 
 	 * <p>The <code>params</code> array can contain <code>null</code> values.</p>
 	 * 
+	 * <p>The returned statement must always be closed, since it may hold one of the
+	 * {@link ConnectionPool}'s connections until then.</p>
+	 * 
 	 * <p>Refer to {@link Connection#prepareStatement(String)} for more information.</p>
 	 * 
 	 * @param sql SQL statement to execute
@@ -274,13 +505,21 @@ public void checkConnection() {
 	 * @throws SQLException If something goes wrong
 	 */
 	public PreparedStatement prepareStatement(String sql, Object... params) throws SQLException {
-		checkConnection();
+		PreparedStatement statement;
 		
-		PreparedStatement statement = connection.prepareStatement(sql);
+		if (pool == null) {
+			checkConnection();
+			
+			statement = connection.prepareStatement(sql);
+		} else statement = pool.prepareStatement(sql);
 		
-		for (int i = 0; i < params.length; i++)
-			statement.setObject(i + 1, params[i]);
-		return statement;
+		try {
+			for (int i = 0; i < params.length; i++)
+				statement.setObject(i + 1, params[i]);
+		} catch (SQLException sqle) {
+			statement.close();
+			throw sqle;
+		} return statement;
 	}
 	
 	/**
@@ -484,6 +723,18 @@ public <T> List<T> getColumnValues(String query, int columnIndex, Class<T> type,
 		} return list;
 	}
 	
+	/**
+	 * Gets the cache of {@link DataContainer#PLAYERS}' rows used by this connector.
+	 * 
+	 * <p>Reads bypass it while multi instance mode is enabled, as
+	 * other servers may change the rows in the meantime.</p>
+	 * 
+	 * @return Player row cache
+	 */
+	public PlayerRowCache getPlayerCache() {
+		return playerCache;
+	}
+	
 	/**
 	 * Gets the current connector's instance.
 	 * 
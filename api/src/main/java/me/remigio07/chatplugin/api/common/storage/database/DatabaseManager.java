@@ -32,6 +32,7 @@
 public abstract class DatabaseManager extends StorageManager {
 	
 	protected AtomicInteger ping = new AtomicInteger(-1); // unused: here to be read by the debugger
+	protected PlayerRowCache playerCache; // unused: here to be read by the debugger
 	
 	@Override
 	public DatabaseConnector getConnector() {
@@ -42,7 +43,8 @@ public DatabaseConnector getConnector() {
 	 * Gets the database's ping, in milliseconds.
 	 * 
 	 * <p>It is measured during each {@link DatabaseConnector#checkConnection()}
-	 * call, which occurs automatically before every database request.</p>
+	 * call, which occurs automatically before every database request, or, if the
+	 * connector uses a {@link ConnectionPool}, when an idle connection gets validated.</p>
 	 * 
 	 * @return Database's ping
 	 */
@@ -52,7 +54,7 @@ public AtomicInteger getPing() {
 	
 	// compatibility with older ChatPlugin versions
 	protected void ensureCompatibility() throws SQLException {
-		try (PreparedStatement statement = getConnector().getConnection().prepareStatement("SHOW COLUMNS FROM " + DataContainer.PUBLIC_MESSAGES.getDatabaseTableID())) {
+		try (PreparedStatement statement = getConnector().prepareStatement("SHOW COLUMNS FROM " + DataContainer.PUBLIC_MESSAGES.getDatabaseTableID())) {
 			statement.execute();
 			
 			try (ResultSet result = statement.getResultSet()) {
@@ -0,0 +1,301 @@
+/*
+ * 	ChatPlugin - A feature-rich and modular chat ecosystem, lightweight and efficient by design.
+ * 	Copyright 2025  Remigio07
+ * 	
+ * 	This program is distributed in the hope that it will be useful,
+ * 	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * 	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * 	GNU Affero General Public License for more details.
+ * 	
+ * 	You should have received a copy of the GNU Affero General Public License
+ * 	along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ * 	
+ * 	<https://remigio07.me/chatplugin>
+ */
+
+package me.remigio07.chatplugin.api.common.storage.database;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.StringJoiner;
+
+import me.remigio07.chatplugin.api.ChatPlugin;
+import me.remigio07.chatplugin.api.common.player.OfflinePlayer;
+import me.remigio07.chatplugin.api.common.storage.DataContainer;
+import me.remigio07.chatplugin.api.common.storage.PlayersDataType;
+import me.remigio07.chatplugin.api.common.storage.configuration.ConfigurationType;
+import me.remigio07.chatplugin.api.common.util.annotation.Nullable;
+import me.remigio07.chatplugin.api.common.util.packet.Packets;
+
+/**
+ * Bounded LRU cache of {@link DataContainer#PLAYERS}' rows used by {@link DatabaseConnector}.
+ * 
+ * <p>Rows can be looked up by ID, UUID or name. They are populated by the connector's reads and
+ * kept updated by its writes (write-through); writes performed using raw SQL must call
+ * {@link DatabaseConnector#invalidatePlayerRow(int)} instead. When multi instance mode is enabled, writes are broadcast
+ * to the other servers using {@link Packets.Misc#playerRowInvalidation(String, int)}, but the connector stops reading
+ * from this cache: no server applies the invalidations it receives yet, so cached rows could become stale.</p>
+ * 
+ * <p>Cached rows are unmodifiable maps replaced on every write.</p>
+ * 
+ * <p><strong>Found at:</strong> "storage.database.player-cache.max-size" in {@link ConfigurationType#CONFIG}</p>
+ */
+public class PlayerRowCache {
+	
+	private int maxSize;
+	private Map<Integer, Map<PlayersDataType<?>, Object>> rows;
+	private Map<String, Integer> uuids = new HashMap<>(), names = new HashMap<>();
+	private long stamp, hits, misses, evictions;
+	
+	/**
+	 * Constructs a new player row cache.
+	 * 
+	 * @param maxSize Max amount of rows cached, 0 to disable the cache
+	 */
+	public PlayerRowCache(int maxSize) {
+		this.maxSize = Math.max(maxSize, 0);
+		rows = new LinkedHashMap<Integer, Map<PlayersDataType<?>, Object>>(16, 0.75F, true) {
+			
+			private static final long serialVersionUID = -1758206482718843140L;
+			
+			@Override
+			protected boolean removeEldestEntry(Entry<Integer, Map<PlayersDataType<?>, Object>> eldest) {
+				if (size() <= PlayerRowCache.this.maxSize)
+					return false;
+				unindex(eldest.getValue());
+				evictions++;
+				return true;
+			}
+			
+		};
+	}
+	
+	/**
+	 * Checks if this cache is enabled.
+	 * 
+	 * @return Whether <code>{@link #getMaxSize()} &gt; 0</code>
+	 */
+	public boolean isEnabled() {
+		return maxSize > 0;
+	}
+	
+	/**
+	 * Gets the cached row of the player with the specified ID.
+	 * 
+	 * @param playerID Player's ID
+	 * @return Player's row if cached, <code>null</code> otherwise
+	 */
+	@Nullable(why = "Row may not be cached")
+	public synchronized Map<PlayersDataType<?>, Object> get(int playerID) {
+		Map<PlayersDataType<?>, Object> row = rows.get(playerID);
+		
+		if (row == null)
+			misses++;
+		else hits++;
+		return row;
+	}
+	
+	/**
+	 * Gets the cached row of the specified player.
+	 * 
+	 * <p>The player is looked up by UUID or name depending on {@link ChatPlugin#isOnlineMode()}.</p>
+	 * 
+	 * @param player Player to get the row for
+	 * @return Player's row if cached, <code>null</code> otherwise
+	 */
+	@Nullable(why = "Row may not be cached")
+	public synchronized Map<PlayersDataType<?>, Object> get(OfflinePlayer player) {
+		Integer playerID = getID(player);
+		
+		if (playerID != null)
+			return get(playerID);
+		misses++;
+		return null;
+	}
+	
+	/**
+	 * Gets this cache's current stamp, which changes on every write.
+	 * 
+	 * <p>Read it before reading a row from the database and pass it to
+	 * {@link #put(Map, long)} to avoid caching rows changed in the meantime.</p>
+	 * 
+	 * @return Current stamp
+	 */
+	public synchronized long getStamp() {
+		return stamp;
+	}
+	
+	/**
+	 * Caches the specified row, if no writes occurred since <code>stamp</code> was read.
+	 * 
+	 * @param row Row to cache, containing at least {@link PlayersDataType#ID}
+	 * @param stamp {@link #getStamp()}'s value read before reading the row
+	 */
+	public synchronized void put(Map<PlayersDataType<?>, Object> row, long stamp) {
+		if (maxSize == 0 || stamp != this.stamp)
+			return;
+		unindex(rows.remove(row.get(PlayersDataType.ID)));
+		row = Collections.unmodifiableMap(new HashMap<>(row));
+		rows.put((Integer) row.get(PlayersDataType.ID), row);
+		index(row);
+	}
+	
+	/**
+	 * Updates the cached row of the player with the specified ID, if any.
+	 * 
+	 * @param playerID Player's ID
+	 * @param type Data's type
+	 * @param data Data already converted to the type's class
+	 */
+	public synchronized void set(int playerID, PlayersDataType<?> type, @Nullable(why = "Data may be SQL NULL") Object data) {
+		Map<PlayersDataType<?>, Object> row = rows.get(playerID);
+		
+		stamp++;
+		
+		if (row == null)
+			return;
+		Map<PlayersDataType<?>, Object> newRow = new HashMap<>(row);
+		
+		newRow.put(type, data);
+		unindex(row);
+		rows.put(playerID, row = Collections.unmodifiableMap(newRow));
+		index(row);
+	}
+	
+	/**
+	 * Increments a stat in the cached row of the player with the specified ID, if any.
+	 * 
+	 * @param playerID Player's ID
+	 * @param type Stat's type
+	 * @param amount Amount to add
+	 */
+	public synchronized void increment(int playerID, PlayersDataType<? extends Number> type, int amount) {
+		Map<PlayersDataType<?>, Object> row = rows.get(playerID);
+		
+		if (row == null) {
+			stamp++;
+			return;
+		} Number stat = (Number) row.get(type);
+		int value = (stat == null ? 0 : stat.intValue()) + amount;
+		
+		set(playerID, type, type.getType() == short.class ? Short.valueOf((short) value) : Integer.valueOf(value));
+	}
+	
+	/**
+	 * Removes the cached row of the player with the specified ID, if any.
+	 * 
+	 * @param playerID Player's ID
+	 */
+	public synchronized void invalidate(int playerID) {
+		unindex(rows.remove(playerID));
+		stamp++;
+	}
+	
+	/**
+	 * Removes every cached row.
+	 */
+	public synchronized void invalidateAll() {
+		rows.clear();
+		uuids.clear();
+		names.clear();
+		stamp++;
+	}
+	
+	/**
+	 * Gets the cached ID of the specified player.
+	 * 
+	 * @param player Player to get the ID for
+	 * @return Player's ID if cached, <code>null</code> otherwise
+	 */
+	@Nullable(why = "Row may not be cached")
+	public synchronized Integer getID(OfflinePlayer player) {
+		return ChatPlugin.getInstance().isOnlineMode() ? uuids.get(player.getUUID().toString()) : names.get(player.getName());
+	}
+	
+	private void index(Map<PlayersDataType<?>, Object> row) {
+		Integer playerID = (Integer) row.get(PlayersDataType.ID);
+		
+		if (row.get(PlayersDataType.PLAYER_UUID) != null)
+			uuids.put((String) row.get(PlayersDataType.PLAYER_UUID), playerID);
+		if (row.get(PlayersDataType.PLAYER_NAME) != null)
+			names.put((String) row.get(PlayersDataType.PLAYER_NAME), playerID);
+	}
+	
+	private void unindex(@Nullable(why = "Row may not have been cached") Map<PlayersDataType<?>, Object> row) {
+		if (row == null)
+			return;
+		Integer playerID = (Integer) row.get(PlayersDataType.ID);
+		
+		uuids.remove(row.get(PlayersDataType.PLAYER_UUID), playerID);
+		names.remove(row.get(PlayersDataType.PLAYER_NAME), playerID);
+	}
+	
+	/**
+	 * Gets the amount of rows currently cached.
+	 * 
+	 * @return Cache's size
+	 */
+	public synchronized int getSize() {
+		return rows.size();
+	}
+	
+	/**
+	 * Gets the max amount of rows cached.
+	 * 
+	 * @return Cache's max size
+	 */
+	public int getMaxSize() {
+		return maxSize;
+	}
+	
+	/**
+	 * Gets the amount of lookups which found a cached row.
+	 * 
+	 * @return Cache's hits
+	 */
+	public synchronized long getHits() {
+		return hits;
+	}
+	
+	/**
+	 * Gets the amount of lookups which did not find a cached row.
+	 * 
+	 * @return Cache's misses
+	 */
+	public synchronized long getMisses() {
+		return misses;
+	}
+	
+	/**
+	 * Gets the amount of rows removed to respect {@link #getMaxSize()}.
+	 * 
+	 * @return Cache's evictions
+	 */
+	public synchronized long getEvictions() {
+		return evictions;
+	}
+	
+	/**
+	 * Gets the ratio between this cache's hits and lookups.
+	 * 
+	 * @return Cache's hit rate [0 - 1]
+	 */
+	public synchronized double getHitRate() {
+		return hits + misses == 0 ? 0D : (double) hits / (hits + misses);
+	}
+	
+	@Override
+	public synchronized String toString() {
+		return new StringJoiner(", ", "PlayerRowCache{", "}")
+				.add("size=" + rows.size() + "/" + maxSize)
+				.add("hits=" + hits)
+				.add("misses=" + misses)
+				.add("hitRate=" + Math.round(getHitRate() * 10000) / 100D + "%")
+				.add("evictions=" + evictions)
+				.toString();
+	}
+	
+}
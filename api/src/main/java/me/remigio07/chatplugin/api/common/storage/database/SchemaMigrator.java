@@ -0,0 +1,177 @@
+/*
+ * 	ChatPlugin - A feature-rich and modular chat ecosystem, lightweight and efficient by design.
+ * 	Copyright 2025  Remigio07
+ * 	
+ * 	This program is distributed in the hope that it will be useful,
+ * 	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * 	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * 	GNU Affero General Public License for more details.
+ * 	
+ * 	You should have received a copy of the GNU Affero General Public License
+ * 	along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ * 	
+ * 	<https://remigio07.me/chatplugin>
+ */
+
+package me.remigio07.chatplugin.api.common.storage.database;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.LinkedHashSet;
+
+import me.remigio07.chatplugin.api.common.storage.DataContainer;
+import me.remigio07.chatplugin.api.common.util.Utils;
+import me.remigio07.chatplugin.api.common.util.manager.LogManager;
+
+/**
+ * Applies versioned migrations to the database's schema.
+ * 
+ * <p>The current version is stored in {@link #getVersionTableID()}: migrations newer than
+ * it are applied in order when the database is loaded, after {@link DataContainer}s' tables
+ * have been created, so new and existing databases end up with the same schema.</p>
+ * 
+ * <p>Migrations only use SQL supported by both H2 and SQLite, so neither
+ * connector needs to provide its own statements. Every migration is idempotent,
+ * as the version is only updated after it has been applied: a migration interrupted
+ * by an error is simply applied again the next time the database is loaded.</p>
+ */
+public class SchemaMigrator {
+	
+	private static final Migration[] MIGRATIONS = new Migration[] {
+			SchemaMigrator::createIndexes,
+			SchemaMigrator::createIPHistory
+	};
+	
+	/**
+	 * Gets the latest schema's version.
+	 * 
+	 * @return Latest schema's version
+	 */
+	public static int getLatestVersion() {
+		return MIGRATIONS.length;
+	}
+	
+	/**
+	 * Gets the current schema's version.
+	 * 
+	 * <p>Will return 0 if no migrations have been applied yet.</p>
+	 * 
+	 * @param connector Database's connector
+	 * @return Current schema's version
+	 * @throws SQLException If something goes wrong
+	 */
+	public static int getVersion(DatabaseConnector connector) throws SQLException {
+		connector.executeUpdate("CREATE TABLE IF NOT EXISTS " + getVersionTableID() + " (`version` INTEGER NOT NULL)");
+		
+		try (
+				PreparedStatement statement = connector.prepareStatement("SELECT MAX(`version`) FROM " + getVersionTableID());
+				ResultSet result = statement.executeQuery();
+				) {
+			return result.next() ? result.getInt(1) : 0;
+		}
+	}
+	
+	/**
+	 * Applies the migrations newer than the current schema's version.
+	 * 
+	 * @param connector Database's connector
+	 * @throws SQLException If something goes wrong
+	 */
+	public static void migrate(DatabaseConnector connector) throws SQLException {
+		int version = getVersion(connector);
+		
+		if (version > MIGRATIONS.length)
+			LogManager.log("The database's schema (v{0}) has been created by a newer ChatPlugin version (latest supported: v{1}). Some features may not work as expected.", 1, version, MIGRATIONS.length);
+		for (; version < MIGRATIONS.length; version++) {
+			long ms = System.currentTimeMillis();
+			
+			MIGRATIONS[version].apply(connector);
+			
+			if (version == 0)
+				connector.executeUpdate("INSERT INTO " + getVersionTableID() + " (`version`) VALUES (?)", version + 1);
+			else connector.executeUpdate("UPDATE " + getVersionTableID() + " SET `version` = ?", version + 1);
+			LogManager.log("Migrated the database's schema to v{0} in {1} ms.", 4, version + 1, System.currentTimeMillis() - ms);
+		}
+	}
+	
+	// v1
+	private static void createIndexes(DatabaseConnector connector) throws SQLException {
+		createIndex(connector, DataContainer.PLAYERS, "player_uuid");
+		createIndex(connector, DataContainer.PLAYERS, "player_name");
+		createIndex(connector, DataContainer.PLAYERS, "player_ip");
+		createIndex(connector, DataContainer.PLAYERS, "last_logout");
+		
+		for (DataContainer punishments : new DataContainer[] { DataContainer.BANS, DataContainer.WARNINGS, DataContainer.MUTES }) {
+			createIndex(connector, punishments, "player_uuid", "active");
+			createIndex(connector, punishments, "player_name", "active");
+			createIndex(connector, punishments, "staff_member");
+		} createIndex(connector, DataContainer.BANS, "player_ip", "active");
+		createIndex(connector, DataContainer.KICKS, "player_uuid");
+		createIndex(connector, DataContainer.KICKS, "player_name");
+		createIndex(connector, DataContainer.KICKS, "staff_member");
+		createIndex(connector, DataContainer.PUBLIC_MESSAGES, "sender_uuid", "date");
+		createIndex(connector, DataContainer.PUBLIC_MESSAGES, "date");
+		createIndex(connector, DataContainer.PRIVATE_MESSAGES, "sender_uuid", "date");
+		createIndex(connector, DataContainer.PRIVATE_MESSAGES, "recipient_uuid", "date");
+		createIndex(connector, DataContainer.PRIVATE_MESSAGES, "date");
+	}
+	
+	// v2
+	private static void createIPHistory(DatabaseConnector connector) throws SQLException {
+		connector.executeUpdate("CREATE TABLE IF NOT EXISTS " + getIPHistoryTableID() + " ("
+				+ "`player_id` INTEGER NOT NULL, "
+				+ "`ip` VARCHAR(45) NOT NULL, "
+				+ "`first_seen` BIGINT, "
+				+ "`last_seen` BIGINT, "
+				+ "PRIMARY KEY (`player_id`, `ip`)"
+				+ ")");
+		connector.executeUpdate("CREATE INDEX IF NOT EXISTS " + getIPHistoryTableID() + "_ip ON " + getIPHistoryTableID() + " (`ip`)");
+		connector.executeUpdate("DELETE FROM " + getIPHistoryTableID()); // rows left by an interrupted backfill
+		
+		// older IP addresses were stored as a single string per player
+		try (
+				PreparedStatement statement = connector.prepareStatement("SELECT i.player_id, i.ip_addresses, p.player_ip FROM " + DataContainer.IP_ADDRESSES.getDatabaseTableID() + " i LEFT JOIN " + DataContainer.PLAYERS.getDatabaseTableID() + " p ON p.id = i.player_id");
+				ResultSet result = statement.executeQuery();
+				) {
+			while (result.next())
+				for (String ipAddress : new LinkedHashSet<>(Utils.getListFromString(result.getString(2))))
+					if (!ipAddress.equals(result.getString(3)))
+						connector.executeUpdate("INSERT INTO " + getIPHistoryTableID() + " (`player_id`, `ip`) VALUES (?, ?)", result.getInt(1), ipAddress);
+		} connector.executeUpdate("INSERT INTO " + getIPHistoryTableID() + " (`player_id`, `ip`, `last_seen`) SELECT id, player_ip, last_logout FROM " + DataContainer.PLAYERS.getDatabaseTableID() + " WHERE player_ip IS NOT NULL");
+	}
+	
+	private static void createIndex(DatabaseConnector connector, DataContainer table, String... columns) throws SQLException {
+		connector.executeUpdate("CREATE INDEX IF NOT EXISTS " + table.getDatabaseTableID() + "_" + String.join("_", columns) + " ON " + table.getDatabaseTableID() + " (`" + String.join("`, `", columns) + "`)");
+	}
+	
+	/**
+	 * Gets the ID of the table which stores the schema's version.
+	 * 
+	 * @return Version table's ID
+	 */
+	public static String getVersionTableID() {
+		return DatabaseManager.getTablePrefix() + "schema_version";
+	}
+	
+	/**
+	 * Gets the ID of the table which stores the IP addresses used by
+	 * each player, along with when they have been seen first and last.
+	 * 
+	 * <p>Unlike {@link DataContainer#IP_ADDRESSES}, it stores one row per
+	 * player and IP address, indexed by IP address.</p>
+	 * 
+	 * @return IP history table's ID
+	 */
+	public static String getIPHistoryTableID() {
+		return DatabaseManager.getTablePrefix() + "ip_history";
+	}
+	
+	@FunctionalInterface
+	private static interface Migration {
+		
+		public void apply(DatabaseConnector connector) throws SQLException;
+		
+	}
+	
+}
@@ -152,7 +152,7 @@ protected StorageMethod getStorageMethod() throws ChatPluginManagerException {
 		try {
 			return StorageMethod.valueOf(method.toUpperCase());
 		} catch (IllegalArgumentException e) {
-			throw new ChatPluginManagerException("managers utils", "Invalid storage method (\"{0}\") set at \"storage.method\" in config.yml: only H2, SQLITE, MYSQL, YAML and JSON are allowed.", method);
+			throw new ChatPluginManagerException("managers utils", "Invalid storage method (\"{0}\") set at \"storage.method\" in config.yml: only H2, SQLITE, MYSQL, YAML, JSON and JOURNAL are allowed.", method);
 		}
 	}
 	
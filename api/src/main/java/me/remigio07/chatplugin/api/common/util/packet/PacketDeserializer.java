@@ -27,28 +27,61 @@
 /**
  * Util class used to deserialize packets sent through the proxy.
  * 
+ * <p>The packet's {@link PacketFormat} is detected automatically.</p>
+ * 
+ * <p>Fragmented packets are reassembled by the sockets before being deserialized instead
+ * of being read as a stream: {@link PacketFormat#COMPACT} packets may be compressed as a whole,
+ * receive events expose the whole packet and the buffered data is bounded by
+ * {@link PacketFormat#MAX_LENGTH}, which is checked before every fragment is buffered.</p>
+ * 
  * @see PacketSerializer
  * @see Packets
  */
 public class PacketDeserializer {
 	
 	private DataInputStream input;
+	private PacketFormat format = PacketFormat.LEGACY;
+	private String subchannel;
 	
 	/**
 	 * Initializes this packet deserializer.
 	 * 
 	 * @param bytes Packet to read
-	 * @throws IllegalArgumentException If array's length exceeds {@link Short#MAX_VALUE}
+	 * @throws IllegalArgumentException If array's length exceeds its format's maximum length
+	 * (see {@link PacketSerializer#toArray(PacketFormat)}) or the packet is a
+	 * {@link PacketFormat#COMPACT} packet which cannot be decoded
 	 */
 	public PacketDeserializer(byte[] bytes) {
-		if (bytes.length > Short.MAX_VALUE)
-			throw new IllegalArgumentException("Packet exceeds maximum length of 32767");
-		input = new DataInputStream(new ByteArrayInputStream(bytes));
+		int maxLength = PacketFormat.isCompact(bytes) ? PacketFormat.MAX_LENGTH : PacketFormat.MAX_FRAME_LENGTH;
+		
+		if (bytes.length > maxLength)
+			throw new IllegalArgumentException("Packet exceeds maximum length of " + maxLength);
+		if (PacketFormat.isCompact(bytes)) {
+			try {
+				input = new DataInputStream(new ByteArrayInputStream(PacketFormat.decode(bytes)));
+				subchannel = PacketFormat.readSubchannel(input); // returned by the first readUTF()
+				format = PacketFormat.COMPACT;
+			} catch (IOException ioe) {
+				throw new IllegalArgumentException("Invalid compact packet: " + ioe.getLocalizedMessage());
+			}
+		} else input = new DataInputStream(new ByteArrayInputStream(bytes));
+	}
+	
+	/**
+	 * Gets this packet's format.
+	 * 
+	 * @return Packet's format
+	 */
+	public PacketFormat getFormat() {
+		return format;
 	}
 	
 	/**
 	 * Gets the data input stream associated with this packet deserializer.
 	 * 
+	 * <p>If {@link #getFormat()} is {@link PacketFormat#COMPACT}, the stream
+	 * contains the packet's decompressed body, subchannel excluded.</p>
+	 * 
 	 * @return Packet's data input stream
 	 */
 	public DataInputStream getInput() {
@@ -118,7 +151,7 @@ public short readShort() {
 	 */
 	public int readInt() {
 		try {
-			return input.readInt();
+			return format == PacketFormat.LEGACY ? input.readInt() : (int) PacketFormat.readZigZag(input);
 		} catch (IOException e) {
 			e.printStackTrace();
 			return 0;
@@ -132,7 +165,7 @@ public int readInt() {
 	 */
 	public long readLong() {
 		try {
-			return input.readLong();
+			return format == PacketFormat.LEGACY ? input.readLong() : PacketFormat.readZigZag(input);
 		} catch (IOException e) {
 			e.printStackTrace();
 			return 0;
@@ -176,7 +209,13 @@ public double readDouble() {
 	 */
 	@Nullable(why = "Null strings are sent as placeholders but read as null by this method")
 	public String readUTF() {
-		try {
+		if (subchannel != null) {
+			String utf = subchannel;
+			subchannel = null;
+			return utf;
+		} try {
+			if (format == PacketFormat.COMPACT)
+				return PacketFormat.readString(input);
 			String utf = input.readUTF();
 			return utf.equals("${null_string}") ? null : utf;
 		} catch (IOException e) {
@@ -201,6 +240,45 @@ public String[] readUTFArray() {
 		return array;
 	}
 	
+	/**
+	 * Reads the next bytes array value.
+	 * 
+	 * @return Bytes array read
+	 */
+	@NotNull
+	public byte[] readBytes() {
+		try {
+			long length = format == PacketFormat.LEGACY ? input.readInt() : PacketFormat.readVarLong(input);
+			
+			if (length < 0 || length > input.available())
+				throw new IOException("Invalid bytes array length: " + length);
+			byte[] array = new byte[(int) length];
+			
+			input.readFully(array);
+			return array;
+		} catch (IOException e) {
+			e.printStackTrace();
+			return new byte[0];
+		}
+	}
+	
+	/**
+	 * Checks if there is data left to read.
+	 * 
+	 * <p>Useful to read packets containing a variable amount
+	 * of entries without sending their amount first.</p>
+	 * 
+	 * @return Whether there is data left to read
+	 */
+	public boolean hasRemaining() {
+		try {
+			return subchannel != null || input.available() > 0;
+		} catch (IOException e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+	
 	/**
 	 * Reads the next UUID value.
 	 * 
@@ -210,7 +288,14 @@ public String[] readUTFArray() {
 	 */
 	@Nullable(why = "Null UUIDs are sent as placeholders but read as null by this method")
 	public UUID readUUID() {
-		String uuid = readUTF();
+		if (format == PacketFormat.COMPACT) {
+			try {
+				return input.readBoolean() ? new UUID(input.readLong(), input.readLong()) : null;
+			} catch (IOException e) {
+				e.printStackTrace();
+				return null;
+			}
+		} String uuid = readUTF();
 		return uuid == null ? null : UUID.fromString(uuid);
 	}
 	
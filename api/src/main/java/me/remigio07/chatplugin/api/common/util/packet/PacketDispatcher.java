@@ -0,0 +1,363 @@
+/*
+ * 	ChatPlugin - A feature-rich and modular chat ecosystem, lightweight and efficient by design.
+ * 	Copyright 2025  Remigio07
+ * 	
+ * 	This program is distributed in the hope that it will be useful,
+ * 	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * 	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * 	GNU Affero General Public License for more details.
+ * 	
+ * 	You should have received a copy of the GNU Affero General Public License
+ * 	along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ * 	
+ * 	<https://remigio07.me/chatplugin>
+ */
+
+
+package me.remigio07.chatplugin.api.common.util.packet;
+
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import me.remigio07.chatplugin.api.common.util.annotation.NotNull;
+import me.remigio07.chatplugin.api.common.util.annotation.Nullable;
+import me.remigio07.chatplugin.api.common.util.manager.LogManager;
+import me.remigio07.chatplugin.api.common.util.manager.TaskManager;
+import me.remigio07.chatplugin.api.proxy.util.socket.Server;
+import me.remigio07.chatplugin.api.server.util.manager.ProxyManager;
+import me.remigio07.chatplugin.api.server.util.socket.Client;
+import me.remigio07.chatplugin.bootstrap.Environment;
+
+/**
+ * Routes received packets to the handler registered for their subchannel.
+ * 
+ * <p>Every packet's subchannel is read once, then the packet is passed to exactly one {@link PacketHandler}
+ * together with the same {@link PacketDeserializer}, positioned right after the subchannel. Handlers of
+ * subchannels listed in {@link PacketFormat#getSubchannels()} are looked up by their ID.</p>
+ * 
+ * <p>Obtain instances of this class using {@link Client#getDispatcher()},
+ * {@link Server#getDispatcher()} and {@link ProxyManager#getDispatcher()}.</p>
+ * 
+ * @param <S> Type of the packets' source
+ */
+public class PacketDispatcher<S> {
+	
+	private static final long[] LATENCY_BUCKETS = new long[] { 100000L, 1000000L, 10000000L, 100000000L };
+	private AtomicReferenceArray<Registration> knownRegistrations = new AtomicReferenceArray<>(PacketFormat.getSubchannels().size());
+	private Map<String, Registration> customRegistrations = new ConcurrentHashMap<>();
+	private AtomicLong unhandledPackets = new AtomicLong();
+	
+	/**
+	 * Registers a handler for the specified subchannel.
+	 * 
+	 * @param subchannel Subchannel to handle
+	 * @param executionMode Thread the handler runs on
+	 * @param handler Handler to register
+	 * @throws IllegalArgumentException If a handler is already registered for the subchannel or
+	 * <code>executionMode == </code>{@link ExecutionMode#SYNC} and {@link Environment#isProxy()}
+	 */
+	public void register(@NotNull String subchannel, @NotNull ExecutionMode executionMode, @NotNull PacketHandler<S> handler) {
+		if (executionMode == ExecutionMode.SYNC && Environment.isProxy())
+			throw new IllegalArgumentException("Synchronous handlers are not available on a " + Environment.getCurrent().getName() + " environment");
+		Registration registration = new Registration(subchannel, executionMode, handler);
+		int id = PacketFormat.getSubchannelID(subchannel);
+		
+		if (id == -1 ? customRegistrations.putIfAbsent(subchannel, registration) != null : !knownRegistrations.compareAndSet(id, null, registration))
+			throw new IllegalArgumentException("A handler is already registered for subchannel " + subchannel);
+	}
+	
+	/**
+	 * Unregisters the handler of the specified subchannel.
+	 * 
+	 * @param subchannel Subchannel to unregister
+	 * @return Whether a handler was registered
+	 */
+	public boolean unregister(@NotNull String subchannel) {
+		int id = PacketFormat.getSubchannelID(subchannel);
+		return (id == -1 ? customRegistrations.remove(subchannel) : knownRegistrations.getAndSet(id, null)) != null;
+	}
+	
+	/**
+	 * Checks if a handler is registered for the specified subchannel.
+	 * 
+	 * @param subchannel Subchannel to check
+	 * @return Whether the subchannel is handled
+	 */
+	public boolean isRegistered(@NotNull String subchannel) {
+		return getRegistration(subchannel) != null;
+	}
+	
+	/**
+	 * Dispatches a packet to the handler registered for its subchannel.
+	 * 
+	 * <p>Packets which cannot be decoded or whose subchannel
+	 * is not handled are counted by {@link #getUnhandledPackets()}.</p>
+	 * 
+	 * @param source Packet's source
+	 * @param packet Packet to dispatch
+	 * @return Whether the packet has been passed to a handler
+	 */
+	public boolean dispatch(S source, byte[] packet) {
+		long receptionTime = System.nanoTime();
+		PacketDeserializer deserializer;
+		Registration registration;
+		
+		try {
+			deserializer = new PacketDeserializer(packet);
+		} catch (IllegalArgumentException iae) {
+			LogManager.log("Unable to dispatch a packet received from {0}: {1}", 2, source, iae.getLocalizedMessage());
+			unhandledPackets.incrementAndGet();
+			return false;
+		} String subchannel = deserializer.readUTF();
+		
+		if (subchannel == null || (registration = getRegistration(subchannel)) == null) {
+			unhandledPackets.incrementAndGet();
+			return false;
+		} switch (registration.executionMode) {
+		case IO:
+			registration.handle(source, deserializer, receptionTime);
+			break;
+		case ASYNC:
+			TaskManager.runAsync(() -> registration.handle(source, deserializer, receptionTime), 0L);
+			break;
+		case SYNC:
+			TaskManager.runSync(() -> registration.handle(source, deserializer, receptionTime), 0L);
+			break;
+		} return true;
+	}
+	
+	@Nullable(why = "Subchannel may not be handled")
+	private Registration getRegistration(String subchannel) {
+		int id = PacketFormat.getSubchannelID(subchannel);
+		return id == -1 ? customRegistrations.get(subchannel) : knownRegistrations.get(id);
+	}
+	
+	/**
+	 * Gets the statistics of the specified subchannel's handler.
+	 * 
+	 * <p>Will return <code>null</code> if no handler is registered for the subchannel.</p>
+	 * 
+	 * @param subchannel Subchannel to check
+	 * @return Subchannel's statistics
+	 */
+	@Nullable(why = "Subchannel may not be handled")
+	public Statistics getStatistics(@NotNull String subchannel) {
+		Registration registration = getRegistration(subchannel);
+		return registration == null ? null : registration.statistics;
+	}
+	
+	/**
+	 * Gets the upper bounds of the latency histograms' buckets, in nanoseconds.
+	 * 
+	 * <p>The last bucket counts latencies greater than or equal to the last bound.</p>
+	 * 
+	 * <p><strong>Content:</strong> 0.1 ms, 1 ms, 10 ms, 100 ms</p>
+	 * 
+	 * @return Latency buckets' bounds
+	 * @see Statistics#getHistogram()
+	 */
+	public static long[] getLatencyBuckets() {
+		return LATENCY_BUCKETS.clone();
+	}
+	
+	/**
+	 * Gets the amount of packets which could not be dispatched.
+	 * 
+	 * @return Unhandled packets
+	 */
+	public long getUnhandledPackets() {
+		return unhandledPackets.get();
+	}
+	
+	@Override
+	public String toString() {
+		StringJoiner registrations = new StringJoiner(", ", "[", "]");
+		
+		for (int i = 0; i < knownRegistrations.length(); i++) {
+			Registration registration = knownRegistrations.get(i);
+			
+			if (registration != null)
+				registrations.add(registration.toString());
+		} for (Registration registration : customRegistrations.values())
+			registrations.add(registration.toString());
+		return new StringJoiner(", ", "PacketDispatcher{", "}")
+				.add("registrations=" + registrations)
+				.add("unhandledPackets=" + unhandledPackets.get())
+				.toString();
+	}
+	
+	private class Registration {
+		
+		private String subchannel;
+		private ExecutionMode executionMode;
+		private PacketHandler<S> handler;
+		private Statistics statistics = new Statistics();
+		
+		private Registration(String subchannel, ExecutionMode executionMode, PacketHandler<S> handler) {
+			this.subchannel = subchannel;
+			this.executionMode = executionMode;
+			this.handler = handler;
+		}
+		
+		@Override
+		public String toString() {
+			return subchannel + "=" + statistics;
+		}
+		
+		private void handle(S source, PacketDeserializer packet, long receptionTime) {
+			boolean error = false;
+			
+			try {
+				handler.handle(source, packet);
+			} catch (Throwable t) {
+				error = true;
+				
+				LogManager.log("{0} occurred while handling a packet received through subchannel {1}: {2}", 2, t.getClass().getSimpleName(), subchannel, t.getLocalizedMessage());
+			} statistics.record(System.nanoTime() - receptionTime, error);
+		}
+		
+	}
+	
+	/**
+	 * Represents a handler of the packets received through a subchannel.
+	 * 
+	 * @param <S> Type of the packets' source
+	 */
+	@FunctionalInterface
+	public interface PacketHandler<S> {
+		
+		/**
+		 * Handles a received packet.
+		 * 
+		 * @param source Packet's source
+		 * @param packet Packet to handle, positioned right after the subchannel
+		 */
+		public void handle(S source, PacketDeserializer packet);
+		
+	}
+	
+	/**
+	 * Represents the thread a {@link PacketHandler} runs on.
+	 */
+	public enum ExecutionMode {
+		
+		/**
+		 * Runs handlers on the thread which received the packet.
+		 * 
+		 * <p>Handlers must be fast and must not block, as
+		 * the next packets are not read in the meantime.</p>
+		 */
+		IO,
+		
+		/**
+		 * Runs handlers asynchronously using {@link TaskManager#runAsync(Runnable, long)}.
+		 * 
+		 * <p>Packets handled this way may be handled out of order.</p>
+		 */
+		ASYNC,
+		
+		/**
+		 * Runs handlers on the server's main thread using {@link TaskManager#runSync(Runnable, long)}.
+		 * 
+		 * <p><strong>Note:</strong> not available on proxy environments.</p>
+		 */
+		SYNC;
+		
+	}
+	
+	/**
+	 * Represents the statistics of a subchannel's handler.
+	 * 
+	 * <p>Latencies are measured from the packet's
+	 * dispatch to the end of the handler's execution.</p>
+	 */
+	public static class Statistics {
+		
+		private AtomicLong handledPackets = new AtomicLong(), errors = new AtomicLong(), totalLatency = new AtomicLong(), maxLatency = new AtomicLong();
+		private AtomicLongArray histogram = new AtomicLongArray(LATENCY_BUCKETS.length + 1);
+		
+		private void record(long latency, boolean error) {
+			int bucket = 0;
+			
+			while (bucket < LATENCY_BUCKETS.length && latency >= LATENCY_BUCKETS[bucket])
+				bucket++;
+			histogram.incrementAndGet(bucket);
+			handledPackets.incrementAndGet();
+			totalLatency.addAndGet(latency);
+			maxLatency.accumulateAndGet(latency, Math::max);
+			
+			if (error)
+				errors.incrementAndGet();
+		}
+		
+		/**
+		 * Gets the amount of packets handled.
+		 * 
+		 * @return Handled packets
+		 */
+		public long getHandledPackets() {
+			return handledPackets.get();
+		}
+		
+		/**
+		 * Gets the amount of packets whose handler threw an exception.
+		 * 
+		 * @return Handling errors
+		 */
+		public long getErrors() {
+			return errors.get();
+		}
+		
+		/**
+		 * Gets the average latency, in nanoseconds.
+		 * 
+		 * @return Average latency
+		 */
+		public long getAverageLatency() {
+			long handledPackets = this.handledPackets.get();
+			return handledPackets == 0 ? 0 : totalLatency.get() / handledPackets;
+		}
+		
+		/**
+		 * Gets the max latency, in nanoseconds.
+		 * 
+		 * @return Max latency
+		 */
+		public long getMaxLatency() {
+			return maxLatency.get();
+		}
+		
+		/**
+		 * Gets the latency histogram.
+		 * 
+		 * <p>Element <code>i</code> contains the amount of packets handled in less than
+		 * <code>{@link PacketDispatcher#getLatencyBuckets()}[i]</code> nanoseconds (and not less than the
+		 * previous bound); the last element contains the amount of the slower ones.</p>
+		 * 
+		 * @return Latency histogram
+		 */
+		public long[] getHistogram() {
+			long[] array = new long[histogram.length()];
+			
+			for (int i = 0; i < array.length; i++)
+				array[i] = histogram.get(i);
+			return array;
+		}
+		
+		@Override
+		public String toString() {
+			return new StringJoiner(", ", "Statistics{", "}")
+					.add("handledPackets=" + handledPackets.get())
+					.add("errors=" + errors.get())
+					.add("averageLatency=" + getAverageLatency() / 1000 + "us")
+					.add("maxLatency=" + maxLatency.get() / 1000 + "us")
+					.toString();
+		}
+		
+	}
+	
+}
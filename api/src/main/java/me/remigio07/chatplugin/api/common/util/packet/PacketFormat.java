@@ -0,0 +1,382 @@
+/*
+ * 	ChatPlugin - A feature-rich and modular chat ecosystem, lightweight and efficient by design.
+ * 	Copyright 2025  Remigio07
+ * 	
+ * 	This program is distributed in the hope that it will be useful,
+ * 	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * 	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * 	GNU Affero General Public License for more details.
+ * 	
+ * 	You should have received a copy of the GNU Affero General Public License
+ * 	along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ * 	
+ * 	<https://remigio07.me/chatplugin>
+ */
+
+
+package me.remigio07.chatplugin.api.common.util.packet;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import me.remigio07.chatplugin.api.proxy.util.socket.ClientHandler;
+import me.remigio07.chatplugin.api.server.util.socket.Client;
+
+/**
+ * Represents the encoding used to convert a {@link PacketSerializer} to a bytes array.
+ * 
+ * <p>{@link PacketDeserializer} detects the format automatically, but older versions of the plugin
+ * can only read {@link #LEGACY} packets: {@link #COMPACT} packets are only sent through sockets
+ * after both sides have announced their support using {@link Packets.Misc#packetFormat(int)}.</p>
+ * 
+ * @see PacketSerializer#toArray(PacketFormat)
+ */
+public enum PacketFormat {
+	
+	/**
+	 * Represents the original format, used by the plugin messaging channel and
+	 * by sockets connected to peers which did not announce another format.
+	 * 
+	 * <p>Subchannels and strings are written as modified UTF-8 strings, UUIDs as strings,
+	 * numbers as fixed-length values and <code>null</code> strings as placeholders.</p>
+	 */
+	LEGACY(0),
+	
+	/**
+	 * Represents the compact format.
+	 * 
+	 * <p>Packets start with a header byte which cannot start a {@link #LEGACY} packet, followed by a
+	 * flags byte containing this format's version and whether the rest of the packet is deflated.
+	 * Known subchannels are written as their index in {@link #getSubchannels()}, integers and longs
+	 * as zigzag-encoded varints, strings as UTF-8 bytes preceded by a varint containing their length
+	 * plus one (zero indicating <code>null</code>) and UUIDs as 16 bytes preceded by a presence byte.
+	 * Packets whose body is at least {@link #COMPRESSION_THRESHOLD} bytes long are deflated,
+	 * if that makes them shorter.</p>
+	 */
+	COMPACT(1);
+	
+	/**
+	 * Minimum length of a {@link #COMPACT} packet's body for it to be compressed.
+	 */
+	public static final int COMPRESSION_THRESHOLD = 256;
+	
+	/**
+	 * Max length of a {@link #COMPACT} packet, both once reassembled and once decompressed.
+	 * 
+	 * <p>{@link #LEGACY} packets cannot be longer than {@link #MAX_FRAME_LENGTH}.</p>
+	 */
+	public static final int MAX_LENGTH = 1 << 21;
+	
+	/**
+	 * Max length of the data carried by a single socket frame.
+	 * 
+	 * <p>Longer {@link #COMPACT} packets are split into several frames by {@link #frame(byte[])}:
+	 * every frame but the last one starts with {@link #FRAGMENT_FRAME}.</p>
+	 */
+	public static final int MAX_FRAME_LENGTH = Short.MAX_VALUE;
+	
+	/**
+	 * Value sent instead of a frame's length to indicate that the
+	 * frame carries a fragment of a packet and is followed by its length.
+	 */
+	public static final short FRAGMENT_FRAME = -2;
+	static final byte COMPACT_HEADER = (byte) 0xFC; // would be a >= 64512 bytes long legacy subchannel
+	private static final int DEFLATED_FLAG = 0x80;
+	private static final List<String> SUBCHANNELS = Collections.unmodifiableList(Arrays.asList( // append only
+			"PlayerMessage",
+			"PlayerDisconnect",
+			"PrivateMessage",
+			"ChatChannelMessage",
+			"F3ServerName",
+			"DiscordMessage",
+			"TelegramMessage",
+			"PlayerJoin",
+			"PlayerSwitch",
+			"PlayerQuit",
+			"SilentTeleport",
+			"IPLookupRequest",
+			"IPLookupResponse",
+			"MoTDRequest",
+			"MoTDResponse",
+			"PlayerViolation",
+			"ProxyPluginLoad",
+			"PlayerBan",
+			"PlayerUnban",
+			"AddBanwaveEntry",
+			"RemoveBanwaveEntry",
+			"BanwaveStart",
+			"BanwaveEnd",
+			"PlayerWarning",
+			"PlayerUnwarn",
+			"PlayerRemoveLastWarning",
+			"PlayerClearWarnings",
+			"PlayerKick",
+			"PlayerMute",
+			"PlayerUnmute",
+			"ServerInformation",
+			"PlayerRowInvalidation",
+			"ClientDisconnection",
+			"PacketFormat"
+			));
+	private static final Map<String, Integer> SUBCHANNEL_IDS = new HashMap<>();
+	private static final byte[] PACKET_FORMAT_PREFIX;
+	private int version;
+	
+	static {
+		for (int i = 0; i < SUBCHANNELS.size(); i++)
+			SUBCHANNEL_IDS.put(SUBCHANNELS.get(i), i);
+		PACKET_FORMAT_PREFIX = new PacketSerializer("PacketFormat").toArray();
+	}
+	
+	private PacketFormat(int version) {
+		this.version = version;
+	}
+	
+	/**
+	 * Gets this format's version, announced using {@link Packets.Misc#packetFormat(int)}.
+	 * 
+	 * @return Format's version
+	 */
+	public int getVersion() {
+		return version;
+	}
+	
+	/**
+	 * Gets the most recent format supported by a peer
+	 * which announced the specified version.
+	 * 
+	 * @param version Peer's version
+	 * @return Format to use when sending packets to the peer
+	 */
+	public static PacketFormat fromVersion(int version) {
+		PacketFormat format = LEGACY;
+		
+		for (PacketFormat other : values())
+			if (other.version <= version)
+				format = other;
+		return format;
+	}
+	
+	/**
+	 * Gets the most recent format.
+	 * 
+	 * @return Latest format
+	 */
+	public static PacketFormat getLatest() {
+		return values()[values().length - 1];
+	}
+	
+	/**
+	 * Gets the subchannels written as numeric IDs by {@link #COMPACT}.
+	 * 
+	 * <p>The returned list is unmodifiable. Other subchannels are written as strings.</p>
+	 * 
+	 * @return Known subchannels
+	 */
+	public static List<String> getSubchannels() {
+		return SUBCHANNELS;
+	}
+	
+	/**
+	 * Gets the specified subchannel's index in {@link #getSubchannels()}.
+	 * 
+	 * @param subchannel Subchannel's name
+	 * @return Subchannel's ID, or -1 if it is not a known subchannel
+	 */
+	public static int getSubchannelID(String subchannel) {
+		Integer id = SUBCHANNEL_IDS.get(subchannel);
+		return id == null ? -1 : id;
+	}
+	
+	/**
+	 * Reads the version announced by a <code>PacketFormat</code> packet.
+	 * 
+	 * <p>This method is used by {@link Client} and {@link ClientHandler} to intercept
+	 * the packet without deserializing every other packet they receive.</p>
+	 * 
+	 * @deprecated Internal use only.
+	 * @param packet Packet to read
+	 * @return Announced version, or -1 if the packet is not a <code>PacketFormat</code> packet
+	 */
+	@Deprecated
+	public static int readAnnouncedVersion(byte[] packet) {
+		int length = PACKET_FORMAT_PREFIX.length;
+		
+		if (packet.length != length + 4 || !Arrays.equals(Arrays.copyOf(packet, length), PACKET_FORMAT_PREFIX))
+			return -1;
+		return (packet[length] & 0xFF) << 24 | (packet[length + 1] & 0xFF) << 16 | (packet[length + 2] & 0xFF) << 8 | packet[length + 3] & 0xFF;
+	}
+	
+	/**
+	 * Frames a packet to be sent through a socket.
+	 * 
+	 * <p>Packets longer than {@link #MAX_FRAME_LENGTH} are split into several frames,
+	 * which can be only reassembled by peers which announced a format other than {@link #LEGACY}.</p>
+	 * 
+	 * @deprecated Internal use only.
+	 * @param packet Packet to frame
+	 * @return Packet's frames
+	 */
+	@Deprecated
+	public static byte[] frame(byte[] packet) {
+		int fragments = (packet.length - 1) / MAX_FRAME_LENGTH;
+		ByteBuffer frames = ByteBuffer.allocate(packet.length + 2 + fragments * 4);
+		int offset = 0;
+		
+		for (int i = 0; i < fragments; i++) {
+			frames.putShort(FRAGMENT_FRAME).putShort((short) MAX_FRAME_LENGTH).put(packet, offset, MAX_FRAME_LENGTH);
+			
+			offset += MAX_FRAME_LENGTH;
+		} frames.putShort((short) (packet.length - offset)).put(packet, offset, packet.length - offset);
+		return frames.array();
+	}
+	
+	static void writeSubchannel(DataOutput output, String subchannel) throws IOException {
+		int id = getSubchannelID(subchannel);
+		
+		writeVarLong(output, id + 1);
+		
+		if (id == -1)
+			writeString(output, subchannel);
+	}
+	
+	static String readSubchannel(DataInput input) throws IOException {
+		int id = (int) readVarLong(input);
+		
+		if (id == 0)
+			return readString(input);
+		if (id > SUBCHANNELS.size())
+			throw new IOException("Unknown subchannel ID: " + id);
+		return SUBCHANNELS.get(id - 1);
+	}
+	
+	static void writeString(DataOutput output, String string) throws IOException {
+		if (string == null) {
+			output.writeByte(0);
+			return;
+		} byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+		
+		writeVarLong(output, bytes.length + 1L);
+		output.write(bytes);
+	}
+	
+	static String readString(DataInput input) throws IOException {
+		long length = readVarLong(input) - 1;
+		
+		if (length == -1)
+			return null;
+		if (length < 0 || length > MAX_LENGTH)
+			throw new IOException("Invalid string length: " + length);
+		byte[] bytes = new byte[(int) length];
+		
+		input.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+	
+	static void writeZigZag(DataOutput output, long value) throws IOException {
+		writeVarLong(output, value << 1 ^ value >> 63);
+	}
+	
+	static long readZigZag(DataInput input) throws IOException {
+		long value = readVarLong(input);
+		return value >>> 1 ^ -(value & 1);
+	}
+	
+	static void writeVarLong(DataOutput output, long value) throws IOException {
+		while ((value & ~0x7FL) != 0) {
+			output.writeByte((int) (value & 0x7F) | 0x80);
+			
+			value >>>= 7;
+		} output.writeByte((int) value);
+	}
+	
+	static long readVarLong(DataInput input) throws IOException {
+		long value = 0;
+		
+		for (int shift = 0; shift < 64; shift += 7) {
+			byte b = input.readByte();
+			value |= (long) (b & 0x7F) << shift;
+			
+			if ((b & 0x80) == 0)
+				return value;
+		} throw new IOException("Varint is too long");
+	}
+	
+	static byte[] encode(byte[] body) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(body.length + 2);
+		DataOutputStream output = new DataOutputStream(bytes);
+		
+		output.writeByte(COMPACT_HEADER);
+		
+		if (body.length >= COMPRESSION_THRESHOLD) {
+			Deflater deflater = new Deflater();
+			byte[] buffer = new byte[body.length];
+			
+			try {
+				deflater.setInput(body);
+				deflater.finish();
+				
+				int length = deflater.deflate(buffer);
+				
+				if (deflater.finished()) { // shorter than the body
+					output.writeByte(COMPACT.version | DEFLATED_FLAG);
+					writeVarLong(output, body.length);
+					output.write(buffer, 0, length);
+					return bytes.toByteArray();
+				}
+			} finally {
+				deflater.end();
+			}
+		} output.writeByte(COMPACT.version);
+		output.write(body);
+		return bytes.toByteArray();
+	}
+	
+	static boolean isCompact(byte[] packet) {
+		return packet.length > 1 && packet[0] == COMPACT_HEADER;
+	}
+	
+	static byte[] decode(byte[] packet) throws IOException {
+		int flags = packet[1] & 0xFF;
+		
+		if ((flags & ~DEFLATED_FLAG) != COMPACT.version)
+			throw new IOException("Unsupported packet format version: " + (flags & ~DEFLATED_FLAG));
+		if ((flags & DEFLATED_FLAG) == 0)
+			return Arrays.copyOfRange(packet, 2, packet.length);
+		ByteArrayInputStream bytes = new ByteArrayInputStream(packet, 2, packet.length - 2);
+		long length = readVarLong(new DataInputStream(bytes));
+		int index = packet.length - bytes.available();
+		
+		if (length < 0 || length > MAX_LENGTH)
+			throw new IOException("Decompressed packet exceeds maximum length of " + MAX_LENGTH + ": " + length);
+		Inflater inflater = new Inflater();
+		byte[] body = new byte[(int) length];
+		
+		try {
+			inflater.setInput(packet, index, packet.length - index);
+			
+			if (inflater.inflate(body) != length || !inflater.finished())
+				throw new IOException("Decompressed length does not match the declared one");
+		} catch (DataFormatException dfe) {
+			throw new IOException("Invalid compressed packet: " + dfe.getLocalizedMessage());
+		} finally {
+			inflater.end();
+		} return body;
+	}
+	
+}
@@ -18,6 +18,9 @@
 import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.io.UTFDataFormatException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 import me.remigio07.chatplugin.api.common.util.annotation.NotNull;
@@ -28,13 +31,17 @@
 /**
  * Util class used to serialize packets sent through the proxy.
  * 
+ * <p>Written values are only recorded: the packet is encoded by {@link #toArray(PacketFormat)}
+ * using the format supported by the receiver, once per format, so the same packet can
+ * be sent to several receivers without being encoded again.</p>
+ * 
  * @see PacketDeserializer
  * @see Packets
  */
 public class PacketSerializer {
 	
-	private ByteArrayOutputStream bytes = new ByteArrayOutputStream();
-	private DataOutputStream output = new DataOutputStream(bytes);
+	private List<Field> fields = new ArrayList<>();
+	private byte[][] arrays = new byte[PacketFormat.values().length][];
 	
 	/**
 	 * Initializes this packet serializer.
@@ -42,11 +49,11 @@ public class PacketSerializer {
 	 * @param subchannel Subchannel to send the packet through
 	 */
 	public PacketSerializer(String subchannel) {
-		try {
-			output.writeUTF(subchannel);
-		} catch (IOException ioe) {
-			ioe.printStackTrace();
-		}
+		add((output, format) -> {
+			if (format == PacketFormat.LEGACY)
+				output.writeUTF(subchannel);
+			else PacketFormat.writeSubchannel(output, subchannel);
+		});
 	}
 	
 	/**
@@ -56,11 +63,7 @@ public PacketSerializer(String subchannel) {
 	 * @return This packet serializer
 	 */
 	public PacketSerializer writeBoolean(boolean arg) {
-		try {
-			output.writeBoolean(arg);
-		} catch (IOException ioe) {
-			ioe.printStackTrace();
-		} return this;
+		return add((output, format) -> output.writeBoolean(arg));
 	}
 	
 	/**
@@ -70,11 +73,7 @@ public PacketSerializer writeBoolean(boolean arg) {
 	 * @return This packet serializer
 	 */
 	public PacketSerializer writeByte(byte arg) {
-		try {
-			output.writeByte(arg);
-		} catch (IOException ioe) {
-			ioe.printStackTrace();
-		} return this;
+		return add((output, format) -> output.writeByte(arg));
 	}
 	
 	/**
@@ -84,11 +83,7 @@ public PacketSerializer writeByte(byte arg) {
 	 * @return This packet serializer
 	 */
 	public PacketSerializer writeChar(char arg) {
-		try {
-			output.writeChar(arg);
-		} catch (IOException ioe) {
-			ioe.printStackTrace();
-		} return this;
+		return add((output, format) -> output.writeChar(arg));
 	}
 	
 	/**
@@ -98,11 +93,7 @@ public PacketSerializer writeChar(char arg) {
 	 * @return This packet serializer
 	 */
 	public PacketSerializer writeShort(short arg) {
-		try {
-			output.writeShort(arg);
-		} catch (IOException ioe) {
-			ioe.printStackTrace();
-		} return this;
+		return add((output, format) -> output.writeShort(arg));
 	}
 	
 	/**
@@ -112,11 +103,11 @@ public PacketSerializer writeShort(short arg) {
 	 * @return This packet serializer
 	 */
 	public PacketSerializer writeInt(int arg) {
-		try {
-			output.writeInt(arg);
-		} catch (IOException ioe) {
-			ioe.printStackTrace();
-		} return this;
+		return add((output, format) -> {
+			if (format == PacketFormat.LEGACY)
+				output.writeInt(arg);
+			else PacketFormat.writeZigZag(output, arg);
+		});
 	}
 	
 	/**
@@ -126,11 +117,11 @@ public PacketSerializer writeInt(int arg) {
 	 * @return This packet serializer
 	 */
 	public PacketSerializer writeLong(long arg) {
-		try {
-			output.writeLong(arg);
-		} catch (IOException ioe) {
-			ioe.printStackTrace();
-		} return this;
+		return add((output, format) -> {
+			if (format == PacketFormat.LEGACY)
+				output.writeLong(arg);
+			else PacketFormat.writeZigZag(output, arg);
+		});
 	}
 	
 	/**
@@ -140,11 +131,7 @@ public PacketSerializer writeLong(long arg) {
 	 * @return This packet serializer
 	 */
 	public PacketSerializer writeFloat(float arg) {
-		try {
-			output.writeFloat(arg);
-		} catch (IOException ioe) {
-			ioe.printStackTrace();
-		} return this;
+		return add((output, format) -> output.writeFloat(arg));
 	}
 	
 	/**
@@ -154,27 +141,25 @@ public PacketSerializer writeFloat(float arg) {
 	 * @return This packet serializer
 	 */
 	public PacketSerializer writeDouble(double arg) {
-		try {
-			output.writeDouble(arg);
-		} catch (IOException ioe) {
-			ioe.printStackTrace();
-		} return this;
+		return add((output, format) -> output.writeDouble(arg));
 	}
 	
 	/**
 	 * Writes an UTF string value.
 	 * 
-	 * <p>You may specify a <code>null</code> string.</p>
+	 * <p>You may specify a <code>null</code> string. {@link PacketFormat#LEGACY} packets
+	 * cannot contain strings longer than 65535 bytes once encoded: use
+	 * {@link #writeBytes(byte[])} for longer data.</p>
 	 * 
 	 * @param arg UTF string to write
 	 * @return This packet serializer
 	 */
 	public PacketSerializer writeUTF(@Nullable(why = "Null strings are sent as placeholders but read as null by PacketDeserializer#readUTF()") String arg) {
-		try {
-			output.writeUTF(arg == null ? "${null_string}" : arg);
-		} catch (IOException ioe) {
-			ioe.printStackTrace();
-		} return this;
+		return add((output, format) -> {
+			if (format == PacketFormat.LEGACY)
+				output.writeUTF(arg == null ? "${null_string}" : arg);
+			else PacketFormat.writeString(output, arg);
+		});
 	}
 	
 	/**
@@ -193,6 +178,24 @@ public PacketSerializer writeUTFArray(@NotNull String... args) {
 		return this;
 	}
 	
+	/**
+	 * Writes a bytes array value.
+	 * 
+	 * <p>Use this method instead of {@link #writeUTF(String)} for binary data,
+	 * like images, or for data longer than 65535 bytes.</p>
+	 * 
+	 * @param arg Bytes array to write
+	 * @return This packet serializer
+	 */
+	public PacketSerializer writeBytes(@NotNull byte[] arg) {
+		return add((output, format) -> {
+			if (format == PacketFormat.LEGACY)
+				output.writeInt(arg.length);
+			else PacketFormat.writeVarLong(output, arg.length);
+			output.write(arg);
+		});
+	}
+	
 	/**
 	 * Writes an UUID value.
 	 * 
@@ -202,8 +205,18 @@ public PacketSerializer writeUTFArray(@NotNull String... args) {
 	 * @return This packet serializer
 	 */
 	public PacketSerializer writeUUID(@Nullable(why = "Null UUIDs are sent as placeholders but read as null by PacketDeserializer#readUUID()") UUID arg) {
-		writeUTF(arg == null ? null : arg.toString());
-		return this;
+		return add((output, format) -> {
+			if (format == PacketFormat.LEGACY)
+				output.writeUTF(arg == null ? "${null_string}" : arg.toString());
+			else {
+				output.writeBoolean(arg != null);
+				
+				if (arg != null) {
+					output.writeLong(arg.getMostSignificantBits());
+					output.writeLong(arg.getLeastSignificantBits());
+				}
+			}
+		});
 	}
 	
 	/**
@@ -213,26 +226,71 @@ public PacketSerializer writeUUID(@Nullable(why = "Null UUIDs are sent as placeh
 	 */
 	@ServerImplementationOnly(why = ServerImplementationOnly.SETTINGS_NOT_PRESENT)
 	public PacketSerializer writeServerID() {
-		try {
-			output.writeUTF(ProxyManager.getInstance().getServerID());
-		} catch (IOException ioe) {
-			ioe.printStackTrace();
-		} return this;
+		return writeUTF(ProxyManager.getInstance().getServerID());
+	}
+	
+	private synchronized PacketSerializer add(Field field) {
+		fields.add(field);
+		
+		for (int i = 0; i < arrays.length; i++)
+			arrays[i] = null;
+		return this;
 	}
 	
 	/**
 	 * Converts this packet to a bytes array
 	 * ready to be sent through the proxy.
 	 * 
+	 * <p>Equivalent to <code>toArray(PacketFormat.LEGACY)</code>.</p>
+	 * 
 	 * @return Packet's bytes array
-	 * @throws IllegalStateException If array's length exceeds {@link Short#MAX_VALUE}
+	 * @throws IllegalStateException If array's length exceeds {@link PacketFormat#MAX_FRAME_LENGTH}
+	 * or a string is longer than 65535 bytes once encoded
 	 */
 	public byte[] toArray() {
-		byte[] array = bytes.toByteArray();
+		return toArray(PacketFormat.LEGACY);
+	}
+	
+	/**
+	 * Converts this packet to a bytes array
+	 * encoded using the specified format.
+	 * 
+	 * <p>{@link PacketFormat#COMPACT} packets may be up to {@link PacketFormat#MAX_LENGTH} bytes long:
+	 * they are split into several frames when sent through sockets. {@link PacketFormat#LEGACY}
+	 * packets cannot be longer than {@link PacketFormat#MAX_FRAME_LENGTH} nor contain strings
+	 * longer than 65535 bytes once encoded.</p>
+	 * 
+	 * <p>The packet is encoded only once per format: do not modify the returned array.</p>
+	 * 
+	 * @param format Packet's format
+	 * @return Packet's bytes array
+	 * @throws IllegalStateException If array's length exceeds the format's maximum length
+	 * or a string is too long to be encoded using the format
+	 */
+	public synchronized byte[] toArray(PacketFormat format) {
+		if (arrays[format.ordinal()] != null)
+			return arrays[format.ordinal()];
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream output = new DataOutputStream(bytes);
+		int maxLength = format == PacketFormat.LEGACY ? PacketFormat.MAX_FRAME_LENGTH : PacketFormat.MAX_LENGTH;
+		
+		try {
+			for (Field field : fields)
+				field.write(output, format);
+			if (bytes.size() > maxLength)
+				throw new IllegalStateException("Packet exceeds maximum length of " + maxLength);
+			return arrays[format.ordinal()] = format == PacketFormat.LEGACY ? bytes.toByteArray() : PacketFormat.encode(bytes.toByteArray());
+		} catch (UTFDataFormatException udfe) {
+			throw new IllegalStateException("Packet contains a string too long to be encoded using format " + format.name() + ": " + udfe.getLocalizedMessage());
+		} catch (IOException ioe) { // never thrown by ByteArrayOutputStream
+			throw new IllegalStateException(ioe);
+		}
+	}
+	
+	private static interface Field {
+		
+		public void write(DataOutputStream output, PacketFormat format) throws IOException;
 		
-		if (array.length > Short.MAX_VALUE)
-			throw new IllegalStateException("Packet exceeds maximum length of 32767");
-		return array;
 	}
 	
-}
\ No newline at end of file
+}
@@ -23,6 +23,7 @@
 import me.remigio07.chatplugin.api.common.player.OfflinePlayer;
 import me.remigio07.chatplugin.api.common.punishment.ban.BanType;
 import me.remigio07.chatplugin.api.common.punishment.kick.KickType;
+import me.remigio07.chatplugin.api.common.storage.database.PlayerRowCache;
 import me.remigio07.chatplugin.api.common.util.ValueContainer;
 import me.remigio07.chatplugin.api.common.util.VersionUtils.Version;
 import me.remigio07.chatplugin.api.common.util.adapter.user.PlayerAdapter;
@@ -1227,6 +1228,29 @@ public static PacketSerializer serverInformation(
 					.writeInt(vanishedPlayers);
 		}
 		
+		/**
+		 * Makes every other server invalidate a player's
+		 * row cached by their {@link PlayerRowCache}.
+		 * 
+		 * <p>Specify -1 as <code>playerID</code> to invalidate every row.</p>
+		 * 
+		 * @deprecated Internal use only.
+		 * @param server Origin server
+		 * @param playerID Player's ID
+		 * @return <code>PlayerRowInvalidation</code> packet
+		 */
+		@PacketScope(Scope.SERVER_TO_SERVER)
+		@Deprecated
+		public static PacketSerializer playerRowInvalidation(
+				@NotNull String server,
+				int playerID
+				) {
+			return new PacketSerializer("PlayerRowInvalidation")
+					.writeUTF("ALL")
+					.writeUTF(server)
+					.writeInt(playerID);
+		}
+		
 		/**
 		 * Makes a client disconnect from the server.
 		 * 
@@ -1244,6 +1268,28 @@ public static PacketSerializer clientDisconnection(
 					.writeUTF(reason);
 		}
 		
+		/**
+		 * Announces the most recent {@link PacketFormat} supported by the sender.
+		 * 
+		 * <p>Sent by a {@link Client} right after connecting; the proxy replies with the same packet if
+		 * it supports a format other than {@link PacketFormat#LEGACY}. This packet is always sent
+		 * using {@link PacketFormat#LEGACY} and it is not passed to the receive packet events.</p>
+		 * 
+		 * @deprecated Internal use only.
+		 * @param version Format's version
+		 * @return <code>PacketFormat</code> packet
+		 * @see PacketFormat#fromVersion(int)
+		 */
+		@SocketChannelPacket
+		@PacketScope(Scope.SERVER_TO_PROXY)
+		@Deprecated
+		public static PacketSerializer packetFormat(
+				int version
+				) {
+			return new PacketSerializer("PacketFormat")
+					.writeInt(version);
+		}
+		
 	}
 	
 }
@@ -23,7 +23,7 @@
  * Represents the event called after a {@link Server} has received
  * a {@link PacketDeserializer} from a {@link ClientHandler}.
  * 
- * @see ClientHandler#run()
+ * @see Server#run()
  */
 public class ServerReceivePacketEvent extends ClientHandlerEvent {
 	
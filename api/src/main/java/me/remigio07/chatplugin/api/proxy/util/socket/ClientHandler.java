@@ -15,16 +15,28 @@
 
 package me.remigio07.chatplugin.api.proxy.util.socket;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
-import java.io.EOFException;
 import java.io.IOException;
 import java.net.Socket;
-import java.net.SocketException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Queue;
 import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Pattern;
 
 import me.remigio07.chatplugin.api.common.util.manager.LogManager;
+import me.remigio07.chatplugin.api.common.util.packet.PacketFormat;
 import me.remigio07.chatplugin.api.common.util.packet.PacketSerializer;
 import me.remigio07.chatplugin.api.common.util.packet.Packets;
 import me.remigio07.chatplugin.api.proxy.event.socket.ClientConnectionEvent;
@@ -34,8 +46,13 @@
 /**
  * Client socket handler. Obtain instances of this
  * class by listening to {@link ClientConnectionEvent}.
+ * 
+ * <p>Packets are read and written by the {@link Server}'s thread: {@link #sendPacket(PacketSerializer)}
+ * only appends them to this handler's write queue, which is then drained using gathering writes, so
+ * packets queued together are sent using a single write. It never blocks: packets sent while
+ * the queue is full are dropped (see {@link Server#getMaxQueuedBytes()}).</p>
  */
-public class ClientHandler extends Thread {
+public class ClientHandler {
 	
 	/**
 	 * Pattern representing the allowed client IDs.
@@ -45,92 +62,204 @@ public class ClientHandler extends Thread {
 	 * @see #isValidClientID(String)
 	 */
 	public static final Pattern CLIENT_ID_PATTERN = Pattern.compile("^[a-zA-Z0-9-_]{2,36}$");
+	private static final int MAX_ID_LENGTH = 36 * 3; // modified UTF-8's max bytes per char
+	private static final int MAX_GATHERED_BUFFERS = 256;
 	private Server server;
-	private Socket socket;
+	private SocketChannel channel;
+	private SelectionKey key;
+	private Executor worker;
 	private String id, disconnectionReason;
-	private DataInputStream input;
-	private DataOutputStream output;
+	private ByteBuffer input = ByteBuffer.allocateDirect(PacketFormat.MAX_FRAME_LENGTH + 4);
+	private ByteArrayOutputStream fragments;
+	private Queue<ByteBuffer> output = new ConcurrentLinkedQueue<>();
+	private Deque<ByteBuffer> writing = new ArrayDeque<>();
+	private AtomicBoolean writeRequested = new AtomicBoolean(), dropping = new AtomicBoolean();
+	private AtomicInteger queuedBytes = new AtomicInteger();
+	private AtomicLong sentPackets = new AtomicLong(), writes = new AtomicLong(), droppedPackets = new AtomicLong();
+	private volatile PacketFormat format = PacketFormat.LEGACY;
+	private long connectionTime = System.currentTimeMillis();
+	private volatile boolean identified, closing, closed;
 	
-	ClientHandler(Server server, Socket socket) throws IOException {
+	ClientHandler(Server server, SocketChannel channel, Executor worker) throws IOException {
 		this.server = server;
-		this.socket = socket;
-		input = new DataInputStream(socket.getInputStream());
-		output = new DataOutputStream(socket.getOutputStream());
-		
-		new Thread(() -> {
-			try {
-				for (int i = 0; i < 49; i++) {
-					if (id != null) {
-						if (!isValidClientID(id)) {
-							output.writeUTF("INVALID_ID");
-							LogManager.log("[SOCKETS] Client {0} has just tried to connect using ID \"{1}\" but it does not respect the required pattern: \"{2}\".", 4, socket.getInetAddress().getHostAddress() + ":" + socket.getPort(), id, CLIENT_ID_PATTERN.pattern());
-							socket.close();
-							return;
-						} for (ClientHandler clientHandler : server.getClientHandlers()) {
-							if (clientHandler.getID().equals(id)) {
-								output.writeUTF("ID_ALREADY_IN_USE");
-								LogManager.log("[SOCKETS] Client {0} has just tried to connect using ID \"{1}\" but it was already in use by {2}.", 4, socket.getInetAddress().getHostAddress() + ":" + socket.getPort(), id, clientHandler.getSocket().getInetAddress().getHostAddress() + ":" + clientHandler.getSocket().getPort());
-								socket.close();
-								return;
-							}
-						} output.writeUTF("SUCCESS");
-						server.getClientHandlers().add(this);
-						new ClientConnectionEvent(this).call();
-						LogManager.log("[SOCKETS] Client {0} has just connected using ID \"{1}\".", 4, socket.getInetAddress().getHostAddress() + ":" + socket.getPort(), id);
-						start();
-						return;
-					} else try {
-						Thread.sleep(100L);
-					} catch (InterruptedException ie) {
-						LogManager.log("[SOCKETS] The identification task for client {0} has been suddenly interrupted: {1}", 2, socket.getInetAddress().getHostAddress() + ":" + socket.getPort(), ie.getLocalizedMessage());
-						break;
-					}
-				} LogManager.log("[SOCKETS] Client {0} did not send its ID within 5000ms so it was disconnected.", 4, socket.getInetAddress().getHostAddress() + ":" + socket.getPort());
-				socket.close();
-			} catch (IOException ioe) {
-				LogManager.log("[SOCKETS] IOException occurred while closing socket for client \"{0}\": {1}", 2, id, ioe.getLocalizedMessage());
-			}
-		}).start();
-		new Thread(() -> {
-			try {
-				id = input.readUTF();
-			} catch (Exception e) {
-				// handled by the for loop
-			}
-		}).start();
+		this.channel = channel;
+		this.worker = worker;
+		
+		channel.configureBlocking(false);
+		channel.socket().setTcpNoDelay(server.isTcpNoDelay());
+		
+		key = channel.register(server.getSelector(), SelectionKey.OP_READ, this);
 	}
 	
-	/**
-	 * Automatic packet listener.
-	 * 
-	 * @deprecated Internal use only; do not call this method.
-	 * @see ServerReceivePacketEvent
-	 */
-	@Deprecated
-	@Override
-	public void run() {
-		short bytesRead;
+	@SuppressWarnings("deprecation")
+	void read() throws IOException {
+		if (channel.read(input) == -1) {
+			close();
+			return;
+		} input.flip();
 		
-		try {
-			synchronized (input) {
-				while ((bytesRead = input.readShort()) != -1) {
-					byte[] data = new byte[bytesRead];
+		while (!closed && input.remaining() >= 2) {
+			int length = input.getShort(input.position());
+			
+			if (id == null) { // identification: modified UTF-8 string
+				if ((length &= 0xFFFF) > MAX_ID_LENGTH) {
+					id = "";
 					
-					input.readFully(data);
-					new ServerReceivePacketEvent(this, data).call();
-				}
+					identify();
+					break;
+				} if (input.remaining() < length + 2)
+					break;
+				byte[] data = new byte[length + 2];
+				
+				input.get(data);
+				
+				id = new DataInputStream(new ByteArrayInputStream(data)).readUTF();
+				
+				identify();
+				continue;
+			} if (closing) { // ignore packets received after the disconnection
+				input.clear();
+				return;
+			} if (length == -1) {
+				close();
+				return;
+			} if (length == PacketFormat.FRAGMENT_FRAME) {
+				if (input.remaining() < 4 || input.remaining() < (length = input.getShort(input.position() + 2)) + 4)
+					break;
+				if (length < 0)
+					throw new IOException("Invalid fragment length: " + length);
+				if (fragments == null)
+					fragments = new ByteArrayOutputStream();
+				else if (fragments.size() + length > PacketFormat.MAX_LENGTH)
+					throw new IOException("Fragmented packet exceeds maximum length of " + PacketFormat.MAX_LENGTH);
+				byte[] fragment = new byte[length];
+				
+				input.position(input.position() + 4);
+				input.get(fragment);
+				fragments.write(fragment);
+				continue;
+			} if (length < 0)
+				throw new IOException("Invalid packet length: " + length);
+			if (fragments != null && fragments.size() + length > PacketFormat.MAX_LENGTH)
+				throw new IOException("Fragmented packet exceeds maximum length of " + PacketFormat.MAX_LENGTH);
+			if (input.remaining() < length + 2)
+				break;
+			byte[] data = new byte[length];
+			
+			input.position(input.position() + 2);
+			input.get(data);
+			
+			if (fragments != null) { // last fragment
+				fragments.write(data);
+				
+				data = fragments.toByteArray();
+				fragments = null;
+			} byte[] packet = data;
+			int version = PacketFormat.readAnnouncedVersion(packet);
+			
+			if (version == -1)
+				worker.execute(() -> {
+					new ServerReceivePacketEvent(this, packet).call();
+					server.getDispatcher().dispatch(this, packet);
+				});
+			else negotiateFormat(version);
+		} input.compact();
+	}
+	
+	private void identify() throws IOException {
+		String outcome = "SUCCESS";
+		
+		if (!isValidClientID(id)) {
+			outcome = "INVALID_ID";
+			
+			LogManager.log("[SOCKETS] Client {0} has just tried to connect using ID \"{1}\" but it does not respect the required pattern: \"{2}\".", 4, getAddress(), id, CLIENT_ID_PATTERN.pattern());
+		} else for (ClientHandler clientHandler : server.getClientHandlers()) {
+			if (clientHandler.getID().equals(id)) {
+				outcome = "ID_ALREADY_IN_USE";
+				
+				LogManager.log("[SOCKETS] Client {0} has just tried to connect using ID \"{1}\" but it was already in use by {2}.", 4, getAddress(), id, clientHandler.getAddress());
+				break;
 			}
-		} catch (SocketException | EOFException e) {
-			// disconnection
-		} catch (IOException ioe) {
-			LogManager.log("[SOCKETS] IOException occurred while reading a packet received from client \"{0}\": {1}", 2, id, ioe.getLocalizedMessage());
-		} try {
-			socket.close();
+		} ByteArrayOutputStream data = new ByteArrayOutputStream(outcome.length() + 2);
+		
+		new DataOutputStream(data).writeUTF(outcome);
+		enqueue(ByteBuffer.wrap(data.toByteArray()));
+		
+		if (outcome.equals("SUCCESS")) {
+			identified = true;
+			
+			server.getClientHandlers().add(this);
+			worker.execute(() -> new ClientConnectionEvent(this).call());
+			LogManager.log("[SOCKETS] Client {0} has just connected using ID \"{1}\".", 4, getAddress(), id);
+		} else closing = true;
+	}
+	
+	@SuppressWarnings("deprecation")
+	private void negotiateFormat(int version) {
+		PacketFormat format = PacketFormat.fromVersion(version);
+		
+		if (format == this.format || format == PacketFormat.LEGACY)
+			return;
+		enqueue(Packets.Misc.packetFormat(PacketFormat.getLatest().getVersion()).toArray());
+		
+		this.format = format;
+		
+		LogManager.log("[SOCKETS] Client \"{0}\" supports packet format {1}; switching to it.", 4, id, format.name());
+	}
+	
+	void write() throws IOException {
+		ByteBuffer buffer;
+		
+		while (true) {
+			while (writing.size() < MAX_GATHERED_BUFFERS && (buffer = output.poll()) != null)
+				writing.add(buffer);
+			if (writing.isEmpty())
+				break;
+			int bytes = 0;
+			
+			channel.write(writing.toArray(new ByteBuffer[writing.size()]));
+			writes.incrementAndGet();
+			
+			while (!writing.isEmpty() && !writing.peek().hasRemaining()) {
+				bytes += writing.poll().limit();
+				
+				sentPackets.incrementAndGet();
+			} queuedBytes.addAndGet(-bytes);
+			
+			if (!writing.isEmpty()) // socket's send buffer is full
+				return;
+		} if (closing)
+			close();
+		else key.interestOps(SelectionKey.OP_READ);
+	}
+	
+	void requestWrite() {
+		writeRequested.set(false);
+		
+		if (key.isValid())
+			key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+	}
+	
+	private void scheduleWrite() {
+		if (writeRequested.compareAndSet(false, true)) // the selector is woken up once per burst
+			server.requestWrite(this);
+	}
+	
+	void close() {
+		if (closed)
+			return;
+		closed = true;
+		
+		key.cancel();
+		
+		try {
+			channel.close();
 		} catch (IOException ioe) {
-			LogManager.log("[SOCKETS] IOException occurred while closing socket for client \"{0}\"): {1}", 2, id, ioe.getLocalizedMessage());
-		} new ClientDisconnectionEvent(this).call();
-		server.getClientHandlers().remove(this);
-		LogManager.log("[SOCKETS] Client \"{0}\" has just disconnected from the server{1}", 4, id, disconnectionReason == null ? "." : ": " + disconnectionReason);
+			LogManager.log("[SOCKETS] IOException occurred while closing socket for client \"{0}\": {1}", 2, id, ioe.getLocalizedMessage());
+		} if (server.getClientHandlers().remove(this)) {
+			worker.execute(() -> new ClientDisconnectionEvent(this).call());
+			LogManager.log("[SOCKETS] Client \"{0}\" has just disconnected from the server{1} Packets sent: {2} using {3} writes; packets dropped: {4}.", 4, id, disconnectionReason == null ? "." : ": " + disconnectionReason + ".", sentPackets.get(), writes.get(), droppedPackets.get());
+		}
 	}
 	
 	@Override
@@ -144,25 +273,47 @@ public String toString() {
 	/**
 	 * Sends a packet to this client handler.
 	 * 
+	 * <p>The packet is queued and written asynchronously by the {@link Server}'s thread
+	 * using {@link #getPacketFormat()}. This method never blocks: if more than
+	 * {@link Server#getMaxQueuedBytes()} are queued because the client is not reading them
+	 * fast enough, the packet is dropped (see {@link #getDroppedPackets()}).
+	 * Will do nothing if this client handler has been disconnected.</p>
+	 * 
 	 * @param packet Packet to send
-	 * @throws IllegalStateException If {@link PacketSerializer#toArray()} fails
+	 * @throws IllegalStateException If {@link PacketSerializer#toArray(PacketFormat)} fails
 	 */
 	public void sendPacket(PacketSerializer packet) {
-		byte[] data = packet.toArray();
+		byte[] data = packet.toArray(format);
 		
-		try {
-			synchronized (output) {
-				output.writeShort(data.length);
-				output.write(data);
-			}
-		} catch (IOException ioe) {
-			LogManager.log("[SOCKETS] IOException occurred while writing a packet to send to client \"{0}\": {1}", 2, id, ioe.getLocalizedMessage());
-		}
+		if (closing || closed)
+			return;
+		if (queuedBytes.get() != 0 && queuedBytes.get() + data.length > server.getMaxQueuedBytes()) {
+			droppedPackets.incrementAndGet();
+			
+			if (dropping.compareAndSet(false, true)) // logged once until a packet is queued again
+				LogManager.log("[SOCKETS] Dropping packets for client \"{0}\" because more than {1} bytes are queued and it is not reading them fast enough.", 2, id, server.getMaxQueuedBytes());
+			return;
+		} dropping.set(false);
+		enqueue(data);
+	}
+	
+	@SuppressWarnings("deprecation")
+	private void enqueue(byte[] data) {
+		enqueue(ByteBuffer.wrap(PacketFormat.frame(data)));
+	}
+	
+	private void enqueue(ByteBuffer buffer) {
+		queuedBytes.addAndGet(buffer.limit());
+		output.add(buffer);
+		scheduleWrite();
 	}
 	
 	/**
 	 * Manually disconnects this client from the server.
 	 * 
+	 * <p>The socket is closed after the packets already
+	 * queued and the disconnection packet have been sent.</p>
+	 * 
 	 * @param reason Disconnection's reason
 	 * @throws IOException If something goes wrong
 	 * @throws IllegalArgumentException If <code>reason.length() &gt; 255</code>
@@ -173,7 +324,10 @@ public void disconnect(String reason) throws IOException {
 		if (reason.length() > 255)
 			throw new IllegalArgumentException("Specified reason is longer than 255 characters");
 		sendPacket(Packets.Misc.clientDisconnection(disconnectionReason = reason));
-		socket.close();
+		
+		closing = true;
+		
+		scheduleWrite();
 	}
 	
 	/**
@@ -188,10 +342,12 @@ public Server getServer() {
 	/**
 	 * Gets this client handler's socket.
 	 * 
+	 * <p>The socket is non-blocking: do not use its streams.</p>
+	 * 
 	 * @return Client handler's socket
 	 */
 	public Socket getSocket() {
-		return socket;
+		return channel.socket();
 	}
 	
 	/**
@@ -204,21 +360,58 @@ public String getID() {
 	}
 	
 	/**
-	 * Gets this client handler's data input stream.
+	 * Gets the format used to send packets to this client handler.
+	 * 
+	 * <p>Will return {@link PacketFormat#LEGACY} until the client announces another one.</p>
+	 * 
+	 * @return Client handler's packet format
+	 */
+	public PacketFormat getPacketFormat() {
+		return format;
+	}
+	
+	/**
+	 * Gets the amount of packets sent to this client handler.
 	 * 
-	 * @return Client handler's input stream
+	 * @return Sent packets
 	 */
-	public DataInputStream getInput() {
-		return input;
+	public long getSentPackets() {
+		return sentPackets.get();
 	}
 	
 	/**
-	 * Gets this client handler's data output stream.
+	 * Gets the amount of packets dropped because this client handler
+	 * was not reading them fast enough.
 	 * 
-	 * @return Client handler's output stream
+	 * @return Dropped packets
+	 * @see Server#getMaxQueuedBytes()
 	 */
-	public DataOutputStream getOutput() {
-		return output;
+	public long getDroppedPackets() {
+		return droppedPackets.get();
+	}
+	
+	/**
+	 * Gets the amount of writes performed to send packets to this client handler.
+	 * 
+	 * <p>Every write sends one or more packets to the socket;
+	 * compare it to {@link #getSentPackets()} to measure coalescing.</p>
+	 * 
+	 * @return Performed writes
+	 */
+	public long getWrites() {
+		return writes.get();
+	}
+	
+	boolean isIdentified() {
+		return identified;
+	}
+	
+	long getConnectionTime() {
+		return connectionTime;
+	}
+	
+	String getAddress() {
+		return channel.socket().getInetAddress().getHostAddress() + ":" + channel.socket().getPort();
 	}
 	
 	/**
@@ -17,26 +17,54 @@
 
 import java.io.IOException;
 import java.net.InetAddress;
+import java.net.InetSocketAddress;
 import java.net.ServerSocket;
 import java.net.Socket;
-import java.net.SocketException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Queue;
 import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import me.remigio07.chatplugin.api.common.util.manager.LogManager;
+import me.remigio07.chatplugin.api.common.util.packet.PacketDispatcher;
+import me.remigio07.chatplugin.api.common.util.packet.PacketSerializer;
 import me.remigio07.chatplugin.api.proxy.event.socket.ClientConnectionEvent;
+import me.remigio07.chatplugin.api.proxy.event.socket.ServerReceivePacketEvent;
 import me.remigio07.chatplugin.api.proxy.event.socket.ServerShutdownEvent;
 import me.remigio07.chatplugin.api.proxy.event.socket.ServerStartupEvent;
 
 /**
  * Server socket. Obtain instances of this class
  * with {@link #Server(InetAddress, int)}.
+ * 
+ * <p>The server is non-blocking: this thread accepts new connections and reads and
+ * writes every client's packets using a single {@link Selector}, while events are
+ * called by a small fixed set of worker threads. Each client is always handled by
+ * the same worker, so its packets are handled in the order they have been received.</p>
  */
 public class Server extends Thread {
 	
-	private ServerSocket socket;
-	private List<ClientHandler> clientHandlers = new ArrayList<>();
+	static final long IDENTIFICATION_TIMEOUT = 5000L;
+	private ServerSocketChannel channel;
+	private Selector selector;
+	private List<ClientHandler> clientHandlers = new CopyOnWriteArrayList<>();
+	private Queue<ClientHandler> pendingWrites = new ConcurrentLinkedQueue<>();
+	private ThreadPoolExecutor[] workers;
+	private PacketDispatcher<ClientHandler> dispatcher = new PacketDispatcher<>();
+	private int nextWorker;
+	private volatile long shutdownTime = -1;
+	private volatile int maxQueuedBytes = 1 << 22;
+	private volatile boolean tcpNoDelay = true;
 	
 	/**
 	 * Constructs a new server socket.
@@ -49,27 +77,61 @@ public class Server extends Thread {
 	 * @throws IllegalArgumentException If port is outside of range [0 - 65535]
 	 */
 	public Server(InetAddress address, int port) throws IOException {
-		socket = new ServerSocket(port, 50, address);
+		super("ChatPlugin Socket Server");
+		
+		if (port < 0 || port > 0xFFFF)
+			throw new IllegalArgumentException("Port value out of range: " + port);
+		channel = ServerSocketChannel.open();
+		
+		try {
+			channel.configureBlocking(false);
+			channel.socket().bind(new InetSocketAddress(address, port), 50);
+			channel.register(selector = Selector.open(), SelectionKey.OP_ACCEPT);
+		} catch (IOException ioe) {
+			channel.close();
+			
+			if (selector != null)
+				selector.close();
+			throw ioe;
+		} workers = new ThreadPoolExecutor[Math.min(Math.max(Runtime.getRuntime().availableProcessors(), 1), 4)];
+		
+		for (int i = 0; i < workers.length; i++) {
+			String name = "ChatPlugin Socket Worker #" + (i + 1);
+			
+			workers[i] = new ThreadPoolExecutor(
+					1,
+					1,
+					0L,
+					TimeUnit.MILLISECONDS,
+					new LinkedBlockingQueue<>(),
+					runnable -> {
+						Thread thread = new Thread(runnable, name);
+						
+						thread.setDaemon(true);
+						return thread;
+					}
+					);
+		}
 	}
 	
 	/**
 	 * Starts this server.
 	 * 
-	 * <p>Will do nothing if {@link Socket#isClosed()}.</p>
+	 * <p>Will do nothing if <code>!</code>{@link ServerSocketChannel#isOpen()}.</p>
 	 * 
 	 * @see ServerStartupEvent
 	 */
 	@Override
 	public synchronized void start() {
-		if (socket.isClosed())
+		if (!channel.isOpen())
 			return;
-		LogManager.log("[SOCKETS] New server started up; listening on {0}...", 4, socket.getInetAddress().getHostAddress() + ":" + socket.getLocalPort());
+		LogManager.log("[SOCKETS] New server started up; listening on {0}...", 4, getSocket().getInetAddress().getHostAddress() + ":" + getSocket().getLocalPort());
 		super.start();
 		new ServerStartupEvent(this).call();
 	}
 	
 	/**
-	 * Automatic client listener.
+	 * Automatic client listener and packet reader/writer.
 	 * 
 	 * @deprecated Internal use only; do not call this method.
 	 * @see ClientConnectionEvent
@@ -79,43 +141,200 @@ public synchronized void start() {
 	public void run() {
 		try {
 			while (true) {
-				Socket client = socket.accept();
+				selector.select(1000L);
+				
+				ClientHandler clientHandler;
+				
+				while ((clientHandler = pendingWrites.poll()) != null)
+					clientHandler.requestWrite();
+				Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
 				
-				LogManager.log("[SOCKETS] Connection accepted from client {0}; waiting for the ID to identify it...", 4, client.getInetAddress().getHostAddress() + ":" + client.getPort());
-				new ClientHandler(this, client);
+				while (keys.hasNext()) {
+					SelectionKey key = keys.next();
+					
+					keys.remove();
+					
+					if (!key.isValid())
+						continue;
+					if (key.isAcceptable())
+						try {
+							accept();
+						} catch (IOException | RuntimeException e) {
+							LogManager.log("[SOCKETS] {0} occurred while accepting a new connection on {1}: {2}", 2, e.getClass().getSimpleName(), getSocket().getInetAddress().getHostAddress() + ":" + getSocket().getLocalPort(), e.getLocalizedMessage());
+						}
+					else {
+						clientHandler = (ClientHandler) key.attachment();
+						
+						try {
+							if (key.isReadable())
+								clientHandler.read();
+							if (key.isValid() && key.isWritable())
+								clientHandler.write();
+						} catch (IOException ioe) {
+							LogManager.log("[SOCKETS] IOException occurred while reading or writing a packet for client \"{0}\": {1}", 4, clientHandler.getID(), ioe.getLocalizedMessage());
+							clientHandler.close();
+						} catch (RuntimeException re) { // only this client is affected
+							LogManager.log("[SOCKETS] {0} occurred while handling client \"{1}\"; disconnecting it: {2}", 2, re.getClass().getSimpleName(), clientHandler.getID(), re.getLocalizedMessage());
+							clientHandler.close();
+						}
+					}
+				} long ms = System.currentTimeMillis();
+				
+				for (SelectionKey key : new ArrayList<>(selector.keys())) {
+					if (!(key.attachment() instanceof ClientHandler))
+						continue;
+					clientHandler = (ClientHandler) key.attachment();
+					
+					if (!clientHandler.isIdentified() && ms - clientHandler.getConnectionTime() > IDENTIFICATION_TIMEOUT) {
+						LogManager.log("[SOCKETS] Client {0} did not send its ID within {1} ms so it was disconnected.", 4, clientHandler.getAddress(), IDENTIFICATION_TIMEOUT);
+						clientHandler.close();
+					} else if (shutdownTime != -1 && (!clientHandler.isIdentified() || ms - shutdownTime > IDENTIFICATION_TIMEOUT))
+						clientHandler.close();
+				} if (shutdownTime != -1 && clientHandlers.isEmpty())
+					break;
 			}
-		} catch (SocketException e) {
-			// shutdown
-		} catch (IOException e) {
-			LogManager.log("[SOCKETS] IOException occurred while waiting for new connections on {0}: {1}", 2, socket.getInetAddress().getHostAddress() + ":" + socket.getLocalPort(), e.getMessage());
+		} catch (IOException ioe) {
+			LogManager.log("[SOCKETS] IOException occurred while waiting for new connections on {0}: {1}", 2, getSocket().getInetAddress().getHostAddress() + ":" + getSocket().getLocalPort(), ioe.getMessage());
+		} try {
+			selector.close();
+		} catch (IOException ioe) {
+			// ignored
+		} for (ThreadPoolExecutor worker : workers)
+			worker.shutdown();
+	}
+	
+	private void accept() throws IOException {
+		SocketChannel client = channel.accept();
+		
+		if (client == null)
+			return;
+		LogManager.log("[SOCKETS] Connection accepted from client {0}; waiting for the ID to identify it...", 4, client.socket().getInetAddress().getHostAddress() + ":" + client.socket().getPort());
+		
+		try {
+			new ClientHandler(this, client, workers[nextWorker++ % workers.length]);
+		} catch (IOException ioe) {
+			client.close();
+			throw ioe;
 		}
 	}
 	
+	void requestWrite(ClientHandler clientHandler) {
+		pendingWrites.add(clientHandler);
+		selector.wakeup();
+	}
+	
 	@Override
 	public String toString() {
 		return new StringJoiner(", ", "Server{", "}")
-				.add("address=" + socket.getInetAddress().getHostAddress())
-				.add("port=" + socket.getLocalPort())
+				.add("address=" + getSocket().getInetAddress().getHostAddress())
+				.add("port=" + getSocket().getLocalPort())
 				.toString();
 	}
 	
 	/**
 	 * Shuts down this server and closes its socket.
 	 * 
-	 * <p>Will do nothing if {@link Socket#isClosed()}.</p>
+	 * <p>Connected clients are given up to 5 seconds to receive the packets already sent to them.</p>
+	 * 
+	 * <p>Will do nothing if <code>!</code>{@link ServerSocketChannel#isOpen()}.</p>
 	 * 
 	 * @throws IOException If something goes wrong
 	 * @see ServerShutdownEvent
 	 */
 	public void shutdown() throws IOException {
-		if (socket.isClosed())
+		if (!channel.isOpen())
 			return;
 		LogManager.log("[SOCKETS] Server shut down; closing {0} connections...", 4, clientHandlers.size());
 		new ServerShutdownEvent(this).call();
 		
 		for (ClientHandler clientHandler : clientHandlers)
 			clientHandler.disconnect("Server shutdown");
-		socket.close();
+		channel.close();
+		
+		shutdownTime = System.currentTimeMillis();
+		
+		if (isAlive()) {
+			selector.wakeup();
+			
+			if (Thread.currentThread() != this)
+				try {
+					join(IDENTIFICATION_TIMEOUT * 2);
+				} catch (InterruptedException ie) {
+					Thread.currentThread().interrupt();
+				}
+		} else {
+			selector.close();
+			
+			for (ThreadPoolExecutor worker : workers)
+				worker.shutdown();
+		}
+	}
+	
+	/**
+	 * Gets the max amount of bytes queued for a single client before
+	 * {@link ClientHandler#sendPacket(PacketSerializer)} starts dropping packets.
+	 * 
+	 * <p>The default value is 4194304 (4 MiB).</p>
+	 * 
+	 * @return Max queued bytes per client
+	 */
+	public int getMaxQueuedBytes() {
+		return maxQueuedBytes;
+	}
+	
+	/**
+	 * Sets the max amount of bytes queued for a single client before
+	 * {@link ClientHandler#sendPacket(PacketSerializer)} starts dropping packets.
+	 * 
+	 * @param maxQueuedBytes Max queued bytes per client
+	 * @throws IllegalArgumentException If <code>maxQueuedBytes &lt; 1</code>
+	 */
+	public void setMaxQueuedBytes(int maxQueuedBytes) {
+		if (maxQueuedBytes < 1)
+			throw new IllegalArgumentException("Max queued bytes must be positive");
+		this.maxQueuedBytes = maxQueuedBytes;
+	}
+	
+	/**
+	 * Checks if <code>TCP_NODELAY</code> is enabled on the clients' sockets.
+	 * 
+	 * <p>The default value is <code>true</code>, as packets
+	 * queued together are already sent using a single write.</p>
+	 * 
+	 * @return Whether Nagle's algorithm is disabled
+	 * @see Socket#setTcpNoDelay(boolean)
+	 */
+	public boolean isTcpNoDelay() {
+		return tcpNoDelay;
+	}
+	
+	/**
+	 * Sets whether <code>TCP_NODELAY</code> is enabled on the clients' sockets.
+	 * 
+	 * <p>Has effect on the clients which connect after this method is called.</p>
+	 * 
+	 * @param tcpNoDelay Whether to disable Nagle's algorithm
+	 * @see Socket#setTcpNoDelay(boolean)
+	 */
+	public void setTcpNoDelay(boolean tcpNoDelay) {
+		this.tcpNoDelay = tcpNoDelay;
+	}
+	
+	/**
+	 * Gets the dispatcher of the packets received by this server.
+	 * 
+	 * <p>Packets are dispatched after {@link ServerReceivePacketEvent} has been called, on the worker
+	 * thread handling their client; {@link PacketDispatcher.ExecutionMode#IO} handlers therefore
+	 * receive each client's packets in order.</p>
+	 * 
+	 * @return Server's packet dispatcher
+	 */
+	public PacketDispatcher<ClientHandler> getDispatcher() {
+		return dispatcher;
+	}
+	
+	Selector getSelector() {
+		return selector;
 	}
 	
 	/**
@@ -124,7 +343,7 @@ public void shutdown() throws IOException {
 	 * @return Server's socket
 	 */
 	public ServerSocket getSocket() {
-		return socket;
+		return channel.socket();
 	}
 	
 	/**
@@ -38,14 +38,25 @@
 public abstract class AntispamManager implements DenyChatReasonHandler {
 	
 	protected static AntispamManager instance;
-	protected boolean enabled, leetFilterEnabled, urlsPreventionEnabled, ipsPreventionEnabled;
-	protected int secondsBetweenMessages, secondsBetweenSameMessages, maxCapsLength;
-	protected float maxCapsPercentage;
+	protected boolean enabled, leetFilterEnabled, urlsPreventionEnabled, ipsPreventionEnabled, slidingWindowEnabled;
+	protected int secondsBetweenMessages, secondsBetweenSameMessages, slidingWindowMaxMessages, slidingWindowSeconds, maxCapsLength;
+	protected float sameMessagesSimilarityPercentage, maxCapsPercentage;
 	protected String highlightColor;
 	protected List<String> allowedDomains = new ArrayList<>(), urlsWhitelist = new ArrayList<>(),
 			ipsWhitelist = new ArrayList<>(), messagesWhitelist = new ArrayList<>(), wordsBlacklist = new ArrayList<>();
+	
+	/**
+	 * @deprecated Not populated anymore, kept for compatibility only. Use {@link #getSpamCache()} instead.
+	 */
+	@Deprecated
 	protected Map<UUID, List<String>> spamCache = new HashMap<>();
+	
+	/**
+	 * @deprecated Not populated anymore, kept for compatibility only. Use {@link #getFloodCache()} instead.
+	 */
+	@Deprecated
 	protected Set<UUID> floodCache = new HashSet<>();
+	
 	protected long loadTime;
 	
 	/**
@@ -116,6 +127,60 @@ public int getSecondsBetweenSameMessages() {
 		return secondsBetweenSameMessages;
 	}
 	
+	/**
+	 * Checks if the flood check should use a sliding window of
+	 * {@link #getSlidingWindowMaxMessages()} messages every {@link #getSlidingWindowSeconds()}
+	 * seconds instead of a fixed cooldown of {@link #getSecondsBetweenMessages()} seconds.
+	 * 
+	 * <p><strong>Found at:</strong> "chat.antispam.sliding-window.enabled" in {@link ConfigurationType#CHAT}</p>
+	 * 
+	 * @return Whether the sliding window is enabled
+	 */
+	public boolean isSlidingWindowEnabled() {
+		return slidingWindowEnabled;
+	}
+	
+	/**
+	 * Gets the max amount of messages every player can send
+	 * every {@link #getSlidingWindowSeconds()} seconds.
+	 * 
+	 * <p><strong>Found at:</strong> "chat.antispam.sliding-window.max-messages" in {@link ConfigurationType#CHAT}</p>
+	 * 
+	 * @return Max messages in the sliding window
+	 * @see #isSlidingWindowEnabled()
+	 */
+	public int getSlidingWindowMaxMessages() {
+		return slidingWindowMaxMessages;
+	}
+	
+	/**
+	 * Gets the sliding window's length, in seconds.
+	 * 
+	 * <p><strong>Found at:</strong> "chat.antispam.sliding-window.seconds" in {@link ConfigurationType#CHAT}</p>
+	 * 
+	 * @return Sliding window's seconds
+	 * @see #isSlidingWindowEnabled()
+	 */
+	public int getSlidingWindowSeconds() {
+		return slidingWindowSeconds;
+	}
+	
+	/**
+	 * Gets the min similarity percentage two messages must
+	 * have to be considered identical by the spam check.
+	 * 
+	 * <p>The similarity is calculated using the messages'
+	 * <a href="https://en.wikipedia.org/wiki/Levenshtein_distance">Levenshtein distance</a>, ignoring case.
+	 * 100% means that only identical messages are matched, like before.</p>
+	 * 
+	 * <p><strong>Found at:</strong> "chat.antispam.same-messages-similarity-percentage" in {@link ConfigurationType#CHAT}</p>
+	 * 
+	 * @return Min similarity percentage between identical messages
+	 */
+	public float getSameMessagesSimilarityPercentage() {
+		return sameMessagesSimilarityPercentage;
+	}
+	
 	/**
 	 * Gets the max caps length allowed before checking if the message exceeds {@link #getMaxCapsPercentage()}.
 	 * 
@@ -203,12 +268,12 @@ public List<String> getMessagesWhitelist() {
 	public List<String> getWordsBlacklist() {
 		return wordsBlacklist;
 	}
-		
+	
 	/**
 	 * Gets the spam cache's map, whose keys are players' UUIDs
-	 * and values are the message they have just sent.
+	 * and values are the messages they have recently sent.
 	 * 
-	 * <p>Do <em>not</em> modify the returned map.</p>
+	 * <p>The returned map is a snapshot: it is unmodifiable and will not be updated.</p>
 	 * 
 	 * @return Spam cache's map
 	 */
@@ -217,11 +282,12 @@ public Map<UUID, List<String>> getSpamCache() {
 	}
 	
 	/**
-	 * Gets the flood cache set, whose elements are players' UUIDs.
+	 * Gets the flood cache set, whose elements are the UUIDs of
+	 * the players who cannot send other messages at the moment.
 	 * 
-	 * <p>Do <em>not</em> modify the returned set.</p>
+	 * <p>The returned set is a snapshot: it is unmodifiable and will not be updated.</p>
 	 * 
-	 * @return Flood cache's map
+	 * @return Flood cache's set
 	 */
 	public Set<UUID> getFloodCache() {
 		return floodCache;
@@ -25,6 +25,8 @@
 import me.remigio07.chatplugin.api.common.util.annotation.Nullable;
 import me.remigio07.chatplugin.api.common.util.manager.ChatPluginManager;
 import me.remigio07.chatplugin.api.server.chat.channel.data.ChatChannelData;
+import me.remigio07.chatplugin.api.server.chat.channel.data.LocalChatChannel;
+import me.remigio07.chatplugin.api.server.player.ChatPluginServerPlayer;
 
 /**
  * Manager that handles {@link ChatChannel}s.
@@ -176,4 +178,20 @@ public static ChatChannelsManager getInstance() {
 	 */
 	public abstract void addChannel(ChatChannel<? extends ChatChannelData> channel);
 	
+	/**
+	 * Gets the loaded players within the specified range from the specified player.
+	 * 
+	 * <p>Positions are indexed on the main thread at a fixed rate, so they may be slightly outdated,
+	 * but calling this method does not read any player's location and is safe on any thread.</p>
+	 * 
+	 * <p>Will return <code>null</code> if the player has not been indexed yet.</p>
+	 * 
+	 * @param player Center player
+	 * @param range Range, in blocks
+	 * @return Nearby players, including the specified one
+	 * @see LocalChatChannel
+	 */
+	@Nullable(why = "Player may have not been indexed yet")
+	public abstract List<ChatPluginServerPlayer> getNearbyPlayers(ChatPluginServerPlayer player, int range);
+	
 }
@@ -15,8 +15,8 @@
 
 package me.remigio07.chatplugin.api.server.chat.channel.data;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import me.remigio07.chatplugin.api.server.chat.channel.ChatChannel;
 import me.remigio07.chatplugin.api.server.chat.channel.ChatChannelType;
@@ -39,10 +39,28 @@ public abstract class ChatChannelData {
 	 * @see ChatChannel#getRecipients(ChatPluginServerPlayer, boolean)
 	 */
 	public List<ChatPluginServerPlayer> getRecipients(List<ChatPluginServerPlayer> players, ChatPluginServerPlayer sender, boolean excludeVanished) {
-		return players
-				.stream()
-				.filter(other -> !excludeVanished || !other.isVanished())
-				.collect(Collectors.toList());
+		List<ChatPluginServerPlayer> recipients = new ArrayList<>(players.size());
+		
+		for (ChatPluginServerPlayer other : players)
+			if (isRecipient(other, sender, excludeVanished))
+				recipients.add(other);
+		return recipients;
+	}
+	
+	/**
+	 * Checks if the specified player is a recipient of a message
+	 * sent to this channel by the specified sender.
+	 * 
+	 * <p>{@link #getRecipients(List, ChatPluginServerPlayer, boolean)} calls this method
+	 * once per player, so implementations only need to override this one.</p>
+	 * 
+	 * @param player Player to check
+	 * @param sender Message's sender
+	 * @param excludeVanished Whether to exclude vanished players
+	 * @return Whether the player is a recipient
+	 */
+	public boolean isRecipient(ChatPluginServerPlayer player, ChatPluginServerPlayer sender, boolean excludeVanished) {
+		return !excludeVanished || !player.isVanished();
 	}
 	
 	/**
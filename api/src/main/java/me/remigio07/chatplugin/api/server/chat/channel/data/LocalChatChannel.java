@@ -15,11 +15,15 @@
 
 package me.remigio07.chatplugin.api.server.chat.channel.data;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 import me.remigio07.chatplugin.api.server.chat.channel.ChatChannel;
 import me.remigio07.chatplugin.api.server.chat.channel.ChatChannelType;
+import me.remigio07.chatplugin.api.server.chat.channel.ChatChannelsManager;
 import me.remigio07.chatplugin.api.server.language.Language;
 import me.remigio07.chatplugin.api.server.player.ChatPluginServerPlayer;
 
@@ -55,12 +59,32 @@ public ChatChannelType getType() {
 		return ChatChannelType.LOCAL;
 	}
 	
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * <p>Nearby players are obtained using {@link ChatChannelsManager#getNearbyPlayers(ChatPluginServerPlayer, int)},
+	 * so this method does not read the listeners' live locations.</p>
+	 */
 	@Override
 	public List<ChatPluginServerPlayer> getRecipients(List<ChatPluginServerPlayer> players, ChatPluginServerPlayer sender, boolean excludeVanished) {
-		return super.getRecipients(players, sender, excludeVanished)
-				.stream()
-				.filter(other -> sender.getWorld().equals(other.getWorld()) && sender.getDistance(other.getX(), other.getY(), other.getZ()) < range)
-				.collect(Collectors.toList());
+		List<ChatPluginServerPlayer> nearbyPlayers = ChatChannelsManager.getInstance().getNearbyPlayers(sender, range);
+		
+		if (nearbyPlayers == null)
+			return super.getRecipients(players, sender, excludeVanished);
+		Set<ChatPluginServerPlayer> nearbyPlayersSet = Collections.newSetFromMap(new IdentityHashMap<>());
+		List<ChatPluginServerPlayer> recipients = new ArrayList<>(nearbyPlayers.size());
+		
+		nearbyPlayersSet.addAll(nearbyPlayers);
+		
+		for (ChatPluginServerPlayer other : players)
+			if (nearbyPlayersSet.contains(other) && super.isRecipient(other, sender, excludeVanished))
+				recipients.add(other);
+		return recipients;
+	}
+	
+	@Override
+	public boolean isRecipient(ChatPluginServerPlayer player, ChatPluginServerPlayer sender, boolean excludeVanished) {
+		return super.isRecipient(player, sender, excludeVanished) && sender.getWorld().equals(player.getWorld()) && sender.getDistance(player.getX(), player.getY(), player.getZ()) < range;
 	}
 	
 	@Override
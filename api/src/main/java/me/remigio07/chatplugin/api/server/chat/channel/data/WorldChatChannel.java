@@ -15,9 +15,6 @@
 
 package me.remigio07.chatplugin.api.server.chat.channel.data;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 import me.remigio07.chatplugin.api.server.chat.channel.ChatChannel;
 import me.remigio07.chatplugin.api.server.chat.channel.ChatChannelType;
 import me.remigio07.chatplugin.api.server.player.ChatPluginServerPlayer;
@@ -42,11 +39,8 @@ public ChatChannelType getType() {
 	}
 	
 	@Override
-	public List<ChatPluginServerPlayer> getRecipients(List<ChatPluginServerPlayer> players, ChatPluginServerPlayer sender, boolean excludeVanished) {
-		return super.getRecipients(players, sender, excludeVanished)
-				.stream()
-				.filter(other -> sender.getWorld().equals(other.getWorld()))
-				.collect(Collectors.toList());
+	public boolean isRecipient(ChatPluginServerPlayer player, ChatPluginServerPlayer sender, boolean excludeVanished) {
+		return super.isRecipient(player, sender, excludeVanished) && sender.getWorld().equals(player.getWorld());
 	}
 	
 }
@@ -127,6 +127,40 @@ public abstract void logPublicMessage(
 			@Nullable(why = "Public message may not have been blocked") DenyChatReason<?> denyChatReason
 			);
 	
+	/**
+	 * Logs a player's public message and inserts it into {@link DataContainer#PUBLIC_MESSAGES}
+	 * using the sender's rank and world and the date they had when the message was sent.
+	 * 
+	 * <p>By default this calls {@link #logPublicMessage(ChatPluginServerPlayer, String, ChatChannel, DenyChatReason)},
+	 * which reads the sender's current state instead: implementations should override this method
+	 * to store the specified <code>rankID</code>, <code>world</code> and <code>date</code>.</p>
+	 * 
+	 * <p>Specify <code>null</code> as <code>channel</code> if
+	 * <code>!</code>{@link ChatChannelsManager#isEnabled()}.
+	 * Specify <code>null</code> as <code>denyChatReason</code> if the chat
+	 * message has not been blocked by a {@link DenyChatReasonHandler}.</p>
+	 * 
+	 * @param sender Public message's sender
+	 * @param publicMessage Public message to log
+	 * @param channel Channel the public message has been sent on
+	 * @param denyChatReason Public message's deny chat reason
+	 * @param rankID Sender's rank's ID when the message was sent
+	 * @param world Sender's world when the message was sent
+	 * @param date Public message's date, in milliseconds
+	 * @throws IllegalArgumentException If the public message's length exceeds 508 characters
+	 */
+	public void logPublicMessage(
+			ChatPluginServerPlayer sender,
+			String publicMessage,
+			@Nullable(why = "Null if !ChatChannelsManager#isEnabled()") ChatChannel<? extends ChatChannelData> channel,
+			@Nullable(why = "Public message may not have been blocked") DenyChatReason<?> denyChatReason,
+			String rankID,
+			String world,
+			long date
+			) {
+		logPublicMessage(sender, publicMessage, channel, denyChatReason);
+	}
+	
 	/**
 	 * Logs a player's private message and inserts it into {@link DataContainer#PRIVATE_MESSAGES}.
 	 * 
@@ -148,4 +182,38 @@ public abstract void logPrivateMessage(
 			@Nullable(why = "Private message may not have been blocked") DenyChatReason<?> denyChatReason
 			);
 	
+	/**
+	 * Logs a player's private message and inserts it into {@link DataContainer#PRIVATE_MESSAGES}
+	 * using the sender's rank and world and the date they had when the message was sent.
+	 * 
+	 * <p>By default this calls {@link #logPrivateMessage(ChatPluginServerPlayer, OfflinePlayer, String, DenyChatReason)},
+	 * which reads the sender's current state instead: implementations should override this method
+	 * to store the specified <code>rankID</code>, <code>world</code> and <code>date</code>.</p>
+	 * 
+	 * <p><strong>Note:</strong> messages sent or received by the console cannot be logged.</p>
+	 * 
+	 * <p>Specify <code>null</code> as <code>denyChatReason</code> if the private
+	 * message has not been blocked by a {@link DenyChatReasonHandler}.</p>
+	 * 
+	 * @param sender Private message's sender
+	 * @param recipient Private message's recipient
+	 * @param privateMessage Private message to log
+	 * @param denyChatReason Private message's deny chat reason
+	 * @param rankID Sender's rank's ID when the message was sent
+	 * @param world Sender's world when the message was sent
+	 * @param date Private message's date, in milliseconds
+	 * @throws IllegalArgumentException If the private message's length exceeds 505 characters
+	 */
+	public void logPrivateMessage(
+			@NotNull ChatPluginServerPlayer sender,
+			@NotNull OfflinePlayer recipient,
+			String privateMessage,
+			@Nullable(why = "Private message may not have been blocked") DenyChatReason<?> denyChatReason,
+			String rankID,
+			String world,
+			long date
+			) {
+		logPrivateMessage(sender, recipient, privateMessage, denyChatReason);
+	}
+	
 }
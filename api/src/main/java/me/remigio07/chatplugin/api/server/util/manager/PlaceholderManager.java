@@ -17,6 +17,7 @@
 
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 
 import me.remigio07.chatplugin.api.common.storage.configuration.ConfigurationType;
@@ -38,6 +39,7 @@ public abstract class PlaceholderManager implements ChatPluginManager, Runnable
 	protected static PlaceholderManager instance;
 	protected boolean enabled;
 	protected long timerTaskID = -1, loadTime;
+	protected LongAdder cacheHits, cacheMisses; // unused: here to be read by the debugger
 	
 	@Override
 	public boolean isEnabled() {
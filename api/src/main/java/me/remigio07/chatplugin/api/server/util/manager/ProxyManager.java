@@ -28,6 +28,7 @@
 import me.remigio07.chatplugin.api.common.util.manager.ChatPluginManager;
 import me.remigio07.chatplugin.api.common.util.manager.LogManager;
 import me.remigio07.chatplugin.api.common.util.packet.PacketDeserializer;
+import me.remigio07.chatplugin.api.common.util.packet.PacketDispatcher;
 import me.remigio07.chatplugin.api.common.util.packet.PacketSerializer;
 import me.remigio07.chatplugin.api.common.util.packet.Packets;
 import me.remigio07.chatplugin.api.server.player.ChatPluginServerPlayer;
@@ -57,6 +58,7 @@ public abstract class ProxyManager implements ChatPluginManager {
 	protected String serverID, serverDisplayName;
 	protected List<String> logFilteredPackets = Collections.emptyList();
 	protected Map<String, ServerInformation> serversInformation = new ConcurrentHashMap<>();
+	protected PacketDispatcher<ProxyManager> dispatcher = new PacketDispatcher<>();
 	protected long[] taskIDs = new long[2];
 	protected long loadTime;
 	
@@ -98,6 +100,19 @@ public List<String> getLogFilteredPackets() {
 		return logFilteredPackets;
 	}
 	
+	/**
+	 * Gets the dispatcher of the plugin messages received from the proxy.
+	 * 
+	 * <p>Handlers registered here are only called on the premium version, whose
+	 * {@link #receivePluginMessage(byte[])} dispatches the plugin messages it receives:
+	 * the free version cannot receive plugin messages, so nothing is dispatched.</p>
+	 * 
+	 * @return Plugin messages' dispatcher
+	 */
+	public PacketDispatcher<ProxyManager> getDispatcher() {
+		return dispatcher;
+	}
+	
 	/**
 	 * Gets a map containing information
 	 * about servers under the network.
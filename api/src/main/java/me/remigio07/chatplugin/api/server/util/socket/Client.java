@@ -15,6 +15,8 @@
 
 package me.remigio07.chatplugin.api.server.util.socket;
 
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.EOFException;
@@ -22,12 +24,23 @@
 import java.net.InetAddress;
 import java.net.Socket;
 import java.net.SocketException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.StringJoiner;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import me.remigio07.chatplugin.api.common.util.annotation.Nullable;
 import me.remigio07.chatplugin.api.common.util.manager.LogManager;
-import me.remigio07.chatplugin.api.common.util.packet.PacketDeserializer;
+import me.remigio07.chatplugin.api.common.util.packet.PacketDispatcher;
+import me.remigio07.chatplugin.api.common.util.packet.PacketDispatcher.ExecutionMode;
+import me.remigio07.chatplugin.api.common.util.packet.PacketFormat;
 import me.remigio07.chatplugin.api.common.util.packet.PacketSerializer;
+import me.remigio07.chatplugin.api.common.util.packet.Packets;
 import me.remigio07.chatplugin.api.server.event.socket.ClientConnectionEvent;
 import me.remigio07.chatplugin.api.server.event.socket.ClientDisconnectionEvent;
 import me.remigio07.chatplugin.api.server.event.socket.ClientReceivePacketEvent;
@@ -37,9 +50,16 @@
  * 
  * <p>Obtain instances of this class with
  * {@link #Client(InetAddress, int)}.</p>
+ * 
+ * <p>Packets are written by a dedicated thread: {@link #sendPacket(PacketSerializer)} only appends them
+ * to a queue, which is drained into a buffered stream and flushed using a single write whenever possible.
+ * It never blocks: packets sent while the queue is full are dropped. See {@link #setMaxWriteDelay(long)}
+ * and {@link #setMaxQueuedBytes(int)} to tune it.</p>
  */
 public class Client {
 	
+	private static final int WRITE_BUFFER_SIZE = 65536;
+	private static final byte[] DISCONNECTION = new byte[0];
 	private InetAddress serverAddress;
 	private int serverPort;
 	private Socket socket;
@@ -47,6 +67,16 @@ public class Client {
 	private DataInputStream input;
 	private DataOutputStream output;
 	private ConnectionOutcome temp;
+	private volatile PacketFormat format = PacketFormat.LEGACY;
+	private BlockingQueue<byte[]> queue = new LinkedBlockingQueue<>();
+	private AtomicBoolean dropping = new AtomicBoolean();
+	private AtomicInteger queuedBytes = new AtomicInteger();
+	private AtomicLong sentPackets = new AtomicLong(), writes = new AtomicLong(), droppedPackets = new AtomicLong();
+	private Thread writer;
+	private PacketDispatcher<Client> dispatcher = new PacketDispatcher<>();
+	private volatile long maxWriteDelay;
+	private volatile int maxQueuedBytes = 1 << 22;
+	private volatile boolean tcpNoDelay = true;
 	
 	/**
 	 * Constructs a new client socket.
@@ -62,6 +92,8 @@ public Client(InetAddress serverAddress, int serverPort) {
 			throw new IllegalArgumentException("Port value out of range: " + serverPort);
 		this.serverAddress = serverAddress;
 		this.serverPort = serverPort;
+		
+		dispatcher.register("ClientDisconnection", ExecutionMode.IO, (client, packet) -> disconnectionReason = packet.readUTF());
 	}
 	
 	@Override
@@ -82,6 +114,7 @@ public String toString() {
 	 * @throws InterruptedException If the identification task gets interrupted
 	 * @see ClientConnectionEvent
 	 */
+	@SuppressWarnings("deprecation")
 	public ConnectionOutcome connect(String id) throws IOException, InterruptedException {
 		if (isConnected())
 			return ConnectionOutcome.ALREADY_CONNECTED;
@@ -112,11 +145,24 @@ public ConnectionOutcome connect(String id) throws IOException, InterruptedExcep
 				}
 			} else {
 				if (temp == ConnectionOutcome.SUCCESS) {
+					socket.setTcpNoDelay(tcpNoDelay);
+					queue.clear();
+					queuedBytes.set(0);
+					sentPackets.set(0);
+					writes.set(0);
+					droppedPackets.set(0);
+					dropping.set(false);
+					
 					this.socket = socket;
 					this.id = id;
 					input = tempInput;
-					output = tempOutput;
+					DataOutputStream output = this.output = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), WRITE_BUFFER_SIZE));
+					writer = new Thread(() -> write(output, id), "ChatPlugin Socket Writer"); // run() clears the fields while it may still be writing
+					
+					writer.setDaemon(true);
+					writer.start();
 					new Thread(() -> run()).start();
+					sendPacket(Packets.Misc.packetFormat(PacketFormat.getLatest().getVersion()));
 					new ClientConnectionEvent(this).call();
 					LogManager.log("[SOCKETS] Client \"{0}\" has just connected to the server using address {1}.", 4, id, socket.getInetAddress().getHostAddress() + ":" + socket.getLocalPort());
 				} else {
@@ -138,13 +184,26 @@ public ConnectionOutcome connect(String id) throws IOException, InterruptedExcep
 	/**
 	 * Manually disconnects this client from the server.
 	 * 
+	 * <p>The packets already queued are sent before disconnecting,
+	 * waiting up to 5 seconds for them to be written.</p>
+	 * 
 	 * @throws IOException If something goes wrong
 	 * @see ClientDisconnectionEvent
 	 */
 	public void disconnect() throws IOException { // TODO: implement reason here, too (see ClientHandler)
-		if (!isConnected())
+		Socket socket = this.socket;
+		Thread writer = this.writer; // run() may clear the fields in the meantime
+		
+		if (socket == null)
 			return;
-		output.writeShort(-1);
+		queue.add(DISCONNECTION);
+		
+		if (writer != null)
+			try {
+				writer.join(5000L);
+			} catch (InterruptedException ie) {
+				Thread.currentThread().interrupt();
+			}
 		socket.close();
 	}
 	
@@ -156,20 +215,46 @@ public void disconnect() throws IOException { // TODO: implement reason here, to
 	 */
 	@Deprecated
 	public void run() {
-		short bytesRead;
+		ByteArrayOutputStream fragments = null;
+		short length;
 		
 		try {
 			synchronized (input) {
-				while ((bytesRead = input.readShort()) != -1) {
-					byte[] data = new byte[bytesRead];
+				while ((length = input.readShort()) != -1) {
+					if (length == PacketFormat.FRAGMENT_FRAME) {
+						if ((length = input.readShort()) < 0)
+							throw new IOException("Invalid fragment length: " + length);
+						if (fragments == null)
+							fragments = new ByteArrayOutputStream();
+						else if (fragments.size() + length > PacketFormat.MAX_LENGTH)
+							throw new IOException("Fragmented packet exceeds maximum length of " + PacketFormat.MAX_LENGTH);
+						byte[] fragment = new byte[length];
+						
+						input.readFully(fragment);
+						fragments.write(fragment);
+						continue;
+					} if (length < 0)
+						throw new IOException("Invalid packet length: " + length);
+					if (fragments != null && fragments.size() + length > PacketFormat.MAX_LENGTH)
+						throw new IOException("Fragmented packet exceeds maximum length of " + PacketFormat.MAX_LENGTH);
+					byte[] data = new byte[length];
 					
 					input.readFully(data);
-					new ClientReceivePacketEvent(this, data).call();
 					
-					PacketDeserializer packet = new PacketDeserializer(data);
+					if (fragments != null) { // last fragment
+						fragments.write(data);
+						
+						data = fragments.toByteArray();
+						fragments = null;
+					} int version = PacketFormat.readAnnouncedVersion(data);
 					
-					if (packet.readUTF().equals("ClientDisconnection"))
-						disconnectionReason = packet.readUTF();
+					if (version != -1) {
+						format = PacketFormat.fromVersion(version);
+						
+						LogManager.log("[SOCKETS] The server supports packet format {0}; client \"{1}\" is switching to it.", 4, format.name(), id);
+						continue;
+					} new ClientReceivePacketEvent(this, data).call();
+					dispatcher.dispatch(this, data);
 				}
 			}
 		} catch (SocketException | EOFException e) {
@@ -180,36 +265,99 @@ public void run() {
 			socket.close();
 		} catch (IOException ioe) {
 			LogManager.log("[SOCKETS] IOException occurred while closing socket for client \"{0}\": {1}", 2, id, ioe.getLocalizedMessage());
-		} new ClientDisconnectionEvent(this).call();
-		LogManager.log("[SOCKETS] Client \"{0}\" has just disconnected from the server{1}", 4, id, disconnectionReason == null ? "." : ": " + disconnectionReason);
+		} writer.interrupt();
+		new ClientDisconnectionEvent(this).call();
+		LogManager.log("[SOCKETS] Client \"{0}\" has just disconnected from the server{1} Packets sent: {2} using {3} writes.", 4, id, disconnectionReason == null ? "." : ": " + disconnectionReason + ".", sentPackets.get(), writes.get());
 		
 		socket = null;
 		id = null;
 		input = null;
 		output = null;
+		writer = null;
+		format = PacketFormat.LEGACY;
+	}
+	
+	@SuppressWarnings("deprecation")
+	private void write(DataOutputStream output, String id) {
+		List<byte[]> packets = new ArrayList<>();
+		
+		try {
+			while (true) {
+				packets.add(queue.take());
+				
+				if (maxWriteDelay > 0) {
+					long deadline = System.currentTimeMillis() + maxWriteDelay, timeout;
+					byte[] packet;
+					
+					while (queuedBytes.get() < WRITE_BUFFER_SIZE && (timeout = deadline - System.currentTimeMillis()) > 0 && (packet = queue.poll(timeout, TimeUnit.MILLISECONDS)) != null)
+						packets.add(packet);
+				} queue.drainTo(packets);
+				
+				int sent = 0, bytes = 0;
+				boolean disconnection = false;
+				
+				synchronized (output) {
+					for (byte[] packet : packets) {
+						if (packet == DISCONNECTION) {
+							output.writeShort(-1);
+							
+							disconnection = true;
+							break;
+						} output.write(PacketFormat.frame(packet));
+						
+						sent++;
+						bytes += packet.length;
+					} output.flush();
+				} sentPackets.addAndGet(sent);
+				writes.incrementAndGet();
+				packets.clear();
+				
+				queuedBytes.addAndGet(-bytes);
+				
+				if (disconnection)
+					return;
+			}
+		} catch (InterruptedException | SocketException e) {
+			// disconnection
+		} catch (IOException ioe) {
+			LogManager.log("[SOCKETS] IOException occurred while writing a packet for client \"{0}\": {1}", 2, id, ioe.getLocalizedMessage());
+			
+			Socket socket = this.socket;
+			
+			if (socket != null)
+				try {
+					socket.close(); // makes run() return
+				} catch (IOException e) {
+					// ignored
+				}
+		}
 	}
 	
 	/**
 	 * Sends a packet to the server.
 	 * 
-	 * <p>Will do nothing if <code>!</code>{@link #isConnected()}.</p>
+	 * <p>The packet is encoded using {@link #getPacketFormat()} and queued to be written by the writer thread.
+	 * This method never blocks: if more than {@link #getMaxQueuedBytes()} are queued because the server is
+	 * not reading them fast enough, the packet is dropped (see {@link #getDroppedPackets()}).
+	 * Will do nothing if <code>!</code>{@link #isConnected()}.</p>
 	 * 
 	 * @param packet Packet to send
-	 * @throws IllegalStateException If {@link PacketSerializer#toArray()} fails
+	 * @throws IllegalStateException If {@link PacketSerializer#toArray(PacketFormat)} fails
 	 */
 	public void sendPacket(PacketSerializer packet) {
 		if (!isConnected())
 			return;
-		byte[] data = packet.toArray();
+		byte[] data = packet.toArray(format);
 		
-		try {
-			synchronized (output) {
-				output.writeShort(data.length);
-				output.write(data);
-			}
-		} catch (IOException ioe) {
-			LogManager.log("[SOCKETS] IOException occurred while writing a packet for client \"{0}\": {1}", 2, id, ioe.getLocalizedMessage());
-		}
+		if (queuedBytes.addAndGet(data.length) > maxQueuedBytes && queuedBytes.get() != data.length) {
+			queuedBytes.addAndGet(-data.length);
+			droppedPackets.incrementAndGet();
+			
+			if (dropping.compareAndSet(false, true)) // logged once until a packet is queued again
+				LogManager.log("[SOCKETS] Client \"{0}\" is dropping packets because more than {1} bytes are queued and the server is not reading them fast enough.", 2, id, maxQueuedBytes);
+			return;
+		} dropping.set(false);
+		queue.add(data);
 	}
 	
 	/**
@@ -272,8 +420,9 @@ public DataInputStream getInput() {
 	/**
 	 * Gets this client's data output stream.
 	 * 
-	 * <p>Will return <code>null</code> if
-	 * <code>!</code>{@link #isConnected()}.</p>
+	 * <p>The stream is buffered and shared with the writer thread: synchronize on
+	 * it and flush it if you write to it directly. Will return <code>null</code>
+	 * if <code>!</code>{@link #isConnected()}.</p>
 	 * 
 	 * @return Client's output stream
 	 */
@@ -282,6 +431,134 @@ public DataOutputStream getOutput() {
 		return output;
 	}
 	
+	/**
+	 * Gets the dispatcher of the packets received by this client.
+	 * 
+	 * <p>Packets are dispatched after {@link ClientReceivePacketEvent} has been called, on the thread
+	 * reading them. The <code>ClientDisconnection</code> subchannel is handled by this client.</p>
+	 * 
+	 * @return Client's packet dispatcher
+	 */
+	public PacketDispatcher<Client> getDispatcher() {
+		return dispatcher;
+	}
+	
+	/**
+	 * Gets the format used to send packets to the server.
+	 * 
+	 * <p>Will return {@link PacketFormat#LEGACY} until the server announces another one.</p>
+	 * 
+	 * @return Client's packet format
+	 */
+	public PacketFormat getPacketFormat() {
+		return format;
+	}
+	
+	/**
+	 * Gets the max time the writer thread waits for other
+	 * packets to write them together, in milliseconds.
+	 * 
+	 * <p>The default value is 0: the writer thread does not wait, but
+	 * still writes together every packet queued while it was busy.</p>
+	 * 
+	 * @return Max write delay
+	 */
+	public long getMaxWriteDelay() {
+		return maxWriteDelay;
+	}
+	
+	/**
+	 * Sets the max time the writer thread waits for other
+	 * packets to write them together, in milliseconds.
+	 * 
+	 * @param maxWriteDelay Max write delay
+	 * @throws IllegalArgumentException If <code>maxWriteDelay &lt; 0</code>
+	 */
+	public void setMaxWriteDelay(long maxWriteDelay) {
+		if (maxWriteDelay < 0)
+			throw new IllegalArgumentException("Max write delay cannot be negative");
+		this.maxWriteDelay = maxWriteDelay;
+	}
+	
+	/**
+	 * Gets the max amount of bytes queued before {@link #sendPacket(PacketSerializer)} starts dropping packets.
+	 * 
+	 * <p>The default value is 4194304 (4 MiB).</p>
+	 * 
+	 * @return Max queued bytes
+	 */
+	public int getMaxQueuedBytes() {
+		return maxQueuedBytes;
+	}
+	
+	/**
+	 * Sets the max amount of bytes queued before {@link #sendPacket(PacketSerializer)} starts dropping packets.
+	 * 
+	 * @param maxQueuedBytes Max queued bytes
+	 * @throws IllegalArgumentException If <code>maxQueuedBytes &lt; 1</code>
+	 */
+	public void setMaxQueuedBytes(int maxQueuedBytes) {
+		if (maxQueuedBytes < 1)
+			throw new IllegalArgumentException("Max queued bytes must be positive");
+		this.maxQueuedBytes = maxQueuedBytes;
+	}
+	
+	/**
+	 * Checks if <code>TCP_NODELAY</code> is enabled on the sockets created by {@link #connect(String)}.
+	 * 
+	 * <p>The default value is <code>true</code>, as packets are already coalesced by the writer thread.</p>
+	 * 
+	 * @return Whether Nagle's algorithm is disabled
+	 * @see Socket#setTcpNoDelay(boolean)
+	 */
+	public boolean isTcpNoDelay() {
+		return tcpNoDelay;
+	}
+	
+	/**
+	 * Sets whether <code>TCP_NODELAY</code> is enabled on the sockets created by {@link #connect(String)}.
+	 * 
+	 * <p>Has effect starting from the next connection.</p>
+	 * 
+	 * @param tcpNoDelay Whether to disable Nagle's algorithm
+	 * @see Socket#setTcpNoDelay(boolean)
+	 */
+	public void setTcpNoDelay(boolean tcpNoDelay) {
+		this.tcpNoDelay = tcpNoDelay;
+	}
+	
+	/**
+	 * Gets the amount of packets sent since the last connection.
+	 * 
+	 * @return Sent packets
+	 */
+	public long getSentPackets() {
+		return sentPackets.get();
+	}
+	
+	/**
+	 * Gets the amount of packets dropped since the last connection
+	 * because the server was not reading them fast enough.
+	 * 
+	 * @return Dropped packets
+	 * @see #getMaxQueuedBytes()
+	 */
+	public long getDroppedPackets() {
+		return droppedPackets.get();
+	}
+	
+	/**
+	 * Gets the amount of writes performed since the last connection.
+	 * 
+	 * <p>Every write flushes one or more packets to the socket;
+	 * compare it to {@link #getSentPackets()} to measure coalescing.</p>
+	 * 
+	 * @return Performed writes
+	 */
+	public long getWrites() {
+		return writes.get();
+	}
+	
 	/**
 	 * Checks if this client is currently
 	 * connected to the server.
@@ -0,0 +1,125 @@
+/*
+ * 	ChatPlugin - A feature-rich and modular chat ecosystem, lightweight and efficient by design.
+ * 	Copyright 2025  Remigio07
+ * 	
+ * 	This program is distributed in the hope that it will be useful,
+ * 	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * 	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * 	GNU Affero General Public License for more details.
+ * 	
+ * 	You should have received a copy of the GNU Affero General Public License
+ * 	along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ * 	
+ * 	<https://remigio07.me/chatplugin>
+ */
+
+
+package me.remigio07.chatplugin.api.common.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class StorageExecutorTest {
+	
+	private static final String LANGUAGE = "LANGUAGE";
+	private StorageExecutor executor;
+	private UUID player;
+	private AtomicReference<String> language;
+	private CountDownLatch lane;
+	
+	@BeforeEach
+	public void setUp() {
+		executor = new StorageExecutor(1, 64);
+		player = UUID.randomUUID();
+		language = new AtomicReference<>("english");
+		lane = new CountDownLatch(1);
+		
+		executor.submit(player, () -> lane.await(5, TimeUnit.SECONDS)); // keeps the next tasks queued
+	}
+	
+	@Test
+	public void testAdjacentReadsShareResult() throws Exception {
+		CompletableFuture<String> first = read();
+		CompletableFuture<String> second = read();
+		
+		lane.countDown();
+		assertSame(first, second);
+		assertEquals("english", second.get(5, TimeUnit.SECONDS));
+		assertEquals(1, executor.getCoalescedTasks());
+	}
+	
+	@Test
+	public void testReadAfterWriteIsNotCoalesced() throws Exception {
+		CompletableFuture<String> first = read();
+		CompletableFuture<Void> write = write("italian");
+		CompletableFuture<String> second = read();
+		
+		lane.countDown();
+		write.get(5, TimeUnit.SECONDS);
+		assertNotSame(first, second);
+		assertEquals("english", first.get(5, TimeUnit.SECONDS));
+		assertEquals("italian", second.get(5, TimeUnit.SECONDS));
+		assertEquals(0, executor.getCoalescedTasks());
+	}
+	
+	@Test
+	public void testWriteAfterReadIsNotCoalesced() throws Exception {
+		CompletableFuture<Void> first = write("italian");
+		CompletableFuture<String> read = read();
+		CompletableFuture<Void> second = write("french");
+		
+		lane.countDown();
+		second.get(5, TimeUnit.SECONDS);
+		assertNotSame(first, second);
+		assertEquals("italian", read.get(5, TimeUnit.SECONDS));
+		assertEquals("french", language.get());
+	}
+	
+	@Test
+	public void testAdjacentWritesAreMerged() throws Exception {
+		CompletableFuture<Void> first = write("italian");
+		CompletableFuture<Void> second = write("french");
+		CompletableFuture<String> read = read();
+		
+		lane.countDown();
+		assertSame(first, second);
+		assertEquals("french", read.get(5, TimeUnit.SECONDS));
+		assertEquals(1, executor.getCoalescedTasks());
+	}
+	
+	@Test
+	public void testOtherPlayersDoNotPreventCoalescing() throws Exception {
+		UUID other = UUID.randomUUID();
+		CompletableFuture<String> first = read();
+		
+		executor.submit(other, Arrays.asList("setPlayerData", LANGUAGE, other), () -> null, (queued, task) -> task);
+		
+		CompletableFuture<String> second = read();
+		
+		lane.countDown();
+		assertSame(first, second);
+	}
+	
+	private CompletableFuture<String> read() {
+		return executor.submit(player, Arrays.asList("getPlayerData", LANGUAGE, player), language::get, null);
+	}
+	
+	private CompletableFuture<Void> write(String value) {
+		return executor.submit(player, Arrays.asList("setPlayerData", LANGUAGE, player), () -> {
+			language.set(value);
+			return null;
+		}, (queued, task) -> task);
+	}
+	
+}
@@ -0,0 +1,114 @@
+/*
+ * 	ChatPlugin - A feature-rich and modular chat ecosystem, lightweight and efficient by design.
+ * 	Copyright 2025  Remigio07
+ * 	
+ * 	This program is distributed in the hope that it will be useful,
+ * 	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * 	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * 	GNU Affero General Public License for more details.
+ * 	
+ * 	You should have received a copy of the GNU Affero General Public License
+ * 	along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ * 	
+ * 	<https://remigio07.me/chatplugin>
+ */
+
+
+package me.remigio07.chatplugin.api.common.storage.database;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+public class ConnectionPoolTest {
+	
+	private static final long BORROW_TIMEOUT = 5000L;
+	private AtomicInteger createdConnections = new AtomicInteger();
+	private AtomicBoolean broken = new AtomicBoolean();
+	
+	@Test
+	public void testWaitingBorrowOpensConnectionAfterDiscard() throws Exception {
+		ConnectionPool pool = new ConnectionPool(this::createConnection, 1, 0, Long.MAX_VALUE, BORROW_TIMEOUT);
+		PreparedStatement held = pool.prepareStatement("SELECT 1");
+		CompletableFuture<Long> waiter = CompletableFuture.supplyAsync(() -> {
+			long ms = System.currentTimeMillis();
+			
+			try (PreparedStatement statement = pool.prepareStatement("SELECT 2")) {
+				return System.currentTimeMillis() - ms;
+			} catch (SQLException sqle) {
+				throw new RuntimeException(sqle);
+			}
+		});
+		long deadline = System.currentTimeMillis() + BORROW_TIMEOUT;
+		
+		while (pool.getWaitingThreads() == 0 && System.currentTimeMillis() < deadline)
+			Thread.sleep(1L);
+		broken.set(true);
+		assertThrows(SQLException.class, () -> pool.prepareStatement("SELECT 3")); // marks the held connection as broken
+		held.close(); // discards it instead of giving it back
+		
+		assertTrue(waiter.get(BORROW_TIMEOUT * 2, TimeUnit.MILLISECONDS) < BORROW_TIMEOUT / 2);
+		assertEquals(2, createdConnections.get());
+		assertEquals(1, pool.getOpenConnections());
+		pool.close();
+	}
+	
+	@Test
+	public void testBorrowTimesOut() throws Exception {
+		ConnectionPool pool = new ConnectionPool(this::createConnection, 1, 0, Long.MAX_VALUE, 200L);
+		
+		try (PreparedStatement held = pool.prepareStatement("SELECT 1")) {
+			long ms = System.currentTimeMillis();
+			CompletableFuture<Void> waiter = CompletableFuture.runAsync(() -> {
+				try {
+					pool.prepareStatement("SELECT 2").close();
+				} catch (SQLException sqle) {
+					throw new RuntimeException(sqle);
+				}
+			});
+			ExecutionException ee = assertThrows(ExecutionException.class, () -> waiter.get(BORROW_TIMEOUT, TimeUnit.MILLISECONDS));
+			
+			assertTrue(ee.getCause().getCause() instanceof SQLTimeoutException);
+			assertTrue(System.currentTimeMillis() - ms >= 200L);
+			assertEquals(1, pool.getWaits());
+		} pool.close();
+	}
+	
+	private Connection createConnection() {
+		createdConnections.incrementAndGet();
+		return proxy(Connection.class);
+	}
+	
+	private <T> T proxy(Class<T> type) {
+		return type.cast(Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { type }, (proxy, method, args) -> {
+			switch (method.getName()) {
+			case "prepareStatement":
+				if (broken.getAndSet(false))
+					throw new SQLException("Connection reset", "08S01"); // SQLSTATE class 08: connection exception
+				return proxy(PreparedStatement.class);
+			case "isValid":
+				return true;
+			case "equals":
+				return proxy == args[0];
+			case "hashCode":
+				return System.identityHashCode(proxy);
+			default:
+				return null;
+			}
+		}));
+	}
+	
+}
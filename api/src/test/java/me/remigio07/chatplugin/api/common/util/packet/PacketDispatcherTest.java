@@ -0,0 +1,44 @@
+/*
+ * 	ChatPlugin - A feature-rich and modular chat ecosystem, lightweight and efficient by design.
+ * 	Copyright 2025  Remigio07
+ * 	
+ * 	This program is distributed in the hope that it will be useful,
+ * 	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * 	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * 	GNU Affero General Public License for more details.
+ * 	
+ * 	You should have received a copy of the GNU Affero General Public License
+ * 	along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ * 	
+ * 	<https://remigio07.me/chatplugin>
+ */
+
+
+package me.remigio07.chatplugin.api.common.util.packet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import me.remigio07.chatplugin.api.common.util.packet.PacketDispatcher.ExecutionMode;
+
+public class PacketDispatcherTest {
+	
+	@Test
+	public void testToStringIncludesStatistics() {
+		PacketDispatcher<String> dispatcher = new PacketDispatcher<>();
+		int[] received = { 0 };
+		
+		dispatcher.register("DispatcherTest", ExecutionMode.IO, (source, packet) -> received[0] += packet.readInt());
+		
+		for (PacketFormat format : PacketFormat.values())
+			assertTrue(dispatcher.dispatch("test", new PacketSerializer("DispatcherTest").writeInt(1).toArray(format)));
+		assertFalse(dispatcher.dispatch("test", new PacketSerializer("Unhandled").toArray()));
+		assertEquals(PacketFormat.values().length, received[0]);
+		assertTrue(dispatcher.toString().contains("DispatcherTest=Statistics{handledPackets=" + PacketFormat.values().length + ", errors=0"), dispatcher.toString());
+		assertTrue(dispatcher.toString().contains("unhandledPackets=1"), dispatcher.toString());
+	}
+	
+}
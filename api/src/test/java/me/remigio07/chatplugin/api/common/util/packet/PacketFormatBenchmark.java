@@ -0,0 +1,131 @@
+/*
+ * 	ChatPlugin - A feature-rich and modular chat ecosystem, lightweight and efficient by design.
+ * 	Copyright 2025  Remigio07
+ * 	
+ * 	This program is distributed in the hope that it will be useful,
+ * 	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * 	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * 	GNU Affero General Public License for more details.
+ * 	
+ * 	You should have received a copy of the GNU Affero General Public License
+ * 	along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ * 	
+ * 	<https://remigio07.me/chatplugin>
+ */
+
+package me.remigio07.chatplugin.api.common.util.packet;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.InetAddress;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import me.remigio07.chatplugin.api.common.integration.IntegrationType;
+import me.remigio07.chatplugin.api.common.util.ValueContainer;
+
+/**
+ * Compares the size and the encoding and decoding throughput of every {@link PacketFormat}
+ * using the packets returned by every {@link Packets}' factory method.
+ * 
+ * <p>Run it using <code>gradlew benchmark</code>.</p>
+ */
+@Tag("benchmark")
+public class PacketFormatBenchmark {
+	
+	private static final int WARMUP_ITERATIONS = 2000, ITERATIONS = 20000;
+	
+	@Test
+	public void benchmarkPackets() throws Exception {
+		List<Method> factories = getFactories();
+		long[] totalSizes = new long[PacketFormat.values().length];
+		
+		assertFalse(factories.isEmpty());
+		System.out.println(String.format("%-40s %10s %10s %16s %16s", "Factory method", "Legacy", "Compact", "Legacy ops/ms", "Compact ops/ms"));
+		
+		for (Method factory : factories) {
+			Object[] arguments = getArguments(factory);
+			int[] sizes = new int[PacketFormat.values().length];
+			double[] throughputs = new double[sizes.length];
+			
+			for (PacketFormat format : PacketFormat.values()) {
+				sizes[format.ordinal()] = ((PacketSerializer) factory.invoke(null, arguments)).toArray(format).length;
+				totalSizes[format.ordinal()] += sizes[format.ordinal()];
+				
+				run(factory, arguments, format, WARMUP_ITERATIONS);
+				
+				long ns = System.nanoTime();
+				
+				run(factory, arguments, format, ITERATIONS);
+				
+				throughputs[format.ordinal()] = ITERATIONS / ((System.nanoTime() - ns) / 1_000_000D);
+			} System.out.println(String.format("%-40s %10d %10d %16.1f %16.1f", factory.getDeclaringClass().getSimpleName() + "." + factory.getName(), sizes[0], sizes[1], throughputs[0], throughputs[1]));
+			assertTrue(sizes[PacketFormat.COMPACT.ordinal()] <= sizes[PacketFormat.LEGACY.ordinal()], factory.getName() + "'s compact packet is longer than its legacy one");
+		} System.out.println(String.format("%-40s %10d %10d", "Total", totalSizes[0], totalSizes[1]));
+	}
+	
+	private static void run(Method factory, Object[] arguments, PacketFormat format, int iterations) throws Exception {
+		for (int i = 0; i < iterations; i++) {
+			PacketDeserializer deserializer = new PacketDeserializer(((PacketSerializer) factory.invoke(null, arguments)).toArray(format));
+			
+			deserializer.readUTF();
+		}
+	}
+	
+	private static List<Method> getFactories() {
+		List<Method> factories = new ArrayList<>();
+		
+		for (Class<?> clazz : Packets.class.getDeclaredClasses())
+			for (Method method : clazz.getDeclaredMethods())
+				if (Modifier.isPublic(method.getModifiers()) && Modifier.isStatic(method.getModifiers()) && method.getReturnType() == PacketSerializer.class)
+					factories.add(method);
+		factories.sort(Comparator.comparing((Method method) -> method.getDeclaringClass().getSimpleName()).thenComparing(Method::getName));
+		return factories;
+	}
+	
+	private static Object[] getArguments(Method factory) throws Exception {
+		Class<?>[] types = factory.getParameterTypes();
+		Object[] arguments = new Object[types.length];
+		
+		for (int i = 0; i < types.length; i++) {
+			Class<?> type = types[i];
+			
+			if (type == String.class)
+				arguments[i] = "{\"text\":\"Hello, world!\",\"color\":\"gold\"}".substring(0, 8 + i % 16);
+			else if (type == String[].class)
+				arguments[i] = new String[] { "lobby", "survival", null };
+			else if (type == UUID.class)
+				arguments[i] = new UUID(0x1234_5678_9ABC_DEF0L * (i + 1), 0x0FED_CBA9_8765_4321L * (i + 1));
+			else if (type == int.class)
+				arguments[i] = 20 * i;
+			else if (type == long.class)
+				arguments[i] = 1_700_000_000_000L + i;
+			else if (type == double.class)
+				arguments[i] = 19.98D;
+			else if (type == boolean.class)
+				arguments[i] = i % 2 == 0;
+			else if (type == InetAddress.class)
+				arguments[i] = InetAddress.getLoopbackAddress();
+			else if (type == URL.class)
+				arguments[i] = new URL("https://remigio07.me/chatplugin/icon.png");
+			else if (type == ValueContainer.class)
+				arguments[i] = new ValueContainer<Integer>(20);
+			else if (type == IntegrationType.class)
+				arguments[i] = IntegrationType.MATRIX;
+			else if (type.isEnum())
+				arguments[i] = type.getEnumConstants()[0];
+			else fail("Unsupported parameter type " + type.getName() + " in " + factory.getName());
+		} return arguments;
+	}
+	
+}
@@ -0,0 +1,224 @@
+/*
+ * 	ChatPlugin - A feature-rich and modular chat ecosystem, lightweight and efficient by design.
+ * 	Copyright 2025  Remigio07
+ * 	
+ * 	This program is distributed in the hope that it will be useful,
+ * 	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * 	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * 	GNU Affero General Public License for more details.
+ * 	
+ * 	You should have received a copy of the GNU Affero General Public License
+ * 	along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ * 	
+ * 	<https://remigio07.me/chatplugin>
+ */
+
+package me.remigio07.chatplugin.api.common.util.packet;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+public class PacketSerializerTest {
+	
+	private static final int PACKETS = 2000;
+	
+	@Test
+	public void testRandomPacketsRoundTrip() {
+		Random random = new Random(0x5EED);
+		
+		for (int i = 0; i < PACKETS; i++) {
+			String subchannel = random.nextBoolean() ? PacketFormat.getSubchannels().get(random.nextInt(PacketFormat.getSubchannels().size())) : randomString(random, 1 + random.nextInt(32));
+			PacketSerializer serializer = new PacketSerializer(subchannel);
+			List<Object> values = new ArrayList<>();
+			int fields = random.nextInt(24);
+			
+			for (int j = 0; j < fields; j++)
+				values.add(write(serializer, random));
+			for (PacketFormat format : PacketFormat.values()) {
+				PacketDeserializer deserializer = new PacketDeserializer(serializer.toArray(format));
+				
+				assertEquals(format, deserializer.getFormat());
+				assertEquals(subchannel, deserializer.readUTF());
+				
+				for (Object value : values)
+					assertRead(value, deserializer, "packet #" + i + " (" + format.name() + ")");
+			}
+		}
+	}
+	
+	@Test
+	public void testLegacyRejectsLongStrings() {
+		char[] chars = new char[70000];
+		
+		Arrays.fill(chars, 'a');
+		
+		String string = new String(chars);
+		PacketSerializer serializer = new PacketSerializer("PlayerMessage").writeUTF(string).writeInt(7);
+		PacketDeserializer deserializer = new PacketDeserializer(serializer.toArray(PacketFormat.COMPACT));
+		
+		assertThrows(IllegalStateException.class, () -> serializer.toArray(PacketFormat.LEGACY));
+		assertEquals("PlayerMessage", deserializer.readUTF());
+		assertEquals(string, deserializer.readUTF());
+		assertEquals(7, deserializer.readInt());
+	}
+	
+	@Test
+	public void testPacketsAreEncodedOncePerFormat() {
+		PacketSerializer serializer = new PacketSerializer("PlayerMessage").writeUTF("ALL");
+		byte[] compact = serializer.toArray(PacketFormat.COMPACT);
+		
+		assertSame(compact, serializer.toArray(PacketFormat.COMPACT));
+		assertNotSame(compact, serializer.toArray(PacketFormat.LEGACY));
+		serializer.writeBoolean(true);
+		assertNotSame(compact, serializer.toArray(PacketFormat.COMPACT));
+	}
+	
+	private static Object write(PacketSerializer serializer, Random random) {
+		switch (random.nextInt(12)) {
+		case 0:
+			boolean b = random.nextBoolean();
+			
+			serializer.writeBoolean(b);
+			return b;
+		case 1:
+			byte by = (byte) random.nextInt();
+			
+			serializer.writeByte(by);
+			return by;
+		case 2:
+			char c = (char) random.nextInt(0xD800);
+			
+			serializer.writeChar(c);
+			return c;
+		case 3:
+			short s = (short) random.nextInt();
+			
+			serializer.writeShort(s);
+			return s;
+		case 4:
+			int i = random.nextBoolean() ? random.nextInt() : random.nextInt(256) - 128;
+			
+			serializer.writeInt(i);
+			return i;
+		case 5:
+			long l = random.nextBoolean() ? random.nextLong() : random.nextBoolean() ? Long.MIN_VALUE : Long.MAX_VALUE;
+			
+			serializer.writeLong(l);
+			return l;
+		case 6:
+			float f = random.nextBoolean() ? random.nextFloat() : Float.NaN;
+			
+			serializer.writeFloat(f);
+			return f;
+		case 7:
+			double d = random.nextBoolean() ? random.nextDouble() : Double.NEGATIVE_INFINITY;
+			
+			serializer.writeDouble(d);
+			return d;
+		case 8:
+			String utf = random.nextInt(8) == 0 ? null : randomString(random, random.nextInt(random.nextInt(10) == 0 ? 1024 : 32));
+			
+			serializer.writeUTF(utf);
+			return new StringValue(utf);
+		case 9:
+			String[] array = new String[random.nextInt(4)];
+			
+			for (int j = 0; j < array.length; j++)
+				array[j] = random.nextInt(4) == 0 ? null : randomString(random, random.nextInt(16));
+			serializer.writeUTFArray(array);
+			return array;
+		case 10:
+			byte[] bytes = new byte[random.nextInt(random.nextInt(10) == 0 ? 4096 : 64)];
+			
+			random.nextBytes(bytes);
+			serializer.writeBytes(bytes);
+			return bytes;
+		default:
+			UUID uuid = random.nextInt(4) == 0 ? null : new UUID(random.nextLong(), random.nextLong());
+			
+			serializer.writeUUID(uuid);
+			return new UUIDValue(uuid);
+		}
+	}
+	
+	private static void assertRead(Object expected, PacketDeserializer deserializer, String message) {
+		if (expected instanceof Boolean)
+			assertEquals(expected, deserializer.readBoolean(), message);
+		else if (expected instanceof Byte)
+			assertEquals(expected, deserializer.readByte(), message);
+		else if (expected instanceof Character)
+			assertEquals(expected, deserializer.readChar(), message);
+		else if (expected instanceof Short)
+			assertEquals(expected, deserializer.readShort(), message);
+		else if (expected instanceof Integer)
+			assertEquals(expected, deserializer.readInt(), message);
+		else if (expected instanceof Long)
+			assertEquals(expected, deserializer.readLong(), message);
+		else if (expected instanceof Float)
+			assertEquals(expected, deserializer.readFloat(), message);
+		else if (expected instanceof Double)
+			assertEquals(expected, deserializer.readDouble(), message);
+		else if (expected instanceof StringValue)
+			assertEquals(((StringValue) expected).value, deserializer.readUTF(), message);
+		else if (expected instanceof String[])
+			assertArrayEquals((String[]) expected, deserializer.readUTFArray(), message);
+		else if (expected instanceof byte[])
+			assertArrayEquals((byte[]) expected, deserializer.readBytes(), message);
+		else assertEquals(((UUIDValue) expected).value, deserializer.readUUID(), message);
+	}
+	
+	private static String randomString(Random random, int length) {
+		StringBuilder builder = new StringBuilder(length);
+		
+		while (builder.length() < length) {
+			int codePoint;
+			
+			switch (random.nextInt(4)) {
+			case 0:
+				codePoint = random.nextInt(0x80);
+				break;
+			case 1:
+				codePoint = random.nextInt(0x800);
+				break;
+			case 2:
+				codePoint = random.nextInt(0xD800); // no surrogates
+				break;
+			default:
+				codePoint = 0x10000 + random.nextInt(0x100000);
+				break;
+			} builder.appendCodePoint(codePoint);
+		} return builder.toString();
+	}
+	
+	private static class StringValue {
+		
+		private String value;
+		
+		private StringValue(String value) {
+			this.value = value;
+		}
+		
+	}
+	
+	private static class UUIDValue {
+		
+		private UUID value;
+		
+		private UUIDValue(UUID value) {
+			this.value = value;
+		}
+		
+	}
+	
+}
@@ -0,0 +1,137 @@
+/*
+ * 	ChatPlugin - A feature-rich and modular chat ecosystem, lightweight and efficient by design.
+ * 	Copyright 2025  Remigio07
+ * 	
+ * 	This program is distributed in the hope that it will be useful,
+ * 	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * 	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * 	GNU Affero General Public License for more details.
+ * 	
+ * 	You should have received a copy of the GNU Affero General Public License
+ * 	along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ * 	
+ * 	<https://remigio07.me/chatplugin>
+ */
+
+
+package me.remigio07.chatplugin.api.proxy.util.socket;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import me.remigio07.chatplugin.api.common.util.packet.PacketDispatcher.ExecutionMode;
+import me.remigio07.chatplugin.api.common.util.packet.PacketFormat;
+import me.remigio07.chatplugin.api.common.util.packet.PacketSerializer;
+import me.remigio07.chatplugin.api.server.util.socket.Client;
+import me.remigio07.chatplugin.api.server.util.socket.ConnectionOutcome;
+
+/**
+ * Sends packets from a client to the socket server on the loopback interface
+ * and reports the throughput and the amount of socket writes per packet.
+ * 
+ * <p>The "per packet" row writes and flushes every packet on the sending thread,
+ * like clients did before the writer thread was introduced: it performs a write
+ * syscall per packet. The other rows use {@link Client#sendPacket(PacketSerializer)}
+ * with different {@link Client#getMaxWriteDelay()}s.</p>
+ * 
+ * <p>Run it using <code>gradlew benchmark</code>.</p>
+ */
+@Tag("benchmark")
+public class ClientWriteBenchmark {
+	
+	private static final int PACKETS = 200000, ROUNDS = 3;
+	private Server server;
+	private AtomicInteger received = new AtomicInteger(), clients = new AtomicInteger();
+	
+	@BeforeAll
+	public static void setUpManagers() {
+		ServerLoadTest.setUpManagers();
+	}
+	
+	@BeforeEach
+	public void setUp() throws IOException {
+		server = new Server(InetAddress.getLoopbackAddress(), 0);
+		
+		server.getDispatcher().register("WriteTest", ExecutionMode.IO, (clientHandler, packet) -> received.incrementAndGet());
+		server.start();
+	}
+	
+	@AfterEach
+	public void tearDown() throws IOException {
+		server.shutdown();
+	}
+	
+	@Test
+	public void benchmarkClientWrites() throws Exception {
+		System.out.println(String.format("%-16s %10s %14s %16s", "Mode", "Packets", "Packets/s", "Writes/packet"));
+		
+		for (int round = 0; round < ROUNDS; round++) { // the first round warms up the JIT
+			run("per packet", -1L, round);
+			run("queued, 0 ms", 0L, round);
+			run("queued, 1 ms", 1L, round);
+		}
+	}
+	
+	@SuppressWarnings("deprecation")
+	private void run(String mode, long maxWriteDelay, int round) throws Exception {
+		Client client = new Client(InetAddress.getLoopbackAddress(), server.getSocket().getLocalPort());
+		
+		received.set(0);
+		assertEquals(ConnectionOutcome.SUCCESS, client.connect("write-test-" + clients.getAndIncrement()));
+		
+		try {
+			long deadline = System.currentTimeMillis() + 5000L;
+			
+			while (client.getPacketFormat() == PacketFormat.LEGACY && System.currentTimeMillis() < deadline)
+				Thread.sleep(10L); // waits for the server's format
+			long ns = System.nanoTime(), writes = client.getWrites();
+			
+			if (maxWriteDelay < 0) {
+				DataOutputStream output = client.getOutput();
+				
+				for (int i = 0; i < PACKETS; i++)
+					synchronized (output) {
+						output.write(PacketFormat.frame(new PacketSerializer("WriteTest").writeInt(i).toArray(client.getPacketFormat())));
+						output.flush();
+					}
+				writes = PACKETS;
+			} else {
+				client.setMaxWriteDelay(maxWriteDelay);
+				
+				for (int i = 0; i < PACKETS; i++)
+					client.sendPacket(new PacketSerializer("WriteTest").writeInt(i));
+			} deadline = System.currentTimeMillis() + 30000L;
+			
+			while (received.get() < PACKETS && System.currentTimeMillis() < deadline)
+				Thread.sleep(1L);
+			double seconds = (System.nanoTime() - ns) / 1_000_000_000D;
+			
+			assertEquals(PACKETS, received.get());
+			assertEquals(0, client.getDroppedPackets());
+			
+			if (maxWriteDelay >= 0)
+				writes = client.getWrites() - writes;
+			if (round != 0)
+				System.out.println(String.format(
+						"%-16s %10d %14.0f %16.4f",
+						mode,
+						PACKETS,
+						PACKETS / seconds,
+						writes / (double) PACKETS
+						));
+		} finally {
+			client.disconnect();
+		}
+	}
+	
+}
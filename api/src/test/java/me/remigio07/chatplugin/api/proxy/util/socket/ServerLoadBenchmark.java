@@ -0,0 +1,151 @@
+/*
+ * 	ChatPlugin - A feature-rich and modular chat ecosystem, lightweight and efficient by design.
+ * 	Copyright 2025  Remigio07
+ * 	
+ * 	This program is distributed in the hope that it will be useful,
+ * 	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * 	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * 	GNU Affero General Public License for more details.
+ * 	
+ * 	You should have received a copy of the GNU Affero General Public License
+ * 	along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ * 	
+ * 	<https://remigio07.me/chatplugin>
+ */
+
+package me.remigio07.chatplugin.api.proxy.util.socket;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import me.remigio07.chatplugin.api.common.util.packet.PacketDispatcher.ExecutionMode;
+import me.remigio07.chatplugin.api.common.util.packet.PacketSerializer;
+import me.remigio07.chatplugin.api.server.util.socket.Client;
+import me.remigio07.chatplugin.api.server.util.socket.ConnectionOutcome;
+
+/**
+ * Sends packets from several clients to the socket server on the loopback interface,
+ * which echoes them back, and reports the throughput and the round-trip times.
+ * 
+ * <p>Every client keeps at most {@link #WINDOW} packets in flight,
+ * so round-trip times do not include the time spent in full queues.</p>
+ * 
+ * <p>Run it using <code>gradlew benchmark</code>.</p>
+ */
+@Tag("benchmark")
+public class ServerLoadBenchmark {
+	
+	private static final int CLIENTS = 4, PACKETS = 20000, WINDOW = 256;
+	private Server server;
+	
+	@BeforeAll
+	public static void setUpManagers() {
+		ServerLoadTest.setUpManagers();
+	}
+	
+	@BeforeEach
+	public void setUp() throws IOException {
+		server = new Server(InetAddress.getLoopbackAddress(), 0);
+		
+		server.start();
+	}
+	
+	@AfterEach
+	public void tearDown() throws IOException {
+		server.shutdown();
+	}
+	
+	@Test
+	public void benchmarkLoopbackLoad() throws Exception {
+		Map<String, AtomicInteger> received = new ConcurrentHashMap<>();
+		AtomicInteger outOfOrder = new AtomicInteger(), echoes = new AtomicInteger();
+		AtomicLongArray roundTripTimes = new AtomicLongArray(CLIENTS * PACKETS);
+		List<Client> clients = new ArrayList<>();
+		List<Thread> senders = new ArrayList<>();
+		
+		server.getDispatcher().register("LoadTest", ExecutionMode.IO, (clientHandler, packet) -> {
+			int i = packet.readInt();
+			
+			if (received.computeIfAbsent(clientHandler.getID(), id -> new AtomicInteger()).getAndIncrement() != i)
+				outOfOrder.incrementAndGet();
+			clientHandler.sendPacket(new PacketSerializer("LoadTestEcho").writeInt(i));
+		});
+		
+		try {
+			for (int i = 0; i < CLIENTS; i++) {
+				Client client = new Client(InetAddress.getLoopbackAddress(), server.getSocket().getLocalPort());
+				Semaphore window = new Semaphore(WINDOW);
+				int offset = i * PACKETS;
+				
+				assertEquals(ConnectionOutcome.SUCCESS, client.connect("load-test-" + i));
+				client.getDispatcher().register("LoadTestEcho", ExecutionMode.IO, (source, packet) -> {
+					int j = offset + packet.readInt();
+					
+					roundTripTimes.set(j, System.nanoTime() - roundTripTimes.get(j));
+					echoes.incrementAndGet();
+					window.release();
+				});
+				clients.add(client);
+				senders.add(new Thread(() -> {
+					try {
+						for (int j = 0; j < PACKETS; j++) {
+							if (!window.tryAcquire(30, TimeUnit.SECONDS))
+								return;
+							roundTripTimes.set(offset + j, System.nanoTime());
+							client.sendPacket(new PacketSerializer("LoadTest").writeInt(j));
+						} window.tryAcquire(WINDOW, 30, TimeUnit.SECONDS); // waits for the last echoes
+					} catch (InterruptedException ie) {
+						Thread.currentThread().interrupt();
+					}
+				}));
+			} long ns = System.nanoTime();
+			
+			for (Thread sender : senders)
+				sender.start();
+			for (Thread sender : senders)
+				sender.join();
+			double seconds = (System.nanoTime() - ns) / 1_000_000_000D;
+			long[] sorted = new long[roundTripTimes.length()];
+			
+			for (int i = 0; i < sorted.length; i++)
+				sorted[i] = roundTripTimes.get(i);
+			Arrays.sort(sorted);
+			assertEquals(CLIENTS * PACKETS, echoes.get());
+			assertEquals(0, outOfOrder.get());
+			
+			for (ClientHandler clientHandler : server.getClientHandlers())
+				assertEquals(PACKETS, received.get(clientHandler.getID()).get());
+			System.out.println(String.format("%10s %10s %14s %12s %12s %12s", "Clients", "Packets", "Packets/s", "p50 (us)", "p99 (us)", "Max (us)"));
+			System.out.println(String.format(
+					"%10d %10d %14.0f %12.1f %12.1f %12.1f",
+					CLIENTS,
+					CLIENTS * PACKETS,
+					CLIENTS * PACKETS / seconds,
+					sorted[sorted.length / 2] / 1000D,
+					sorted[(int) (sorted.length * 0.99)] / 1000D,
+					sorted[sorted.length - 1] / 1000D
+					));
+		} finally {
+			for (Client client : clients)
+				client.disconnect();
+		}
+	}
+	
+}
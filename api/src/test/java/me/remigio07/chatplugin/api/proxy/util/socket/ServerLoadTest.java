@@ -0,0 +1,316 @@
+/*
+ * 	ChatPlugin - A feature-rich and modular chat ecosystem, lightweight and efficient by design.
+ * 	Copyright 2025  Remigio07
+ * 	
+ * 	This program is distributed in the hope that it will be useful,
+ * 	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * 	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * 	GNU Affero General Public License for more details.
+ * 	
+ * 	You should have received a copy of the GNU Affero General Public License
+ * 	along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ * 	
+ * 	<https://remigio07.me/chatplugin>
+ */
+
+package me.remigio07.chatplugin.api.proxy.util.socket;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import me.remigio07.chatplugin.api.common.event.EventManager;
+import me.remigio07.chatplugin.api.common.util.manager.LogManager;
+import me.remigio07.chatplugin.api.common.util.packet.PacketDispatcher.ExecutionMode;
+import me.remigio07.chatplugin.api.common.util.packet.PacketFormat;
+import me.remigio07.chatplugin.api.common.util.packet.PacketSerializer;
+import me.remigio07.chatplugin.api.server.util.socket.Client;
+import me.remigio07.chatplugin.api.server.util.socket.ConnectionOutcome;
+
+/**
+ * Runs the socket server and several clients on the loopback interface.
+ * 
+ * @see ServerLoadBenchmark
+ */
+public class ServerLoadTest {
+	
+	private static final int CLIENTS = 4, PACKETS = 2000;
+	private static final String FAULTY_CLIENT_ID = "faulty";
+	private Server server;
+	
+	@BeforeAll
+	public static void setUpManagers() {
+		new TestLogManager().load();
+		new TestEventManager().load();
+	}
+	
+	@BeforeEach
+	public void setUp() throws IOException {
+		server = new Server(InetAddress.getLoopbackAddress(), 0);
+		
+		server.start();
+	}
+	
+	@AfterEach
+	public void tearDown() throws IOException {
+		server.shutdown();
+	}
+	
+	@Test
+	public void testLoopbackLoad() throws Exception {
+		Map<String, AtomicInteger> received = new ConcurrentHashMap<>();
+		AtomicInteger outOfOrder = new AtomicInteger(), echoes = new AtomicInteger();
+		List<Client> clients = new ArrayList<>();
+		List<Thread> senders = new ArrayList<>();
+		
+		server.getDispatcher().register("LoadTest", ExecutionMode.IO, (clientHandler, packet) -> {
+			int i = packet.readInt();
+			
+			if (received.computeIfAbsent(clientHandler.getID(), id -> new AtomicInteger()).getAndIncrement() != i)
+				outOfOrder.incrementAndGet();
+			clientHandler.sendPacket(new PacketSerializer("LoadTestEcho").writeInt(i));
+		});
+		
+		try {
+			for (int i = 0; i < CLIENTS; i++) {
+				Client client = connect("load-test-" + i);
+				
+				client.getDispatcher().register("LoadTestEcho", ExecutionMode.IO, (source, packet) -> echoes.incrementAndGet());
+				clients.add(client);
+				senders.add(new Thread(() -> {
+					for (int j = 0; j < PACKETS; j++)
+						client.sendPacket(new PacketSerializer("LoadTest").writeInt(j));
+				}));
+			} for (Thread sender : senders)
+				sender.start();
+			for (Thread sender : senders)
+				sender.join();
+			long deadline = System.currentTimeMillis() + 30000L;
+			
+			while (echoes.get() < CLIENTS * PACKETS && System.currentTimeMillis() < deadline)
+				Thread.sleep(10L);
+			assertEquals(CLIENTS * PACKETS, echoes.get());
+			assertEquals(0, outOfOrder.get());
+			
+			for (ClientHandler clientHandler : server.getClientHandlers())
+				assertEquals(PACKETS, received.get(clientHandler.getID()).get());
+		} finally {
+			for (Client client : clients)
+				client.disconnect();
+		}
+	}
+	
+	@Test
+	public void testRuntimeExceptionOnlyDisconnectsItsClient() throws Exception {
+		try (Socket socket = identify(FAULTY_CLIENT_ID)) {
+			InputStream input = socket.getInputStream();
+			
+			socket.setSoTimeout(5000);
+			
+			try {
+				while (input.read() != -1);
+			} catch (IOException ioe) {
+				// connection reset
+			}
+		} Client client = connect("lobby");
+		AtomicInteger received = new AtomicInteger();
+		
+		server.getDispatcher().register("LoadTest", ExecutionMode.IO, (clientHandler, packet) -> received.incrementAndGet());
+		client.sendPacket(new PacketSerializer("LoadTest").writeInt(0));
+		
+		try {
+			long deadline = System.currentTimeMillis() + 5000L;
+			
+			while (received.get() == 0 && System.currentTimeMillis() < deadline)
+				Thread.sleep(10L);
+			assertTrue(server.isAlive());
+			assertEquals(1, received.get());
+			assertEquals(1, server.getClientHandlers().size());
+		} finally {
+			client.disconnect();
+		}
+	}
+	
+	@Test
+	public void testSendPacketDoesNotBlock() throws Exception {
+		server.setMaxQueuedBytes(1 << 16);
+		
+		try (Socket socket = identify("slow")) { // never reads
+			long deadline = System.currentTimeMillis() + 5000L;
+			
+			while (server.getClientHandlers().isEmpty() && System.currentTimeMillis() < deadline)
+				Thread.sleep(10L);
+			ClientHandler clientHandler = server.getClientHandlers().get(0);
+			byte[] payload = new byte[16384];
+			
+			assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+				for (int i = 0; i < 2000; i++)
+					clientHandler.sendPacket(new PacketSerializer("LoadTest").writeBytes(payload));
+			});
+			assertTrue(clientHandler.getDroppedPackets() > 0);
+		}
+	}
+	
+	@Test
+	public void testClientSendPacketDoesNotBlock() throws Exception {
+		try (ServerSocket serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) { // never reads
+			Client client = new Client(InetAddress.getLoopbackAddress(), serverSocket.getLocalPort());
+			AtomicReference<Socket> accepted = new AtomicReference<>();
+			Thread acceptor = new Thread(() -> {
+				try {
+					Socket socket = serverSocket.accept();
+					
+					socket.setReceiveBufferSize(4096);
+					accepted.set(socket);
+					new DataInputStream(socket.getInputStream()).readUTF();
+					new DataOutputStream(socket.getOutputStream()).writeUTF(ConnectionOutcome.SUCCESS.name());
+				} catch (IOException ioe) {
+					// fails the assertion below
+				}
+			});
+			byte[] payload = new byte[16384];
+			
+			acceptor.start();
+			client.setMaxQueuedBytes(1 << 16);
+			assertEquals(ConnectionOutcome.SUCCESS, client.connect("slow-server"));
+			
+			try {
+				assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+					for (int i = 0; i < 2000; i++)
+						client.sendPacket(new PacketSerializer("LoadTest").writeBytes(payload));
+				});
+				assertTrue(client.getDroppedPackets() > 0);
+			} finally {
+				accepted.get().close(); // makes the client disconnect
+				client.disconnect();
+			}
+		}
+	}
+	
+	@Test
+	public void testFragmentedPacketsRoundTrip() throws Exception {
+		Client client = connect("fragments");
+		byte[] payload = new byte[PacketFormat.MAX_FRAME_LENGTH * 3];
+		AtomicReference<byte[]> received = new AtomicReference<>(), echoed = new AtomicReference<>();
+		
+		new Random(0).nextBytes(payload); // incompressible
+		server.getDispatcher().register("LoadTest", ExecutionMode.IO, (clientHandler, packet) -> {
+			received.set(packet.readBytes());
+			clientHandler.sendPacket(new PacketSerializer("LoadTestEcho").writeBytes(received.get()));
+		});
+		client.getDispatcher().register("LoadTestEcho", ExecutionMode.IO, (source, packet) -> echoed.set(packet.readBytes()));
+		
+		try {
+			long deadline = System.currentTimeMillis() + 5000L;
+			
+			while ((client.getPacketFormat() != PacketFormat.COMPACT || server.getClientHandlers().get(0).getPacketFormat() != PacketFormat.COMPACT) && System.currentTimeMillis() < deadline)
+				Thread.sleep(10L);
+			assertEquals(PacketFormat.COMPACT, client.getPacketFormat());
+			assertTrue(new PacketSerializer("LoadTest").writeBytes(payload).toArray(PacketFormat.COMPACT).length > PacketFormat.MAX_FRAME_LENGTH * 2);
+			client.sendPacket(new PacketSerializer("LoadTest").writeBytes(payload));
+			
+			while (echoed.get() == null && System.currentTimeMillis() < deadline)
+				Thread.sleep(10L);
+			assertArrayEquals(payload, received.get());
+			assertArrayEquals(payload, echoed.get());
+		} finally {
+			client.disconnect();
+		}
+	}
+	
+	@Test
+	public void testOversizedFragmentedPacketIsRejected() throws Exception {
+		AtomicInteger received = new AtomicInteger();
+		
+		server.getDispatcher().register("LoadTest", ExecutionMode.IO, (clientHandler, packet) -> received.incrementAndGet());
+		
+		try (Socket socket = identify("oversized")) {
+			DataOutputStream output = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+			byte[] fragment = new byte[PacketFormat.MAX_FRAME_LENGTH];
+			long deadline = System.currentTimeMillis() + 5000L;
+			
+			while (server.getClientHandlers().isEmpty() && System.currentTimeMillis() < deadline)
+				Thread.sleep(10L);
+			assertEquals(1, server.getClientHandlers().size());
+			
+			for (int i = 0; i < PacketFormat.MAX_LENGTH / fragment.length; i++) { // just below the limit
+				output.writeShort(PacketFormat.FRAGMENT_FRAME);
+				output.writeShort(fragment.length);
+				output.write(fragment);
+			} output.writeShort(fragment.length); // last fragment crosses it
+			output.write(fragment);
+			output.flush();
+			
+			while (!server.getClientHandlers().isEmpty() && System.currentTimeMillis() < deadline)
+				Thread.sleep(10L);
+			assertTrue(server.getClientHandlers().isEmpty());
+			assertEquals(0, received.get());
+		}
+	}
+	
+	private Client connect(String id) throws Exception {
+		Client client = new Client(InetAddress.getLoopbackAddress(), server.getSocket().getLocalPort());
+		
+		assertEquals(ConnectionOutcome.SUCCESS, client.connect(id));
+		return client;
+	}
+	
+	private Socket identify(String id) throws IOException {
+		Socket socket = new Socket();
+		
+		socket.setReceiveBufferSize(4096);
+		socket.connect(server.getSocket().getLocalSocketAddress());
+		new DataOutputStream(socket.getOutputStream()).writeUTF(id);
+		return socket;
+	}
+	
+	private static class TestLogManager extends LogManager {
+		
+		@Override
+		public void load() {
+			instance = this;
+			enabled = true;
+		}
+		
+		@Override
+		public void logMessage(String message, LogLevel logLevel, Object... args) {
+			if (message.contains("has just connected using ID") && FAULTY_CLIENT_ID.equals(args[1])) // simulates a bug on the server's thread
+				throw new IllegalStateException("Faulty client");
+		}
+		
+	}
+	
+	private static class TestEventManager extends EventManager {
+		
+		@Override
+		public void load() {
+			instance = this;
+			enabled = true;
+		}
+		
+	}
+	
+}
@@ -0,0 +1,155 @@
+/*
+ * 	ChatPlugin - A feature-rich and modular chat ecosystem, lightweight and efficient by design.
+ * 	Copyright 2025  Remigio07
+ * 	
+ * 	This program is distributed in the hope that it will be useful,
+ * 	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * 	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * 	GNU Affero General Public License for more details.
+ * 	
+ * 	You should have received a copy of the GNU Affero General Public License
+ * 	along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ * 	
+ * 	<https://remigio07.me/chatplugin>
+ */
+
+package me.remigio07.chatplugin.common.storage;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import me.remigio07.chatplugin.api.common.player.OfflinePlayer;
+import me.remigio07.chatplugin.api.common.storage.PlayersDataType;
+import me.remigio07.chatplugin.api.common.storage.StorageConnector;
+import me.remigio07.chatplugin.api.common.util.manager.LogManager;
+import me.remigio07.chatplugin.api.common.util.manager.TaskManager;
+
+/**
+ * Write-behind buffer for players' stats.
+ * 
+ * <p>Increments are accumulated in memory and written to the storage by a single
+ * asynchronous task, with one {@link StorageConnector#incrementPlayerStat(PlayersDataType, OfflinePlayer, int)}
+ * call per player and stat, so chat threads never wait on the storage. Pending increments are
+ * also written when a player quits ({@link #flush(OfflinePlayer)}) and on {@link #unload()}.
+ * Increments whose write fails are kept in memory and retried by the next flush.</p>
+ */
+public class PlayerStatsWriter {
+	
+	private static final PlayerStatsWriter INSTANCE = new PlayerStatsWriter();
+	private static final long FLUSH_PERIOD = 5000L;
+	private static final int STATS = PlayersDataType.MUTES.ordinal() - PlayersDataType.MESSAGES_SENT.ordinal() + 1;
+	private Map<UUID, Increments> increments = new ConcurrentHashMap<>();
+	private long taskID = -1;
+	
+	public void load() {
+		if (taskID == -1)
+			taskID = TaskManager.scheduleAsync(this::flush, FLUSH_PERIOD, FLUSH_PERIOD);
+	}
+	
+	public void unload() {
+		if (taskID != -1) {
+			TaskManager.cancelAsync(taskID);
+			
+			taskID = -1;
+		} flush();
+	}
+	
+	/**
+	 * Increments a player's statistic by one.
+	 * 
+	 * @param type Data's type
+	 * @param player Player to increment the stat for
+	 * @throws IllegalArgumentException If <code>type</code> is not a stat
+	 * @see StorageConnector#incrementPlayerStat(PlayersDataType, OfflinePlayer)
+	 */
+	public void increment(PlayersDataType<? extends Number> type, OfflinePlayer player) {
+		int index = getIndex(type);
+		
+		increments.compute(player.getUUID(), (uuid, playerIncrements) -> {
+			if (playerIncrements == null)
+				playerIncrements = new Increments(player);
+			playerIncrements.amounts.incrementAndGet(index);
+			return playerIncrements;
+		});
+	}
+	
+	/**
+	 * Gets a player's statistic's increments which have not been written yet.
+	 * 
+	 * @param type Data's type
+	 * @param player Player to check
+	 * @return Pending increments
+	 * @throws IllegalArgumentException If <code>type</code> is not a stat
+	 */
+	public int getPending(PlayersDataType<? extends Number> type, OfflinePlayer player) {
+		Increments playerIncrements = increments.get(player.getUUID());
+		return playerIncrements == null ? 0 : playerIncrements.amounts.get(getIndex(type));
+	}
+	
+	public void flush() {
+		for (UUID player : increments.keySet())
+			flush(player);
+	}
+	
+	public void flush(OfflinePlayer player) {
+		flush(player.getUUID());
+	}
+	
+	private void flush(UUID player) {
+		Increments playerIncrements = increments.get(player);
+		
+		if (playerIncrements == null)
+			return;
+		for (int i = 0; i < STATS; i++) {
+			int amount = playerIncrements.amounts.getAndSet(i, 0);
+			
+			if (amount != 0) {
+				@SuppressWarnings("unchecked")
+				PlayersDataType<? extends Number> type = (PlayersDataType<? extends Number>) PlayersDataType.values()[PlayersDataType.MESSAGES_SENT.ordinal() + i];
+				
+				try {
+					StorageConnector.getInstance().incrementPlayerStat(type, playerIncrements.player, amount);
+				} catch (SQLException | IOException e) {
+					playerIncrements.amounts.addAndGet(i, amount); // retried by the next flush
+					
+					LogManager.log("{0} occurred while incrementing {1} stat for {2}: {3}", 2, e.getClass().getSimpleName(), type.getName(), playerIncrements.player.getName(), e.getLocalizedMessage());
+				}
+			}
+		} increments.computeIfPresent(player, (uuid, other) -> other.isEmpty() ? null : other); // atomic with increment(...)
+	}
+	
+	private static int getIndex(PlayersDataType<? extends Number> type) {
+		int index = type.ordinal() - PlayersDataType.MESSAGES_SENT.ordinal();
+		
+		if (index < 0 || index >= STATS)
+			throw new IllegalArgumentException("Specified column type does not represent a stat: " + type.name());
+		return index;
+	}
+	
+	public static PlayerStatsWriter getInstance() {
+		return INSTANCE;
+	}
+	
+	private static class Increments {
+		
+		private OfflinePlayer player;
+		private AtomicIntegerArray amounts = new AtomicIntegerArray(STATS);
+		
+		private Increments(OfflinePlayer player) {
+			this.player = player;
+		}
+		
+		private boolean isEmpty() {
+			for (int i = 0; i < STATS; i++)
+				if (amounts.get(i) != 0)
+					return false;
+			return true;
+		}
+		
+	}
+	
+}
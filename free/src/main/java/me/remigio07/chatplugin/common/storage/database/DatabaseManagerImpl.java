@@ -17,7 +17,9 @@
 
 import me.remigio07.chatplugin.api.common.storage.DataContainer;
 import me.remigio07.chatplugin.api.common.storage.database.DatabaseManager;
+import me.remigio07.chatplugin.api.common.storage.database.SchemaMigrator;
 import me.remigio07.chatplugin.api.common.util.manager.ChatPluginManagerException;
+import me.remigio07.chatplugin.common.storage.PlayerStatsWriter;
 
 public class DatabaseManagerImpl extends DatabaseManager {
 	
@@ -36,20 +38,32 @@ public void load() throws ChatPluginManagerException {
 			(connector = new SQLiteConnector()).load();
 			break;
 		case MYSQL:
-			throw new ChatPluginManagerException(this, "MySQL cannot be selected as storage method on the free version; only the following are allowed: H2, SQLITE, YAML and JSON.");
+			throw new ChatPluginManagerException(this, "MySQL cannot be selected as storage method on the free version; only the following are allowed: H2, SQLITE, YAML, JSON and JOURNAL.");
 		default:
 			return; // flat-file
 		} try {
 			engine = connector.getEngineName() + " v" + connector.getEngineVersion();
+			playerCache = getConnector().getPlayerCache();
 			
 			for (DataContainer table : connector.getMissingDataContainers())
 				connector.createDataContainer(table);
-			connector.cleanOldPlayers();
 			ensureCompatibility();
+			SchemaMigrator.migrate(getConnector());
+			connector.cleanOldPlayers();
 		} catch (Exception e) {
 			throw new ChatPluginManagerException(this, e);
 		} enabled = true;
+		
+		PlayerStatsWriter.getInstance().load();
 		loadTime = System.currentTimeMillis() - ms;
 	}
 	
+	@Override
+	public void unload() throws ChatPluginManagerException {
+		PlayerStatsWriter.getInstance().unload();
+		super.unload();
+		
+		playerCache = null;
+	}
+	
 }
@@ -20,6 +20,7 @@
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.EnumSet;
 import java.util.Optional;
 import java.util.Properties;
@@ -41,6 +42,11 @@ public class H2Connector extends DatabaseConnector {
 	@Override
 	public void load() throws ChatPluginManagerException {
 		instance = this;
+		
+		open();
+	}
+	
+	void open() throws ChatPluginManagerException { // does not replace the current instance
 		long serverModeTaskID = -1;
 		
 		try {
@@ -53,23 +59,32 @@ public void load() throws ChatPluginManagerException {
 					if (connection == null)
 						LogManager.log("H2 is selected as storage method with the server mode (\"storage.database.use-server-mode\" in config.yml) enabled. This may require extra time to start the database if no connections are open.", 0);
 				}, 1000L);
-			connection = (Connection) IsolatedClassLoader.getInstance().loadClass("org.h2.jdbc.JdbcConnection").getConstructor(String.class, Properties.class, String.class, Object.class, boolean.class).newInstance(
-					"jdbc:h2:file:"
-					+ DatabaseManager.getInstance().getFolder().resolve(ConfigurationType.CONFIG.get().getString("storage.database.file-name")).toAbsolutePath().toString()
-					+ ";LOCK_MODE=2;AUTO_RECONNECT=TRUE;MODE=MySQL" + (serverMode ? ";AUTO_SERVER=TRUE" : ""),
-					new Properties(),
-					null,
-					null,
-					false
-					);
+			connection = createConnection();
 			
-			executeUpdate("SET IGNORECASE TRUE");
+			loadPool();
 		} catch (Exception e) {
 			TaskManager.cancelAsync(serverModeTaskID);
 			throw new ChatPluginManagerException(DatabaseManager.getInstance(), e);
 		}
 	}
 	
+	@Override
+	protected Connection createConnection() throws Exception {
+		Connection connection = (Connection) IsolatedClassLoader.getInstance().loadClass("org.h2.jdbc.JdbcConnection").getConstructor(String.class, Properties.class, String.class, Object.class, boolean.class).newInstance(
+				"jdbc:h2:file:"
+				+ DatabaseManager.getInstance().getFolder().resolve(ConfigurationType.CONFIG.get().getString("storage.database.file-name")).toAbsolutePath().toString()
+				+ ";LOCK_MODE=2;AUTO_RECONNECT=TRUE;MODE=MySQL" + (ConfigurationType.CONFIG.get().getBoolean("storage.database.use-server-mode") ? ";AUTO_SERVER=TRUE" : ""),
+				new Properties(),
+				null,
+				null,
+				false
+				);
+		
+		try (Statement statement = connection.createStatement()) {
+			statement.execute("SET IGNORECASE TRUE");
+		} return connection;
+	}
+	
 	@Override
 	public Set<DataContainer> getMissingDataContainers() throws SQLException {
 		Set<DataContainer> tables = EnumSet.allOf(DataContainer.class);
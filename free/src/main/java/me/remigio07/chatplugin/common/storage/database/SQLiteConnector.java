@@ -20,6 +20,7 @@
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.EnumSet;
 import java.util.Optional;
 import java.util.Properties;
@@ -39,15 +40,21 @@
 
 public class SQLiteConnector extends DatabaseConnector {
 	
+	private static final int BUSY_TIMEOUT = 10000;
+	
 	@Override
 	public void load() throws ChatPluginManagerException {
 		instance = this;
+		
+		open();
+	}
+	
+	void open() throws ChatPluginManagerException { // does not replace the current instance
 		long serverModeTask = -1;
 		
 		try {
 			LibrariesUtils.load(Library.SQLITE_JDBC);
 			
-			String file = StorageManager.getInstance().getFolder().resolve(ConfigurationType.CONFIG.get().getString("storage.database.file-name") + ".db").toAbsolutePath().toString();
 			boolean serverMode = ConfigurationType.CONFIG.get().getBoolean("storage.database.use-server-mode");
 			
 			if (serverMode)
@@ -55,20 +62,33 @@ public void load() throws ChatPluginManagerException {
 					if (connection == null)
 						LogManager.log("SQLite is selected as storage method with the server mode (\"storage.database.use-server-mode\" in config.yml) enabled. This may require extra time to start the database if no connections are open.", 0);
 				}, 1000L);
-			connection = (Connection) IsolatedClassLoader.getInstance().loadClass("org.sqlite.jdbc4.JDBC4Connection").getConstructor(String.class, String.class, Properties.class).newInstance(
-					"jdbc:sqlite:" + file + (serverMode ? "?cache=shared" : ""),
-					file,
-					new Properties()
-					);
+			connection = createConnection();
 			
-			if (serverMode)
-				prepareStatement("PRAGMA journal_mode=WAL").executeQuery().close();
+			if (serverMode || getPoolSize() > 1) // lets readers work while another connection is writing
+				try (Statement statement = connection.createStatement()) {
+					statement.execute("PRAGMA journal_mode=WAL");
+				}
+			loadPool();
 		} catch (Exception e) {
 			TaskManager.cancelAsync(serverModeTask);
 			throw new ChatPluginManagerException(DatabaseManager.getInstance(), e);
 		}
 	}
 	
+	@Override
+	protected Connection createConnection() throws Exception {
+		String file = StorageManager.getInstance().getFolder().resolve(ConfigurationType.CONFIG.get().getString("storage.database.file-name") + ".db").toAbsolutePath().toString();
+		Connection connection = (Connection) IsolatedClassLoader.getInstance().loadClass("org.sqlite.jdbc4.JDBC4Connection").getConstructor(String.class, String.class, Properties.class).newInstance(
+				"jdbc:sqlite:" + file + (ConfigurationType.CONFIG.get().getBoolean("storage.database.use-server-mode") ? "?cache=shared" : ""),
+				file,
+				new Properties()
+				);
+		
+		try (Statement statement = connection.createStatement()) {
+			statement.execute("PRAGMA busy_timeout=" + BUSY_TIMEOUT); // wait for other connections' writes instead of failing with SQLITE_BUSY
+		} return connection;
+	}
+	
 	@Override
 	public Set<DataContainer> getMissingDataContainers() throws SQLException {
 		Set<DataContainer> tables = EnumSet.allOf(DataContainer.class);
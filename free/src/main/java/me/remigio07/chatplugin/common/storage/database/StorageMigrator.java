@@ -0,0 +1,239 @@
+/*
+ * 	ChatPlugin - A feature-rich and modular chat ecosystem, lightweight and efficient by design.
+ * 	Copyright 2025  Remigio07
+ * 	
+ * 	This program is distributed in the hope that it will be useful,
+ * 	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * 	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * 	GNU Affero General Public License for more details.
+ * 	
+ * 	You should have received a copy of the GNU Affero General Public License
+ * 	along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ * 	
+ * 	<https://remigio07.me/chatplugin>
+ */
+
+package me.remigio07.chatplugin.common.storage.database;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import me.remigio07.chatplugin.api.common.storage.DataContainer;
+import me.remigio07.chatplugin.api.common.storage.StorageConnector;
+import me.remigio07.chatplugin.api.common.storage.StorageManager;
+import me.remigio07.chatplugin.api.common.storage.StorageMethod;
+import me.remigio07.chatplugin.api.common.storage.configuration.ConfigurationType;
+import me.remigio07.chatplugin.api.common.storage.database.DatabaseConnector;
+import me.remigio07.chatplugin.api.common.storage.database.SchemaMigrator;
+import me.remigio07.chatplugin.api.common.util.Utils;
+import me.remigio07.chatplugin.api.common.util.annotation.Nullable;
+import me.remigio07.chatplugin.api.common.util.manager.ChatPluginManagerException;
+import me.remigio07.chatplugin.api.common.util.manager.LogManager;
+
+/**
+ * Copies the current storage's data to another database.
+ * 
+ * <p>Databases' tables are streamed through a single cursor each and written using batched
+ * inserts, one transaction per batch, so memory usage is bounded by "storage.migration.batch-size"
+ * regardless of the tables' size. Progress is logged every few seconds.</p>
+ * 
+ * <p>Interrupted migrations can be started again: tables with IDs are resumed after the highest
+ * ID already copied to the target, while tables without IDs are emptied and copied again.
+ * The target must therefore not contain data other than the one copied by previous migrations.
+ * Rows changed in the current storage after they have been copied are not copied again,
+ * so no players should be online while migrating.</p>
+ */
+public class StorageMigrator {
+	
+	private static final AtomicBoolean RUNNING = new AtomicBoolean();
+	private static final long PROGRESS_PERIOD = 5000L;
+	private StorageMethod targetMethod;
+	private int batchSize;
+	private long copiedRows, lastProgress;
+	
+	public StorageMigrator(StorageMethod targetMethod) {
+		this.targetMethod = targetMethod;
+		batchSize = Math.max(ConfigurationType.CONFIG.get().getInt("storage.migration.batch-size"), 1);
+	}
+	
+	/**
+	 * Copies the current storage's data to the target database.
+	 * 
+	 * @return Amount of rows copied
+	 * @throws IllegalArgumentException If the target is the current storage method or it is not supported
+	 * @throws IllegalStateException If another migration is already running
+	 * @throws SQLException If something goes wrong
+	 * @throws IOException If something goes wrong
+	 * @throws ChatPluginManagerException If the target could not be opened
+	 */
+	public long migrate() throws SQLException, IOException, ChatPluginManagerException {
+		StorageConnector source = StorageConnector.getInstance();
+		DatabaseConnector target = null;
+		long ms = System.currentTimeMillis();
+		
+		if (targetMethod == StorageManager.getInstance().getMethod())
+			throw new IllegalArgumentException(targetMethod.getName() + " is already the current storage method");
+		if (targetMethod != StorageMethod.H2 && targetMethod != StorageMethod.SQLITE)
+			throw new IllegalArgumentException(targetMethod.getName() + " cannot be selected as migration's target on the free version; only the following are allowed: H2 and SQLITE");
+		if (!RUNNING.compareAndSet(false, true))
+			throw new IllegalStateException("Another migration is already running");
+		copiedRows = 0;
+		
+		try {
+			target = open(targetMethod);
+			
+			migrate(source, target);
+		} finally {
+			if (target != null)
+				target.unload();
+			RUNNING.set(false);
+		} LogManager.log("Migrated {0} rows to {1} in {2} ms.", 0, copiedRows, targetMethod.getName(), System.currentTimeMillis() - ms);
+		return copiedRows;
+	}
+	
+	void migrate(StorageConnector source, DatabaseConnector target) throws SQLException, IOException {
+		LogManager.log("Migrating the storage from {0} to {1}...", 0, source.getEngineName(), target.getEngineName());
+		
+		for (DataContainer container : target.getMissingDataContainers())
+			target.createDataContainer(container);
+		if (source instanceof DatabaseConnector) {
+			SchemaMigrator.migrate(target); // IP history is copied below
+			
+			for (DataContainer container : DataContainer.values())
+				copy((DatabaseConnector) source, target, container.getDatabaseTableID(), container.getIDColumn().equals(Utils.NOT_APPLICABLE) ? null : container.getIDColumn());
+			copy((DatabaseConnector) source, target, SchemaMigrator.getIPHistoryTableID(), null);
+		} else {
+			for (DataContainer container : DataContainer.values())
+				if (!container.getIDColumn().equals(Utils.NOT_APPLICABLE)) // messages are not stored on flat-files
+					copy(source, target, container);
+			SchemaMigrator.migrate(target); // builds the IP history from the copied data
+		}
+	}
+	
+	private void copy(DatabaseConnector source, DatabaseConnector target, String table, @Nullable(why = "Table may not have IDs") String idColumn) throws SQLException {
+		Number lastID = idColumn == null ? null : target.get("SELECT MAX(" + idColumn + ") FROM " + table, 1, Number.class);
+		String where = lastID == null ? "" : " WHERE " + idColumn + " > " + lastID.longValue();
+		long totalRows = source.get("SELECT COUNT(*) FROM " + table + where, 1, Number.class).longValue();
+		
+		if (idColumn == null) // rows without IDs have no total order to resume from
+			target.executeUpdate("DELETE FROM " + table);
+		if (totalRows == 0)
+			return;
+		try (PreparedStatement select = source.prepareStatement("SELECT * FROM " + table + where + (idColumn == null ? "" : " ORDER BY " + idColumn))) {
+			select.setFetchSize(batchSize);
+			
+			try (ResultSet result = select.executeQuery()) {
+				ResultSetMetaData metadata = result.getMetaData();
+				List<String> columns = new ArrayList<>();
+				
+				for (int i = 1; i <= metadata.getColumnCount(); i++)
+					columns.add(metadata.getColumnLabel(i));
+				
+				try (BatchInsert insert = new BatchInsert(target, table, columns, totalRows)) {
+					while (result.next()) {
+						List<Object> values = new ArrayList<>(columns.size());
+						
+						for (int i = 1; i <= columns.size(); i++)
+							values.add(result.getObject(i));
+						insert.add(values);
+					} insert.flush();
+				}
+			}
+		}
+	}
+	
+	private void copy(StorageConnector source, DatabaseConnector target, DataContainer container) throws SQLException {
+		Number lastID = target.get("SELECT MAX(" + container.getIDColumn() + ") FROM " + container.getDatabaseTableID(), 1, Number.class);
+		List<Integer> ids = source.getIDs(container).stream().filter(id -> lastID == null || id > lastID.intValue()).sorted().collect(Collectors.toList());
+		
+		if (ids.isEmpty())
+			return;
+		try (BatchInsert insert = new BatchInsert(target, container.getDatabaseTableID(), Arrays.asList(container.getColumns()), ids.size())) {
+			for (int id : ids) {
+				List<Object> values = source.getRowValues(container, id);
+				
+				if (values != null && !values.isEmpty())
+					insert.add(values);
+			} insert.flush();
+		}
+	}
+	
+	private static DatabaseConnector open(StorageMethod method) throws ChatPluginManagerException {
+		if (method == StorageMethod.H2) {
+			H2Connector connector = new H2Connector();
+			
+			connector.open();
+			return connector;
+		} SQLiteConnector connector = new SQLiteConnector();
+		
+		connector.open();
+		return connector;
+	}
+	
+	private class BatchInsert implements AutoCloseable {
+		
+		private PreparedStatement statement;
+		private Connection connection;
+		private String table;
+		private long rows, totalRows;
+		private int pendingRows;
+		
+		private BatchInsert(DatabaseConnector target, String table, List<String> columns, long totalRows) throws SQLException {
+			this.table = table;
+			this.totalRows = totalRows;
+			statement = target.prepareStatement("INSERT INTO " + table + " (`" + String.join("`, `", columns) + "`) VALUES (" + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")");
+			connection = statement.getConnection();
+			
+			connection.setAutoCommit(false);
+		}
+		
+		private void add(List<Object> values) throws SQLException {
+			for (int i = 0; i < values.size(); i++)
+				statement.setObject(i + 1, values.get(i));
+			statement.addBatch();
+			
+			if (++pendingRows == batchSize)
+				flush();
+		}
+		
+		private void flush() throws SQLException {
+			if (pendingRows == 0)
+				return;
+			statement.executeBatch();
+			connection.commit();
+			
+			rows += pendingRows;
+			copiedRows += pendingRows;
+			pendingRows = 0;
+			
+			if (rows == totalRows || System.currentTimeMillis() - lastProgress >= PROGRESS_PERIOD) {
+				lastProgress = System.currentTimeMillis();
+				
+				LogManager.log("Migrating table {0}: {1}/{2} rows copied ({3}%).", 0, table, rows, totalRows, rows * 100 / Math.max(totalRows, rows));
+			}
+		}
+		
+		@Override
+		public void close() throws SQLException {
+			try {
+				statement.clearBatch();
+				connection.rollback(); // uncommitted rows, if any
+				connection.setAutoCommit(true);
+			} finally {
+				statement.close();
+			}
+		}
+		
+	}
+	
+}
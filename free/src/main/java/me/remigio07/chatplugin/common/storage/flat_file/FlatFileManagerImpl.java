@@ -18,6 +18,7 @@
 import me.remigio07.chatplugin.api.common.storage.DataContainer;
 import me.remigio07.chatplugin.api.common.storage.flat_file.FlatFileManager;
 import me.remigio07.chatplugin.api.common.util.manager.ChatPluginManagerException;
+import me.remigio07.chatplugin.common.storage.PlayerStatsWriter;
 
 public class FlatFileManagerImpl extends FlatFileManager {
 	
@@ -40,6 +41,13 @@ public void load() throws ChatPluginManagerException {
 			case JSON:
 				connector = new JSONConnector();
 				
+				for (DataContainer container : connector.getMissingDataContainers())
+					connector.createDataContainer(container);
+				connector.load();
+				break;
+			case JOURNAL:
+				connector = new JournalConnector();
+				
 				for (DataContainer container : connector.getMissingDataContainers())
 					connector.createDataContainer(container);
 				connector.load();
@@ -51,7 +59,15 @@ public void load() throws ChatPluginManagerException {
 			throw new ChatPluginManagerException(this, e);
 		} connector.cleanOldPlayers();
 		enabled = true;
+		
+		PlayerStatsWriter.getInstance().load();
 		loadTime = System.currentTimeMillis() - ms;
 	}
 	
+	@Override
+	public void unload() throws ChatPluginManagerException {
+		PlayerStatsWriter.getInstance().unload();
+		super.unload();
+	}
+	
 }
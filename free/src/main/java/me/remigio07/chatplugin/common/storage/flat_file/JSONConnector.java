@@ -40,6 +40,7 @@
 
 import me.remigio07.chatplugin.api.common.player.OfflinePlayer;
 import me.remigio07.chatplugin.api.common.storage.DataContainer;
+import me.remigio07.chatplugin.api.common.storage.PlayerProfile;
 import me.remigio07.chatplugin.api.common.storage.PlayersDataType;
 import me.remigio07.chatplugin.api.common.storage.StorageManager;
 import me.remigio07.chatplugin.api.common.storage.flat_file.FlatFileConnector;
@@ -267,6 +268,22 @@ public void removeEntry(DataContainer container, int id) throws IOException {
 		return null;
 	}
 	
+	@Override
+	public @Nullable(why = "Player may not be stored") PlayerProfile getPlayerProfile(OfflinePlayer player) {
+		JsonObject players = jsons.get(DataContainer.PLAYERS);
+		String uuid = player.getUUID().toString();
+		
+		for (String id : players.keySet())
+			if (Utils.isPositiveInteger(id) && uuid.equals(((JsonObject) players.get(id)).get("playerUUID"))) {
+				Map<PlayersDataType<?>, Object> data = new HashMap<>();
+				
+				for (PlayersDataType<?> type : PlayersDataType.values())
+					data.put(type, convertNumber(type == PlayersDataType.ID ? Integer.valueOf(id) : ((JsonObject) players.get(id)).getOrDefault(adaptPosition(type.getName()), null), type));
+				return new PlayerProfile(data, Utils.getListFromString((String) ((JsonObject) jsons.get(DataContainer.IP_ADDRESSES).getOrDefault(id, new JsonObject())).get("ipAddresses")));
+			}
+		return null;
+	}
+	
 	@Override
 	public void setPlayerData(PlayersDataType<?> type, OfflinePlayer player, @Nullable(why = "Data will become SQL NULL if null") Object data) throws IOException {
 		if (type == PlayersDataType.ID)
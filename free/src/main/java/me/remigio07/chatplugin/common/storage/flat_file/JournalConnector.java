@@ -0,0 +1,960 @@
+/*
+ * 	ChatPlugin - A feature-rich and modular chat ecosystem, lightweight and efficient by design.
+ * 	Copyright 2025  Remigio07
+ * 	
+ * 	This program is distributed in the hope that it will be useful,
+ * 	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * 	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * 	GNU Affero General Public License for more details.
+ * 	
+ * 	You should have received a copy of the GNU Affero General Public License
+ * 	along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ * 	
+ * 	<https://remigio07.me/chatplugin>
+ */
+
+package me.remigio07.chatplugin.common.storage.flat_file;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.bukkit.Statistic;
+import org.spongepowered.api.data.key.Keys;
+import org.spongepowered.api.statistic.Statistics;
+
+import com.github.cliftonlabs.json_simple.JsonException;
+import com.github.cliftonlabs.json_simple.JsonObject;
+import com.github.cliftonlabs.json_simple.Jsoner;
+
+import me.remigio07.chatplugin.api.common.player.OfflinePlayer;
+import me.remigio07.chatplugin.api.common.storage.DataContainer;
+import me.remigio07.chatplugin.api.common.storage.PlayerProfile;
+import me.remigio07.chatplugin.api.common.storage.PlayersDataType;
+import me.remigio07.chatplugin.api.common.storage.StorageManager;
+import me.remigio07.chatplugin.api.common.storage.configuration.Configuration;
+import me.remigio07.chatplugin.api.common.storage.configuration.ConfigurationManager;
+import me.remigio07.chatplugin.api.common.storage.flat_file.FlatFileConnector;
+import me.remigio07.chatplugin.api.common.storage.flat_file.FlatFileManager;
+import me.remigio07.chatplugin.api.common.util.Utils;
+import me.remigio07.chatplugin.api.common.util.VersionUtils;
+import me.remigio07.chatplugin.api.common.util.annotation.NotNull;
+import me.remigio07.chatplugin.api.common.util.annotation.Nullable;
+import me.remigio07.chatplugin.api.common.util.manager.ChatPluginManagerException;
+import me.remigio07.chatplugin.api.common.util.manager.LogManager;
+import me.remigio07.chatplugin.api.common.util.manager.TaskManager;
+import me.remigio07.chatplugin.bootstrap.Environment;
+
+/**
+ * Append-only flat-file connector.
+ * 
+ * <p>Every data container is kept in memory and each change is appended to its journal
+ * as a single line, so writes cost the same regardless of the file's size instead of
+ * rewriting the whole file like {@link JSONConnector} and {@link YAMLConnector} do.
+ * Journals are compacted into snapshots of the live rows once they grow past
+ * {@link #COMPACTION_RATIO} times their rows' amount.</p>
+ * 
+ * <p>Rows are indexed by ID and by {@link #INDEXED_COLUMNS}, so equality
+ * conditions on those columns do not scan the whole container.</p>
+ * 
+ * <p>Missing journals are imported from the container's JSON or YAML file, if present.</p>
+ */
+public class JournalConnector extends FlatFileConnector {
+	
+	public static final int FORMAT_VERSION = 1;
+	public static final List<String> INDEXED_COLUMNS = Arrays.asList("player_uuid", "player_name", "player_ip");
+	private static final long COMPACTION_PERIOD = 60000L;
+	private static final int COMPACTION_RATIO = 4;
+	private static final int COMPACTION_MIN_RECORDS = 1024;
+	protected Map<DataContainer, Journal> journals = new EnumMap<>(DataContainer.class);
+	private long taskID = -1;
+	
+	@Override
+	public void load() throws ChatPluginManagerException {
+		instance = this;
+		
+		try {
+			for (DataContainer container : DataContainer.values())
+				journals.put(container, new Journal(container, container.getFlatFile()));
+		} catch (IOException ioe) {
+			throw new ChatPluginManagerException(FlatFileManager.getInstance(), ioe);
+		} taskID = TaskManager.scheduleAsync(() -> {
+			for (Journal journal : journals.values()) {
+				try {
+					journal.sync();
+					
+					if (journal.needsCompaction())
+						journal.compact();
+				} catch (IOException ioe) {
+					LogManager.log("IOException occurred while compacting data container \"{0}\": {1}", 2, journal.path.getFileName().toString(), ioe.getLocalizedMessage());
+				}
+			}
+		}, COMPACTION_PERIOD, COMPACTION_PERIOD);
+	}
+	
+	@Override
+	public void unload() throws IOException {
+		if (taskID != -1) {
+			TaskManager.cancelAsync(taskID);
+			
+			taskID = -1;
+		} for (Journal journal : journals.values()) {
+			if (journal.needsCompaction())
+				journal.compact();
+			journal.close();
+		} journals.clear();
+	}
+	
+	@Override
+	public @NotNull Set<DataContainer> getMissingDataContainers() {
+		return Stream.of(DataContainer.values()).filter(container -> !Files.exists(container.getFlatFile())).collect(Collectors.toCollection(() -> EnumSet.noneOf(DataContainer.class)));
+	}
+	
+	@Override
+	public void createDataContainer(DataContainer container) throws IOException {
+		Path folder = StorageManager.getInstance().getFolder(), json = folder.resolve(container.getName() + ".json"), yaml = folder.resolve(container.getName() + ".yml");
+		Map<Integer, Map<String, Object>> rows = new LinkedHashMap<>();
+		int nextID = 1;
+		
+		if (Files.exists(json) && Files.size(json) != 0) {
+			try (BufferedReader reader = Files.newBufferedReader(json)) {
+				JsonObject mappings = (JsonObject) Jsoner.deserialize(reader);
+				
+				for (String id : mappings.keySet())
+					if (Utils.isPositiveInteger(id)) {
+						Map<String, Object> row = new HashMap<>();
+						
+						for (Map.Entry<String, Object> entry : ((JsonObject) mappings.get(id)).entrySet())
+							row.put(fromCamelCase(entry.getKey()), entry.getValue() instanceof BigDecimal ? fromBigDecimal((BigDecimal) entry.getValue()) : entry.getValue());
+						rows.put(Integer.valueOf(id), row);
+					}
+				if (mappings.get("currentID") instanceof BigDecimal)
+					nextID = ((BigDecimal) mappings.get("currentID")).intValue() + 1;
+			} catch (JsonException | ClassCastException e) {
+				throw new IOException("Unable to import data container from " + json.getFileName() + ": " + e.getMessage(), e);
+			}
+		} else if (Files.exists(yaml)) {
+			Configuration configuration = ConfigurationManager.getInstance().createConfiguration(yaml);
+			
+			configuration.load();
+			
+			for (String id : configuration.getKeys())
+				if (Utils.isPositiveInteger(id)) {
+					Map<String, Object> row = new HashMap<>();
+					
+					for (String key : configuration.getKeys(id))
+						row.put(adaptPosition(key), configuration.getMappings().get(id + "." + key, null));
+					rows.put(Integer.valueOf(id), row);
+				}
+			nextID = configuration.getInt("current-id", 0) + 1;
+		} else LogManager.log("Creating default data container \"{0}\"...", 0, container.getFlatFile().getFileName().toString());
+		
+		for (int id : rows.keySet())
+			nextID = Math.max(nextID, id + 1);
+		writeSnapshot(container.getFlatFile(), rows, nextID);
+		
+		if (!rows.isEmpty())
+			LogManager.log("Imported {0} entries into data container \"{1}\" from {2}.", 0, rows.size(), container.getFlatFile().getFileName().toString(), (Files.exists(json) && Files.size(json) != 0 ? json : yaml).getFileName().toString());
+	}
+	
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> T select(DataContainer container, String position, Class<T> type, WhereCondition... conditions) {
+		Journal journal = journals.get(container);
+		
+		journal.lock.readLock().lock();
+		
+		try {
+			for (int key : journal.find(conditions))
+				return (T) journal.get(key, adaptPosition(position));
+			return null;
+		} finally {
+			journal.lock.readLock().unlock();
+		}
+	}
+	
+	@Override
+	public Number count(DataContainer container, WhereCondition... conditions) {
+		Journal journal = journals.get(container);
+		
+		journal.lock.readLock().lock();
+		
+		try {
+			return conditions.length == 0 ? journal.rows.size() : journal.find(conditions).size();
+		} finally {
+			journal.lock.readLock().unlock();
+		}
+	}
+	
+	@Override
+	public int update(DataContainer container, String position, Object data, WhereCondition... conditions) throws IOException {
+		Journal journal = journals.get(container);
+		
+		journal.lock.writeLock().lock();
+		
+		try {
+			List<Integer> keys = journal.find(conditions);
+			StringBuilder records = new StringBuilder();
+			
+			for (int key : keys)
+				journal.put(key, Collections.singletonMap(adaptPosition(position), data), records);
+			journal.append(records);
+			return keys.size();
+		} finally {
+			journal.lock.writeLock().unlock();
+		}
+	}
+	
+	@Override
+	public int delete(DataContainer container, WhereCondition... conditions) throws IOException {
+		Journal journal = journals.get(container);
+		
+		journal.lock.writeLock().lock();
+		
+		try {
+			List<Integer> keys = journal.find(conditions);
+			StringBuilder records = new StringBuilder();
+			
+			for (int key : keys)
+				journal.remove(key, records);
+			journal.append(records);
+			return keys.size();
+		} finally {
+			journal.lock.writeLock().unlock();
+		}
+	}
+	
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> @NotNull List<T> getColumnValues(DataContainer container, String position, Class<T> type, WhereCondition... conditions) {
+		Journal journal = journals.get(container);
+		
+		journal.lock.readLock().lock();
+		
+		try {
+			List<T> values = new ArrayList<>();
+			
+			for (int key : journal.find(conditions))
+				values.add((T) journal.get(key, adaptPosition(position)));
+			return values;
+		} finally {
+			journal.lock.readLock().unlock();
+		}
+	}
+	
+	@Override
+	public @NotNull List<Object> getRowValues(DataContainer container, int id) {
+		if (container == DataContainer.PUBLIC_MESSAGES || container == DataContainer.PRIVATE_MESSAGES)
+			throw new IllegalArgumentException("Unable to get row values in container " + container.getName() + " using an ID since that container does not have IDs");
+		Journal journal = journals.get(container);
+		List<Object> values = new ArrayList<>();
+		
+		journal.lock.readLock().lock();
+		
+		try {
+			if (!journal.rows.containsKey(id))
+				return values;
+			for (String column : container.getColumns())
+				values.add(journal.get(id, column));
+			return values;
+		} finally {
+			journal.lock.readLock().unlock();
+		}
+	}
+	
+	@Override
+	public void setData(DataContainer container, String position, int id, @Nullable(why = "Data will become SQL NULL if null") Object data) throws IOException {
+		if (container == DataContainer.PUBLIC_MESSAGES || container == DataContainer.PRIVATE_MESSAGES)
+			throw new IllegalArgumentException("Unable to set data to container " + container.getName() + " using an ID since that container does not have IDs");
+		journals.get(container).put(id, Collections.singletonMap(adaptPosition(position), data));
+	}
+	
+	@Override
+	public @NotNull List<Integer> getIDs(DataContainer container) {
+		if (container == DataContainer.PUBLIC_MESSAGES || container == DataContainer.PRIVATE_MESSAGES)
+			throw new IllegalArgumentException("Unable to get IDs in container " + container.getName() + " since that container does not have IDs");
+		Journal journal = journals.get(container);
+		
+		journal.lock.readLock().lock();
+		
+		try {
+			return new ArrayList<>(journal.rows.keySet());
+		} finally {
+			journal.lock.readLock().unlock();
+		}
+	}
+	
+	@Override
+	public int getNextID(DataContainer container) {
+		if (container == DataContainer.PUBLIC_MESSAGES || container == DataContainer.PRIVATE_MESSAGES)
+			throw new IllegalArgumentException("Unable to get next ID in container " + container.getName() + " since that container does not have IDs");
+		if (container == DataContainer.IP_ADDRESSES)
+			container = DataContainer.PLAYERS;
+		return journals.get(container).nextID;
+	}
+	
+	@Override
+	public void removeEntry(DataContainer container, int id) throws IOException {
+		if (container == DataContainer.PUBLIC_MESSAGES || container == DataContainer.PRIVATE_MESSAGES)
+			throw new IllegalArgumentException("Unable to remove entry in container " + container.getName() + " using an ID since that container does not have IDs");
+		journals.get(container).remove(id);
+	}
+	
+	@Override
+	public <T> @Nullable(why = "Stored data may be SQL NULL") T getPlayerData(PlayersDataType<T> type, OfflinePlayer player) {
+		Journal players = journals.get(DataContainer.PLAYERS);
+		
+		players.lock.readLock().lock();
+		
+		try {
+			int id = players.getPlayerID(player);
+			return id == -1 ? null : convertNumber(players.get(id, type.getDatabaseTableID()), type);
+		} finally {
+			players.lock.readLock().unlock();
+		}
+	}
+	
+	@Override
+	public <T> @Nullable(why = "Stored data may be SQL NULL") T getPlayerData(PlayersDataType<T> type, int playerID) {
+		Journal players = journals.get(DataContainer.PLAYERS);
+		
+		players.lock.readLock().lock();
+		
+		try {
+			return players.rows.containsKey(playerID) ? convertNumber(players.get(playerID, type.getDatabaseTableID()), type) : null;
+		} finally {
+			players.lock.readLock().unlock();
+		}
+	}
+	
+	@Override
+	public @Nullable(why = "Player may not be stored") PlayerProfile getPlayerProfile(OfflinePlayer player) {
+		Journal players = journals.get(DataContainer.PLAYERS), ipAddresses = journals.get(DataContainer.IP_ADDRESSES);
+		Map<PlayersDataType<?>, Object> data = new HashMap<>();
+		int id;
+		
+		players.lock.readLock().lock();
+		
+		try {
+			if ((id = players.getPlayerID(player)) == -1)
+				return null;
+			for (PlayersDataType<?> type : PlayersDataType.values())
+				data.put(type, convertNumber(players.get(id, type.getDatabaseTableID()), type));
+		} finally {
+			players.lock.readLock().unlock();
+		} ipAddresses.lock.readLock().lock();
+		
+		try {
+			return new PlayerProfile(data, Utils.getListFromString((String) ipAddresses.get(id, "ip_addresses")));
+		} finally {
+			ipAddresses.lock.readLock().unlock();
+		}
+	}
+	
+	@Override
+	public void setPlayerData(PlayersDataType<?> type, OfflinePlayer player, @Nullable(why = "Data will become SQL NULL if null") Object data) throws IOException {
+		if (type == PlayersDataType.ID)
+			throw new IllegalArgumentException("Unable to change a player's ID");
+		Journal players = journals.get(DataContainer.PLAYERS);
+		
+		players.lock.writeLock().lock();
+		
+		try {
+			int id = players.getPlayerID(player);
+			
+			if (id != -1)
+				players.put(id, Collections.singletonMap(type.getDatabaseTableID(), data));
+			else LogManager.log("The plugin tried to write data into the storage (container: {0}, data type: {1}) for a player ({2}) who has never played on the server. Data: \"{3}\".", 2, DataContainer.PLAYERS.getName(), type.getName(), player.getName(), String.valueOf(data));
+		} finally {
+			players.lock.writeLock().unlock();
+		}
+	}
+	
+	@Override
+	public void setPlayerData(PlayersDataType<?> type, int playerID, @Nullable(why = "Data will become SQL NULL if null") Object data) throws IOException {
+		if (type == PlayersDataType.ID)
+			throw new IllegalArgumentException("Unable to change a player's ID");
+		Journal players = journals.get(DataContainer.PLAYERS);
+		
+		players.lock.writeLock().lock();
+		
+		try {
+			if (players.rows.containsKey(playerID))
+				players.put(playerID, Collections.singletonMap(type.getDatabaseTableID(), data));
+			else LogManager.log("The plugin tried to write data into the storage (container: {0}, data type: {1}) for a player (ID: #{2}) who has never played on the server. Data: \"{3}\".", 2, DataContainer.PLAYERS.getName(), type.getName(), playerID, String.valueOf(data));
+		} finally {
+			players.lock.writeLock().unlock();
+		}
+	}
+	
+	@Override
+	public @NotNull List<OfflinePlayer> getPlayers(InetAddress ipAddress, boolean includeOlder) {
+		Journal players = journals.get(DataContainer.PLAYERS), ipAddresses = journals.get(DataContainer.IP_ADDRESSES);
+		String hostAddress = ipAddress.getHostAddress();
+		Set<Integer> ids;
+		
+		players.lock.readLock().lock();
+		
+		try {
+			ids = new LinkedHashSet<>(players.find("player_ip", hostAddress));
+		} finally {
+			players.lock.readLock().unlock();
+		} if (includeOlder) {
+			ipAddresses.lock.readLock().lock();
+			
+			try {
+				for (Map.Entry<Integer, Map<String, Object>> row : ipAddresses.rows.entrySet())
+					if (row.getValue().get("ip_addresses") instanceof String && Utils.getListFromString((String) row.getValue().get("ip_addresses")).contains(hostAddress))
+						ids.add(row.getKey());
+			} finally {
+				ipAddresses.lock.readLock().unlock();
+			}
+		} List<OfflinePlayer> list = new ArrayList<>();
+		
+		players.lock.readLock().lock();
+		
+		try {
+			for (int id : ids)
+				if (players.get(id, "player_uuid") != null)
+					list.add(new OfflinePlayer(UUID.fromString((String) players.get(id, "player_uuid")), (String) players.get(id, "player_name")));
+		} finally {
+			players.lock.readLock().unlock();
+		} return list;
+	}
+	
+	@Override
+	public void insertNewPlayer(OfflinePlayer player) throws IOException {
+		Journal players = journals.get(DataContainer.PLAYERS);
+		Map<String, Object> row = new HashMap<>();
+		
+		row.put("player_uuid", player.getUUID().toString());
+		row.put("player_name", player.getName());
+		
+		if (player.isOnline()) {
+			row.put("player_ip", player.getIPAddress().getHostAddress());
+			
+			if (Environment.isBukkit())
+				row.put("time_played", (long) player.toAdapter().bukkitValue().getStatistic(Statistic.valueOf(VersionUtils.getVersion().getProtocol() < 341 ? "PLAY_ONE_TICK" : "PLAY_ONE_MINUTE")) * 50);
+			else if (Environment.isSponge())
+				row.put("time_played", player.toAdapter().spongeValue().getStatisticData().get(Keys.STATISTICS).get().getOrDefault(Statistics.TIME_PLAYED, 0L) * 50);
+		} else row.put("time_played", 0L);
+		
+		row.put("messages_sent", 0);
+		row.put("antispam_infractions", 0);
+		row.put("bans", (short) 0);
+		row.put("warnings", (short) 0);
+		row.put("kicks", (short) 0);
+		row.put("mutes", (short) 0);
+		players.lock.writeLock().lock();
+		
+		try {
+			players.put(players.nextID, row);
+		} finally {
+			players.lock.writeLock().unlock();
+		}
+	}
+	
+	@Override
+	public void cleanOldPlayers() {
+		if (StorageManager.getInstance().getPlayersAutoCleanerPeriod() != -1)
+			TaskManager.runAsync(() -> {
+				Journal players = journals.get(DataContainer.PLAYERS), ipAddresses = journals.get(DataContainer.IP_ADDRESSES);
+				long ms = System.currentTimeMillis();
+				List<Integer> old = new ArrayList<>();
+				
+				players.lock.readLock().lock();
+				
+				try {
+					for (Map.Entry<Integer, Map<String, Object>> row : players.rows.entrySet())
+						if (row.getValue().get("last_logout") instanceof Number && ((Number) row.getValue().get("last_logout")).longValue() < ms - StorageManager.getInstance().getPlayersAutoCleanerPeriod())
+							old.add(row.getKey());
+				} finally {
+					players.lock.readLock().unlock();
+				} try {
+					for (int id : old) {
+						players.remove(id);
+						ipAddresses.remove(id);
+					}
+				} catch (IOException e) {
+					LogManager.log("IOException occurred while cleaning old players from the database: {0}", 2, e.getMessage());
+				} if (!old.isEmpty())
+					LogManager.log("[ASYNC] Cleaned {0} old player{1} from the storage in {2} ms.", 4, old.size(), old.size() == 1 ? "" : "s", System.currentTimeMillis() - ms);
+			}, 0L);
+	}
+	
+	/**
+	 * Gets the average time taken to append a record
+	 * to a journal, used to keep track of writes' latency.
+	 * 
+	 * @param container Journal's container
+	 * @return Average append time, in nanoseconds
+	 */
+	public long getAverageAppendTime(DataContainer container) {
+		Journal journal = journals.get(container);
+		return journal.appends == 0 ? 0 : journal.appendTime / journal.appends;
+	}
+	
+	@Override
+	public String getEngineName() {
+		return "Journal";
+	}
+	
+	@Override
+	public String getEngineVersion() {
+		return String.valueOf(FORMAT_VERSION);
+	}
+	
+	private static String adaptPosition(String position) {
+		return position.toLowerCase().replace('-', '_');
+	}
+	
+	private static String fromCamelCase(String key) {
+		return key.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toLowerCase();
+	}
+	
+	private static Object fromBigDecimal(BigDecimal number) {
+		try {
+			long value = number.longValueExact();
+			return value == (int) value ? (Object) (int) value : (Object) value;
+		} catch (ArithmeticException e) {
+			return number.doubleValue();
+		}
+	}
+	
+	private static void writeSnapshot(Path path, Map<Integer, Map<String, Object>> rows, int nextID) throws IOException {
+		Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+		
+		try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+				BufferedWriter writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(), -1))) {
+			StringBuilder record = new StringBuilder();
+			
+			writer.write("V\t" + FORMAT_VERSION + "\nN\t" + nextID + "\n");
+			
+			for (Map.Entry<Integer, Map<String, Object>> row : rows.entrySet()) {
+				writePut(row.getKey(), row.getValue(), record);
+				writer.append(record);
+				record.setLength(0);
+			} writer.flush();
+			channel.force(true);
+		} Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+	
+	private static void writePut(int key, Map<String, Object> values, StringBuilder record) {
+		record.append("P\t").append(key);
+		
+		for (Map.Entry<String, Object> value : values.entrySet()) {
+			record.append('\t').append(value.getKey()).append('\t');
+			writeValue(value.getValue(), record);
+		} record.append('\n');
+	}
+	
+	private static void writeValue(Object value, StringBuilder record) {
+		if (value == null)
+			record.append('n');
+		else if (value instanceof Boolean)
+			record.append((Boolean) value ? "b1" : "b0");
+		else if (value instanceof Byte || value instanceof Short)
+			record.append('h').append(((Number) value).shortValue());
+		else if (value instanceof Integer)
+			record.append('i').append(value);
+		else if (value instanceof Long)
+			record.append('l').append(value);
+		else if (value instanceof Number)
+			record.append('d').append(((Number) value).doubleValue());
+		else {
+			String string = value.toString();
+			
+			record.append('s');
+			
+			for (int i = 0; i < string.length(); i++) {
+				char c = string.charAt(i);
+				
+				switch (c) {
+				case '\\':
+					record.append("\\\\");
+					break;
+				case '\t':
+					record.append("\\t");
+					break;
+				case '\n':
+					record.append("\\n");
+					break;
+				case '\r':
+					record.append("\\r");
+					break;
+				default:
+					record.append(c);
+				}
+			}
+		}
+	}
+	
+	private static Object readValue(String field) {
+		switch (field.charAt(0)) {
+		case 'n':
+			return null;
+		case 'b':
+			return field.charAt(1) == '1';
+		case 'h':
+			return Short.valueOf(field.substring(1));
+		case 'i':
+			return Integer.valueOf(field.substring(1));
+		case 'l':
+			return Long.valueOf(field.substring(1));
+		case 'd':
+			return Double.valueOf(field.substring(1));
+		case 's':
+			StringBuilder string = new StringBuilder(field.length() - 1);
+			
+			for (int i = 1; i < field.length(); i++) {
+				char c = field.charAt(i);
+				
+				if (c == '\\' && ++i < field.length()) {
+					c = field.charAt(i);
+					string.append(c == 't' ? '\t' : c == 'n' ? '\n' : c == 'r' ? '\r' : c);
+				} else string.append(c);
+			} return string.toString();
+		default:
+			throw new IllegalArgumentException("Unknown value type: " + field.charAt(0));
+		}
+	}
+	
+	private static Object getIndexKey(Object value) {
+		if (value instanceof String)
+			return ((String) value).toLowerCase(Locale.ROOT);
+		if (value instanceof Byte || value instanceof Short || value instanceof Integer || value instanceof Long)
+			return ((Number) value).longValue();
+		if (value instanceof Number)
+			return ((Number) value).doubleValue();
+		return value;
+	}
+	
+	private static int compare(Number first, Number second) {
+		if (getIndexKey(first) instanceof Long && getIndexKey(second) instanceof Long)
+			return Long.compare(first.longValue(), second.longValue());
+		return Double.compare(first.doubleValue(), second.doubleValue());
+	}
+	
+	protected static class Journal {
+		
+		private DataContainer container;
+		private Path path;
+		private FileChannel channel;
+		private ReadWriteLock lock = new ReentrantReadWriteLock();
+		private Map<Integer, Map<String, Object>> rows = new LinkedHashMap<>();
+		private Map<String, Map<Object, Set<Integer>>> indexes = new HashMap<>();
+		private int nextID = 1, records;
+		private volatile long appendTime, appends;
+		private boolean dirty;
+		
+		private Journal(DataContainer container, Path path) throws IOException {
+			this.container = container;
+			this.path = path;
+			
+			for (String column : container.getColumns())
+				if (INDEXED_COLUMNS.contains(column))
+					indexes.put(column, new HashMap<>());
+			channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+			
+			replay();
+		}
+		
+		private void replay() throws IOException {
+			long size = channel.size(), end = size;
+			ByteBuffer buffer = ByteBuffer.allocate(1);
+			
+			while (end > 0) { // drops a record left incomplete by a crash
+				buffer.clear();
+				channel.read(buffer, end - 1);
+				
+				if (buffer.get(0) == '\n')
+					break;
+				end--;
+			} if (end != size) {
+				LogManager.log("Data container \"{0}\" ends with an incomplete record ({1} bytes), which has been discarded.", 1, path.getFileName().toString(), size - end);
+				channel.truncate(end);
+			} BufferedReader reader = new BufferedReader(Channels.newReader(channel.position(0), StandardCharsets.UTF_8.newDecoder(), -1));
+			String line;
+			
+			while ((line = reader.readLine()) != null) {
+				String[] fields = line.split("\t", -1);
+				
+				try {
+					switch (fields[0]) {
+					case "V":
+						if (Integer.parseInt(fields[1]) > FORMAT_VERSION)
+							throw new IOException("Data container \"" + path.getFileName() + "\" has been written by a newer ChatPlugin version (format v" + fields[1] + ")");
+						break;
+					case "N":
+						nextID = Math.max(nextID, Integer.parseInt(fields[1]));
+						break;
+					case "P":
+						Map<String, Object> values = new HashMap<>();
+						
+						for (int i = 2; i + 1 < fields.length; i += 2)
+							values.put(fields[i], readValue(fields[i + 1]));
+						apply(Integer.parseInt(fields[1]), values);
+						break;
+					case "D":
+						unapply(Integer.parseInt(fields[1]));
+						break;
+					default:
+						throw new IllegalArgumentException("Unknown record type: " + fields[0]);
+					}
+				} catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+					throw new IOException("Invalid record in data container \"" + path.getFileName() + "\" at line " + (records + 1) + ": " + e.getMessage(), e);
+				} records++;
+			} channel.position(channel.size());
+		}
+		
+		private Object get(int key, String column) {
+			Map<String, Object> row = rows.get(key);
+			
+			if (row == null)
+				return null;
+			return column.equals(container.getIDColumn()) ? Integer.valueOf(key) : row.get(column);
+		}
+		
+		private int getPlayerID(OfflinePlayer player) {
+			List<Integer> ids = find("player_uuid", player.getUUID().toString());
+			return ids.isEmpty() ? -1 : ids.get(0);
+		}
+		
+		private List<Integer> find(String column, Object value) {
+			Set<Integer> keys = indexes.get(column).get(getIndexKey(value));
+			return keys == null ? Collections.emptyList() : new ArrayList<>(keys);
+		}
+		
+		private List<Integer> find(WhereCondition... conditions) {
+			Iterable<Integer> candidates = rows.keySet();
+			List<Integer> keys = new ArrayList<>();
+			
+			for (WhereCondition condition : conditions) {
+				if (condition.getOperator() != WhereCondition.WhereOperator.EQUAL || condition.getSecondTermValue() == null)
+					continue;
+				String column = adaptPosition(condition.getFirstTermPosition());
+				
+				if (column.equals(container.getIDColumn()) && condition.getSecondTermValue() instanceof Number) {
+					int key = ((Number) condition.getSecondTermValue()).intValue();
+					candidates = rows.containsKey(key) ? Collections.singletonList(key) : Collections.emptyList();
+					break;
+				} if (indexes.containsKey(column)) {
+					candidates = find(column, condition.getSecondTermValue());
+					break;
+				}
+			} for (int key : candidates)
+				if (checkConditions(key, conditions))
+					keys.add(key);
+			return keys;
+		}
+		
+		private boolean checkConditions(int key, WhereCondition[] conditions) {
+			for (WhereCondition condition : conditions) {
+				Object firstTerm = get(key, adaptPosition(condition.getFirstTermPosition()));
+				Object secondTerm = condition.getSecondTermValue();
+				
+				if (firstTerm == null)
+					return false;
+				boolean equal = secondTerm instanceof String ? firstTerm.toString().equalsIgnoreCase((String) secondTerm) : secondTerm instanceof Number && firstTerm instanceof Number ? compare((Number) firstTerm, (Number) secondTerm) == 0 : firstTerm.equals(secondTerm);
+				
+				switch (condition.getOperator()) {
+				case EQUAL:
+					if (equal)
+						continue;
+					return false;
+				case NOT_EQUAL:
+					if (equal)
+						return false;
+					break;
+				case GREATER_THAN:
+					if (compare((Number) firstTerm, (Number) secondTerm) > 0)
+						continue;
+					return false;
+				case LESS_THAN:
+					if (compare((Number) firstTerm, (Number) secondTerm) < 0)
+						continue;
+					return false;
+				case GREATER_THAN_OR_EQUAL:
+					if (compare((Number) firstTerm, (Number) secondTerm) >= 0)
+						continue;
+					return false;
+				case LESS_THAN_OR_EQUAL:
+					if (compare((Number) firstTerm, (Number) secondTerm) <= 0)
+						continue;
+					return false;
+				}
+			} return true;
+		}
+		
+		private void put(int key, Map<String, Object> values) throws IOException {
+			StringBuilder record = new StringBuilder();
+			
+			lock.writeLock().lock();
+			
+			try {
+				put(key, values, record);
+				append(record);
+			} finally {
+				lock.writeLock().unlock();
+			}
+		}
+		
+		private void put(int key, Map<String, Object> values, StringBuilder records) {
+			Map<String, Object> row = new HashMap<>(values);
+			
+			row.remove(container.getIDColumn());
+			apply(key, row);
+			writePut(key, row, records);
+		}
+		
+		private void remove(int key) throws IOException {
+			StringBuilder record = new StringBuilder();
+			
+			lock.writeLock().lock();
+			
+			try {
+				remove(key, record);
+				append(record);
+			} finally {
+				lock.writeLock().unlock();
+			}
+		}
+		
+		private void remove(int key, StringBuilder records) {
+			if (unapply(key))
+				records.append("D\t").append(key).append('\n');
+		}
+		
+		private void apply(int key, Map<String, Object> values) {
+			Map<String, Object> row = rows.computeIfAbsent(key, k -> new HashMap<>());
+			
+			for (Map.Entry<String, Object> value : values.entrySet()) {
+				Map<Object, Set<Integer>> index = indexes.get(value.getKey());
+				
+				if (index != null) {
+					unindex(index, row.get(value.getKey()), key);
+					
+					if (value.getValue() != null)
+						index.computeIfAbsent(getIndexKey(value.getValue()), k -> new LinkedHashSet<>(1)).add(key);
+				} row.put(value.getKey(), value.getValue());
+			} nextID = Math.max(nextID, key + 1);
+		}
+		
+		private boolean unapply(int key) {
+			Map<String, Object> row = rows.remove(key);
+			
+			if (row == null)
+				return false;
+			for (Map.Entry<String, Map<Object, Set<Integer>>> index : indexes.entrySet())
+				unindex(index.getValue(), row.get(index.getKey()), key);
+			return true;
+		}
+		
+		private static void unindex(Map<Object, Set<Integer>> index, Object value, int key) {
+			if (value == null)
+				return;
+			Object indexKey = getIndexKey(value);
+			Set<Integer> keys = index.get(indexKey);
+			
+			if (keys != null && keys.remove(key) && keys.isEmpty())
+				index.remove(indexKey);
+		}
+		
+		private void append(CharSequence data) throws IOException {
+			if (data.length() == 0)
+				return;
+			long ns = System.nanoTime();
+			ByteBuffer buffer = StandardCharsets.UTF_8.encode(data.toString());
+			
+			while (buffer.hasRemaining())
+				channel.write(buffer);
+			for (int i = 0; i < data.length(); i++)
+				if (data.charAt(i) == '\n')
+					records++;
+			dirty = true;
+			appendTime += System.nanoTime() - ns;
+			appends++;
+		}
+		
+		private boolean needsCompaction() {
+			return records > COMPACTION_MIN_RECORDS && records > rows.size() * COMPACTION_RATIO;
+		}
+		
+		private void sync() throws IOException {
+			lock.writeLock().lock();
+			
+			try {
+				if (dirty) {
+					channel.force(false);
+					
+					dirty = false;
+				}
+			} finally {
+				lock.writeLock().unlock();
+			}
+		}
+		
+		private void compact() throws IOException {
+			lock.writeLock().lock();
+			
+			try {
+				long ms = System.currentTimeMillis(), size = channel.size();
+				
+				channel.close();
+				
+				try {
+					writeSnapshot(path, rows, nextID);
+				} finally {
+					channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+					
+					channel.position(channel.size());
+				} LogManager.log("[ASYNC] Compacted data container \"{0}\" ({1} records -> {2}, {3} KB -> {4} KB) in {5} ms.", 4, path.getFileName().toString(), records, rows.size() + 2, size / 1024, channel.size() / 1024, System.currentTimeMillis() - ms);
+				
+				records = rows.size() + 2;
+				dirty = false;
+			} finally {
+				lock.writeLock().unlock();
+			}
+		}
+		
+		private void close() throws IOException {
+			lock.writeLock().lock();
+			
+			try {
+				channel.force(false);
+				channel.close();
+			} finally {
+				lock.writeLock().unlock();
+			}
+		}
+		
+	}
+	
+}
@@ -36,6 +36,7 @@
 
 import me.remigio07.chatplugin.api.common.player.OfflinePlayer;
 import me.remigio07.chatplugin.api.common.storage.DataContainer;
+import me.remigio07.chatplugin.api.common.storage.PlayerProfile;
 import me.remigio07.chatplugin.api.common.storage.PlayersDataType;
 import me.remigio07.chatplugin.api.common.storage.StorageManager;
 import me.remigio07.chatplugin.api.common.storage.configuration.Configuration;
@@ -261,6 +262,22 @@ public void removeEntry(DataContainer container, int id) throws IOException {
 		return null;
 	}
 	
+	@Override
+	public @Nullable(why = "Player may not be stored") PlayerProfile getPlayerProfile(OfflinePlayer player) {
+		Configuration players = yamls.get(DataContainer.PLAYERS);
+		String uuid = player.getUUID().toString();
+		
+		for (String id : players.getKeys())
+			if (Utils.isPositiveInteger(id) && uuid.equals(players.getString(id + ".player-uuid"))) {
+				Map<PlayersDataType<?>, Object> data = new HashMap<>();
+				
+				for (PlayersDataType<?> type : PlayersDataType.values())
+					data.put(type, convertNumber(type == PlayersDataType.ID ? Integer.valueOf(id) : players.getMappings().get(id + "." + type.getName(), null), type));
+				return new PlayerProfile(data, Utils.getListFromString(yamls.get(DataContainer.IP_ADDRESSES).getString(id + ".ip-addresses", null)));
+			}
+		return null;
+	}
+	
 	@Override
 	public void setPlayerData(PlayersDataType<?> type, OfflinePlayer player, @Nullable(why = "Data will become SQL NULL if null") Object data) throws IOException {
 		if (type == PlayersDataType.ID)
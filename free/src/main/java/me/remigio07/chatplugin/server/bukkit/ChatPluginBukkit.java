@@ -327,34 +327,42 @@ public static void sendMessage(Player player, boolean actionbar, BaseComponent..
 		if (VersionUtils.isSpigot() && VersionUtils.getVersion().isAtLeast(Version.V1_9_1))
 			for (BaseComponent bungeeCordComponent : bungeeCordComponents)
 				player.spigot().sendMessage(actionbar ? ChatMessageType.ACTION_BAR : ChatMessageType.SYSTEM, bungeeCordComponent);
-		else {
-			ChatPluginServerPlayer serverPlayer = ServerPlayerManager.getInstance().getPlayer(player.getUniqueId());
-			List<Object> packets = new ArrayList<>();
-			
-			for (BaseComponent component : bungeeCordComponents) {
-				packets.add(actionbar
-						? VersionUtils.getVersion().isAtLeast(Version.V1_17)
-								? BukkitReflection.getInstance("ClientboundSetActionBarTextPacket", new Class[] { BukkitReflection.getLoadedClass("IChatBaseComponent") }, toBukkitComponent(component))
-								: VersionUtils.getVersion().isAtLeast(Version.V1_11)
-								? BukkitReflection.getInstance("PacketPlayOutTitle", new Class[] { BukkitReflection.getLoadedClass("EnumTitleAction"), BukkitReflection.getLoadedClass("IChatBaseComponent") }, BukkitReflection.getEnum("EnumTitleAction", 2), toBukkitComponent(component))
-								: BukkitReflection.getInstance("PacketPlayOutChat", new Class[] { BukkitReflection.getLoadedClass("IChatBaseComponent"), byte.class }, toBukkitComponent(component), (byte) 2)
-						: VersionUtils.getVersion().isAtLeast(Version.V1_19)
-						? BukkitReflection.getInstance("ClientboundSystemChatPacket", new Class[] { BukkitReflection.getLoadedClass("IChatBaseComponent"), VersionUtils.getVersion() == Version.V1_19 ? int.class : boolean.class }, toBukkitComponent(component), VersionUtils.getVersion() == Version.V1_19 ? actionbar ? 2 : 1 : actionbar)
-						: BukkitReflection.getInstance("PacketPlayOutChat", VersionUtils.getVersion().isAtLeast(Version.V1_16)
-						? new Class[] { BukkitReflection.getLoadedClass("IChatBaseComponent"), BukkitReflection.getLoadedClass("ChatMessageType"), UUID.class }
-						: VersionUtils.getVersion().isAtLeast(Version.V1_12)
-						? new Class[] { BukkitReflection.getLoadedClass("IChatBaseComponent"), BukkitReflection.getLoadedClass("ChatMessageType") }
-						: new Class[] { BukkitReflection.getLoadedClass("IChatBaseComponent"), byte.class },
-						VersionUtils.getVersion().isAtLeast(Version.V1_16)
-						? new Object[] { toBukkitComponent(component), BukkitReflection.getEnum("ChatMessageType", "SYSTEM"), null }
-						: VersionUtils.getVersion().isAtLeast(Version.V1_12)
-						? new Object[] { toBukkitComponent(component), BukkitReflection.getEnum("ChatMessageType", "SYSTEM") }
-						: new Object[] { toBukkitComponent(component), (byte) 1 })
-						);
-			} if (serverPlayer == null)
-				packets.forEach(packet -> BukkitReflection.invokeMethod("PlayerConnection", "sendPacket", BukkitReflection.getFieldValue("EntityPlayer", BukkitReflection.invokeMethod("CraftPlayer", "getHandle", BukkitReflection.getLoadedClass("CraftPlayer").cast(player)), "playerConnection", "connection", VersionUtils.getVersion().isAtLeast(Version.V1_20) ? VersionUtils.getVersion().isAtLeast(Version.V1_21_3) ? "f" : "c" : "b"), packet));
-			else packets.forEach(packet -> serverPlayer.sendPacket(packet));
-		}
+		else sendPackets(player, getMessagePackets(actionbar, bungeeCordComponents));
+	}
+	
+	public static List<Object> getMessagePackets(boolean actionbar, BaseComponent... bungeeCordComponents) { // packets do not depend on their recipient, so they may be sent to multiple players
+		List<Object> packets = new ArrayList<>(bungeeCordComponents.length);
+		
+		for (BaseComponent component : bungeeCordComponents) {
+			packets.add(actionbar
+					? VersionUtils.getVersion().isAtLeast(Version.V1_17)
+							? BukkitReflection.getInstance("ClientboundSetActionBarTextPacket", new Class[] { BukkitReflection.getLoadedClass("IChatBaseComponent") }, toBukkitComponent(component))
+							: VersionUtils.getVersion().isAtLeast(Version.V1_11)
+							? BukkitReflection.getInstance("PacketPlayOutTitle", new Class[] { BukkitReflection.getLoadedClass("EnumTitleAction"), BukkitReflection.getLoadedClass("IChatBaseComponent") }, BukkitReflection.getEnum("EnumTitleAction", 2), toBukkitComponent(component))
+							: BukkitReflection.getInstance("PacketPlayOutChat", new Class[] { BukkitReflection.getLoadedClass("IChatBaseComponent"), byte.class }, toBukkitComponent(component), (byte) 2)
+					: VersionUtils.getVersion().isAtLeast(Version.V1_19)
+					? BukkitReflection.getInstance("ClientboundSystemChatPacket", new Class[] { BukkitReflection.getLoadedClass("IChatBaseComponent"), VersionUtils.getVersion() == Version.V1_19 ? int.class : boolean.class }, toBukkitComponent(component), VersionUtils.getVersion() == Version.V1_19 ? actionbar ? 2 : 1 : actionbar)
+					: BukkitReflection.getInstance("PacketPlayOutChat", VersionUtils.getVersion().isAtLeast(Version.V1_16)
+					? new Class[] { BukkitReflection.getLoadedClass("IChatBaseComponent"), BukkitReflection.getLoadedClass("ChatMessageType"), UUID.class }
+					: VersionUtils.getVersion().isAtLeast(Version.V1_12)
+					? new Class[] { BukkitReflection.getLoadedClass("IChatBaseComponent"), BukkitReflection.getLoadedClass("ChatMessageType") }
+					: new Class[] { BukkitReflection.getLoadedClass("IChatBaseComponent"), byte.class },
+					VersionUtils.getVersion().isAtLeast(Version.V1_16)
+					? new Object[] { toBukkitComponent(component), BukkitReflection.getEnum("ChatMessageType", "SYSTEM"), null }
+					: VersionUtils.getVersion().isAtLeast(Version.V1_12)
+					? new Object[] { toBukkitComponent(component), BukkitReflection.getEnum("ChatMessageType", "SYSTEM") }
+					: new Object[] { toBukkitComponent(component), (byte) 1 })
+					);
+		} return packets;
+	}
+	
+	@SuppressWarnings("deprecation") // ChatPluginServerPlayer#sendPacket(Object) is only deprecated to mark it as internal
+	public static void sendPackets(Player player, List<Object> packets) {
+		ChatPluginServerPlayer serverPlayer = ServerPlayerManager.getInstance().getPlayer(player.getUniqueId());
+		
+		if (serverPlayer == null)
+			packets.forEach(packet -> BukkitReflection.invokeMethod("PlayerConnection", "sendPacket", BukkitReflection.getFieldValue("EntityPlayer", BukkitReflection.invokeMethod("CraftPlayer", "getHandle", BukkitReflection.getLoadedClass("CraftPlayer").cast(player)), "playerConnection", "connection", VersionUtils.getVersion().isAtLeast(Version.V1_20) ? VersionUtils.getVersion().isAtLeast(Version.V1_21_3) ? "f" : "c" : "b"), packet));
+		else packets.forEach(packet -> serverPlayer.sendPacket(packet));
 	}
 	
 }
@@ -52,6 +52,7 @@
 import me.remigio07.chatplugin.api.common.util.manager.TaskManager;
 import me.remigio07.chatplugin.api.common.util.text.ChatColor;
 import me.remigio07.chatplugin.api.server.bossbar.BossbarManager;
+import me.remigio07.chatplugin.api.server.chat.PlayerPingManager;
 import me.remigio07.chatplugin.api.server.chat.StaffChatManager;
 import me.remigio07.chatplugin.api.server.chat.channel.ChatChannel;
 import me.remigio07.chatplugin.api.server.chat.channel.ChatChannelsManager;
@@ -70,9 +71,11 @@
 import me.remigio07.chatplugin.api.server.tablist.custom_suffix.RenderTypeAdapter;
 import me.remigio07.chatplugin.api.server.util.adapter.scoreboard.ObjectiveAdapter;
 import me.remigio07.chatplugin.api.server.util.manager.VanishManager;
+import me.remigio07.chatplugin.common.storage.PlayerStatsWriter;
 import me.remigio07.chatplugin.common.storage.configuration.ConfigurationImpl;
 import me.remigio07.chatplugin.server.bukkit.BukkitReflection;
 import me.remigio07.chatplugin.server.bukkit.ChatPluginBukkitPlayer;
+import me.remigio07.chatplugin.server.chat.PlayerPingManagerImpl;
 import me.remigio07.chatplugin.server.join_quit.QuitMessageManagerImpl.QuitPacketImpl;
 import me.remigio07.chatplugin.server.util.Utils;
 import me.remigio07.chatplugin.server.util.manager.VanishManagerImpl;
@@ -226,6 +229,7 @@ else if (ScoreboardManager.getInstance().getScoreboard("join-event") != null)
 		((VanishManagerImpl) VanishManager.getInstance()).update(serverPlayer, false);
 		
 		players.put(player.getUUID(), serverPlayer);
+		((PlayerPingManagerImpl) PlayerPingManager.getInstance()).addPlayer(serverPlayer);
 		new ServerPlayerLoadEvent(serverPlayer, (int) (ms = System.currentTimeMillis() - ms)).call();
 		LogManager.log("Player {0} has been loaded in {1} ms.", 4, player.getName(), ms);
 		return (int) ms;
@@ -282,6 +286,7 @@ public int unloadPlayer(UUID player) {
 		
 		new ServerPlayerUnloadEvent(serverPlayer).call();
 		players.remove(player);
+		((PlayerPingManagerImpl) PlayerPingManager.getInstance()).removePlayer(serverPlayer);
 		
 		if (ConfigurationType.CONFIG.get().getBoolean("settings.register-scoreboards")) {
 			org.bukkit.scoreboard.Scoreboard scoreboard = serverPlayer.getObjective().bukkitValue().getScoreboard();
@@ -318,6 +323,8 @@ public int unloadPlayer(UUID player) {
 		QuitMessageManager.getInstance().getFakeQuits().remove(player);
 		Utils.inventoryTitles.remove(player);
 		verifyAndRun(() -> {
+			PlayerStatsWriter.getInstance().flush(serverPlayer);
+			
 			try {
 				StorageConnector.getInstance().setPlayerData(PlayersDataType.LAST_LOGOUT, serverPlayer.getID(), System.currentTimeMillis()); // this is called on every unload too, not just quits...
 				StorageConnector.getInstance().setPlayerData(PlayersDataType.TIME_PLAYED, serverPlayer.getID(), StorageConnector.getInstance().getPlayerData(PlayersDataType.TIME_PLAYED, serverPlayer.getID()) + (System.currentTimeMillis() - serverPlayer.getLoginTime()));
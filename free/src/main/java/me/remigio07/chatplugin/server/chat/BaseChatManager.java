@@ -15,8 +15,6 @@
 
 package me.remigio07.chatplugin.server.chat;
 
-import java.io.IOException;
-import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
@@ -27,7 +25,6 @@
 import me.remigio07.chatplugin.api.common.integration.IntegrationType;
 import me.remigio07.chatplugin.api.common.punishment.mute.MuteManager;
 import me.remigio07.chatplugin.api.common.storage.PlayersDataType;
-import me.remigio07.chatplugin.api.common.storage.StorageConnector;
 import me.remigio07.chatplugin.api.common.storage.configuration.ConfigurationType;
 import me.remigio07.chatplugin.api.common.util.manager.ChatPluginManagerException;
 import me.remigio07.chatplugin.api.common.util.manager.LogManager;
@@ -57,9 +54,10 @@
 import me.remigio07.chatplugin.api.server.util.URLValidator;
 import me.remigio07.chatplugin.api.server.util.manager.PlaceholderManager;
 import me.remigio07.chatplugin.api.server.util.manager.ProxyManager;
-import me.remigio07.chatplugin.api.server.util.manager.VanishManager;
+import me.remigio07.chatplugin.common.storage.PlayerStatsWriter;
 import me.remigio07.chatplugin.common.util.Utils;
 import me.remigio07.chatplugin.server.chat.antispam.AntispamManagerImpl;
+import me.remigio07.chatplugin.server.chat.log.ChatLogQueue;
 import me.remigio07.chatplugin.server.player.BaseChatPluginServerPlayer;
 import net.md_5.bungee.api.chat.BaseComponent;
 
@@ -73,11 +71,15 @@ protected boolean load0() throws ChatPluginManagerException {
 		format = ConfigurationType.CHAT.get().getString("chat.format");
 		recognizedTLDs = ConfigurationType.CHAT.get().getStringList("chat.recognized-tlds").stream().map(String::toLowerCase).collect(Collectors.toCollection(ArrayList::new));
 		placeholderTypes = PlaceholderType.getTypes(ConfigurationType.CHAT.get().getStringList("chat.placeholder-types"));
+		
+		ChatLogQueue.getInstance().load();
 		return true;
 	}
 	
 	@Override
 	public void unload() throws ChatPluginManagerException {
+		ChatLogQueue.getInstance().unload();
+		
 		enabled = overrideChatEvent = chatMuted = false;
 		
 		recognizedTLDs.clear();
@@ -181,7 +183,9 @@ else if (MuteManager.getInstance().isEnabled() && MuteManager.getInstance().isMu
 				denyMessage = Utils.replaceNumericPlaceholders(denyMessage, Utils.truncate(AntispamManager.getInstance().getMaxCapsPercentage(), 2), AntispamManager.getInstance().getMaxCapsLength());
 				break;
 			case "FLOOD":
-				denyMessage = Utils.replaceNumericPlaceholders(denyMessage, AntispamManager.getInstance().getSecondsBetweenMessages());
+				denyMessage = AntispamManager.getInstance().isSlidingWindowEnabled()
+						? Utils.replaceNumericPlaceholders(player.getLanguage().getMessage("chat.antispam.no-flood-sliding-window"), AntispamManager.getInstance().getSlidingWindowMaxMessages(), AntispamManager.getInstance().getSlidingWindowSeconds())
+						: Utils.replaceNumericPlaceholders(denyMessage, AntispamManager.getInstance().getSecondsBetweenMessages());
 				break;
 			case "MUTE":
 				denyMessage = MuteManager.getInstance().getActiveMute(player, ProxyManager.getInstance().getServerID()).formatPlaceholders(denyMessage, player.getLanguage());
@@ -193,16 +197,12 @@ else if (MuteManager.getInstance().isEnabled() && MuteManager.getInstance().isMu
 				break;
 			} if (denyChatReason != DenyChatReason.MUTEALL && denyChatReason != DenyChatReason.VANISH && denyChatReason != DenyChatReason.BLANK_MESSAGE) {
 				if (ChatLogManager.getInstance().isEnabled())
-					ChatLogManager.getInstance().logPublicMessage(player, message, channel, denyChatReason);
+					ChatLogQueue.getInstance().logPublicMessage(player, message, channel, denyChatReason);
 				if (denyChatReason.getHandlerClass() == AntispamManager.class)
 					((AntispamManagerImpl) AntispamManager.getInstance()).sendNotification(player, antispamResult);
 			} player.sendMessage(denyMessage);
-			
-			try {
-				StorageConnector.getInstance().incrementPlayerStat(PlayersDataType.ANTISPAM_INFRACTIONS, player);
-			} catch (SQLException | IOException e) {
-				LogManager.log("{0} occurred while incrementing antispam infractions stat for {1}: {2}", 2, e.getClass().getSimpleName(), player.getName(), e.getLocalizedMessage());
-			} return true;
+			PlayerStatsWriter.getInstance().increment(PlayersDataType.ANTISPAM_INFRACTIONS, player);
+			return true;
 		} AllowChatEvent allowChatEvent = new AllowChatEvent(player, message, channel);
 		
 		allowChatEvent.call();
@@ -210,25 +210,23 @@ else if (MuteManager.getInstance().isEnabled() && MuteManager.getInstance().isMu
 		if (allowChatEvent.isCancelled())
 			return true;
 		if (ChatLogManager.getInstance().isEnabled())
-			ChatLogManager.getInstance().logPublicMessage(player, message, channel, null);
-		List<ChatPluginServerPlayer> recipients = channel == null ? null : channel.getRecipients(player, false);
+			ChatLogQueue.getInstance().logPublicMessage(player, message, channel, null);
+		ChatRecipients recipients = HoverInfoManager.getInstance().isEnabled() || overrideChatEvent ? ChatRecipients.resolve(player, channel) : null; // otherwise the platform sends the message
 		String format = channel == null ? this.format : channel.getFormat();
-		boolean somebodyRead = channel == null || channel.getType().isProxyWide();
+		boolean somebodyRead = channel == null || channel.getType().isProxyWide() || (recipients != null && recipients.isSomebodyRead());
 		
 		if (HoverInfoManager.getInstance().isEnabled()) {
 			for (Language language : LanguageManager.getInstance().getLanguages()) {
 				BaseComponent text = ((BaseHoverInfoManager) HoverInfoManager.getInstance()).getMessageHoverInfo(player, language, message, channel, urls, pingedPlayers, new HashSet<>(instantEmojis));
+				Object preparedText = null; // encoded once per language, only if somebody is going to receive it
+				String spyText = null;
 				
-				for (ChatPluginServerPlayer other : language.getOnlinePlayers()) {
-					if (!other.getIgnoredPlayers().contains(player)) {
-						if (channel != null && !recipients.contains(other)) {
-							if (other.hasChatChannelSpyEnabled())
-								other.sendMessage(PlaceholderManager.getInstance().translatePlaceholders(ChatChannelsManager.getInstance().getSpyFormat(), player, language, placeholderTypes) + message);
-							continue;
-						} if (other != player && (!other.isVanished() || player.hasPermission(VanishManager.VANISH_PERMISSION)))
-							somebodyRead = true;
-						((BaseChatPluginServerPlayer) other).sendMessage(text);
-					}
+				for (ChatPluginServerPlayer spy : recipients.getSpies(language))
+					spy.sendMessage(spyText == null ? spyText = PlaceholderManager.getInstance().translatePlaceholders(ChatChannelsManager.getInstance().getSpyFormat(), player, language, placeholderTypes) + message : spyText);
+				for (ChatPluginServerPlayer other : recipients.getRecipients(language)) {
+					if (preparedText == null)
+						preparedText = ((BaseChatPluginServerPlayer) other).prepareMessage(text);
+					((BaseChatPluginServerPlayer) other).sendPreparedMessage(preparedText);
 				} if (channel != null && channel.getType().isProxyWide() && ProxyManager.getInstance().isEnabled())
 					ProxyManager.getInstance().sendPluginMessage(Packets.Messages.chatChannelMessage(
 							"ALL",
@@ -247,18 +245,13 @@ else if (MuteManager.getInstance().isEnabled() && MuteManager.getInstance().isMu
 				args[1] = PlaceholderManager.getInstance().translatePlaceholders(format, player, Language.getMainLanguage(), placeholderTypes);
 			} else for (Language language : LanguageManager.getInstance().getLanguages()) {
 				String text = PlaceholderManager.getInstance().translatePlaceholders(format, player, language, placeholderTypes) + message;
+				String spyText = null;
 				
-				for (ChatPluginServerPlayer other : language.getOnlinePlayers()) {
-					if (!other.getIgnoredPlayers().contains(player)) {
-						if (channel != null && !recipients.contains(other)) {
-							if (other.hasChatChannelSpyEnabled())
-								other.sendMessage(PlaceholderManager.getInstance().translatePlaceholders(ChatChannelsManager.getInstance().getSpyFormat(), player, language, placeholderTypes) + message);
-							continue;
-						} if (other != player && (!other.isVanished() || player.hasPermission(VanishManager.VANISH_PERMISSION)))
-							somebodyRead = true;
-						other.sendMessage(text);
-					}
-				} if (channel != null && channel.getType().isProxyWide() && ProxyManager.getInstance().isEnabled())
+				for (ChatPluginServerPlayer spy : recipients.getSpies(language))
+					spy.sendMessage(spyText == null ? spyText = PlaceholderManager.getInstance().translatePlaceholders(ChatChannelsManager.getInstance().getSpyFormat(), player, language, placeholderTypes) + message : spyText);
+				for (ChatPluginServerPlayer other : recipients.getRecipients(language))
+					other.sendMessage(text);
+				if (channel != null && channel.getType().isProxyWide() && ProxyManager.getInstance().isEnabled())
 					ProxyManager.getInstance().sendPluginMessage(Packets.Messages.chatChannelMessage(
 							"ALL",
 							ProxyManager.getInstance().getServerID(),
@@ -272,11 +265,8 @@ else if (MuteManager.getInstance().isEnabled() && MuteManager.getInstance().isMu
 			}
 		} if (!somebodyRead && ChatChannelsManager.getInstance().isReadingNotificationEnabled())
 			player.sendTranslatedMessage("chat.nobody-read");
-		try {
-			StorageConnector.getInstance().incrementPlayerStat(PlayersDataType.MESSAGES_SENT, player);
-		} catch (SQLException | IOException e) {
-			LogManager.log("{0} occurred while incrementing messages sent stat for {1}: {2}", 2, e.getClass().getSimpleName(), player.getName(), e.getLocalizedMessage());
-		} logMessage(PlaceholderManager.getInstance().translatePlaceholders(format, player, placeholderTypes) + message, channel);
+		PlayerStatsWriter.getInstance().increment(PlayersDataType.MESSAGES_SENT, player);
+		logMessage(PlaceholderManager.getInstance().translatePlaceholders(format, player, placeholderTypes) + message, channel);
 		
 		if (overrideChatEvent && IntegrationType.DISCORDSRV.isEnabled() && (channel == null || (channel.getType().ordinal() > 1 && !channel.isAccessRestricted()))) // this will be changed with the introduction of DISCORD-type channels
 			IntegrationType.DISCORDSRV.get().handleChatEvent(player, message);
@@ -0,0 +1,117 @@
+/*
+ * 	ChatPlugin - A feature-rich and modular chat ecosystem, lightweight and efficient by design.
+ * 	Copyright 2025  Remigio07
+ * 	
+ * 	This program is distributed in the hope that it will be useful,
+ * 	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * 	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * 	GNU Affero General Public License for more details.
+ * 	
+ * 	You should have received a copy of the GNU Affero General Public License
+ * 	along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ * 	
+ * 	<https://remigio07.me/chatplugin>
+ */
+
+
+package me.remigio07.chatplugin.server.chat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import me.remigio07.chatplugin.api.common.util.annotation.Nullable;
+import me.remigio07.chatplugin.api.server.chat.channel.ChatChannel;
+import me.remigio07.chatplugin.api.server.language.Language;
+import me.remigio07.chatplugin.api.server.player.ChatPluginServerPlayer;
+import me.remigio07.chatplugin.api.server.player.ServerPlayerManager;
+import me.remigio07.chatplugin.api.server.util.manager.VanishManager;
+
+/**
+ * Recipients of a public message, resolved once before it is sent.
+ * 
+ * <p>{@link #resolve(ChatPluginServerPlayer, ChatChannel)} goes through the loaded players once,
+ * applying the channel's listeners and range, the sender's visibility (see {@link #isSomebodyRead()})
+ * and the recipients' ignore lists, and groups the result by language, so the fan-out only iterates
+ * the players which will actually receive the message. Ignore lists are still scanned linearly:
+ * they hold at most 25 players and are checked once per player per message.</p>
+ */
+class ChatRecipients {
+	
+	private Map<Language, List<ChatPluginServerPlayer>> recipients = new HashMap<>(), spies = new HashMap<>();
+	private boolean somebodyRead;
+	
+	private ChatRecipients() {
+		
+	}
+	
+	/**
+	 * Resolves the recipients of a public message.
+	 * 
+	 * @param sender Message's sender
+	 * @param channel Message's channel, or <code>null</code> if channels are disabled
+	 * @return Message's recipients
+	 */
+	static ChatRecipients resolve(ChatPluginServerPlayer sender, @Nullable(why = "Channels may be disabled") ChatChannel<?> channel) {
+		ChatRecipients recipients = new ChatRecipients();
+		Set<ChatPluginServerPlayer> listeners = null;
+		
+		if (channel != null) {
+			listeners = Collections.newSetFromMap(new IdentityHashMap<>()); // loaded players' instances are unique
+			
+			listeners.addAll(channel.getRecipients(sender, false));
+		} for (ChatPluginServerPlayer other : ServerPlayerManager.getInstance().getPlayers().values()) {
+			List<?> ignoredPlayers = other.getIgnoredPlayers();
+			
+			if (!ignoredPlayers.isEmpty() && ignoredPlayers.contains(sender))
+				continue;
+			if (listeners != null && !listeners.contains(other)) {
+				if (other.hasChatChannelSpyEnabled())
+					recipients.spies.computeIfAbsent(other.getLanguage(), language -> new ArrayList<>()).add(other);
+				continue;
+			} recipients.recipients.computeIfAbsent(other.getLanguage(), language -> new ArrayList<>()).add(other);
+			
+			if (!recipients.somebodyRead && other != sender && (!other.isVanished() || sender.hasPermission(VanishManager.VANISH_PERMISSION)))
+				recipients.somebodyRead = true;
+		} return recipients;
+	}
+	
+	/**
+	 * Gets the recipients which use the specified language.
+	 * 
+	 * @param language Recipients' language
+	 * @return Message's recipients
+	 */
+	List<ChatPluginServerPlayer> getRecipients(Language language) {
+		return recipients.getOrDefault(language, Collections.emptyList());
+	}
+	
+	/**
+	 * Gets the players which use the specified language, are not recipients
+	 * and have {@link ChatPluginServerPlayer#hasChatChannelSpyEnabled()}.
+	 * 
+	 * <p>Will always be empty if channels are disabled.</p>
+	 * 
+	 * @param language Spies' language
+	 * @return Message's spies
+	 */
+	List<ChatPluginServerPlayer> getSpies(Language language) {
+		return spies.getOrDefault(language, Collections.emptyList());
+	}
+	
+	/**
+	 * Checks if any recipient other than the sender can read the message.
+	 * 
+	 * <p>Vanished recipients only count if the sender can see them.</p>
+	 * 
+	 * @return Whether somebody read the message
+	 */
+	boolean isSomebodyRead() {
+		return somebodyRead;
+	}
+	
+}
@@ -26,6 +26,7 @@
 import me.remigio07.chatplugin.api.common.storage.StorageConnector;
 import me.remigio07.chatplugin.api.common.storage.configuration.ConfigurationType;
 import me.remigio07.chatplugin.api.common.util.Utils;
+import me.remigio07.chatplugin.api.common.util.annotation.Nullable;
 import me.remigio07.chatplugin.api.common.util.manager.ChatPluginManagerException;
 import me.remigio07.chatplugin.api.common.util.manager.LogManager;
 import me.remigio07.chatplugin.api.server.chat.ChatManager;
@@ -126,22 +127,24 @@ public List<OfflinePlayer> getIgnoredPlayers(OfflinePlayer player) {
 			if (player.isLoaded())
 				return player.toServerPlayer().getIgnoredPlayers();
 			else try {
-				String data = StorageConnector.getInstance().getPlayerData(PlayersDataType.IGNORED_PLAYERS, player);
-				
-				if (data == null)
-					return Collections.emptyList();
-				List<OfflinePlayer> ignoredPlayers = new ArrayList<>();
-				
-				for (String id : Utils.getListFromString(data)) {
-					OfflinePlayer ignored = StorageConnector.getInstance().getPlayer(Integer.parseInt(id, 16));
-					
-					if (ignored != null)
-						ignoredPlayers.add(ignored);
-				} return ignoredPlayers;
+				return getIgnoredPlayers(StorageConnector.getInstance().getPlayerData(PlayersDataType.IGNORED_PLAYERS, player));
 			} catch (SQLException e) {
 				LogManager.log("{0} occurred while trying to get {1}'s ignored players' list: {2}", 2, e.getClass().getSimpleName(), player.getName(), e.getMessage());
 			}
 		return Collections.emptyList();
 	}
 	
+	public List<OfflinePlayer> getIgnoredPlayers(@Nullable(why = "Stored data may be SQL NULL") String data) throws SQLException {
+		if (data == null)
+			return Collections.emptyList();
+		List<OfflinePlayer> ignoredPlayers = new ArrayList<>();
+		
+		for (String id : Utils.getListFromString(data)) {
+			OfflinePlayer ignored = StorageConnector.getInstance().getPlayer(Integer.parseInt(id, 16));
+			
+			if (ignored != null)
+				ignoredPlayers.add(ignored);
+		} return ignoredPlayers;
+	}
+	
 }
@@ -15,10 +15,11 @@
 
 package me.remigio07.chatplugin.server.chat;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import me.remigio07.chatplugin.api.common.storage.configuration.ConfigurationType;
@@ -40,10 +41,11 @@
 import me.remigio07.chatplugin.api.server.player.ServerPlayerManager;
 import me.remigio07.chatplugin.api.server.util.adapter.user.SoundAdapter;
 import me.remigio07.chatplugin.api.server.util.manager.PlaceholderManager;
+import me.remigio07.chatplugin.server.player.PlayerNamesIndex;
 
 public class PlayerPingManagerImpl extends PlayerPingManager {
 	
-	private static final Pattern EVERYONE_PATTERN = pattern("everyone", true);
+	private PlayerNamesIndex namesIndex = new PlayerNamesIndex();
 	
 	@Override
 	public void load() throws ChatPluginManagerException {
@@ -86,7 +88,9 @@ public void load() throws ChatPluginManagerException {
 				
 				titlesEnabled = false;
 			}
-		} enabled = true;
+		} for (ChatPluginServerPlayer player : ServerPlayerManager.getInstance().getPlayers().values())
+			namesIndex.add(player);
+		enabled = true;
 		loadTime = System.currentTimeMillis() - ms;
 	}
 	
@@ -96,6 +100,7 @@ public void unload() throws ChatPluginManagerException {
 		
 		titles.clear();
 		subtitles.clear();
+		namesIndex.clear();
 		
 		perPlayerCooldown = titlesFadeIn = titlesStay = titlesFadeOut = 0L;
 		color = null;
@@ -113,12 +118,12 @@ public String performPing(
 		if (enabled) {
 			if (!pingedPlayers.isEmpty()) {
 				String str = PlaceholderManager.getInstance().translatePlaceholders(channel == null ? ChatManager.getInstance().getFormat() : channel.getFormat(), player, ChatManager.getInstance().getPlaceholderTypes());
-				Matcher matcher = EVERYONE_PATTERN.matcher(message);
+				PlayerNamesIndex.Match match = PlayerNamesIndex.find(message, "everyone", true);
 				boolean success = false;
 				
-				if (matcher.find() && player.hasPermission("chatplugin.player-ping.everyone")) {
-					String[] array = { message.substring(0, matcher.start()), message.substring(matcher.end(), message.length()) };
-					message = array[0] + ChatColor.translate(color) + "@everyone" + ChatColor.getLastColors(str + array[0] + matcher.group()) + array[1];
+				if (match != null && player.hasPermission("chatplugin.player-ping.everyone")) {
+					String[] array = { message.substring(0, match.getStart()), message.substring(match.getEnd(), message.length()) };
+					message = array[0] + ChatColor.translate(color) + "@everyone" + ChatColor.getLastColors(str + array[0] + message.substring(match.getStart(), match.getEnd())) + array[1];
 				} for (ChatPluginServerPlayer pinged : pingedPlayers) {
 					PlayerPingEvent event = new PlayerPingEvent(player, pinged, message);
 					
@@ -126,12 +131,12 @@ public String performPing(
 					
 					if (event.isCancelled())
 						continue;
-					matcher = pattern(pinged.getName(), atSignRequired).matcher(message);
+					match = PlayerNamesIndex.find(message, pinged.getName(), atSignRequired);
 					success = true;
 					
-					if (matcher.find()) {
-						String[] array = { message.substring(0, matcher.start()), message.substring(matcher.end(), message.length()) };
-						message = array[0] + ChatColor.translate(color) + "@" + pinged.getName() + ChatColor.getLastColors(str + array[0] + matcher.group()) + array[1];
+					if (match != null) {
+						String[] array = { message.substring(0, match.getStart()), message.substring(match.getEnd(), message.length()) };
+						message = array[0] + ChatColor.translate(color) + "@" + pinged.getName() + ChatColor.getLastColors(str + array[0] + message.substring(match.getStart(), match.getEnd())) + array[1];
 					} if (!PlayerIgnoreManager.getInstance().isEnabled() || !pinged.getIgnoredPlayers().contains(player)) {
 						if (titlesEnabled)
 							pinged.sendTitle(
@@ -152,29 +157,40 @@ public String performPing(
 		} return message;
 	}
 	
-	private static Pattern pattern(String str, boolean appendAtSign) {
-		StringBuilder sb = new StringBuilder("(?i)(?<=^|\\W)");
-		
-		if (appendAtSign)
-			sb.append("(§[0-9A-FK-ORX])*@");
-		for (char c : str.toCharArray())
-			sb.append("(§[0-9A-FK-ORX])*(?-i:").append(c).append(')');
-		return Pattern.compile(sb.append("(§[0-9A-FK-ORX])*(?=$|\\W)").toString());
-	}
-	
 	@Override
 	public List<ChatPluginServerPlayer> getPingedPlayers(
 			ChatPluginServerPlayer player,
 			String message,
 			@Nullable(why = "Null if !ChatChannelsManager#isEnabled()") ChatChannel<? extends ChatChannelData> channel
 			) {
-		List<ChatPluginServerPlayer> pingedPlayers = player.hasPermission("chatplugin.player-ping") ? (channel == null ? ServerPlayerManager.getInstance().getPlayers().values() : channel.getRecipients(player, true))
-				.stream()
-				.filter(other -> other != player && !other.isVanished() && ((EVERYONE_PATTERN.matcher(message).find() && player.hasPermission("chatplugin.player-ping.everyone")) || pattern(other.getName(), atSignRequired).matcher(message).find()))
-				.collect(Collectors.toList())
-				: Collections.emptyList();
+		if (!player.hasPermission("chatplugin.player-ping"))
+			return Collections.emptyList();
+		List<ChatPluginServerPlayer> pingedPlayers;
 		
-		if (!pingedPlayers.isEmpty() && playersOnCooldown.contains(player.getUUID())) {
+		if (player.hasPermission("chatplugin.player-ping.everyone") && PlayerNamesIndex.find(message, "everyone", true) != null) {
+			pingedPlayers = (channel == null ? ServerPlayerManager.getInstance().getPlayers().values() : channel.getRecipients(player, true))
+					.stream()
+					.filter(other -> other != player && !other.isVanished())
+					.collect(Collectors.toList());
+		} else {
+			List<PlayerNamesIndex.Match> matches = namesIndex.findAll(message, atSignRequired);
+			
+			pingedPlayers = new ArrayList<>(matches.size());
+			
+			if (!matches.isEmpty()) {
+				Set<ChatPluginServerPlayer> recipients = channel == null ? null : Collections.newSetFromMap(new IdentityHashMap<>());
+				
+				if (channel != null)
+					recipients.addAll(channel.getRecipients(player, true));
+				
+				for (PlayerNamesIndex.Match match : matches) {
+					ChatPluginServerPlayer other = match.getPlayer();
+					
+					if (other != null && other != player && !other.isVanished() && (recipients == null || recipients.contains(other)) && !pingedPlayers.contains(other))
+						pingedPlayers.add(other);
+				}
+			}
+		} if (!pingedPlayers.isEmpty() && playersOnCooldown.contains(player.getUUID())) {
 			player.sendTranslatedMessage("chat.cannot-ping", Utils.formatTime(perPlayerCooldown, player.getLanguage(), false, true));
 			return Collections.emptyList();
 		} return pingedPlayers;
@@ -186,4 +202,14 @@ public void playPingSound(ChatPluginServerPlayer player) {
 			player.playSound(sound);
 	}
 	
+	public void addPlayer(ChatPluginServerPlayer player) {
+		if (enabled)
+			namesIndex.add(player);
+	}
+	
+	public void removePlayer(ChatPluginServerPlayer player) {
+		if (enabled)
+			namesIndex.remove(player);
+	}
+	
 }
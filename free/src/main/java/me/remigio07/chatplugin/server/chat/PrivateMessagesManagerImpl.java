@@ -53,6 +53,7 @@
 import me.remigio07.chatplugin.api.server.util.manager.ProxyManager;
 import me.remigio07.chatplugin.api.server.util.manager.VanishManager;
 import me.remigio07.chatplugin.server.chat.antispam.AntispamManagerImpl;
+import me.remigio07.chatplugin.server.chat.log.ChatLogQueue;
 import me.remigio07.chatplugin.server.player.BaseChatPluginServerPlayer;
 import me.remigio07.chatplugin.server.util.Utils;
 
@@ -285,7 +286,9 @@ public String performEvents(ChatPluginServerPlayer sender, OfflinePlayer recipie
 				denyMessage = Utils.replaceNumericPlaceholders(denyMessage, Utils.truncate(AntispamManager.getInstance().getMaxCapsPercentage(), 2), AntispamManager.getInstance().getMaxCapsLength());
 				break;
 			case "FLOOD":
-				denyMessage = Utils.replaceNumericPlaceholders(denyMessage, AntispamManager.getInstance().getSecondsBetweenMessages());
+				denyMessage = AntispamManager.getInstance().isSlidingWindowEnabled()
+						? Utils.replaceNumericPlaceholders((sender == null ? Language.getMainLanguage() : sender.getLanguage()).getMessage("chat.antispam.no-flood-sliding-window"), AntispamManager.getInstance().getSlidingWindowMaxMessages(), AntispamManager.getInstance().getSlidingWindowSeconds())
+						: Utils.replaceNumericPlaceholders(denyMessage, AntispamManager.getInstance().getSecondsBetweenMessages());
 				break;
 			case "SPAM":
 				denyMessage = Utils.replaceNumericPlaceholders(denyMessage, AntispamManager.getInstance().getSecondsBetweenSameMessages());
@@ -294,7 +297,7 @@ public String performEvents(ChatPluginServerPlayer sender, OfflinePlayer recipie
 				break;
 			} if (denyChatReason != DenyChatReason.BLANK_MESSAGE) {
 				if (ChatLogManager.getInstance().isEnabled() && recipient != null)
-					ChatLogManager.getInstance().logPrivateMessage(sender, recipient, privateMessage, denyChatReason);
+					ChatLogQueue.getInstance().logPrivateMessage(sender, recipient, privateMessage, denyChatReason);
 				if (denyChatReason.getHandlerClass() == AntispamManager.class)
 					((AntispamManagerImpl) AntispamManager.getInstance()).sendNotification(sender, antispamResult);
 			} if (sender == null)
@@ -309,7 +312,7 @@ public String performEvents(ChatPluginServerPlayer sender, OfflinePlayer recipie
 			return null;
 		if (ChatLogManager.getInstance().isEnabled()) {
 			if (sender != null && recipient != null)
-				ChatLogManager.getInstance().logPrivateMessage(sender, recipient, privateMessage, null);
+				ChatLogQueue.getInstance().logPrivateMessage(sender, recipient, privateMessage, null);
 			if (!ChatLogManager.getInstance().isPrintToLogFile())
 				return privateMessage;
 		} LogManager.getInstance().writeToFile(ChatColor.stripColor(formatPlaceholders(socialspyFormat, placeholders, sender, recipient) + privateMessage));
@@ -19,6 +19,8 @@
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.regex.MatchResult;
 import java.util.regex.Matcher;
@@ -55,8 +57,10 @@ public class AntispamManagerImpl extends AntispamManager {
 	private static final Pattern DOMAIN_PATTERN = Pattern.compile("((?!-)[A-Za-z0-9-]{1,63}([^A-Za-z0-9\\s\\/]+))+[A-Za-z]{2,6}");
 	private static final Pattern IPV4_PATTERN = Pattern.compile("(?:(?:25[0-5]|2[0-4][0-9]|[01]?[0-9][0-9]?)\\D+){3}(?:25[0-5]|2[0-4][0-9]|[01]?[0-9][0-9]?)");
 	private static final String[] NOTIFICATION_PLACEHOLDERS = { "player", "location", "reason", "message" };
-	private List<Pattern> wordsBlacklistPatterns = new ArrayList<>();
+	private WordsBlacklistMatcher wordsBlacklistMatcher = new WordsBlacklistMatcher(Collections.emptyList());
+	private MessageRateLimiter rateLimiter = new MessageRateLimiter(1, 0L, 0L, 100F);
 	private String translatedHighlightColor;
+	private long cleanUpTaskID = -1;
 	
 	@Override
 	public void load() throws ChatPluginManagerException {
@@ -70,14 +74,27 @@ public void load() throws ChatPluginManagerException {
 		ipsPreventionEnabled = ConfigurationType.CHAT.get().getBoolean("chat.antispam.prevention.ips.enabled");
 		secondsBetweenMessages = ConfigurationType.CHAT.get().getInt("chat.antispam.seconds-between-messages");
 		secondsBetweenSameMessages = ConfigurationType.CHAT.get().getInt("chat.antispam.seconds-between-same-messages");
+		slidingWindowEnabled = ConfigurationType.CHAT.get().getBoolean("chat.antispam.sliding-window.enabled");
+		slidingWindowMaxMessages = ConfigurationType.CHAT.get().getInt("chat.antispam.sliding-window.max-messages");
+		slidingWindowSeconds = ConfigurationType.CHAT.get().getInt("chat.antispam.sliding-window.seconds");
+		sameMessagesSimilarityPercentage = ConfigurationType.CHAT.get().getFloat("chat.antispam.same-messages-similarity-percentage");
 		maxCapsLength = ConfigurationType.CHAT.get().getInt("chat.antispam.max-caps-length");
 		maxCapsPercentage = ConfigurationType.CHAT.get().getFloat("chat.antispam.max-caps-percentage");
 		highlightColor = ConfigurationType.CHAT.get().getString("chat.antispam.highlight-color");
 		messagesWhitelist = lowerCase(ConfigurationType.CHAT.get().getStringList("chat.antispam.messages-whitelist"));
 		wordsBlacklist = lowerCase(ConfigurationType.CHAT.get().getStringList("chat.antispam.words-blacklist"));
-		wordsBlacklistPatterns = patterns(wordsBlacklist);
+		wordsBlacklistMatcher = new WordsBlacklistMatcher(wordsBlacklist);
 		translatedHighlightColor = ChatColor.translate(highlightColor);
 		
+		if (slidingWindowEnabled && (slidingWindowMaxMessages < 1 || slidingWindowSeconds < 1)) {
+			LogManager.log("Invalid sliding window ({0} messages every {1} seconds) specified at \"chat.antispam.sliding-window\" in chat.yml: both values must be positive; disabling it.", 1, slidingWindowMaxMessages, slidingWindowSeconds);
+			
+			slidingWindowEnabled = false;
+		} rateLimiter = slidingWindowEnabled
+				? new MessageRateLimiter(slidingWindowMaxMessages, slidingWindowSeconds * 1000L, secondsBetweenSameMessages * 1000L, sameMessagesSimilarityPercentage)
+				: new MessageRateLimiter(1, secondsBetweenMessages * 1000L, secondsBetweenSameMessages * 1000L, sameMessagesSimilarityPercentage);
+		cleanUpTaskID = TaskManager.scheduleAsync(() -> rateLimiter.cleanUp(System.currentTimeMillis()), 60000L, 60000L);
+		
 		for (String allowedDomain : ConfigurationType.CHAT.get().getStringList("chat.antispam.prevention.urls.allowed-domains")) {
 			String domainName = URLValidator.getDomainName(allowedDomain);
 			
@@ -104,40 +121,22 @@ private static List<String> lowerCase(List<String> list) {
 		return list.stream().map(String::toLowerCase).collect(Collectors.toCollection(ArrayList::new));
 	}
 	
-	private static List<Pattern> patterns(List<String> list) {
-		List<Pattern> patterns = new ArrayList<>();
-		
-		for (String word : list) {
-			StringBuilder sb = new StringBuilder("(?i)");
-			char[] array = word.trim().toCharArray();
-			
-			if (word.startsWith(" "))
-				sb.append("(?<![a-z])");
-			for (int i = 0; i < array.length; i++) {
-				sb.append(array[i]);
-				
-				if (i != array.length - 1)
-					sb.append("+(\\W|\\d|_)*");
-			} if (word.endsWith(" "))
-				sb.append("(?![a-z])");
-			patterns.add(Pattern.compile(sb.toString()));
-		} return patterns;
-	}
-	
 	@Override
 	public void unload() throws ChatPluginManagerException {
-		enabled = leetFilterEnabled = urlsPreventionEnabled = ipsPreventionEnabled = false;
+		enabled = leetFilterEnabled = urlsPreventionEnabled = ipsPreventionEnabled = slidingWindowEnabled = false;
+		
+		TaskManager.cancelAsync(cleanUpTaskID);
 		
 		allowedDomains.clear();
 		urlsWhitelist.clear();
 		ipsWhitelist.clear();
 		messagesWhitelist.clear();
 		wordsBlacklist.clear();
-		wordsBlacklistPatterns.clear();
-		spamCache.clear();
-		floodCache.clear();
+		wordsBlacklistMatcher = new WordsBlacklistMatcher(Collections.emptyList());
+		rateLimiter.clear();
 		
-		secondsBetweenMessages = secondsBetweenSameMessages = maxCapsLength = (int) (maxCapsPercentage = 0);
+		cleanUpTaskID = -1;
+		secondsBetweenMessages = secondsBetweenSameMessages = slidingWindowMaxMessages = slidingWindowSeconds = maxCapsLength = (int) (maxCapsPercentage = sameMessagesSimilarityPercentage = 0);
 		highlightColor = translatedHighlightColor = null;
 	}
 	
@@ -223,30 +222,13 @@ public AntispamResult check(ChatPluginServerPlayer player, String message, List<
 					// no disallowed words
 				}
 			}
-		} UUID uuid = player.getUUID();
+		} long now = System.currentTimeMillis();
 		
-		if (!bypassChecks.contains(DenyChatReason.FLOOD) && !player.hasPermission("chatplugin.antispam.flood")) {
-			if (floodCache.contains(uuid))
-				return new AntispamResultImpl(DenyChatReason.FLOOD, message, translatedHighlightColor + message + "§f");
-			floodCache.add(uuid);
-			TaskManager.runAsync(() -> floodCache.remove(uuid), secondsBetweenMessages * 1000L);
-		} if (!bypassChecks.contains(DenyChatReason.SPAM) && !player.hasPermission("chatplugin.antispam.spam") && !isMessageWhitelisted(message)) {
-			if (spamCache.containsKey(uuid) && spamCache.get(uuid).contains(message))
-				return new AntispamResultImpl(DenyChatReason.SPAM, message, translatedHighlightColor + message + "§f");
-			final String finalMessage = message;
-			
-			if (!spamCache.containsKey(uuid))
-				spamCache.put(uuid, new ArrayList<>());
-			spamCache.get(uuid).add(message);
-			TaskManager.runAsync(() -> {
-				List<String> messages = spamCache.getOrDefault(uuid, Collections.emptyList());
-				
-				messages.remove(finalMessage);
-				
-				if (messages.isEmpty())
-					spamCache.remove(uuid);
-			}, secondsBetweenSameMessages * 1000L);
-		} return new AntispamResultImpl();
+		if (!bypassChecks.contains(DenyChatReason.FLOOD) && !player.hasPermission("chatplugin.antispam.flood") && rateLimiter.checkFlood(player.getUUID(), now))
+			return new AntispamResultImpl(DenyChatReason.FLOOD, message, translatedHighlightColor + message + "§f");
+		if (!bypassChecks.contains(DenyChatReason.SPAM) && !player.hasPermission("chatplugin.antispam.spam") && !isMessageWhitelisted(message) && rateLimiter.checkSpam(player.getUUID(), message, now))
+			return new AntispamResultImpl(DenyChatReason.SPAM, message, translatedHighlightColor + message + "§f");
+		return new AntispamResultImpl();
 	}
 	
 	private String getHighlightedMessage(String message, String disallowedText) {
@@ -256,9 +238,7 @@ private String getHighlightedMessage(String message, String disallowedText) {
 	
 	@Override
 	public String filterLeet(String message) {
-		for (LeetLetter letter : LeetLetter.values())
-			message = letter.replace(message);
-		return message;
+		return LeetLetter.filter(message);
 	}
 	
 	@Override
@@ -317,12 +297,17 @@ private boolean isNumber(char character) {
 	
 	@Override
 	public MatchResult getDisallowedWord(String message) {
-		for (Pattern pattern : wordsBlacklistPatterns) {
-			Matcher matcher = pattern.matcher(message);
-			
-			if (matcher.find())
-				return matcher.toMatchResult();
-		} return Pattern.compile("").matcher(message);
+		return wordsBlacklistMatcher.find(message);
+	}
+	
+	@Override
+	public Map<UUID, List<String>> getSpamCache() {
+		return rateLimiter.getRecentMessages(System.currentTimeMillis());
+	}
+	
+	@Override
+	public Set<UUID> getFloodCache() {
+		return rateLimiter.getFloodingPlayers(System.currentTimeMillis());
 	}
 	
 	@Override
@@ -15,6 +15,9 @@
 
 package me.remigio07.chatplugin.server.chat.antispam;
 
+import java.util.HashMap;
+import java.util.Map;
+
 public enum LeetLetter {
 	
 	B("8", "|3", "β", "ß", "ɞ", "ɮ", "в", "ȝ", "ϧ", "ъ", "ь", "ҍ", "ḃ", "ƀ", "ɓ", "ḅ", "ḇ", "ƃ", "Ƅ", "ᵇ", "⁸", "₈", "฿", "ⓑ", "🅑", "𝖇", "𝕭", "𝕻", "ʙ", "𝐛", "𝐁", "𝘣", "𝘉", "𝓫", "ℬ"),
@@ -44,12 +47,74 @@ public enum LeetLetter {
 	L("|_", "ĺ", "ŀ", "ľ", "ⱡ", "ļ", "ł", "ḷ", "ḽ", "ḻ", "ḹ", "ɭ", "ւ", "լ", "ˡ", "ₗ", "ⓛ", "🅛", "𝖑", "ʟ", "𝐥", "𝐋", "𝘭", "𝘓", "𝓵", "ℒ"),
 	I("ι", "1", "!", "ǃ", "|", "ǀ", "┃", "¦", "╏", "╎", "┇", "︱", "┊", "︳", "┋", "┆", "ӏ", "і", "ї", "ϊ", "ΐ", "ί", "í", "ì", "ɩ", "ı", "î", "ï", "ǐ", "ĭ", "ī", "ĩ", "į", "ɨ", "ḯ", "ỉ", "ȉ", "ȋ", "ị", "ḭ", "ͥ", "ⁱ", "ᵢ", "¹", "₁", "¡", "ⓘ", "🅘", "𝖎", "ɪ", "𝐢", "𝐈", "𝘪", "𝘐", "𝓲", "ℐ");
 	
+	private static final ReplacementNode ROOT = new ReplacementNode();
 	private String[] replacements;
 	
+	static {
+		for (LeetLetter letter : values()) {
+			for (String replacement : letter.replacements) {
+				ROOT.insert(replacement, resolve(letter.name().toLowerCase(), letter.ordinal()));
+				ROOT.insert(replacement.toUpperCase(), resolve(letter.name(), letter.ordinal()));
+			}
+		}
+	}
+	
 	private LeetLetter(String... replacements) {
 		this.replacements = replacements;
 	}
 	
+	private static String resolve(String output, int ordinal) {
+		for (int i = ordinal + 1; i < values().length; i++) {
+			LeetLetter letter = values()[i];
+			
+			for (String replacement : letter.replacements) {
+				if (replacement.equals(output))
+					return resolve(letter.name().toLowerCase(), i);
+				if (replacement.toUpperCase().equals(output))
+					return resolve(letter.name(), i);
+			}
+		} return output;
+	}
+	
+	/**
+	 * Replaces every leet replacement in the specified input with the corresponding letter
+	 * in a single pass, preferring the longest replacement found at every index.
+	 * 
+	 * <p>Unlike calling {@link #replace(String)} on every letter, this scans the input
+	 * once and does not create a new string for every replacement. Letters which would
+	 * be replaced again by a following letter (i.e. "v" -&gt; "u") are resolved in advance.</p>
+	 * 
+	 * <p>The result is the same as the chain's unless a replacement overlaps a shorter
+	 * one of a letter which comes first: the chain used to replace C's "(" before U's
+	 * "(_)" was reached, turning it into "c_)", while this method reads the whole
+	 * replacement and returns "u", which is the letter the sequence was meant to be.</p>
+	 * 
+	 * @param input Input to filter
+	 * @return Filtered input
+	 */
+	public static String filter(String input) {
+		StringBuilder sb = new StringBuilder(input.length());
+		int index = 0;
+		
+		while (index < input.length()) {
+			ReplacementNode node = ROOT;
+			String output = null;
+			int length = 0;
+			
+			for (int i = index; i < input.length() && (node = node.children.get(input.charAt(i))) != null; i++) {
+				if (node.output != null) {
+					output = node.output;
+					length = i - index + 1;
+				}
+			} if (output == null) {
+				sb.append(input.charAt(index++));
+			} else {
+				sb.append(output);
+				index += length;
+			}
+		} return sb.toString();
+	}
+	
 	public String[] getReplacements() {
 		return replacements;
 	}
@@ -60,4 +125,20 @@ public String replace(String input) { // for the future - different replacements
 		return input;
 	}
 	
+	private static class ReplacementNode {
+		
+		private Map<Character, ReplacementNode> children = new HashMap<>();
+		private String output;
+		
+		private void insert(String replacement, String output) {
+			ReplacementNode node = this;
+			
+			for (char character : replacement.toCharArray())
+				node = node.children.computeIfAbsent(character, k -> new ReplacementNode());
+			if (node.output == null) // the first letter to define a replacement wins, like in the old chain
+				node.output = output;
+		}
+		
+	}
+	
 }
@@ -0,0 +1,236 @@
+/*
+ * 	ChatPlugin - A feature-rich and modular chat ecosystem, lightweight and efficient by design.
+ * 	Copyright 2025  Remigio07
+ * 	
+ * 	This program is distributed in the hope that it will be useful,
+ * 	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * 	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * 	GNU Affero General Public License for more details.
+ * 	
+ * 	You should have received a copy of the GNU Affero General Public License
+ * 	along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ * 	
+ * 	<https://remigio07.me/chatplugin>
+ */
+
+package me.remigio07.chatplugin.server.chat.antispam;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-player history of recently sent messages used by the flood and spam checks.
+ * 
+ * <p>Every player has two small rings of (timestamp, message) entries which are expired
+ * inline whenever they are accessed, so no task has to be scheduled for every message.
+ * Histories which become empty are dropped by {@link #cleanUp(long)}, which is meant
+ * to be run periodically by a single task.</p>
+ */
+public class MessageRateLimiter {
+	
+	private static final int MAX_SAME_MESSAGES_HISTORY = 32;
+	private Map<UUID, History> histories = new ConcurrentHashMap<>();
+	private int floodMaxMessages;
+	private long floodWindow, spamWindow;
+	private float similarityPercentage;
+	
+	public MessageRateLimiter(int floodMaxMessages, long floodWindow, long spamWindow, float similarityPercentage) {
+		this.floodMaxMessages = Math.max(floodMaxMessages, 1);
+		this.floodWindow = floodWindow;
+		this.spamWindow = spamWindow;
+		this.similarityPercentage = similarityPercentage;
+	}
+	
+	/**
+	 * Checks if the specified player has already sent the max amount of messages
+	 * allowed in the flood window. If they have not, the current message is recorded.
+	 * 
+	 * @param player Player's UUID
+	 * @param now Current time, in milliseconds
+	 * @return Whether the player is flooding
+	 */
+	public boolean checkFlood(UUID player, long now) {
+		boolean[] flooding = new boolean[1];
+		
+		histories.compute(player, (uuid, history) -> {
+			if (history == null)
+				history = new History(floodMaxMessages);
+			flooding[0] = history.checkFlood(now);
+			return history;
+		});
+		return flooding[0];
+	}
+	
+	/**
+	 * Checks if the specified player has sent an identical (or similar enough) message
+	 * during the spam window. If they have not, the current message is recorded.
+	 * 
+	 * @param player Player's UUID
+	 * @param message Message to check
+	 * @param now Current time, in milliseconds
+	 * @return Whether the player is spamming
+	 */
+	public boolean checkSpam(UUID player, String message, long now) {
+		boolean[] spamming = new boolean[1];
+		
+		histories.compute(player, (uuid, history) -> {
+			if (history == null)
+				history = new History(floodMaxMessages);
+			spamming[0] = history.checkSpam(message, now);
+			return history;
+		});
+		return spamming[0];
+	}
+	
+	/**
+	 * Drops the histories which do not contain any unexpired entry.
+	 * 
+	 * <p>Every history is checked and removed atomically, so a history which is being
+	 * by {@link #checkFlood(UUID, long)} or {@link #checkSpam(UUID, String, long)} at the
+	 * same time is never dropped between being looked up and being appended to.</p>
+	 * 
+	 * @param now Current time, in milliseconds
+	 */
+	public void cleanUp(long now) {
+		for (UUID player : histories.keySet())
+			histories.computeIfPresent(player, (uuid, history) -> history.isEmpty(now) ? null : history);
+	}
+	
+	public void clear() {
+		histories.clear();
+	}
+	
+	public Set<UUID> getFloodingPlayers(long now) {
+		Set<UUID> players = new HashSet<>();
+		
+		for (Map.Entry<UUID, History> entry : histories.entrySet())
+			if (entry.getValue().isFlooding(now))
+				players.add(entry.getKey());
+		return Collections.unmodifiableSet(players);
+	}
+	
+	public Map<UUID, List<String>> getRecentMessages(long now) {
+		Map<UUID, List<String>> messages = new HashMap<>();
+		
+		for (Map.Entry<UUID, History> entry : histories.entrySet()) {
+			List<String> recentMessages = entry.getValue().getRecentMessages(now);
+			
+			if (!recentMessages.isEmpty())
+				messages.put(entry.getKey(), recentMessages);
+		} return Collections.unmodifiableMap(messages);
+	}
+	
+	/**
+	 * Gets the similarity between two messages, ignoring case, calculated
+	 * using their <a href="https://en.wikipedia.org/wiki/Levenshtein_distance">Levenshtein distance</a>.
+	 * 
+	 * @param first First message
+	 * @param second Second message
+	 * @return Similarity percentage, from 0 to 100
+	 */
+	public static float getSimilarity(String first, String second) {
+		int maxLength = Math.max(first.length(), second.length());
+		
+		if (maxLength == 0)
+			return 100F;
+		int[] previous = new int[second.length() + 1], current = new int[second.length() + 1];
+		
+		for (int j = 0; j <= second.length(); j++)
+			previous[j] = j;
+		for (int i = 1; i <= first.length(); i++) {
+			char character = Character.toLowerCase(first.charAt(i - 1));
+			
+			current[0] = i;
+			
+			for (int j = 1; j <= second.length(); j++)
+				current[j] = Math.min(Math.min(current[j - 1], previous[j]) + 1, previous[j - 1] + (character == Character.toLowerCase(second.charAt(j - 1)) ? 0 : 1));
+			int[] tmp = previous;
+			previous = current;
+			current = tmp;
+		} return (maxLength - previous[second.length()]) * 100F / maxLength;
+	}
+	
+	private class History {
+		
+		private long[] floodTimestamps;
+		private int floodHead, floodSize;
+		private long[] spamTimestamps = new long[MAX_SAME_MESSAGES_HISTORY];
+		private int[] spamHashes = new int[MAX_SAME_MESSAGES_HISTORY];
+		private String[] spamMessages = new String[MAX_SAME_MESSAGES_HISTORY];
+		private int spamHead, spamSize;
+		
+		private History(int floodMaxMessages) {
+			floodTimestamps = new long[floodMaxMessages];
+		}
+		
+		private synchronized boolean checkFlood(long now) {
+			expire(now);
+			
+			if (floodSize == floodTimestamps.length)
+				return true;
+			floodTimestamps[(floodHead + floodSize++) % floodTimestamps.length] = now;
+			return false;
+		}
+		
+		private synchronized boolean checkSpam(String message, long now) {
+			int hash = message.hashCode();
+			
+			expire(now);
+			
+			for (int i = 0; i < spamSize; i++) {
+				int index = (spamHead + i) % MAX_SAME_MESSAGES_HISTORY;
+				
+				if (similarityPercentage >= 100F ? spamHashes[index] == hash && spamMessages[index].equals(message) : getSimilarity(spamMessages[index], message) >= similarityPercentage)
+					return true;
+			} if (spamSize == MAX_SAME_MESSAGES_HISTORY) {
+				spamMessages[spamHead] = null;
+				spamHead = (spamHead + 1) % MAX_SAME_MESSAGES_HISTORY;
+				spamSize--;
+			} int index = (spamHead + spamSize++) % MAX_SAME_MESSAGES_HISTORY;
+			spamTimestamps[index] = now;
+			spamHashes[index] = hash;
+			spamMessages[index] = message;
+			return false;
+		}
+		
+		private synchronized boolean isFlooding(long now) {
+			expire(now);
+			return floodSize == floodTimestamps.length;
+		}
+		
+		private synchronized List<String> getRecentMessages(long now) {
+			expire(now);
+			
+			List<String> messages = new ArrayList<>(spamSize);
+			
+			for (int i = 0; i < spamSize; i++)
+				messages.add(spamMessages[(spamHead + i) % MAX_SAME_MESSAGES_HISTORY]);
+			return messages;
+		}
+		
+		private synchronized boolean isEmpty(long now) {
+			expire(now);
+			return floodSize == 0 && spamSize == 0;
+		}
+		
+		private void expire(long now) {
+			while (floodSize != 0 && now - floodTimestamps[floodHead] >= floodWindow) {
+				floodHead = (floodHead + 1) % floodTimestamps.length;
+				floodSize--;
+			} while (spamSize != 0 && now - spamTimestamps[spamHead] >= spamWindow) {
+				spamMessages[spamHead] = null;
+				spamHead = (spamHead + 1) % MAX_SAME_MESSAGES_HISTORY;
+				spamSize--;
+			}
+		}
+		
+	}
+	
+}
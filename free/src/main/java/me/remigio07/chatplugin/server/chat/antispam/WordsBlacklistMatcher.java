@@ -0,0 +1,233 @@
+/*
+ * 	ChatPlugin - A feature-rich and modular chat ecosystem, lightweight and efficient by design.
+ * 	Copyright 2025  Remigio07
+ * 	
+ * 	This program is distributed in the hope that it will be useful,
+ * 	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * 	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * 	GNU Affero General Public License for more details.
+ * 	
+ * 	You should have received a copy of the GNU Affero General Public License
+ * 	along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ * 	
+ * 	<https://remigio07.me/chatplugin>
+ */
+
+package me.remigio07.chatplugin.server.chat.antispam;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.MatchResult;
+
+/**
+ * Compiled form of the words' blacklist.
+ * 
+ * <p>Every blacklisted word is inserted into a trie whose nodes loop on their own
+ * character (repetitions, like "shiiit") and on separators (any character which is not
+ * an ASCII letter, like "s.h-i_t"): this is the same language the old per-word regular
+ * expressions used to describe. Messages are scanned once, advancing all the partial
+ * matches at the same time, so the cost of a check does not depend on the amount of
+ * blacklisted words but only on how many of them are being matched at a given index.</p>
+ * 
+ * <p>Words starting with a space are only matched at the beginning of a word and words
+ * ending with a space are only matched at the end of one, as before.</p>
+ * 
+ * <p>A message contains a blacklisted word if and only if one of the old expressions
+ * would have found it. The returned match is the one which ends first, though, while
+ * the old expressions were tried in the blacklist's order and matched greedily: when
+ * a message contains more than one word, or a word's last letter is repeated, the
+ * highlighted text may differ.</p>
+ */
+public class WordsBlacklistMatcher {
+	
+	private List<Node> nodes = new ArrayList<>();
+	private Node unboundedRoot = new Node('\0'), boundedRoot = new Node('\0');
+	private Node[] roots = { unboundedRoot, boundedRoot };
+	private ThreadLocal<int[][]> buffers = ThreadLocal.withInitial(() -> new int[][] { new int[nodes.size() * 2], new int[nodes.size() * 2], new int[nodes.size() * 2], new int[nodes.size() * 2], new int[nodes.size() * 2], new int[1] });
+	
+	public WordsBlacklistMatcher(List<String> words) {
+		for (String word : words) {
+			String trimmed = word.trim();
+			
+			if (trimmed.isEmpty())
+				continue;
+			Node node = word.startsWith(" ") ? boundedRoot : unboundedRoot;
+			
+			for (char character : trimmed.toCharArray())
+				node = node.getOrCreateChild(toLowerCase(character));
+			if (word.endsWith(" "))
+				node.boundedTerminal = true;
+			else node.unboundedTerminal = true;
+		}
+	}
+	
+	public MatchResult find(String message) {
+		int[][] buffers = this.buffers.get();
+		
+		if (buffers[5][0] > Integer.MAX_VALUE - message.length() - 1) {
+			Arrays.fill(buffers[4], 0);
+			
+			buffers[5][0] = 0;
+		} // a state is (node's ID << 1 | separators' loop flag); threads are always sorted by their start index
+		int[] currentStates = buffers[0], currentStarts = buffers[1], nextStates = buffers[2], nextStarts = buffers[3], seen = buffers[4];
+		int currentAmount = 0;
+		
+		for (int i = 0; i < message.length(); i++) {
+			char character = toLowerCase(message.charAt(i));
+			boolean separator = !isLetter(character);
+			int nextAmount = 0;
+			int stamp = ++buffers[5][0];
+			
+			for (int j = 0; j < currentAmount; j++) {
+				int state = currentStates[j], start = currentStarts[j];
+				Node node = nodes.get(state >> 1);
+				Node child = node.getChild(character);
+				
+				if ((state & 1) == 0 && node.character == character)
+					nextAmount = add(state, start, stamp, seen, nextStates, nextStarts, nextAmount);
+				if (separator)
+					nextAmount = add(state | 1, start, stamp, seen, nextStates, nextStarts, nextAmount);
+				if (child != null) {
+					if (child.matches(message, i))
+						return new WordMatchResult(message, start, i + 1);
+					nextAmount = add(child.id << 1, start, stamp, seen, nextStates, nextStarts, nextAmount);
+				}
+			} for (Node root : roots) {
+				if (root == boundedRoot && i != 0 && isLetter(message.charAt(i - 1)))
+					continue;
+				Node child = root.getChild(character);
+				
+				if (child != null) {
+					if (child.matches(message, i))
+						return new WordMatchResult(message, i, i + 1);
+					nextAmount = add(child.id << 1, i, stamp, seen, nextStates, nextStarts, nextAmount);
+				}
+			} int[] tmp = currentStates;
+			currentStates = nextStates;
+			nextStates = tmp;
+			tmp = currentStarts;
+			currentStarts = nextStarts;
+			nextStarts = tmp;
+			currentAmount = nextAmount;
+		} return new WordMatchResult(message, -1, -1);
+	}
+	
+	private static int add(int state, int start, int stamp, int[] seen, int[] states, int[] starts, int amount) {
+		if (seen[state] == stamp) // another thread with a lower start index got here first
+			return amount;
+		seen[state] = stamp;
+		states[amount] = state;
+		starts[amount] = start;
+		return amount + 1;
+	}
+	
+	private static boolean isLetter(char character) {
+		return (character >= 'a' && character <= 'z') || (character >= 'A' && character <= 'Z');
+	}
+	
+	private static char toLowerCase(char character) {
+		return character >= 'A' && character <= 'Z' ? (char) (character + 32) : character;
+	}
+	
+	private class Node {
+		
+		private char character;
+		private int id;
+		private char[] childrenCharacters = new char[0];
+		private Node[] children = new Node[0];
+		private boolean unboundedTerminal, boundedTerminal;
+		
+		private Node(char character) {
+			this.character = character;
+			id = nodes.size();
+			
+			nodes.add(this);
+		}
+		
+		private Node getChild(char character) {
+			for (int i = 0; i < childrenCharacters.length; i++)
+				if (childrenCharacters[i] == character)
+					return children[i];
+			return null;
+		}
+		
+		private Node getOrCreateChild(char character) {
+			Node child = getChild(character);
+			
+			if (child == null) {
+				childrenCharacters = Arrays.copyOf(childrenCharacters, childrenCharacters.length + 1);
+				children = Arrays.copyOf(children, children.length + 1);
+				childrenCharacters[childrenCharacters.length - 1] = character;
+				children[children.length - 1] = child = new Node(character);
+			} return child;
+		}
+		
+		private boolean matches(String message, int index) {
+			return unboundedTerminal || (boundedTerminal && (index == message.length() - 1 || !isLetter(message.charAt(index + 1))));
+		}
+		
+	}
+	
+	private static class WordMatchResult implements MatchResult {
+		
+		private String message;
+		private int start, end;
+		
+		private WordMatchResult(String message, int start, int end) {
+			this.message = message;
+			this.start = start;
+			this.end = end;
+		}
+		
+		@Override
+		public int start() {
+			checkMatch(0);
+			return start;
+		}
+		
+		@Override
+		public int start(int group) {
+			checkMatch(group);
+			return start;
+		}
+		
+		@Override
+		public int end() {
+			checkMatch(0);
+			return end;
+		}
+		
+		@Override
+		public int end(int group) {
+			checkMatch(group);
+			return end;
+		}
+		
+		@Override
+		public String group() {
+			checkMatch(0);
+			return message.substring(start, end);
+		}
+		
+		@Override
+		public String group(int group) {
+			checkMatch(group);
+			return message.substring(start, end);
+		}
+		
+		@Override
+		public int groupCount() {
+			return 0;
+		}
+		
+		private void checkMatch(int group) {
+			if (start == -1)
+				throw new IllegalStateException("No match found");
+			if (group != 0)
+				throw new IndexOutOfBoundsException("No group " + group);
+		}
+		
+	}
+	
+}
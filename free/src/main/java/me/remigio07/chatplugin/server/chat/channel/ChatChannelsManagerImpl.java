@@ -23,6 +23,7 @@
 import me.remigio07.chatplugin.api.common.util.Utils;
 import me.remigio07.chatplugin.api.common.util.manager.ChatPluginManagerException;
 import me.remigio07.chatplugin.api.common.util.manager.LogManager;
+import me.remigio07.chatplugin.api.common.util.manager.TaskManager;
 import me.remigio07.chatplugin.api.server.chat.ChatManager;
 import me.remigio07.chatplugin.api.server.chat.HoverInfoManager;
 import me.remigio07.chatplugin.api.server.chat.channel.ChatChannel;
@@ -37,10 +38,16 @@
 import me.remigio07.chatplugin.api.server.chat.channel.data.WorldChatChannel;
 import me.remigio07.chatplugin.api.server.language.Language;
 import me.remigio07.chatplugin.api.server.language.LanguageManager;
+import me.remigio07.chatplugin.api.server.player.ChatPluginServerPlayer;
+import me.remigio07.chatplugin.api.server.player.ServerPlayerManager;
 import me.remigio07.chatplugin.server.chat.BaseHoverInfoManager;
 
 public class ChatChannelsManagerImpl extends ChatChannelsManager {
 	
+	private static final long POSITIONS_REFRESH_PERIOD = 250L;
+	private PlayerPositionsIndex positionsIndex = new PlayerPositionsIndex();
+	private long positionsTaskID = -1;
+	
 	@Override
 	public void load() throws ChatPluginManagerException {
 		instance = this;
@@ -183,6 +190,9 @@ else for (String languageID : languagesIDs) {
 			unload();
 			return;
 		} enabled = true;
+		
+		if (channels.stream().anyMatch(channel -> channel.getType() == ChatChannelType.LOCAL))
+			startPositionsTask();
 		loadTime = System.currentTimeMillis() - ms;
 	}
 	
@@ -190,8 +200,13 @@ else for (String languageID : languagesIDs) {
 	public void unload() throws ChatPluginManagerException {
 		enabled = readingNotificationEnabled = spyOnJoinEnabled = false;
 		
-		defaultListeningChannelsIDs.clear();
+		if (positionsTaskID != -1) {
+			TaskManager.cancelSync(positionsTaskID);
+			
+			positionsTaskID = -1;
+		} defaultListeningChannelsIDs.clear();
 		channels.clear();
+		positionsIndex.clear();
 		
 		spyFormat = null;
 		defaultWritingChannel = null;
@@ -203,8 +218,20 @@ public void addChannel(ChatChannel<? extends ChatChannelData> channel) {
 			throw new IllegalArgumentException("Specified ID (" + channel.getID() + ") is already in use");
 		channels.add(channel);
 		
+		if (enabled && channel.getType() == ChatChannelType.LOCAL)
+			startPositionsTask();
 		if (HoverInfoManager.getInstance().isEnabled())
 			((BaseHoverInfoManager) HoverInfoManager.getInstance()).loadChannelsFormats();
 	}
 	
+	@Override
+	public List<ChatPluginServerPlayer> getNearbyPlayers(ChatPluginServerPlayer player, int range) {
+		return positionsIndex.getNearbyPlayers(player, range);
+	}
+	
+	private void startPositionsTask() {
+		if (positionsTaskID == -1)
+			positionsTaskID = TaskManager.scheduleSync(() -> positionsIndex.refresh(ServerPlayerManager.getInstance().getPlayers().values()), 0L, POSITIONS_REFRESH_PERIOD);
+	}
+	
 }
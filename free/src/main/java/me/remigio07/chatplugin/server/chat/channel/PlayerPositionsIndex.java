@@ -0,0 +1,136 @@
+/*
+ * 	ChatPlugin - A feature-rich and modular chat ecosystem, lightweight and efficient by design.
+ * 	Copyright 2025  Remigio07
+ * 	
+ * 	This program is distributed in the hope that it will be useful,
+ * 	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * 	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * 	GNU Affero General Public License for more details.
+ * 	
+ * 	You should have received a copy of the GNU Affero General Public License
+ * 	along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ * 	
+ * 	<https://remigio07.me/chatplugin>
+ */
+
+package me.remigio07.chatplugin.server.chat.channel;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import me.remigio07.chatplugin.api.common.util.annotation.Nullable;
+import me.remigio07.chatplugin.api.server.player.ChatPluginServerPlayer;
+
+/**
+ * Per-world grid of the loaded players' positions, used by local channels' range queries.
+ * 
+ * <p>Positions are read on the main thread by {@link #refresh(Collection)} and published
+ * as an immutable snapshot, so queries performed during the asynchronous chat event never
+ * read players' live locations and only visit the cells (16x16 columns) around the sender.</p>
+ */
+public class PlayerPositionsIndex {
+	
+	private static final int CELL_SHIFT = 4;
+	private volatile Snapshot snapshot = new Snapshot();
+	
+	/**
+	 * Replaces the current snapshot with the specified players' current positions.
+	 * 
+	 * <p>Must be called on the main thread.</p>
+	 * 
+	 * @param players Players to index
+	 */
+	public void refresh(Collection<ChatPluginServerPlayer> players) {
+		Snapshot snapshot = new Snapshot();
+		
+		for (ChatPluginServerPlayer player : players) {
+			if (!player.isLoaded())
+				continue;
+			Position position = new Position(player, player.getWorld(), player.getX(), player.getY(), player.getZ());
+			
+			snapshot.positions.put(player, position);
+			snapshot.worlds.computeIfAbsent(position.world, k -> new HashMap<>()).computeIfAbsent(getCellKey(toCell(position.x), toCell(position.z)), k -> new ArrayList<>()).add(position);
+		} this.snapshot = snapshot;
+	}
+	
+	public void clear() {
+		snapshot = new Snapshot();
+	}
+	
+	/**
+	 * Gets the indexed players whose distance from the specified
+	 * player was less than the specified range during the last refresh.
+	 * 
+	 * <p>Will return <code>null</code> if the player has not been indexed yet.</p>
+	 * 
+	 * @param player Center player
+	 * @param range Range, in blocks
+	 * @return Nearby players, including the specified one
+	 */
+	@Nullable(why = "Player may have not been indexed yet")
+	public List<ChatPluginServerPlayer> getNearbyPlayers(ChatPluginServerPlayer player, int range) {
+		Snapshot snapshot = this.snapshot;
+		Position center = snapshot.positions.get(player);
+		
+		if (center == null)
+			return null;
+		Map<Long, List<Position>> cells = snapshot.worlds.get(center.world);
+		List<ChatPluginServerPlayer> players = new ArrayList<>();
+		int minX = toCell(center.x - range), maxX = toCell(center.x + range);
+		int minZ = toCell(center.z - range), maxZ = toCell(center.z + range);
+		
+		if ((long) (maxX - minX + 1) * (maxZ - minZ + 1) > cells.size()) { // faster to visit every non-empty cell
+			for (List<Position> cell : cells.values())
+				addNearbyPlayers(cell, center, range, players);
+		} else for (int x = minX; x <= maxX; x++)
+			for (int z = minZ; z <= maxZ; z++)
+				addNearbyPlayers(cells.getOrDefault(getCellKey(x, z), Collections.emptyList()), center, range, players);
+		return players;
+	}
+	
+	private static void addNearbyPlayers(List<Position> cell, Position center, int range, List<ChatPluginServerPlayer> players) {
+		for (Position position : cell) {
+			double x = position.x - center.x, y = position.y - center.y, z = position.z - center.z;
+			
+			if (x * x + y * y + z * z < (double) range * range)
+				players.add(position.player);
+		}
+	}
+	
+	private static int toCell(double coordinate) {
+		return (int) Math.floor(coordinate) >> CELL_SHIFT;
+	}
+	
+	private static long getCellKey(int x, int z) {
+		return (long) x << 32 | (z & 0xFFFFFFFFL);
+	}
+	
+	private static class Snapshot {
+		
+		private Map<ChatPluginServerPlayer, Position> positions = new IdentityHashMap<>();
+		private Map<String, Map<Long, List<Position>>> worlds = new HashMap<>();
+		
+	}
+	
+	private static class Position {
+		
+		private ChatPluginServerPlayer player;
+		private String world;
+		private double x, y, z;
+		
+		private Position(ChatPluginServerPlayer player, String world, double x, double y, double z) {
+			this.player = player;
+			this.world = world;
+			this.x = x;
+			this.y = y;
+			this.z = z;
+		}
+		
+	}
+	
+}
@@ -0,0 +1,218 @@
+/*
+ * 	ChatPlugin - A feature-rich and modular chat ecosystem, lightweight and efficient by design.
+ * 	Copyright 2025  Remigio07
+ * 	
+ * 	This program is distributed in the hope that it will be useful,
+ * 	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * 	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * 	GNU Affero General Public License for more details.
+ * 	
+ * 	You should have received a copy of the GNU Affero General Public License
+ * 	along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ * 	
+ * 	<https://remigio07.me/chatplugin>
+ */
+
+package me.remigio07.chatplugin.server.chat.log;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import me.remigio07.chatplugin.api.common.player.OfflinePlayer;
+import me.remigio07.chatplugin.api.common.storage.configuration.ConfigurationType;
+import me.remigio07.chatplugin.api.common.util.Utils;
+import me.remigio07.chatplugin.api.common.util.annotation.Nullable;
+import me.remigio07.chatplugin.api.common.util.manager.LogManager;
+import me.remigio07.chatplugin.api.common.util.manager.TaskManager;
+import me.remigio07.chatplugin.api.server.chat.antispam.DenyChatReason;
+import me.remigio07.chatplugin.api.server.chat.channel.ChatChannel;
+import me.remigio07.chatplugin.api.server.chat.channel.data.ChatChannelData;
+import me.remigio07.chatplugin.api.server.chat.log.ChatLogManager;
+import me.remigio07.chatplugin.api.server.player.ChatPluginServerPlayer;
+
+/**
+ * Write-behind queue for the chat log.
+ * 
+ * <p>Chat threads only append messages to a lock-free queue; a single asynchronous task
+ * hands them to {@link ChatLogManager} in batches, every "chat.log.queue.flush-period"
+ * or as soon as "chat.log.queue.batch-size" messages are queued, whichever comes first.
+ * The queue is bounded by "chat.log.queue.max-size": when it is full, the
+ * "chat.log.queue.overflow-policy" is applied. Queued messages are flushed on {@link #unload()}.</p>
+ * 
+ * <p>The sender's rank and world and the message's date are captured when
+ * the message is queued, so a late flush does not change what is logged.</p>
+ */
+public class ChatLogQueue {
+	
+	private static final ChatLogQueue INSTANCE = new ChatLogQueue();
+	private Queue<Runnable> messages = new ConcurrentLinkedQueue<>();
+	private AtomicInteger size = new AtomicInteger();
+	private AtomicLong dropped = new AtomicLong();
+	private AtomicBoolean flushQueued = new AtomicBoolean();
+	private int maxSize, batchSize;
+	private OverflowPolicy overflowPolicy;
+	private long taskID = -1;
+	
+	public void load() {
+		maxSize = Math.max(ConfigurationType.CHAT.get().getInt("chat.log.queue.max-size"), 1);
+		batchSize = Math.max(ConfigurationType.CHAT.get().getInt("chat.log.queue.batch-size"), 1);
+		long flushPeriod = Utils.getTime(ConfigurationType.CHAT.get().getString("chat.log.queue.flush-period"), false, false);
+		
+		try {
+			overflowPolicy = OverflowPolicy.valueOf(ConfigurationType.CHAT.get().getString("chat.log.queue.overflow-policy").toUpperCase());
+		} catch (IllegalArgumentException iae) {
+			LogManager.log("Invalid overflow policy ({0}) set at \"chat.log.queue.overflow-policy\" in chat.yml: only DROP_OLDEST, DROP_NEWEST and CALLER_RUNS are allowed; setting to default value of DROP_OLDEST.", 2, ConfigurationType.CHAT.get().getString("chat.log.queue.overflow-policy"));
+			
+			overflowPolicy = OverflowPolicy.DROP_OLDEST;
+		} if (flushPeriod == -1) {
+			LogManager.log("Invalid timestamp ({0}) set at \"chat.log.queue.flush-period\" in chat.yml; setting to default value of 5s.", 2, ConfigurationType.CHAT.get().getString("chat.log.queue.flush-period"));
+			
+			flushPeriod = 5000L;
+		} if (taskID == -1)
+			taskID = TaskManager.scheduleAsync(this::flush, flushPeriod, flushPeriod);
+	}
+	
+	public void unload() {
+		if (taskID != -1) {
+			TaskManager.cancelAsync(taskID);
+			
+			taskID = -1;
+		} flush();
+		
+		if (dropped.get() != 0)
+			LogManager.log("Chat log queue dropped {0} messages because it was full; consider increasing \"chat.log.queue.max-size\" in chat.yml.", 1, dropped.getAndSet(0));
+	}
+	
+	/**
+	 * Queues a public message to be logged.
+	 * 
+	 * @param sender Public message's sender
+	 * @param publicMessage Public message to log
+	 * @param channel Channel the public message has been sent on
+	 * @param denyChatReason Public message's deny chat reason
+	 * @see ChatLogManager#logPublicMessage(ChatPluginServerPlayer, String, ChatChannel, DenyChatReason, String, String, long)
+	 */
+	public void logPublicMessage(
+			ChatPluginServerPlayer sender,
+			String publicMessage,
+			@Nullable(why = "Null if !ChatChannelsManager#isEnabled()") ChatChannel<? extends ChatChannelData> channel,
+			@Nullable(why = "Public message may not have been blocked") DenyChatReason<?> denyChatReason
+			) {
+		String rankID = sender.getRank().getID(), world = sender.getWorld();
+		long date = System.currentTimeMillis();
+		
+		offer(() -> ChatLogManager.getInstance().logPublicMessage(sender, publicMessage, channel, denyChatReason, rankID, world, date));
+	}
+	
+	/**
+	 * Queues a private message to be logged.
+	 * 
+	 * @param sender Private message's sender
+	 * @param recipient Private message's recipient
+	 * @param privateMessage Private message to log
+	 * @param denyChatReason Private message's deny chat reason
+	 * @see ChatLogManager#logPrivateMessage(ChatPluginServerPlayer, OfflinePlayer, String, DenyChatReason, String, String, long)
+	 */
+	public void logPrivateMessage(
+			ChatPluginServerPlayer sender,
+			OfflinePlayer recipient,
+			String privateMessage,
+			@Nullable(why = "Private message may not have been blocked") DenyChatReason<?> denyChatReason
+			) {
+		String rankID = sender == null ? null : sender.getRank().getID(), world = sender == null ? null : sender.getWorld();
+		long date = System.currentTimeMillis();
+		
+		offer(() -> ChatLogManager.getInstance().logPrivateMessage(sender, recipient, privateMessage, denyChatReason, rankID, world, date));
+	}
+	
+	private void offer(Runnable message) {
+		if (taskID == -1) { // not loaded
+			log(message);
+			return;
+		} while (size.get() >= maxSize) {
+			switch (overflowPolicy) {
+			case DROP_OLDEST:
+				if (messages.poll() != null) {
+					size.decrementAndGet();
+					dropped.incrementAndGet();
+				} break;
+			case DROP_NEWEST:
+				dropped.incrementAndGet();
+				return;
+			case CALLER_RUNS:
+				log(message);
+				return;
+			}
+		} messages.add(message);
+		
+		if (size.incrementAndGet() >= batchSize && flushQueued.compareAndSet(false, true))
+			TaskManager.runAsync(this::flush, 0L);
+	}
+	
+	public synchronized void flush() {
+		Runnable message;
+		
+		flushQueued.set(false);
+		
+		while ((message = messages.poll()) != null) {
+			size.decrementAndGet();
+			log(message);
+		}
+	}
+	
+	private static void log(Runnable message) {
+		try {
+			message.run();
+		} catch (Exception e) {
+			LogManager.log("{0} occurred while logging a chat message: {1}", 2, e.getClass().getSimpleName(), e.getLocalizedMessage());
+		}
+	}
+	
+	/**
+	 * Gets the amount of messages currently queued.
+	 * 
+	 * @return Queued messages
+	 */
+	public int getSize() {
+		return size.get();
+	}
+	
+	/**
+	 * Gets the amount of messages dropped because the queue was full since the last {@link #unload()}.
+	 * 
+	 * @return Dropped messages
+	 */
+	public long getDropped() {
+		return dropped.get();
+	}
+	
+	public static ChatLogQueue getInstance() {
+		return INSTANCE;
+	}
+	
+	/**
+	 * Represents the action performed when a message is queued while the queue is full.
+	 */
+	public enum OverflowPolicy {
+		
+		/**
+		 * Drops the oldest queued message.
+		 */
+		DROP_OLDEST,
+		
+		/**
+		 * Drops the message being queued.
+		 */
+		DROP_NEWEST,
+		
+		/**
+		 * Logs the message being queued on the calling thread.
+		 */
+		CALLER_RUNS;
+		
+	}
+	
+}
@@ -23,6 +23,7 @@
 
 import me.remigio07.chatplugin.api.ChatPlugin;
 import me.remigio07.chatplugin.api.common.player.OfflinePlayer;
+import me.remigio07.chatplugin.api.common.storage.StorageMethod;
 import me.remigio07.chatplugin.api.common.storage.configuration.ConfigurationType;
 import me.remigio07.chatplugin.api.common.util.VersionUtils;
 import me.remigio07.chatplugin.api.common.util.manager.ChatPluginManagers;
@@ -35,6 +36,7 @@
 import me.remigio07.chatplugin.api.server.player.ServerPlayerManager;
 import me.remigio07.chatplugin.api.server.util.adapter.user.CommandSenderAdapter;
 import me.remigio07.chatplugin.api.server.util.manager.PlaceholderManager;
+import me.remigio07.chatplugin.common.storage.database.StorageMigrator;
 import me.remigio07.chatplugin.common.util.Debugger;
 import me.remigio07.chatplugin.common.util.Utils;
 import me.remigio07.chatplugin.server.language.LanguageManagerImpl;
@@ -43,7 +45,7 @@ public class ChatPluginCommand extends BaseCommand {
 	
 	public ChatPluginCommand() {
 		super("/chatplugin help");
-		tabCompletionArgs.put(0, Arrays.asList("help", "info", "version", "language", "reload", "status", "debug"));
+		tabCompletionArgs.put(0, Arrays.asList("help", "info", "version", "language", "reload", "status", "debug", "migrate"));
 	}
 	
 	@Override
@@ -377,4 +379,56 @@ public void execute(CommandSenderAdapter sender, me.remigio07.chatplugin.api.ser
 		
 	}
 	
+	public static class Migrate extends BaseCommand {
+		
+		public Migrate() {
+			super("/chatplugin migrate <method>");
+			tabCompletionArgs.put(1, Arrays.asList("H2", "SQLITE"));
+		}
+		
+		@Override
+		public List<String> getMainArgs() {
+			return Arrays.asList("migrate", "migration", "export");
+		}
+		
+		@Override
+		public String getPermission() {
+			return "chatplugin.commands.migrate";
+		}
+		
+		@Override
+		public boolean isSubCommand() {
+			return true;
+		}
+		
+		@Override
+		public void execute(CommandSenderAdapter sender, me.remigio07.chatplugin.api.server.language.Language language, String[] args) {
+			if (args.length == 2) {
+				StorageMethod method;
+				
+				try {
+					method = StorageMethod.valueOf(args[1].toUpperCase());
+				} catch (IllegalArgumentException iae) {
+					sender.sendMessage(language.getMessage("misc.migration.invalid-method", args[1]));
+					return;
+				} long ms = System.currentTimeMillis();
+				
+				sender.sendMessage(language.getMessage("misc.migration.start", method.getName()));
+				TaskManager.runAsync(() -> {
+					try {
+						long rows = new StorageMigrator(method).migrate();
+						
+						sender.sendMessage(language.getMessage("misc.migration.end", rows, method.name(), System.currentTimeMillis() - ms));
+					} catch (IllegalArgumentException | IllegalStateException e) {
+						sender.sendMessage(language.getMessage("misc.migration.failed", e.getLocalizedMessage()));
+					} catch (Exception e) {
+						LogManager.log("{0} occurred while migrating the storage to {1}: {2}", 2, e.getClass().getSimpleName(), method.getName(), e.getLocalizedMessage());
+						sender.sendMessage(language.getMessage("misc.error-occurred", e.getClass().getSimpleName(), e.getLocalizedMessage()));
+					}
+				}, 0L);
+			} else sendUsage(sender, language);
+		}
+		
+	}
+	
 }
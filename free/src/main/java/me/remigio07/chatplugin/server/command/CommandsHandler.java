@@ -89,6 +89,7 @@ protected static void registerCommands0() {
 				new ChatPluginCommand.Help(),
 				new ChatPluginCommand.Info(),
 				new ChatPluginCommand.Language(),
+				new ChatPluginCommand.Migrate(),
 				new ChatPluginCommand.Reload(),
 				new ChatPluginCommand.Status(),
 				new ChatPluginCommand.Version(),
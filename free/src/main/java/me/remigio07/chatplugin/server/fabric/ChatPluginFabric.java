@@ -57,6 +57,7 @@
 import me.remigio07.chatplugin.common.util.manager.JavaLogManager;
 import me.remigio07.chatplugin.mixin.extension.ServerCommandSourceExtension;
 import me.remigio07.chatplugin.server.command.BaseCommand;
+import me.remigio07.chatplugin.server.fabric.manager.FabricChatManager;
 import me.remigio07.chatplugin.server.storage.configuration.ServerConfigurationManager;
 import me.remigio07.chatplugin.server.util.manager.ChatPluginServerManagers;
 import net.md_5.bungee.api.ChatColor;
@@ -148,6 +149,7 @@ public synchronized int reload() {
 		
 		try {
 			LogManager.log("Reloading ChatPlugin...", 0);
+			FabricChatManager.stopWorker();
 			managers.reloadManagers();
 			FabricCommandsHandler.unregisterCommands(false);
 			FabricCommandsHandler.registerCommands();
@@ -179,6 +181,7 @@ public synchronized int unload() {
 			new ChatPluginUnloadEvent().call();
 			// Fabric's crash-proof stuff
 			FabricCommandsHandler.unregisterCommands(true);
+			FabricChatManager.stopWorker();
 			// ChatPlugin's stuff which might crash
 			managers.unloadManagers();
 			LogManager.log("Plugin unloaded successfully in {0} ms.", 3, ms = System.currentTimeMillis() - ms);
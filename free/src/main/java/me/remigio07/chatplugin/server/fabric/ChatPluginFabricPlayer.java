@@ -30,8 +30,6 @@
 import me.remigio07.chatplugin.api.common.storage.DataContainer;
 import me.remigio07.chatplugin.api.common.storage.PlayersDataType;
 import me.remigio07.chatplugin.api.common.storage.StorageConnector;
-import me.remigio07.chatplugin.api.common.storage.StorageConnector.WhereCondition;
-import me.remigio07.chatplugin.api.common.storage.StorageConnector.WhereCondition.WhereOperator;
 import me.remigio07.chatplugin.api.common.storage.configuration.ConfigurationType;
 import me.remigio07.chatplugin.api.common.util.VersionUtils;
 import me.remigio07.chatplugin.api.common.util.VersionUtils.Version;
@@ -109,17 +107,18 @@ public ChatPluginFabricPlayer(ServerPlayerEntity player) {
 		StorageConnector storage = StorageConnector.getInstance();
 		
 		if (playerStored)
-			language = LanguageManager.getInstance().getLanguage(this);
+			language = getStoredLanguage();
 		else {
 			try {
 				storage.insertNewPlayer(this);
 			} catch (SQLException | IOException e) {
 				LogManager.log("{0} occurred while inserting {1} in the storage: {2}", 2, e.getClass().getSimpleName(), name, e.getLocalizedMessage());
+			} try {
+				if ((profile = storage.getPlayerProfile(this)) != null)
+					id = profile.getID();
+			} catch (SQLException sqle) {
+				LogManager.log("SQLException occurred while getting the ID of {0} from the the database: {1}", 2, name, sqle.getLocalizedMessage());
 			} language = Language.getMainLanguage();
-		} try {
-			id = storage.getPlayerData(PlayersDataType.ID, this);
-		} catch (SQLException sqle) {
-			LogManager.log("SQLException occurred while getting the ID of {0} from the the database: {1}", 2, name, sqle.getLocalizedMessage());
 		} if (BossbarManager.getInstance().isEnabled() && BossbarManager.getInstance().isWorldEnabled(getWorld())) {
 			bossbar = new NativeBossbar(this);
 			
@@ -131,9 +130,9 @@ public ChatPluginFabricPlayer(ServerPlayerEntity player) {
 				String currentIPAddress = getIPAddress().getHostAddress();
 				
 				if (playerStored) { // update name and UUID
-					if (!storage.getPlayerData(PlayersDataType.PLAYER_NAME, id).equals(name))
+					if (!profile.get(PlayersDataType.PLAYER_NAME).equals(name))
 						storage.setPlayerData(PlayersDataType.PLAYER_NAME, id, name);
-					else if (!storage.getPlayerData(PlayersDataType.PLAYER_UUID, id).equals(uuid.toString()))
+					else if (!profile.get(PlayersDataType.PLAYER_UUID).equals(uuid.toString()))
 						storage.setPlayerData(PlayersDataType.PLAYER_UUID, id, uuid.toString());
 				} else { // language detection
 					LanguageDetector detector = LanguageManager.getInstance().getDetector();
@@ -157,14 +156,14 @@ else if (!storage.getPlayerData(PlayersDataType.PLAYER_UUID, id).equals(uuid.toS
 				} if (IPLookupManager.getInstance().isEnabled()) { // update IP address(es)
 					if (ipLookup == null && IPLookupManager.getInstance().isLoadOnJoin())
 						getIPLookup(true).join();
-					String lastIPAddress = storage.getPlayerData(PlayersDataType.PLAYER_IP, id);
+					String lastIPAddress = profile == null ? null : profile.get(PlayersDataType.PLAYER_IP);
 					
 					if (currentIPAddress.equals(lastIPAddress))
 						return;
 					int maxIPsStored = IPLookupManager.getInstance().getMaxIPsStored();
 					
 					if (lastIPAddress != null && maxIPsStored != 1) {
-						List<String> ipAddresses = Utils.getListFromString(storage.select(DataContainer.IP_ADDRESSES, "ip_addresses", String.class, new WhereCondition("player_id", WhereOperator.EQUAL, id)));
+						List<String> ipAddresses = new ArrayList<>(profile.getIPAddresses());
 						
 						if (!ipAddresses.contains(lastIPAddress)) {
 							ipAddresses.add(0, lastIPAddress);
@@ -220,6 +219,21 @@ public void sendMessage(BaseComponent... components) {
 			player.sendMessage(ChatPluginFabric.toFabricComponent(component), false);
 	}
 	
+	@Override
+	public Object prepareMessage(BaseComponent... components) {
+		Text[] fabricComponents = new Text[components.length];
+		
+		for (int i = 0; i < components.length; i++)
+			fabricComponents[i] = ChatPluginFabric.toFabricComponent(components[i]);
+		return fabricComponents;
+	}
+	
+	@Override
+	public void sendPreparedMessage(Object message) {
+		for (Text component : (Text[]) message)
+			player.sendMessage(component, false);
+	}
+	
 	@Override
 	public void updatePlayerListName() {
 		if (ConfigurationType.CONFIG.get().getBoolean("settings.register-scoreboards")) {
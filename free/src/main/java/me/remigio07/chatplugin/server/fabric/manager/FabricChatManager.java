@@ -16,14 +16,24 @@
 package me.remigio07.chatplugin.server.fabric.manager;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 import me.remigio07.chatplugin.api.ChatPlugin;
 import me.remigio07.chatplugin.api.common.event.EventManager;
+import me.remigio07.chatplugin.api.common.storage.configuration.ConfigurationType;
 import me.remigio07.chatplugin.api.common.util.ChatPluginState;
 import me.remigio07.chatplugin.api.common.util.VersionUtils;
 import me.remigio07.chatplugin.api.common.util.VersionUtils.Version;
 import me.remigio07.chatplugin.api.common.util.manager.ChatPluginManagerException;
 import me.remigio07.chatplugin.api.common.util.manager.LogManager;
+import me.remigio07.chatplugin.api.server.player.ChatPluginServerPlayer;
 import me.remigio07.chatplugin.api.server.util.Utils;
 import me.remigio07.chatplugin.server.chat.BaseChatManager;
 import net.fabricmc.fabric.api.message.v1.ServerMessageEvents;
@@ -33,7 +43,11 @@
 
 public class FabricChatManager extends BaseChatManager {
 	
+	private static final long WORKER_SHUTDOWN_TIMEOUT = 500L, WORKER_OFFER_TIMEOUT = 50L;
 	private static boolean registered;
+	private volatile ThreadPoolExecutor worker;
+	private AtomicLong droppedMessages = new AtomicLong();
+	private AtomicBoolean dropping = new AtomicBoolean();
 	
 	@Override
 	public void load() throws ChatPluginManagerException {
@@ -53,10 +67,101 @@ public void load() throws ChatPluginManagerException {
 			else ServerMessageEvents.ALLOW_CHAT_MESSAGE.register((message, sender, params) -> ((FabricChatManager) instance).allowChatMessage(message, sender));
 			
 			registered = true;
+		} if (ConfigurationType.CHAT.get().getBoolean("chat.event.async-worker.enabled")) {
+			worker = new ThreadPoolExecutor(
+					1,
+					1,
+					0L,
+					TimeUnit.MILLISECONDS,
+					new ArrayBlockingQueue<>(Math.max(ConfigurationType.CHAT.get().getInt("chat.event.async-worker.queue-size"), 1)),
+					runnable -> {
+						Thread thread = new Thread(runnable, "ChatPlugin Chat Worker");
+						
+						thread.setDaemon(true);
+						return thread;
+					},
+					(task, executor) -> { // running it on the calling thread would deliver it before the queued ones
+						try {
+							if (!executor.isShutdown() && executor.getQueue().offer(task, WORKER_OFFER_TIMEOUT, TimeUnit.MILLISECONDS))
+								return;
+						} catch (InterruptedException ie) {
+							Thread.currentThread().interrupt();
+						} throw new RejectedExecutionException();
+					});
 		} enabled = true;
 		loadTime = System.currentTimeMillis() - ms;
 	}
 	
+	@Override
+	public void unload() throws ChatPluginManagerException {
+		stopWorker();
+		droppedMessages.set(0);
+		dropping.set(false);
+		super.unload();
+	}
+	
+	/**
+	 * Stops the chat worker, if enabled, skipping the messages which are still queued.
+	 * 
+	 * <p>This is called before any manager is unloaded, as the worker depends on most of
+	 * them, and only waits up to {@link #WORKER_SHUTDOWN_TIMEOUT} ms for the message being
+	 * handled at the moment, to avoid blocking the server thread on shutdowns and reloads.</p>
+	 */
+	public static void stopWorker() {
+		FabricChatManager manager = (FabricChatManager) instance;
+		
+		if (manager == null || manager.worker == null)
+			return;
+		ThreadPoolExecutor worker = manager.worker;
+		List<Runnable> skipped = new ArrayList<>();
+		manager.worker = null;
+		
+		worker.shutdown();
+		worker.getQueue().drainTo(skipped);
+		
+		if (!skipped.isEmpty())
+			LogManager.log("Skipping {0} queued chat message(s) as the chat worker is being stopped.", 1, skipped.size());
+		try {
+			if (!worker.awaitTermination(WORKER_SHUTDOWN_TIMEOUT, TimeUnit.MILLISECONDS))
+				LogManager.log("Chat worker did not finish handling a chat message within {0} ms; not waiting for it.", 1, WORKER_SHUTDOWN_TIMEOUT);
+		} catch (InterruptedException ie) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	/**
+	 * Runs the specified chat task on the chat worker, if enabled, or on the current thread.
+	 * 
+	 * <p>The worker is a single thread, so messages are handled in the order they are received.
+	 * When its queue is full, the current thread waits briefly
+	 * for it to make room; if it is still full, the message is dropped and the sender is told
+	 * to send it again, instead of handling it on the current thread, which would deliver it
+	 * before the queued ones. A warning is logged once per streak of dropped messages.</p>
+	 * 
+	 * @param sender Message's sender
+	 * @param task Task to run
+	 */
+	public void handleChatTask(ChatPluginServerPlayer sender, Runnable task) {
+		ThreadPoolExecutor worker = this.worker;
+		
+		if (worker == null) {
+			task.run();
+			return;
+		} try {
+			worker.execute(task);
+			dropping.set(false);
+		} catch (RejectedExecutionException ree) {
+			droppedMessages.incrementAndGet();
+			
+			if (worker.isShutdown())
+				return;
+			sender.sendTranslatedMessage("chat.busy");
+			
+			if (dropping.compareAndSet(false, true)) // logged once until a message is queued again
+				LogManager.log("Chat worker's queue is full; dropping chat messages ({0} dropped so far). Consider increasing \"chat.event.async-worker.queue-size\" in chat.yml.", 1, droppedMessages.get());
+		}
+	}
+	
 	public boolean allowChatMessage(SignedMessage message, ServerPlayerEntity sender) {
 		if (ChatPlugin.getState() != ChatPluginState.LOADED)
 			return true;
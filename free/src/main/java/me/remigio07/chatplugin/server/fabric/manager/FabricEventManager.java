@@ -47,6 +47,7 @@
 import me.remigio07.chatplugin.api.server.scoreboard.event.ScoreboardEvent;
 import me.remigio07.chatplugin.api.server.util.manager.ProxyManager;
 import me.remigio07.chatplugin.api.server.util.manager.VanishManager;
+import me.remigio07.chatplugin.bootstrap.FabricBootstrapper;
 import me.remigio07.chatplugin.mixin.extension.EntityExtension;
 import me.remigio07.chatplugin.mixin.extension.ServerWorldExtension;
 import me.remigio07.chatplugin.server.bossbar.NativeBossbar;
@@ -91,8 +92,10 @@ public boolean handleChatMessage(ServerPlayerEntity sender, String message) {
 		
 		if (serverPlayer == null || !ChatManager.getInstance().isEnabled())
 			return true;
-		if (!((BaseChatManager) ChatManager.getInstance()).handleChatEvent(serverPlayer, message)) // we just need 1 arg
-			applyScoreboard(ScoreboardEvent.CHAT, sender);
+		((FabricChatManager) ChatManager.getInstance()).handleChatTask(serverPlayer, () -> {
+			if (!((BaseChatManager) ChatManager.getInstance()).handleChatEvent(serverPlayer, message)) // we just need 1 arg
+				FabricBootstrapper.getInstance().getServer().execute(() -> applyScoreboard(ScoreboardEvent.CHAT, sender));
+		});
 		return false;
 	}
 	
@@ -38,6 +38,7 @@
 import me.remigio07.chatplugin.api.common.util.manager.LogManager;
 import me.remigio07.chatplugin.api.common.util.manager.TaskManager;
 import me.remigio07.chatplugin.api.server.bossbar.BossbarManager;
+import me.remigio07.chatplugin.api.server.chat.PlayerPingManager;
 import me.remigio07.chatplugin.api.server.chat.StaffChatManager;
 import me.remigio07.chatplugin.api.server.chat.channel.ChatChannel;
 import me.remigio07.chatplugin.api.server.chat.channel.ChatChannelsManager;
@@ -62,6 +63,8 @@
 import me.remigio07.chatplugin.mixin.extension.ServerPlayerEntityExtension;
 import me.remigio07.chatplugin.mixin.extension.ServerScoreboardExtension;
 import me.remigio07.chatplugin.mixin.extension.ServerWorldExtension;
+import me.remigio07.chatplugin.common.storage.PlayerStatsWriter;
+import me.remigio07.chatplugin.server.chat.PlayerPingManagerImpl;
 import me.remigio07.chatplugin.server.fabric.ChatPluginFabricPlayer;
 import me.remigio07.chatplugin.server.join_quit.QuitMessageManagerImpl.QuitPacketImpl;
 import me.remigio07.chatplugin.server.util.Utils;
@@ -208,6 +211,7 @@ else if (ScoreboardManager.getInstance().getScoreboard("join-event") != null)
 //		((VanishManagerImpl) VanishManager.getInstance()).update(serverPlayer, false);
 		
 		players.put(player.getUUID(), serverPlayer);
+		((PlayerPingManagerImpl) PlayerPingManager.getInstance()).addPlayer(serverPlayer);
 		new ServerPlayerLoadEvent(serverPlayer, (int) (ms = System.currentTimeMillis() - ms)).call();
 		LogManager.log("Player {0} has been loaded in {1} ms.", 4, player.getName(), ms);
 		return (int) ms;
@@ -245,6 +249,7 @@ public int unloadPlayer(UUID player) {
 		
 		new ServerPlayerUnloadEvent(serverPlayer).call();
 		players.remove(player);
+		((PlayerPingManagerImpl) PlayerPingManager.getInstance()).removePlayer(serverPlayer);
 		
 		if (ConfigurationType.CONFIG.get().getBoolean("settings.register-scoreboards")) {
 			net.minecraft.scoreboard.Scoreboard scoreboard = ((ScoreboardObjectiveAccessor) serverPlayer.getObjective().fabricValue()).chatPlugin$getScoreboard();
@@ -281,6 +286,8 @@ public int unloadPlayer(UUID player) {
 		QuitMessageManager.getInstance().getFakeQuits().remove(player);
 		Utils.inventoryTitles.remove(player);
 		verifyAndRun(() -> {
+			PlayerStatsWriter.getInstance().flush(serverPlayer);
+			
 			try {
 				StorageConnector.getInstance().setPlayerData(PlayersDataType.LAST_LOGOUT, serverPlayer.getID(), System.currentTimeMillis()); // this is called on every unload too, not just quits...
 				StorageConnector.getInstance().setPlayerData(PlayersDataType.TIME_PLAYED, serverPlayer.getID(), StorageConnector.getInstance().getPlayerData(PlayersDataType.TIME_PLAYED, serverPlayer.getID()) + (System.currentTimeMillis() - serverPlayer.getLoginTime()));
@@ -24,8 +24,10 @@
 
 import me.remigio07.chatplugin.api.common.player.OfflinePlayer;
 import me.remigio07.chatplugin.api.common.storage.DataContainer;
+import me.remigio07.chatplugin.api.common.storage.PlayerProfile;
 import me.remigio07.chatplugin.api.common.storage.PlayersDataType;
 import me.remigio07.chatplugin.api.common.storage.StorageConnector;
+import me.remigio07.chatplugin.api.common.storage.StorageManager;
 import me.remigio07.chatplugin.api.common.storage.database.DatabaseConnector;
 import me.remigio07.chatplugin.api.common.util.VersionUtils;
 import me.remigio07.chatplugin.api.common.util.adapter.user.PlayerAdapter;
@@ -38,19 +40,24 @@
 import me.remigio07.chatplugin.api.server.chat.channel.ChatChannelsManager;
 import me.remigio07.chatplugin.api.server.join_quit.ServerLinkManager.ServerLink;
 import me.remigio07.chatplugin.api.server.language.Language;
+import me.remigio07.chatplugin.api.server.language.LanguageManager;
 import me.remigio07.chatplugin.api.server.player.ChatPluginServerPlayer;
 import me.remigio07.chatplugin.api.server.player.ServerPlayerManager;
 import me.remigio07.chatplugin.api.server.rank.Rank;
 import me.remigio07.chatplugin.api.server.scoreboard.Scoreboard;
 import me.remigio07.chatplugin.api.server.util.adapter.scoreboard.ObjectiveAdapter;
 import me.remigio07.chatplugin.api.server.util.manager.ProxyManager;
+import me.remigio07.chatplugin.common.storage.PlayerStatsWriter;
 import me.remigio07.chatplugin.common.util.Utils;
+import me.remigio07.chatplugin.server.chat.PlayerIgnoreManagerImpl;
+import me.remigio07.chatplugin.server.util.manager.PlaceholderManagerImpl;
 import net.md_5.bungee.api.chat.BaseComponent;
 import net.md_5.bungee.api.chat.ClickEvent;
 import net.md_5.bungee.api.chat.HoverEvent;
 
 public abstract class BaseChatPluginServerPlayer extends ChatPluginServerPlayer {
 	
+	protected PlayerProfile profile;
 	protected boolean playerStored;
 	
 	public BaseChatPluginServerPlayer(PlayerAdapter player) {
@@ -64,50 +71,56 @@ public BaseChatPluginServerPlayer(PlayerAdapter player) {
 			chatChannelSpyEnabled = true;
 		bedrockPlayer = ServerPlayerManager.isBedrockPlayer(uuid);
 		loginTime = ServerPlayerManager.getPlayerLoginTime(uuid);
-		ignoredPlayers = PlayerIgnoreManager.getInstance().isEnabled() ? new ArrayList<>(PlayerIgnoreManager.getInstance().getIgnoredPlayers(this)) : Collections.emptyList();
 		
 		try {
-			playerStored = StorageConnector.getInstance().isPlayerStored(this);
+			profile = StorageConnector.getInstance().getPlayerProfile(this);
 		} catch (SQLException sqle) {
-			LogManager.log("SQLException occurred while checking if {0} is stored in the database: {1}", 2, name, sqle.getLocalizedMessage());
-		} if (playerStored) { // TODO: too many sync storage calls, make it a single one that includes ID, chat color, etc.?
+			LogManager.log("SQLException occurred while getting {0}'s profile from the storage: {1}", 2, name, sqle.getLocalizedMessage());
+		} if (playerStored = profile != null) {
+			Integer color = profile.get(PlayersDataType.CHAT_COLOR);
+			Integer tone = profile.get(PlayersDataType.EMOJIS_TONE);
+			Integer messagesSent = profile.get(PlayersDataType.MESSAGES_SENT);
+			Integer antispamInfractions = profile.get(PlayersDataType.ANTISPAM_INFRACTIONS);
+			
+			id = profile.getID();
+			chatColor = color == null ? ChatColor.RESET : ChatColor.of(new Color(color, true));
+			emojisTone = tone == null ? ChatColor.RESET : ChatColor.of(new Color(tone, true));
+			
+			if (messagesSent != null)
+				this.messagesSent = messagesSent.intValue() + PlayerStatsWriter.getInstance().getPending(PlayersDataType.MESSAGES_SENT, this);
+			if (antispamInfractions != null)
+				this.antispamInfractions = antispamInfractions.intValue() + PlayerStatsWriter.getInstance().getPending(PlayersDataType.ANTISPAM_INFRACTIONS, this);
+			if (StorageManager.getInstance().getMethod().isDatabase()) { // compatibility with older ChatPlugin versions
+				addMissingColumn(PlayersDataType.CHAT_COLOR, "`chat_color` INTEGER AFTER `ignored_players`");
+				addMissingColumn(PlayersDataType.EMOJIS_TONE, "`emojis_tone` INTEGER AFTER `chat_color`");
+				addMissingColumn(PlayersDataType.ANTISPAM_INFRACTIONS, "`antispam_infractions` INTEGER DEFAULT 0 AFTER `messages_sent`");
+			}
+		} else chatColor = emojisTone = ChatColor.RESET;
+		ignoredPlayers = PlayerIgnoreManager.getInstance().isEnabled() ? new ArrayList<>() : Collections.emptyList();
+		
+		if (playerStored && PlayerIgnoreManager.getInstance().isEnabled()) {
 			try {
-				Integer color = StorageConnector.getInstance().getPlayerData(PlayersDataType.CHAT_COLOR, this);
-				chatColor = color == null ? ChatColor.RESET : ChatColor.of(new Color(color, true));
+				ignoredPlayers.addAll(((PlayerIgnoreManagerImpl) PlayerIgnoreManager.getInstance()).getIgnoredPlayers(profile.get(PlayersDataType.IGNORED_PLAYERS)));
 			} catch (SQLException sqle) {
-				try {
-					if (sqle.getMessage().contains("Column \"CHAT_COLOR\" not found") || sqle.getMessage().contains("(no such column: chat_color)")) // compatibility with older ChatPlugin versions
-						DatabaseConnector.getInstance().executeUpdate("ALTER TABLE " + DataContainer.PLAYERS.getDatabaseTableID() + " ADD `chat_color` INTEGER AFTER `ignored_players`");
-					else LogManager.log("SQLException occurred while getting chat's color of {0} from the database: {1}", 2, name, sqle.getLocalizedMessage());
-				} catch (SQLException sqle2) {
-					LogManager.log("SQLException occurred while altering database table {0} after version update: {1}", 2, DataContainer.PLAYERS.getDatabaseTableID(), sqle2.getLocalizedMessage());
-				} chatColor = ChatColor.RESET;
-			} try {
-				Integer tone = StorageConnector.getInstance().getPlayerData(PlayersDataType.EMOJIS_TONE, this);
-				emojisTone = tone == null ? ChatColor.RESET : ChatColor.of(new Color(tone, true));
-			} catch (SQLException sqle) {
-				try {
-					if (sqle.getMessage().contains("Column \"EMOJIS_TONE\" not found") || sqle.getMessage().contains("(no such column: emojis_tone)")) // compatibility with older ChatPlugin versions
-						DatabaseConnector.getInstance().executeUpdate("ALTER TABLE " + DataContainer.PLAYERS.getDatabaseTableID() + " ADD `emojis_tone` INTEGER AFTER `chat_color`");
-					else LogManager.log("SQLException occurred while getting emojis' tone of {0} from the database: {1}", 2, name, sqle.getLocalizedMessage());
-				} catch (SQLException sqle2) {
-					LogManager.log("SQLException occurred while altering database table {0} after version update: {1}", 2, DataContainer.PLAYERS.getDatabaseTableID(), sqle2.getLocalizedMessage());
-				} emojisTone = ChatColor.RESET;
-			} try {
-				Integer antispamInfractions = StorageConnector.getInstance().getPlayerData(PlayersDataType.ANTISPAM_INFRACTIONS, this);
-				
-				if (antispamInfractions != null)
-					this.antispamInfractions = antispamInfractions.intValue();
+				LogManager.log("SQLException occurred while trying to get {0}'s ignored players' list: {1}", 2, name, sqle.getLocalizedMessage());
+			}
+		}
+	}
+	
+	protected Language getStoredLanguage() {
+		String id = profile.get(PlayersDataType.LANGUAGE);
+		Language language = id == null ? null : LanguageManager.getInstance().getLanguage(id);
+		return language == null ? Language.getMainLanguage() : language;
+	}
+	
+	private void addMissingColumn(PlayersDataType<?> type, String definition) {
+		if (!profile.contains(type)) {
+			try {
+				DatabaseConnector.getInstance().executeUpdate("ALTER TABLE " + DataContainer.PLAYERS.getDatabaseTableID() + " ADD " + definition);
 			} catch (SQLException sqle) {
-				try {
-					if (sqle.getMessage().contains("Column \"ANTISPAM_INFRACTIONS\" not found") || sqle.getMessage().contains("(no such column: antispam_infractions)")) // compatibility with older ChatPlugin versions
-						DatabaseConnector.getInstance().executeUpdate("ALTER TABLE " + DataContainer.PLAYERS.getDatabaseTableID() + " ADD `antispam_infractions` INTEGER DEFAULT 0 AFTER `messages_sent`");
-					else LogManager.log("SQLException occurred while getting antispam infractions of {0} from the database: {1}", 2, name, sqle.getLocalizedMessage());
-				} catch (SQLException sqle2) {
-					LogManager.log("SQLException occurred while altering database table {0} after version update: {1}", 2, DataContainer.PLAYERS.getDatabaseTableID(), sqle2.getLocalizedMessage());
-				}
+				LogManager.log("SQLException occurred while altering database table {0} after version update: {1}", 2, DataContainer.PLAYERS.getDatabaseTableID(), sqle.getLocalizedMessage());
 			}
-		} else chatColor = emojisTone = ChatColor.RESET;
+		}
 	}
 	
 	@Override
@@ -139,6 +152,8 @@ public void setEmojisTone(@NotNull ChatColor emojisTone) {
 	
 	public void setRank(Rank rank) {
 		this.rank = rank;
+		
+		PlaceholderManagerImpl.invalidateRankPlaceholders(this);
 	}
 	
 	public void setScoreboard(Scoreboard scoreboard) {
@@ -217,6 +232,10 @@ public void sendLanguageDetectedMessage(Language language) {
 	
 	public abstract void sendMessage(BaseComponent... components);
 	
+	public abstract Object prepareMessage(BaseComponent... components); // converts the components once for multiple players
+	
+	public abstract void sendPreparedMessage(Object message);
+	
 	public abstract void updatePlayerListName();
 	
 }
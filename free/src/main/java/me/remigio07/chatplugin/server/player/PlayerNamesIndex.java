@@ -0,0 +1,202 @@
+/*
+ * 	ChatPlugin - A feature-rich and modular chat ecosystem, lightweight and efficient by design.
+ * 	Copyright 2025  Remigio07
+ * 	
+ * 	This program is distributed in the hope that it will be useful,
+ * 	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * 	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * 	GNU Affero General Public License for more details.
+ * 	
+ * 	You should have received a copy of the GNU Affero General Public License
+ * 	along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ * 	
+ * 	<https://remigio07.me/chatplugin>
+ */
+
+package me.remigio07.chatplugin.server.player;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import me.remigio07.chatplugin.api.common.util.annotation.Nullable;
+import me.remigio07.chatplugin.api.server.player.ChatPluginServerPlayer;
+
+/**
+ * Trie containing the loaded players' names, used to find
+ * the players mentioned in a message with a single scan.
+ * 
+ * <p>Names are matched case sensitively, only at word boundaries
+ * and ignoring color codes (i.e. "§aSteve" and "St§ceve" both match "Steve"),
+ * which is what the old per-player regular expressions did.</p>
+ */
+public class PlayerNamesIndex {
+	
+	private Node root = new Node();
+	
+	public void add(ChatPluginServerPlayer player) {
+		add(player.getName(), player);
+	}
+	
+	synchronized void add(String name, ChatPluginServerPlayer player) {
+		if (contains(name))
+			return;
+		Node node = root;
+		
+		for (char character : name.toCharArray()) {
+			node = node.children.computeIfAbsent(character, k -> new Node());
+			node.names++;
+		} node.player = player;
+		node.name = name;
+	}
+	
+	public synchronized void remove(ChatPluginServerPlayer player) {
+		String name = player.getName();
+		
+		if (!contains(name))
+			return;
+		Node node = root;
+		
+		for (char character : name.toCharArray()) {
+			Node child = node.children.get(character);
+			
+			if (--child.names == 0) {
+				node.children.remove(character);
+				return;
+			} node = child;
+		} node.name = null;
+		node.player = null;
+	}
+	
+	private boolean contains(String name) {
+		Node node = root;
+		
+		for (char character : name.toCharArray())
+			if ((node = node.children.get(character)) == null)
+				return false;
+		return name.equals(node.name);
+	}
+	
+	public synchronized void clear() {
+		root = new Node();
+	}
+	
+	/**
+	 * Finds all the indexed names contained in the specified message.
+	 * 
+	 * @param message Message to check
+	 * @param atSignRequired Whether names must be preceded by '@'
+	 * @return Matches found, sorted by start index
+	 */
+	public List<Match> findAll(String message, boolean atSignRequired) {
+		return scan(message, atSignRequired, root, false);
+	}
+	
+	/**
+	 * Finds the first occurrence of the specified name in the specified message.
+	 * 
+	 * @param message Message to check
+	 * @param name Name to find
+	 * @param atSignRequired Whether the name must be preceded by '@'
+	 * @return First match found or <code>null</code> if the message does not contain the name
+	 */
+	public static Match find(String message, String name, boolean atSignRequired) {
+		Node root = new Node(), node = root;
+		
+		for (char character : name.toCharArray())
+			node.children.put(character, node = new Node());
+		node.name = name;
+		List<Match> matches = scan(message, atSignRequired, root, true);
+		return matches.isEmpty() ? null : matches.get(0);
+	}
+	
+	private static List<Match> scan(String message, boolean atSignRequired, Node root, boolean firstOnly) {
+		List<Match> matches = Collections.emptyList();
+		
+		for (int start = 0; start < message.length(); start++) {
+			if (start != 0 && isWordCharacter(message.charAt(start - 1)))
+				continue;
+			int index = skipColorCodes(message, start);
+			
+			if (atSignRequired) {
+				if (index == message.length() || message.charAt(index) != '@')
+					continue;
+				index = skipColorCodes(message, index + 1);
+			} Node node = root;
+			
+			while (index < message.length() && (node = node.children.get(message.charAt(index))) != null) {
+				int end = index + 1;
+				
+				index = skipColorCodes(message, end);
+				
+				if (node.name != null && (index == message.length() || !isWordCharacter(message.charAt(index)) || index != end)) {
+					if (matches.isEmpty())
+						matches = new ArrayList<>();
+					matches.add(new Match(node.name, node.player, start, index == message.length() || !isWordCharacter(message.charAt(index)) ? index : index - 2)); // like the regex' backtracking, leaves out the last color code
+					
+					if (firstOnly)
+						return matches;
+				}
+			}
+		} return matches;
+	}
+	
+	private static int skipColorCodes(String message, int index) {
+		while (index < message.length() - 1 && message.charAt(index) == '§' && isColorCode(message.charAt(index + 1)))
+			index += 2;
+		return index;
+	}
+	
+	private static boolean isColorCode(char character) {
+		character = Character.toLowerCase(character);
+		return (character >= '0' && character <= '9') || (character >= 'a' && character <= 'f') || (character >= 'k' && character <= 'o') || character == 'r' || character == 'x';
+	}
+	
+	private static boolean isWordCharacter(char character) {
+		return (character >= 'a' && character <= 'z') || (character >= 'A' && character <= 'Z') || (character >= '0' && character <= '9') || character == '_';
+	}
+	
+	public static class Match {
+		
+		private String name;
+		private ChatPluginServerPlayer player;
+		private int start, end;
+		
+		private Match(String name, ChatPluginServerPlayer player, int start, int end) {
+			this.name = name;
+			this.player = player;
+			this.start = start;
+			this.end = end;
+		}
+		
+		public String getName() {
+			return name;
+		}
+		
+		@Nullable(why = "Null if this match has been obtained using PlayerNamesIndex#find(String, String, boolean)")
+		public ChatPluginServerPlayer getPlayer() {
+			return player;
+		}
+		
+		public int getStart() {
+			return start;
+		}
+		
+		public int getEnd() {
+			return end;
+		}
+		
+	}
+	
+	private static class Node {
+		
+		private Map<Character, Node> children = new ConcurrentHashMap<>();
+		private volatile String name;
+		private volatile ChatPluginServerPlayer player;
+		private int names;
+		
+	}
+	
+}
@@ -44,6 +44,7 @@
 import me.remigio07.chatplugin.bootstrap.SpongeBootstrapper;
 import me.remigio07.chatplugin.common.util.Utils;
 import me.remigio07.chatplugin.server.player.BaseChatPluginServerPlayer;
+import me.remigio07.chatplugin.server.util.manager.PlaceholderManagerImpl;
 import net.luckperms.api.LuckPermsProvider;
 import net.luckperms.api.cacheddata.CachedMetaData;
 import net.luckperms.api.event.EventSubscription;
@@ -220,7 +221,7 @@ public void loadRanks() throws IllegalStateException {
 					}
 				}
 			}
-		}
+		} PlaceholderManagerImpl.invalidateRankPlaceholders();
 	}
 	
 	@Override
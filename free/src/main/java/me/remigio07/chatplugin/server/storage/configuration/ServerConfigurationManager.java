@@ -181,6 +181,15 @@ else if (!forceAdd)
 		config.addDefault("storage.database.file-name", "chatplugin-h2");
 		config.addDefault("storage.database.use-ssl", false);
 		config.addDefault("storage.database.use-server-mode", false);
+		config.addDefault("storage.database.pool.size", 4);
+		config.addDefault("storage.database.pool.statement-cache-size", 32);
+		config.addDefault("storage.database.pool.validation-interval", "30s");
+		config.addDefault("storage.database.pool.borrow-timeout", "10s");
+		config.addDefault("storage.database.player-cache.max-size", 1000);
+		config.addDefault("storage.async.threads", 2);
+		config.addDefault("storage.async.queue-size", 1024);
+		config.addDefault("storage.async.shutdown-timeout", "5s");
+		config.addDefault("storage.migration.batch-size", 1000);
 		
 		config.addDefault("languages.main-language-id", "english");
 		config.addDefault("languages.detector.enabled", false);
@@ -311,6 +320,10 @@ else if (!forceAdd)
 		messages.addDefault("misc.debug.file.too-fast", "{pfx} &cYou cannot generate more than a debug file per second.");
 		messages.addDefault("misc.debug.manager.info", "{pfx} &aDebugging data of &f{0}&a:");
 		messages.addDefault("misc.debug.manager.disabled", "{pfx} &cThat manager is disabled.");
+		messages.addDefault("misc.migration.start", "{pfx} &aMigrating the storage to &f{0}&a. Check the console to see the progress...");
+		messages.addDefault("misc.migration.end", "{pfx} &aMigrated &f{0} &arows to &f{1}&a. Took &f{2} ms &ato complete. Set &f\"storage.method\" &ain config.yml to &f{1} &aand reload the plugin to use it.");
+		messages.addDefault("misc.migration.failed", "{pfx} &cUnable to migrate the storage: &f{0}&c.");
+		messages.addDefault("misc.migration.invalid-method", "{pfx} &f{0} &cis not a valid storage method. Only &fH2 &cand &fSQLITE &ccan be selected as target.");
 		messages.addDefault("misc.at-least-one-online", "{pfx} &cAt least one player online is required to perform this action.");
 		messages.addDefault("misc.disabled-world", "{pfx} &cThat world is not enabled.");
 		messages.addDefault("misc.disabled-feature", "{pfx} &cThat feature is not enabled.");
@@ -455,12 +468,14 @@ else if (!forceAdd)
 		messages.addDefault("chat.antispam.no-swear", "{pfx} &cYour message contains disallowed words.");
 		messages.addDefault("chat.antispam.no-caps", "{pfx} &cYou cannot use more than &f{0}% &cof caps in messages longer than &f{1} &ccharacters. Buy a &fVIP package &cto bypass this restriction.");
 		messages.addDefault("chat.antispam.no-flood", "{pfx} &cYou cannot chat more than once every &f{0} &cseconds. Buy a &fVIP package &cto bypass this restriction.");
+		messages.addDefault("chat.antispam.no-flood-sliding-window", "{pfx} &cYou cannot send more than &f{0} &cmessages every &f{1} &cseconds. Buy a &fVIP package &cto bypass this restriction.");
 		messages.addDefault("chat.antispam.no-spam", "{pfx} &cYou can write two identical messages every &f{0} &cseconds. Buy a &fVIP package &cto bypass this restriction.");
 		messages.addDefault("chat.no-format", "{pfx} &cYou cannot write formatted messages. Buy a &fVIP package &cto bypass this restriction.");
 		messages.addDefault("chat.no-blank-messages", "{pfx} &cYou cannot send blank messages.");
 		messages.addDefault("chat.pinged", "{pfx} &eYou got pinged by &f{0}&e.");
 		messages.addDefault("chat.cannot-ping", "{pfx} &cYou can ping a player once every &f{0}&c.");
 		messages.addDefault("chat.nobody-read", "{pfx} &eNobody has read your message.");
+		messages.addDefault("chat.busy", "{pfx} &cThe chat is busy right now and your message could not be sent. Please try again in a moment.");
 		
 		messages.addDefault("chat.log.searching", "{pfx} &eSearching for logged messages...");
 		messages.addDefault("chat.log.found", "{pfx} &aThe following messages were found:");
@@ -758,6 +773,8 @@ else if (!forceAdd)
 		chat.addDefault("chat.enabled", true);
 		chat.addDefault("chat.event.override", true);
 		chat.addDefault("chat.event.priority", Environment.isBukkit() ? "HIGH" : "LATE"); // TODO Fabric
+		chat.addDefault("chat.event.async-worker.enabled", true); // Fabric only: Bukkit and Sponge already handle chat asynchronously
+		chat.addDefault("chat.event.async-worker.queue-size", 1024);
 		chat.addDefault("chat.format", "&7«&f{prefix}{tag_name_color}{player}{suffix}&7» &f");
 		chat.addDefault("chat.recognized-tlds", Arrays.asList("com", "net", "org", "me", "io", "edu", "gov", "int", "info", "pro", "xyz", "gg", "dev", "link", "eu", "it", "de", "fr", "es", "br", "jp", "ru", "uk", "co.uk"));
 		chat.addDefault("chat.placeholder-types", Arrays.asList("PLAYER", "SERVER"));
@@ -797,6 +814,10 @@ else if (!forceAdd)
 		chat.addDefault("chat.antispam.prevention.ips.whitelist", Arrays.asList("127.0.0.1"));
 		chat.addDefault("chat.antispam.seconds-between-messages", 2);
 		chat.addDefault("chat.antispam.seconds-between-same-messages", 10);
+		chat.addDefault("chat.antispam.sliding-window.enabled", false);
+		chat.addDefault("chat.antispam.sliding-window.max-messages", 5);
+		chat.addDefault("chat.antispam.sliding-window.seconds", 10);
+		chat.addDefault("chat.antispam.same-messages-similarity-percentage", 100F);
 		chat.addDefault("chat.antispam.max-caps-length", 4);
 		chat.addDefault("chat.antispam.max-caps-percentage", 50F);
 		chat.addDefault("chat.antispam.highlight-color", "&4&n");
@@ -910,6 +931,10 @@ else if (!forceAdd)
 		chat.addDefault("chat.log.enabled", true);
 		chat.addDefault("chat.log.print-to-log-file", false);
 		chat.addDefault("chat.log.messages-auto-cleaner-period", "120d");
+		chat.addDefault("chat.log.queue.max-size", 4096);
+		chat.addDefault("chat.log.queue.batch-size", 256);
+		chat.addDefault("chat.log.queue.flush-period", "5s");
+		chat.addDefault("chat.log.queue.overflow-policy", "DROP_OLDEST");
 		
 		chat.save();
 	}
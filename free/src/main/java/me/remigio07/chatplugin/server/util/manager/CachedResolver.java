@@ -0,0 +1,93 @@
+/*
+ * 	ChatPlugin - A feature-rich and modular chat ecosystem, lightweight and efficient by design.
+ * 	Copyright 2025  Remigio07
+ * 	
+ * 	This program is distributed in the hope that it will be useful,
+ * 	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * 	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * 	GNU Affero General Public License for more details.
+ * 	
+ * 	You should have received a copy of the GNU Affero General Public License
+ * 	along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ * 	
+ * 	<https://remigio07.me/chatplugin>
+ */
+
+package me.remigio07.chatplugin.server.util.manager;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import me.remigio07.chatplugin.api.server.language.Language;
+import me.remigio07.chatplugin.api.server.player.ChatPluginServerPlayer;
+import me.remigio07.chatplugin.server.util.manager.PlaceholderTemplate.Resolver;
+
+/**
+ * {@link Resolver} which caches the values calculated by another one, per player.
+ * 
+ * <p>Values are considered fresh for the specified amount of milliseconds; use {@link #PER_TICK}
+ * to share them only between the consumers refreshing during the same tick or {@link #UNTIL_INVALIDATED}
+ * to keep them until {@link #invalidate(UUID)} or {@link #invalidateAll()} are called.
+ * Hits and misses are counted using the specified adders, which may be shared.</p>
+ */
+public class CachedResolver implements Resolver {
+	
+	public static final long PER_TICK = 50L;
+	public static final long UNTIL_INVALIDATED = -1L;
+	private static final UUID SERVER = new UUID(0L, 0L);
+	private Map<UUID, Value> values = new ConcurrentHashMap<>();
+	private LongAdder hits, misses;
+	private Resolver resolver;
+	private long freshness;
+	
+	public CachedResolver(Resolver resolver, long freshness, LongAdder hits, LongAdder misses) {
+		this.resolver = resolver;
+		this.freshness = freshness;
+		this.hits = hits;
+		this.misses = misses;
+	}
+	
+	@Override
+	public String resolve(ChatPluginServerPlayer player, Language language) {
+		UUID key = player == null ? SERVER : player.getUUID();
+		Value value = values.get(key);
+		long now = System.currentTimeMillis();
+		
+		if (value != null && value.language == language && (freshness == UNTIL_INVALIDATED || now - value.time < freshness)) {
+			hits.increment();
+			return value.value;
+		} misses.increment();
+		values.put(key, value = new Value(resolver.resolve(player, language), language, now));
+		return value.value;
+	}
+	
+	public void invalidate(UUID player) {
+		values.remove(player);
+	}
+	
+	public void invalidateAll() {
+		values.clear();
+	}
+	
+	public void retainAll(Collection<UUID> players) {
+		values.keySet().removeIf(player -> player != SERVER && !players.contains(player));
+	}
+	
+	private static class Value {
+		
+		private String value;
+		private Language language;
+		private long time;
+		
+		private Value(String value, Language language, long time) {
+			this.value = value;
+			this.language = language;
+			this.time = time;
+		}
+		
+	}
+	
+}
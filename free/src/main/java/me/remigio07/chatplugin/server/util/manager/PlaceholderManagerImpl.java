@@ -17,7 +17,14 @@
 
 import java.lang.management.ManagementFactory;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.bukkit.Statistic;
 import org.spongepowered.api.data.key.Keys;
@@ -28,29 +35,36 @@
 
 import me.remigio07.chatplugin.api.ChatPlugin;
 import me.remigio07.chatplugin.api.common.discord.DiscordIntegrationManager;
-import me.remigio07.chatplugin.api.common.integration.IntegrationManager;
+import me.remigio07.chatplugin.api.common.event.EventManager;
+import me.remigio07.chatplugin.api.common.event.EventSubscriber;
+import me.remigio07.chatplugin.api.common.event.punishment.ban.BanEvent;
+import me.remigio07.chatplugin.api.common.event.punishment.kick.KickEvent;
+import me.remigio07.chatplugin.api.common.event.punishment.mute.MuteEvent;
+import me.remigio07.chatplugin.api.common.event.punishment.warning.WarningEvent;
 import me.remigio07.chatplugin.api.common.integration.IntegrationType;
+import me.remigio07.chatplugin.api.common.player.OfflinePlayer;
+import me.remigio07.chatplugin.api.common.punishment.Punishment;
+import me.remigio07.chatplugin.api.common.punishment.PunishmentManager;
 import me.remigio07.chatplugin.api.common.punishment.ban.BanManager;
 import me.remigio07.chatplugin.api.common.punishment.kick.KickManager;
 import me.remigio07.chatplugin.api.common.punishment.mute.MuteManager;
 import me.remigio07.chatplugin.api.common.punishment.warning.WarningManager;
 import me.remigio07.chatplugin.api.common.storage.DataContainer;
+import me.remigio07.chatplugin.api.common.storage.PlayerProfile;
 import me.remigio07.chatplugin.api.common.storage.PlayersDataType;
 import me.remigio07.chatplugin.api.common.storage.StorageConnector;
-import me.remigio07.chatplugin.api.common.storage.StorageConnector.WhereCondition;
-import me.remigio07.chatplugin.api.common.storage.StorageConnector.WhereCondition.WhereOperator;
 import me.remigio07.chatplugin.api.common.storage.configuration.ConfigurationType;
 import me.remigio07.chatplugin.api.common.storage.database.DatabaseManager;
 import me.remigio07.chatplugin.api.common.util.MemoryUtils;
 import me.remigio07.chatplugin.api.common.util.VersionUtils;
 import me.remigio07.chatplugin.api.common.util.VersionUtils.Version;
+import me.remigio07.chatplugin.api.common.util.annotation.Nullable;
 import me.remigio07.chatplugin.api.common.util.manager.ChatPluginManagerException;
 import me.remigio07.chatplugin.api.common.util.manager.ChatPluginManagers;
 import me.remigio07.chatplugin.api.common.util.manager.LogManager;
 import me.remigio07.chatplugin.api.common.util.manager.TaskManager;
 import me.remigio07.chatplugin.api.common.util.text.ChatColor;
 import me.remigio07.chatplugin.api.server.chat.InstantEmojisManager;
-import me.remigio07.chatplugin.api.server.integration.anticheat.AnticheatManager;
 import me.remigio07.chatplugin.api.server.language.Language;
 import me.remigio07.chatplugin.api.server.player.ChatPluginServerPlayer;
 import me.remigio07.chatplugin.api.server.player.ServerPlayerManager;
@@ -64,8 +78,10 @@
 import me.remigio07.chatplugin.api.server.util.manager.VanishManager;
 import me.remigio07.chatplugin.bootstrap.Environment;
 import me.remigio07.chatplugin.mixin.extension.EntityExtension;
+import me.remigio07.chatplugin.common.storage.PlayerStatsWriter;
 import me.remigio07.chatplugin.server.player.BaseChatPluginServerPlayer;
 import me.remigio07.chatplugin.server.util.Utils;
+import me.remigio07.chatplugin.server.util.manager.PlaceholderTemplate.Resolver;
 import net.minecraft.stat.Stats;
 import net.minecraft.util.math.Vec3d;
 
@@ -73,9 +89,32 @@ public class PlaceholderManagerImpl extends PlaceholderManager {
 	
 	private static StorageConnector storage;
 	private static final Runtime RUNTIME = Runtime.getRuntime();
-	private static final WhereCondition STAFF_MEMBER_EQUAL_CONSOLE = new WhereCondition("staff_member", WhereOperator.EQUAL, "CONSOLE");
-	private static final WhereCondition STAFF_MEMBER_NOT_EQUAL_CONSOLE = new WhereCondition("staff_member", WhereOperator.NOT_EQUAL, "CONSOLE");
-	private boolean refreshAnticheatCounters = false;
+	private static final int MAX_CACHED_TEMPLATES = 1024;
+	private static final int PREFIX = 1 << PlaceholderType.values().length;
+	private static final int TPS = 1, MSPT = 1 << 1, ONLINE_AND_VANISHED = 1 << 2, PING = 1 << 3, IP_LOOKUP = 1 << 4, INTEGRATIONS = 1 << 5;
+	private static final Map<String, Resolver> JUST_NAME_PLACEHOLDERS = new HashMap<>(), PLAYER_PLACEHOLDERS = new HashMap<>(), SERVER_PLACEHOLDERS = new HashMap<>(), INTEGRATIONS_PLACEHOLDERS = new HashMap<>(),
+			PREFIX_PLACEHOLDER = Collections.singletonMap("{pfx}", (player, language) -> language.getConfiguration().getString("misc.prefix", Language.getMainLanguage().getConfiguration().getString("misc.prefix")));
+	private static final List<CachedResolver> CACHED_RESOLVERS = new ArrayList<>(), RANK_RESOLVERS = new ArrayList<>();
+	private static final LongAdder CACHE_HITS = new LongAdder(), CACHE_MISSES = new LongAdder();
+	private List<Map<String, PlaceholderTemplate>> templates = new ArrayList<>(PREFIX << 1);
+	private PunishmentCounters punishmentCounters = new PunishmentCounters();
+	private List<EventSubscriber<?>> subscribers = new ArrayList<>();
+	
+	static {
+		JUST_NAME_PLACEHOLDERS.put("{player}", (player, language) -> player.getName());
+		registerPlayerPlaceholders();
+		registerRankPlaceholders();
+		registerServerPlaceholders();
+		registerIntegrationsPlaceholders();
+	}
+	
+	public PlaceholderManagerImpl() {
+		cacheHits = CACHE_HITS;
+		cacheMisses = CACHE_MISSES;
+		
+		for (int i = 0; i < PREFIX << 1; i++)
+			templates.add(new ConcurrentHashMap<>());
+	}
 	
 	@Override
 	public void load() throws ChatPluginManagerException {
@@ -83,15 +122,26 @@ public void load() throws ChatPluginManagerException {
 		long ms = System.currentTimeMillis();
 		storage = StorageConnector.getInstance();
 		timerTaskID = TaskManager.scheduleAsync(this, 0L, Utils.getTime(ConfigurationType.CONFIG.get().getString("settings.storage-placeholders-update-timeout"), false, false));
-		enabled = true;
+		
+		if (ChatPlugin.getInstance().isPremium()) {
+			subscribers.add(EventManager.getInstance().subscribe(BanEvent.class, event -> onPunishment(DataContainer.BANS, event.getBan().getPlayer(), event.getBan())));
+			subscribers.add(EventManager.getInstance().subscribe(WarningEvent.class, event -> onPunishment(DataContainer.WARNINGS, event.getWarning().getPlayer(), event.getWarning())));
+			subscribers.add(EventManager.getInstance().subscribe(KickEvent.class, event -> onPunishment(DataContainer.KICKS, event.getKick().getPlayer(), event.getKick())));
+			subscribers.add(EventManager.getInstance().subscribe(MuteEvent.class, event -> onPunishment(DataContainer.MUTES, event.getMute().getPlayer(), event.getMute())));
+		} enabled = true;
 		loadTime = System.currentTimeMillis() - ms;
 	}
 	
 	@Override
 	public void unload() throws ChatPluginManagerException {
-		enabled = refreshAnticheatCounters = false;
+		enabled = false;
 		
 		TaskManager.cancelAsync(timerTaskID);
+		subscribers.forEach(EventSubscriber::unsubscribe);
+		subscribers.clear();
+		punishmentCounters.clear();
+		templates.forEach(Map::clear);
+		CACHED_RESOLVERS.forEach(CachedResolver::invalidateAll);
 		
 		timerTaskID = -1;
 	}
@@ -104,316 +154,310 @@ public void run() { // TODO: set these in BaseChatPluginServerPlayer's construct
 			ServerPlayerManager.getInstance().setStorageCount(storage.count(DataContainer.PLAYERS).intValue());
 			
 			if (ChatPlugin.getInstance().isPremium()) {
-				if (BanManager.getInstance().isEnabled()) {
-					BanManager.getInstance().setStorageCount(storage.count(DataContainer.BANS).intValue());
-					BanManager.getInstance().setStaffStorageCount(getStaffPunishments(DataContainer.BANS));
-				} if (WarningManager.getInstance().isEnabled()) {
-					WarningManager.getInstance().setStorageCount(storage.count(DataContainer.WARNINGS).intValue());
-					WarningManager.getInstance().setStaffStorageCount(getStaffPunishments(DataContainer.WARNINGS));
-				} if (KickManager.getInstance().isEnabled()) {
-					KickManager.getInstance().setStorageCount(storage.count(DataContainer.KICKS).intValue());
-					KickManager.getInstance().setStaffStorageCount(getStaffPunishments(DataContainer.KICKS));
-				} if (MuteManager.getInstance().isEnabled()) {
-					MuteManager.getInstance().setStorageCount(storage.count(DataContainer.MUTES).intValue());
-					MuteManager.getInstance().setStaffStorageCount(getStaffPunishments(DataContainer.MUTES));
-				}
-			} for (ChatPluginServerPlayer player : ServerPlayerManager.getInstance().getPlayers().values()) {
-				((BaseChatPluginServerPlayer) player).setMessagesSent(storage.getPlayerData(PlayersDataType.MESSAGES_SENT, player.getID()));
-				((BaseChatPluginServerPlayer) player).setAntispamInfractions(storage.getPlayerData(PlayersDataType.ANTISPAM_INFRACTIONS, player.getID()));
+				punishmentCounters.refresh(storage);
+				
+				for (DataContainer container : PunishmentCounters.CONTAINERS)
+					updatePunishmentManager(container);
+			} for (CachedResolver resolver : CACHED_RESOLVERS)
+				resolver.retainAll(ServerPlayerManager.getInstance().getPlayers().keySet());
+			for (ChatPluginServerPlayer player : ServerPlayerManager.getInstance().getPlayers().values()) {
+				PlayerProfile profile = storage.getPlayerProfile(player);
 				
-				if (ChatPlugin.getInstance().isPremium()) {
-					((BaseChatPluginServerPlayer) player).setBans(getStaffPunishments(player, DataContainer.BANS));
-					((BaseChatPluginServerPlayer) player).setWarnings(getStaffPunishments(player, DataContainer.WARNINGS));
-					((BaseChatPluginServerPlayer) player).setKicks(getStaffPunishments(player, DataContainer.KICKS));
-					((BaseChatPluginServerPlayer) player).setMutes(getStaffPunishments(player, DataContainer.MUTES));
+				if (profile != null) {
+					Integer messagesSent = profile.get(PlayersDataType.MESSAGES_SENT);
+					Integer antispamInfractions = profile.get(PlayersDataType.ANTISPAM_INFRACTIONS); // SQL NULL if created by older ChatPlugin versions
 					
-					if (refreshAnticheatCounters) {
-						((BaseChatPluginServerPlayer) player).setBans(getAnticheatPunishments(player, DataContainer.BANS));
-						((BaseChatPluginServerPlayer) player).setWarnings(getAnticheatPunishments(player, DataContainer.WARNINGS));
-						((BaseChatPluginServerPlayer) player).setKicks(getAnticheatPunishments(player, DataContainer.KICKS));
-						((BaseChatPluginServerPlayer) player).setMutes(getAnticheatPunishments(player, DataContainer.MUTES));
-					}
-				}
-			} if (ChatPlugin.getInstance().isPremium() && IntegrationManager.getInstance().isAtLeastOneAnticheatEnabled()) {
-				if (refreshAnticheatCounters) {
-					BanManager.getInstance().setAnticheatStorageCount(getAnticheatPunishments(DataContainer.BANS));
-					WarningManager.getInstance().setAnticheatStorageCount(getAnticheatPunishments(DataContainer.WARNINGS));
-					KickManager.getInstance().setAnticheatStorageCount(getAnticheatPunishments(DataContainer.KICKS));
-					MuteManager.getInstance().setAnticheatStorageCount(getAnticheatPunishments(DataContainer.MUTES));
-				} refreshAnticheatCounters = !refreshAnticheatCounters;
+					((BaseChatPluginServerPlayer) player).setMessagesSent((messagesSent == null ? 0 : messagesSent.intValue()) + PlayerStatsWriter.getInstance().getPending(PlayersDataType.MESSAGES_SENT, player));
+					((BaseChatPluginServerPlayer) player).setAntispamInfractions((antispamInfractions == null ? 0 : antispamInfractions.intValue()) + PlayerStatsWriter.getInstance().getPending(PlayersDataType.ANTISPAM_INFRACTIONS, player));
+				} if (ChatPlugin.getInstance().isPremium())
+					updatePunishments((BaseChatPluginServerPlayer) player);
 			}
 		} catch (SQLException sqle) {
 			LogManager.log("SQLException occurred while updating placeholders for a player or the server: {0}", 2, sqle.getLocalizedMessage());
 		}
 	}
 	
-	private int getStaffPunishments(DataContainer container) throws SQLException {
-		return storage.count(container, STAFF_MEMBER_NOT_EQUAL_CONSOLE).intValue();
-	}
-	
-	private short getStaffPunishments(ChatPluginServerPlayer player, DataContainer container) throws SQLException {
-		return storage.count(container, STAFF_MEMBER_NOT_EQUAL_CONSOLE, new WhereCondition("player_name", WhereOperator.EQUAL, player.getName())).shortValue();
+	private void onPunishment(DataContainer container, @Nullable(why = "IP bans may not specify a player") OfflinePlayer player, Punishment punishment) {
+		punishmentCounters.increment(container, player == null ? null : player.getName(), punishment.getStaffMember(), punishment.getReason());
+		updatePunishmentManager(container);
+		
+		if (player != null && player.isLoaded())
+			updatePunishments((BaseChatPluginServerPlayer) player.toServerPlayer());
 	}
 	
-	private int getAnticheatPunishments(DataContainer container) throws SQLException {
-		AnticheatManager anticheat = AnticheatManager.getInstance();
-		int count = 0;
+	private void updatePunishmentManager(DataContainer container) {
+		PunishmentManager manager = container == DataContainer.BANS ? BanManager.getInstance() : container == DataContainer.WARNINGS ? WarningManager.getInstance() : container == DataContainer.KICKS ? KickManager.getInstance() : MuteManager.getInstance();
 		
-		if (anticheat.isEnabled())
-			for (String reason : storage.getColumnValues(container, "reason", String.class, STAFF_MEMBER_EQUAL_CONSOLE))
-				if (anticheat.isAnticheatReason(reason))
-					count++;
-		return count;
+		if (manager.isEnabled()) {
+			manager.setStorageCount(punishmentCounters.getTotal(container));
+			manager.setStaffStorageCount(punishmentCounters.getStaff(container));
+			manager.setAnticheatStorageCount(punishmentCounters.getAnticheat(container));
+		}
 	}
 	
-	private short getAnticheatPunishments(ChatPluginServerPlayer player, DataContainer container) throws SQLException {
-		AnticheatManager anticheat = AnticheatManager.getInstance();
-		short count = 0;
-		
-		if (anticheat.isEnabled())
-			for (String reason : storage.getColumnValues(container, "reason", String.class, STAFF_MEMBER_EQUAL_CONSOLE, new WhereCondition("player_name", WhereOperator.EQUAL, player.getName())))
-				if (anticheat.isAnticheatReason(reason))
-					count++;
-		return count;
+	private void updatePunishments(BaseChatPluginServerPlayer player) {
+		player.setBans(punishmentCounters.getPlayerPunishments(DataContainer.BANS, player.getName()));
+		player.setWarnings(punishmentCounters.getPlayerPunishments(DataContainer.WARNINGS, player.getName()));
+		player.setKicks(punishmentCounters.getPlayerPunishments(DataContainer.KICKS, player.getName()));
+		player.setMutes(punishmentCounters.getPlayerPunishments(DataContainer.MUTES, player.getName()));
 	}
 	
 	@Override
 	public String translatePlaceholders(String input, ChatPluginServerPlayer player, Language language, Set<PlaceholderType> placeholders, boolean translateColors) {
-		if (input == null)
-			return null;
-		if (placeholders.contains(PlaceholderType.JUST_NAME))
-			input = input.replace("{player}", player.getName());
-		if (placeholders.contains(PlaceholderType.SERVER))
-			input = translateServerPlaceholders(input, language);
-		if (placeholders.contains(PlaceholderType.PLAYER))
-			input = translatePlayerPlaceholders(input, player, language);
-		if (placeholders.contains(PlaceholderType.INTEGRATIONS))
-			input = translateIntegrationsPlaceholders(input, player, language);
-		return translateColors ? ChatColor.translate(input.replace("{pfx}", language.getConfiguration().getString("misc.prefix", Language.getMainLanguage().getConfiguration().getString("misc.prefix"))))
-				: input.replace("{pfx}", language.getConfiguration().getString("misc.prefix", Language.getMainLanguage().getConfiguration().getString("misc.prefix")));
+		int mask = PREFIX;
+		
+		for (PlaceholderType placeholder : placeholders)
+			mask |= 1 << placeholder.ordinal();
+		return translate(input, player, language, mask, translateColors);
 	}
 	
-	@SuppressWarnings("unchecked")
 	@Override
 	public String translatePlayerPlaceholders(String input, ChatPluginServerPlayer player, Language language, boolean translateColors) {
-		if (input == null)
-			return null;
-		if (input.contains("{player}"))
-			input = input.replace("{player}", player.getName());
-		if (input.contains("{uuid}"))
-			input = input.replace("{uuid}", player.getUUID().toString());
-		if (input.contains("{display_name}"))
-			input = input.replace("{display_name}", player.getDisplayName());
-		if (input.contains("{ip_address}"))
-			input = input.replace("{ip_address}", player.getIPAddress().getHostAddress());
-		if (input.contains("{health}"))
-			input = input.replace("{health}", String.valueOf((int) (Environment.isBukkit() ? player.toAdapter().bukkitValue().getHealth() : Environment.isSponge() ? player.toAdapter().spongeValue().health().get() : player.toAdapter().fabricValue().getHealth())));
-		if (input.contains("{max_health}"))
-			input = input.replace("{max_health}", String.valueOf((int) (Environment.isBukkit() ? player.toAdapter().bukkitValue().getHealthScale() : Environment.isSponge() ? player.toAdapter().spongeValue().maxHealth().get() : player.toAdapter().fabricValue().getMaxHealth())));
-		if (input.contains("{food}"))
-			input = input.replace("{food}", String.valueOf(Environment.isBukkit() ? player.toAdapter().bukkitValue().getFoodLevel() : Environment.isSponge() ? player.toAdapter().spongeValue().foodLevel().get() : player.toAdapter().fabricValue().getHungerManager().getFoodLevel()));
-		if (input.contains("{level}"))
-			input = input.replace("{level}", String.valueOf(Environment.isBukkit() ? player.toAdapter().bukkitValue().getLevel() : Environment.isSponge() ? player.toAdapter().spongeValue().get(Keys.EXPERIENCE_LEVEL).orElse(0).intValue() : player.toAdapter().fabricValue().experienceLevel));
-		if (input.contains("{xp}"))
-			input = input.replace("{xp}", String.valueOf(Environment.isBukkit() ? player.toAdapter().bukkitValue().getTotalExperience() : Environment.isSponge() ? player.toAdapter().spongeValue().get(Keys.TOTAL_EXPERIENCE).orElse(0).intValue() : player.toAdapter().fabricValue().totalExperience));
-		if (input.contains("{gamemode}"))
-			input = input.replace("{gamemode}", Environment.isBukkit() ? player.toAdapter().bukkitValue().getGameMode().name() : Environment.isSponge() ? player.toAdapter().spongeValue().gameMode().get().getName() : player.toAdapter().fabricValue().getGameMode().getId()).toLowerCase();
-		if (input.contains("{ping") && PingManager.getInstance().isEnabled())
-			input = PingManager.getInstance().formatPlaceholders(input, player.getPing(), language);
-		if (input.contains("{language_id}"))
-			input = input.replace("{language_id}", player.getLanguage().getID());
-		if (input.contains("{language_display_name}"))
-			input = input.replace("{language_display_name}", player.getLanguage().getDisplayName());
-		if (input.contains("{locale}")) // maybe add more of its variants in the future
-			input = input.replace("{locale}", player.getLocale().getCountry());
-		if (input.contains("{version}"))
-			input = input.replace("{version}", player.getVersion().format());
-		if (input.contains("{version_protocol}"))
-			input = input.replace("{version_protocol}", String.valueOf(player.getVersion().getProtocol()));
-		if (input.contains("{client_edition}"))
-			input = input.replace("{client_edition}", player.isBedrockPlayer() ? "Bedrock" : "Java");
-		if (input.contains("{last_login}"))
-			input = input.replace("{last_login}", Utils.formatTime(System.currentTimeMillis() - player.getLoginTime(), language, false, true));
-		if (input.contains("{time_played}"))
-			input = input.replace("{time_played}", Utils.formatTime((Environment.isBukkit() ? player.toAdapter().bukkitValue().getStatistic(Statistic.valueOf(VersionUtils.getVersion().getProtocol() < 341 ? "PLAY_ONE_TICK" : "PLAY_ONE_MINUTE")) : Environment.isSponge() ? player.toAdapter().spongeValue().getStatisticData().get(Keys.STATISTICS).get().get(Statistics.TIME_PLAYED) : player.toAdapter().fabricValue().getStatHandler().getStat(Stats.CUSTOM.getOrCreateStat(Stats.PLAY_TIME))) / 20 * 1000, language, false, true)); // Sponge v4.2
-		if (input.contains("{emojis_tone}") && InstantEmojisManager.getInstance().isEnabled()) {
-			ChatColor tone = player.getEmojisTone() == ChatColor.RESET ? InstantEmojisManager.getInstance().getDefaultTone() : player.getEmojisTone();
-			input = input.replace("{emojis_tone}", (VersionUtils.getVersion().isAtLeast(Version.V1_16) ? tone : tone.getClosestDefaultColor()).toString());
-		} if (input.contains("{world}"))
-			input = input.replace("{world}", player.getWorld());
-		if (input.contains("{online_world}"))
-			input = input.replace("{online_world}", String.valueOf(VanishManager.getInstance().getOnlineWorld(player.getWorld())));
-		if (input.contains("{vanished_world}"))
-			input = input.replace("{vanished_world}", String.valueOf(VanishManager.getInstance().getVanishedList(player.getWorld()).size()));
-		if (input.contains("{player_id}"))
-			input = input.replace("{player_id}", String.valueOf(player.getID()));
-		if (input.contains("{player_bans}"))
-			input = input.replace("{player_bans}", String.valueOf(player.getBans()));
-		if (input.contains("{player_warnings}"))
-			input = input.replace("{player_warnings}", String.valueOf(player.getWarnings()));
-		if (input.contains("{player_kicks}"))
-			input = input.replace("{player_kicks}", String.valueOf(player.getKicks()));
-		if (input.contains("{player_mutes}"))
-			input = input.replace("{player_mutes}", String.valueOf(player.getMutes()));
-		if (input.contains("{messages_sent}"))
-			input = input.replace("{messages_sent}", String.valueOf(player.getMessagesSent()));
-		if (input.contains("{antispam_infractions}"))
-			input = input.replace("{antispam_infractions}", String.valueOf(player.getAntispamInfractions()));
-		if (input.contains("{player_anticheat_bans}"))
-			input = input.replace("{player_anticheat_bans}", String.valueOf(player.getAnticheatBans()));
-		if (input.contains("{player_anticheat_warnings}"))
-			input = input.replace("{player_anticheat_warnings}", String.valueOf(player.getAnticheatWarnings()));
-		if (input.contains("{player_anticheat_kicks}"))
-			input = input.replace("{player_anticheat_kicks}", String.valueOf(player.getAnticheatKicks()));
-		if (input.contains("{player_anticheat_mutes}"))
-			input = input.replace("{player_anticheat_mutes}", String.valueOf(player.getAnticheatMutes()));
-		if (input.contains("{x}") || input.contains("{y}") || input.contains("{z}") || input.contains("{yaw}") || input.contains("{pitch}")) {
-			Object location = Environment.isBukkit() ? player.toAdapter().bukkitValue().getLocation() : Environment.isSponge() ? player.toAdapter().spongeValue().getLocation() : ((EntityExtension) player.toAdapter().fabricValue()).chatPlugin$getLocation();
-			Object headRotation = Environment.isBukkit() ? null : Environment.isSponge() ? player.toAdapter().spongeValue().getHeadRotation() : new float[] { player.toAdapter().fabricValue().getYaw(), player.toAdapter().fabricValue().getPitch() };
-			
-			input = input
-					.replace("{x}", String.valueOf(Environment.isBukkit() ? ((org.bukkit.Location) location).getBlockX() : Environment.isSponge() ? ((org.spongepowered.api.world.Location<World>) location).getBlockX() : (int) Math.floor(((Vec3d) location).getX())))
-					.replace("{y}", String.valueOf(Environment.isBukkit() ? ((org.bukkit.Location) location).getBlockY() : Environment.isSponge() ? ((org.spongepowered.api.world.Location<World>) location).getBlockY() : (int) Math.floor(((Vec3d) location).getY())))
-					.replace("{z}", String.valueOf(Environment.isBukkit() ? ((org.bukkit.Location) location).getBlockZ() : Environment.isSponge() ? ((org.spongepowered.api.world.Location<World>) location).getBlockZ() : (int) Math.floor(((Vec3d) location).getZ())))
-					.replace("{yaw}", String.valueOf(Utils.truncate(Environment.isBukkit() ? ((org.bukkit.Location) location).getYaw() : Environment.isSponge() ? ((Vector3d) headRotation).getX() : ((float[]) headRotation)[0], 2)))
-					.replace("{pitch}", String.valueOf(Utils.truncate(Environment.isBukkit() ? ((org.bukkit.Location) location).getPitch() : Environment.isSponge() ? ((Vector3d) headRotation).getY() : ((float[]) headRotation)[0], 2)));
-		} if (input.contains("{rank") || input.contains("prefix}") || input.contains("suffix}") || input.contains("color}") || input.contains("{rank_description}"))
-			input = player.getRank().formatPlaceholders(player.getChatColor() == ChatColor.RESET ? input : input.replace("{chat_color}", VersionUtils.getVersion().isAtLeast(Version.V1_16) ? player.getChatColor().toString() : player.getChatColor().getClosestDefaultColor().toString()), language);
-		if (input.contains("{isp}") || input.contains("{continent}") || input.contains("{country}") || input.contains("{subdivisions}") || input.contains("{city}")
-				|| input.contains("{country_code}") || input.contains("{inside_eu}") || input.contains("{time_zone}") || input.contains("{country_code}") || input.contains("{postal_code}")
-				|| input.contains("{latitude}") || input.contains("{longitude}") || input.contains("{accuracy_radius_") || input.contains("{relative_date_")) {
-			input = player.getIPLookup(false).join().formatPlaceholders(input, language);
-		} return translateColors ? ChatColor.translate(input) : input;
+		return translate(input, player, language, 1 << PlaceholderType.PLAYER.ordinal(), translateColors);
 	}
 	
 	@Override
 	public String translateServerPlaceholders(String input, Language language, boolean translateColors) {
-		if (input == null)
-			return null;
-		if (input.contains("{online}"))
-			input = input.replace("{online}", String.valueOf(VanishManager.getInstance().getOnlineServer()));
-		if (input.contains("{online_total}"))
-			input = input.replace("{online_total}", String.valueOf(ProxyManager.getInstance().isEnabled() ? ProxyManager.getInstance().getOnlinePlayers("ALL", true) : VanishManager.getInstance().getOnlineServer()));
-		if (input.contains("{max_players}"))
-			input = input.replace("{max_players}", String.valueOf(Utils.getMaxPlayers()));
-		if (input.contains("{vanished}"))
-			input = input.replace("{vanished}", String.valueOf(VanishManager.getInstance().getVanishedAmount()));
-		if (input.contains("{date_full}"))
-			input = input.replace("{date_full}", Utils.formatDate(System.currentTimeMillis(), language, DateFormat.FULL));
-		if (input.contains("{date_day}"))
-			input = input.replace("{date_day}", Utils.formatDate(System.currentTimeMillis(), language, DateFormat.DAY));
-		if (input.contains("{date_hour}"))
-			input = input.replace("{date_hour}", Utils.formatDate(System.currentTimeMillis(), language, DateFormat.HOUR));
-		if (input.contains("{enabled_worlds}"))
-			input = input.replace("{enabled_worlds}", String.valueOf((ServerPlayerManager.getInstance().getEnabledWorlds().contains("*") ? Utils.getWorlds() : ServerPlayerManager.getInstance().getEnabledWorlds()).size()));
-		if (input.contains("{enabled_players}"))
-			input = input.replace("{enabled_players}", String.valueOf(ServerPlayerManager.getInstance().getPlayers().size()));
-		if (input.contains("{enabled_managers}"))
-			input = input.replace("{enabled_managers}", String.valueOf(ChatPluginManagers.getInstance().getEnabledManagers().size()));
-		if (input.contains("{startup_time}"))
-			input = input.replace("{startup_time}", String.valueOf(ChatPlugin.getInstance().getStartupTime()));
-		if (input.contains("{last_reload_time}"))
-			input = input.replace("{last_reload_time}", String.valueOf(ChatPlugin.getInstance().getLastReloadTime()));
-		if (input.contains("{uptime}"))
-			input = input.replace("{uptime}", Utils.formatTime(ManagementFactory.getRuntimeMXBean().getUptime(), language, false, true));
-		if (input.contains("{plugin_version}"))
-			input = input.replace("{plugin_version}", ChatPlugin.VERSION);
-		if (input.contains("{server_version}"))
-			input = input.replace("{server_version}", VersionUtils.getVersion().format());
-		if (input.contains("{server_version_protocol}"))
-			input = input.replace("{server_version_protocol}", String.valueOf(VersionUtils.getVersion().getProtocol()));
-		if (input.contains("{server_nms_version}"))
-			input = input.replace("{server_nms_version}", VersionUtils.getNMSVersion());
-		if (input.contains("{server_java_version}"))
-			input = input.replace("{server_java_version}", System.getProperty("java.version"));
-		if (input.contains("{server_id}"))
-			input = input.replace("{server_id}", ProxyManager.getInstance().getServerID());
-		if (input.contains("{server_display_name}"))
-			input = input.replace("{server_display_name}", ProxyManager.getInstance().getServerDisplayName());
-		if (input.contains("{main_language_id}"))
-			input = input.replace("{main_language_id}", Language.getMainLanguage().getID());
-		if (input.contains("{main_language_display_name}"))
-			input = input.replace("{main_language_display_name}", Language.getMainLanguage().getDisplayName());
-		if (input.contains("{total_storage}"))
-			input = input.replace("{total_storage}", MemoryUtils.formatMemory(Utils.getTotalStorage(), MemoryUtils.GIGABYTE));
-		if (input.contains("{used_storage}"))
-			input = input.replace("{used_storage}", MemoryUtils.formatMemory(Utils.getTotalStorage() - Utils.getFreeStorage(), MemoryUtils.GIGABYTE));
-		if (input.contains("{free_storage}"))
-			input = input.replace("{free_storage}", MemoryUtils.formatMemory(Utils.getFreeStorage(), MemoryUtils.GIGABYTE));
-		if (input.contains("{unallocated_storage}"))
-			input = input.replace("{unallocated_storage}", MemoryUtils.formatMemory(Utils.getUnallocatedStorage(), MemoryUtils.GIGABYTE));
-		if (input.contains("{server_os_name}"))
-			input = input.replace("{server_os_name}", System.getProperty("os.name"));
-		if (input.contains("{server_os_arch}"))
-			input = input.replace("{server_os_arch}", System.getProperty("os.arch"));
-		if (input.contains("{server_os_version}"))
-			input = input.replace("{server_os_version}", System.getProperty("os.version"));
-		if (input.contains("{active_threads}"))
-			input = input.replace("{active_threads}", String.valueOf(Thread.activeCount()));
-		if (input.contains("{total_players}"))
-			input = input.replace("{total_players}", String.valueOf(ServerPlayerManager.getInstance().getStorageCount()));
-		if (input.contains("{total_bans}"))
-			input = input.replace("{total_bans}", String.valueOf(BanManager.getInstance().getStorageCount()));
-		if (input.contains("{total_warnings}"))
-			input = input.replace("{total_warnings}", String.valueOf(WarningManager.getInstance().getStorageCount()));
-		if (input.contains("{total_kicks}"))
-			input = input.replace("{total_kicks}", String.valueOf(KickManager.getInstance().getStorageCount()));
-		if (input.contains("{total_mutes}"))
-			input = input.replace("{total_mutes}", String.valueOf(MuteManager.getInstance().getStorageCount()));
-		if (input.contains("{total_staff_bans}"))
-			input = input.replace("{total_staff_bans}", String.valueOf(BanManager.getInstance().getStaffStorageCount()));
-		if (input.contains("{total_staff_warnings}"))
-			input = input.replace("{total_staff_warnings}", String.valueOf(WarningManager.getInstance().getStaffStorageCount()));
-		if (input.contains("{total_staff_kicks}"))
-			input = input.replace("{total_staff_kicks}", String.valueOf(KickManager.getInstance().getStaffStorageCount()));
-		if (input.contains("{total_staff_mutes}"))
-			input = input.replace("{total_staff_mutes}", String.valueOf(MuteManager.getInstance().getStaffStorageCount()));
-		if (input.contains("{total_anticheat_bans}"))
-			input = input.replace("{total_anticheat_bans}", String.valueOf(BanManager.getInstance().getAnticheatStorageCount()));
-		if (input.contains("{total_anticheat_warnings}"))
-			input = input.replace("{total_anticheat_warnings}", String.valueOf(WarningManager.getInstance().getAnticheatStorageCount()));
-		if (input.contains("{total_anticheat_kicks}"))
-			input = input.replace("{total_anticheat_kicks}", String.valueOf(KickManager.getInstance().getAnticheatStorageCount()));
-		if (input.contains("{total_anticheat_mutes}"))
-			input = input.replace("{total_anticheat_mutes}", String.valueOf(MuteManager.getInstance().getAnticheatStorageCount()));
-		if (input.contains("{database_ping}"))
-			input = input.replace("{database_ping}", DatabaseManager.getInstance() == null ? "-1" : String.valueOf(DatabaseManager.getInstance().getPing().get()));
-		if (input.contains("{tps_") && TPSManager.getInstance().isEnabled())
-			input = TPSManager.getInstance().formatPlaceholders(input, language);
-		if (input.contains("{mspt_") && MSPTManager.getInstance().isEnabled())
-			input = MSPTManager.getInstance().formatPlaceholders(input, language);
-		if (input.contains("_memory}") || input.contains("{cpu_threads}")) {
-			input = input
-					.replace("{max_memory}", MemoryUtils.formatMemory(RUNTIME.maxMemory()))
-					.replace("{total_memory}", MemoryUtils.formatMemory(RUNTIME.totalMemory()))
-					.replace("{used_memory}", MemoryUtils.formatMemory(RUNTIME.totalMemory() - RUNTIME.freeMemory()))
-					.replace("{free_memory}", MemoryUtils.formatMemory(RUNTIME.freeMemory()))
-					.replace("{cpu_threads}", String.valueOf(RUNTIME.availableProcessors()));
-		} if (input.contains("{discord_punishments_channel_id}"))
-			input = input.replace("{discord_punishments_channel_id}", String.valueOf(DiscordIntegrationManager.getInstance().isEnabled() ? DiscordIntegrationManager.getInstance().getPunishmentsChannelID() : -1));
-		if (input.contains("{discord_staff_notifications_channel_id}"))
-			input = input.replace("{discord_staff_notifications_channel_id}", String.valueOf(DiscordIntegrationManager.getInstance().isEnabled() ? DiscordIntegrationManager.getInstance().getStaffNotificationsChannelID() : -1));
-		if (input.contains("{random_color}"))
-			input = input.replace("{random_color}", ChatColor.getRandomColor().toString());
-		return translateColors ? ChatColor.translate(ProxyManager.getInstance().formatOnlineAndVanishedPlaceholders(input, true)) : ProxyManager.getInstance().formatOnlineAndVanishedPlaceholders(input, true);
+		return translate(input, null, language, 1 << PlaceholderType.SERVER.ordinal(), translateColors);
 	}
 	
 	@Override
 	public String translateIntegrationsPlaceholders(String input, ChatPluginServerPlayer player, Language language, boolean translateColors) {
+		return translate(input, player, language, 1 << PlaceholderType.INTEGRATIONS.ordinal(), translateColors);
+	}
+	
+	private String translate(String input, ChatPluginServerPlayer player, Language language, int mask, boolean translateColors) {
 		if (input == null)
 			return null;
-		if (input.contains("{balance")) {
+		Map<String, PlaceholderTemplate> cache = templates.get(mask);
+		PlaceholderTemplate template = cache.get(input);
+		
+		if (template == null) {
+			if (cache.size() >= MAX_CACHED_TEMPLATES)
+				cache.clear();
+			cache.put(input, template = compile(input, mask));
+		} String output = template.render(player, language);
+		
+		if (template.hasPostProcessor(TPS) && TPSManager.getInstance().isEnabled())
+			output = TPSManager.getInstance().formatPlaceholders(output, language);
+		if (template.hasPostProcessor(MSPT) && MSPTManager.getInstance().isEnabled())
+			output = MSPTManager.getInstance().formatPlaceholders(output, language);
+		if (template.hasPostProcessor(ONLINE_AND_VANISHED))
+			output = ProxyManager.getInstance().formatOnlineAndVanishedPlaceholders(output, true);
+		if (template.hasPostProcessor(PING) && PingManager.getInstance().isEnabled())
+			output = PingManager.getInstance().formatPlaceholders(output, player.getPing(), language);
+		if (template.hasPostProcessor(IP_LOOKUP))
+			output = player.getIPLookup(false).join().formatPlaceholders(output, language);
+		if (template.hasPostProcessor(INTEGRATIONS)) {
+			if (IntegrationType.PLACEHOLDERAPI.isEnabled())
+				output = IntegrationType.PLACEHOLDERAPI.get().translatePlaceholders(output, player);
+			if (IntegrationType.MVDWPLACEHOLDERAPI.isEnabled())
+				output = IntegrationType.MVDWPLACEHOLDERAPI.get().translatePlaceholders(output, player);
+		} return translateColors ? ChatColor.translate(output) : output;
+	}
+	
+	private static PlaceholderTemplate compile(String input, int mask) {
+		List<Map<String, Resolver>> placeholders = new ArrayList<>();
+		int postProcessors = 0;
+		
+		if ((mask & 1 << PlaceholderType.JUST_NAME.ordinal()) != 0)
+			placeholders.add(JUST_NAME_PLACEHOLDERS);
+		if ((mask & 1 << PlaceholderType.SERVER.ordinal()) != 0) {
+			placeholders.add(SERVER_PLACEHOLDERS);
+			
+			if (input.contains("{tps_"))
+				postProcessors |= TPS;
+			if (input.contains("{mspt_"))
+				postProcessors |= MSPT;
+			if (input.contains("{online@") || input.contains("{vanished@"))
+				postProcessors |= ONLINE_AND_VANISHED;
+		} if ((mask & 1 << PlaceholderType.PLAYER.ordinal()) != 0) {
+			placeholders.add(PLAYER_PLACEHOLDERS);
+			
+			if (input.contains("{ping"))
+				postProcessors |= PING;
+			if (input.contains("{isp}") || input.contains("{continent}") || input.contains("{country}") || input.contains("{subdivisions}") || input.contains("{city}")
+					|| input.contains("{country_code}") || input.contains("{inside_eu}") || input.contains("{time_zone}") || input.contains("{postal_code}")
+					|| input.contains("{latitude}") || input.contains("{longitude}") || input.contains("{accuracy_radius_") || input.contains("{relative_date_"))
+				postProcessors |= IP_LOOKUP;
+		} if ((mask & 1 << PlaceholderType.INTEGRATIONS.ordinal()) != 0) {
+			placeholders.add(INTEGRATIONS_PLACEHOLDERS);
+			
+			postProcessors |= INTEGRATIONS;
+		} if ((mask & PREFIX) != 0)
+			placeholders.add(PREFIX_PLACEHOLDER);
+		return new PlaceholderTemplate(input, placeholders, postProcessors);
+	}
+	
+	private static CachedResolver cache(long freshness, Resolver resolver) {
+		CachedResolver cachedResolver = new CachedResolver(resolver, freshness, CACHE_HITS, CACHE_MISSES);
+		
+		CACHED_RESOLVERS.add(cachedResolver);
+		return cachedResolver;
+	}
+	
+	/**
+	 * Invalidates the cached rank placeholders' values of the specified player.
+	 * 
+	 * @param player Player whose rank has changed
+	 */
+	public static void invalidateRankPlaceholders(ChatPluginServerPlayer player) {
+		for (CachedResolver resolver : RANK_RESOLVERS)
+			resolver.invalidate(player.getUUID());
+	}
+	
+	/**
+	 * Invalidates the cached rank placeholders' values of every player.
+	 */
+	public static void invalidateRankPlaceholders() {
+		RANK_RESOLVERS.forEach(CachedResolver::invalidateAll);
+	}
+	
+	private static Object getLocation(ChatPluginServerPlayer player) {
+		return Environment.isBukkit() ? player.toAdapter().bukkitValue().getLocation() : Environment.isSponge() ? player.toAdapter().spongeValue().getLocation() : ((EntityExtension) player.toAdapter().fabricValue()).chatPlugin$getLocation();
+	}
+	
+	private static Object getHeadRotation(ChatPluginServerPlayer player) {
+		return Environment.isBukkit() ? null : Environment.isSponge() ? player.toAdapter().spongeValue().getHeadRotation() : new float[] { player.toAdapter().fabricValue().getYaw(), player.toAdapter().fabricValue().getPitch() };
+	}
+	
+	@SuppressWarnings("unchecked")
+	private static void registerPlayerPlaceholders() {
+		PLAYER_PLACEHOLDERS.put("{player}", (player, language) -> player.getName());
+		PLAYER_PLACEHOLDERS.put("{uuid}", (player, language) -> player.getUUID().toString());
+		PLAYER_PLACEHOLDERS.put("{display_name}", (player, language) -> player.getDisplayName());
+		PLAYER_PLACEHOLDERS.put("{ip_address}", (player, language) -> player.getIPAddress().getHostAddress());
+		PLAYER_PLACEHOLDERS.put("{health}", (player, language) -> String.valueOf((int) (Environment.isBukkit() ? player.toAdapter().bukkitValue().getHealth() : Environment.isSponge() ? player.toAdapter().spongeValue().health().get() : player.toAdapter().fabricValue().getHealth())));
+		PLAYER_PLACEHOLDERS.put("{max_health}", (player, language) -> String.valueOf((int) (Environment.isBukkit() ? player.toAdapter().bukkitValue().getHealthScale() : Environment.isSponge() ? player.toAdapter().spongeValue().maxHealth().get() : player.toAdapter().fabricValue().getMaxHealth())));
+		PLAYER_PLACEHOLDERS.put("{food}", (player, language) -> String.valueOf(Environment.isBukkit() ? player.toAdapter().bukkitValue().getFoodLevel() : Environment.isSponge() ? player.toAdapter().spongeValue().foodLevel().get() : player.toAdapter().fabricValue().getHungerManager().getFoodLevel()));
+		PLAYER_PLACEHOLDERS.put("{level}", (player, language) -> String.valueOf(Environment.isBukkit() ? player.toAdapter().bukkitValue().getLevel() : Environment.isSponge() ? player.toAdapter().spongeValue().get(Keys.EXPERIENCE_LEVEL).orElse(0).intValue() : player.toAdapter().fabricValue().experienceLevel));
+		PLAYER_PLACEHOLDERS.put("{xp}", (player, language) -> String.valueOf(Environment.isBukkit() ? player.toAdapter().bukkitValue().getTotalExperience() : Environment.isSponge() ? player.toAdapter().spongeValue().get(Keys.TOTAL_EXPERIENCE).orElse(0).intValue() : player.toAdapter().fabricValue().totalExperience));
+		PLAYER_PLACEHOLDERS.put("{gamemode}", (player, language) -> (Environment.isBukkit() ? player.toAdapter().bukkitValue().getGameMode().name() : Environment.isSponge() ? player.toAdapter().spongeValue().gameMode().get().getName() : player.toAdapter().fabricValue().getGameMode().getId()).toLowerCase());
+		PLAYER_PLACEHOLDERS.put("{language_id}", (player, language) -> player.getLanguage().getID());
+		PLAYER_PLACEHOLDERS.put("{language_display_name}", (player, language) -> player.getLanguage().getDisplayName());
+		PLAYER_PLACEHOLDERS.put("{locale}", (player, language) -> player.getLocale().getCountry()); // maybe add more of its variants in the future
+		PLAYER_PLACEHOLDERS.put("{version}", (player, language) -> player.getVersion().format());
+		PLAYER_PLACEHOLDERS.put("{version_protocol}", (player, language) -> String.valueOf(player.getVersion().getProtocol()));
+		PLAYER_PLACEHOLDERS.put("{client_edition}", (player, language) -> player.isBedrockPlayer() ? "Bedrock" : "Java");
+		PLAYER_PLACEHOLDERS.put("{last_login}", cache(1000L, (player, language) -> Utils.formatTime(System.currentTimeMillis() - player.getLoginTime(), language, false, true)));
+		PLAYER_PLACEHOLDERS.put("{time_played}", cache(1000L, (player, language) -> Utils.formatTime((Environment.isBukkit() ? player.toAdapter().bukkitValue().getStatistic(Statistic.valueOf(VersionUtils.getVersion().getProtocol() < 341 ? "PLAY_ONE_TICK" : "PLAY_ONE_MINUTE")) : Environment.isSponge() ? player.toAdapter().spongeValue().getStatisticData().get(Keys.STATISTICS).get().get(Statistics.TIME_PLAYED) : player.toAdapter().fabricValue().getStatHandler().getStat(Stats.CUSTOM.getOrCreateStat(Stats.PLAY_TIME))) / 20 * 1000, language, false, true))); // Sponge v4.2
+		PLAYER_PLACEHOLDERS.put("{emojis_tone}", (player, language) -> {
+			if (!InstantEmojisManager.getInstance().isEnabled())
+				return null;
+			ChatColor tone = player.getEmojisTone() == ChatColor.RESET ? InstantEmojisManager.getInstance().getDefaultTone() : player.getEmojisTone();
+			return (VersionUtils.getVersion().isAtLeast(Version.V1_16) ? tone : tone.getClosestDefaultColor()).toString();
+		});
+		PLAYER_PLACEHOLDERS.put("{world}", (player, language) -> player.getWorld());
+		PLAYER_PLACEHOLDERS.put("{online_world}", cache(CachedResolver.PER_TICK, (player, language) -> String.valueOf(VanishManager.getInstance().getOnlineWorld(player.getWorld()))));
+		PLAYER_PLACEHOLDERS.put("{vanished_world}", cache(CachedResolver.PER_TICK, (player, language) -> String.valueOf(VanishManager.getInstance().getVanishedList(player.getWorld()).size())));
+		PLAYER_PLACEHOLDERS.put("{player_id}", (player, language) -> String.valueOf(player.getID()));
+		PLAYER_PLACEHOLDERS.put("{player_bans}", (player, language) -> String.valueOf(player.getBans()));
+		PLAYER_PLACEHOLDERS.put("{player_warnings}", (player, language) -> String.valueOf(player.getWarnings()));
+		PLAYER_PLACEHOLDERS.put("{player_kicks}", (player, language) -> String.valueOf(player.getKicks()));
+		PLAYER_PLACEHOLDERS.put("{player_mutes}", (player, language) -> String.valueOf(player.getMutes()));
+		PLAYER_PLACEHOLDERS.put("{messages_sent}", (player, language) -> String.valueOf(player.getMessagesSent()));
+		PLAYER_PLACEHOLDERS.put("{antispam_infractions}", (player, language) -> String.valueOf(player.getAntispamInfractions()));
+		PLAYER_PLACEHOLDERS.put("{player_anticheat_bans}", (player, language) -> String.valueOf(player.getAnticheatBans()));
+		PLAYER_PLACEHOLDERS.put("{player_anticheat_warnings}", (player, language) -> String.valueOf(player.getAnticheatWarnings()));
+		PLAYER_PLACEHOLDERS.put("{player_anticheat_kicks}", (player, language) -> String.valueOf(player.getAnticheatKicks()));
+		PLAYER_PLACEHOLDERS.put("{player_anticheat_mutes}", (player, language) -> String.valueOf(player.getAnticheatMutes()));
+		PLAYER_PLACEHOLDERS.put("{x}", cache(CachedResolver.PER_TICK, (player, language) -> {
+			Object location = getLocation(player);
+			return String.valueOf(Environment.isBukkit() ? ((org.bukkit.Location) location).getBlockX() : Environment.isSponge() ? ((org.spongepowered.api.world.Location<World>) location).getBlockX() : (int) Math.floor(((Vec3d) location).getX()));
+		}));
+		PLAYER_PLACEHOLDERS.put("{y}", cache(CachedResolver.PER_TICK, (player, language) -> {
+			Object location = getLocation(player);
+			return String.valueOf(Environment.isBukkit() ? ((org.bukkit.Location) location).getBlockY() : Environment.isSponge() ? ((org.spongepowered.api.world.Location<World>) location).getBlockY() : (int) Math.floor(((Vec3d) location).getY()));
+		}));
+		PLAYER_PLACEHOLDERS.put("{z}", cache(CachedResolver.PER_TICK, (player, language) -> {
+			Object location = getLocation(player);
+			return String.valueOf(Environment.isBukkit() ? ((org.bukkit.Location) location).getBlockZ() : Environment.isSponge() ? ((org.spongepowered.api.world.Location<World>) location).getBlockZ() : (int) Math.floor(((Vec3d) location).getZ()));
+		}));
+		PLAYER_PLACEHOLDERS.put("{yaw}", cache(CachedResolver.PER_TICK, (player, language) -> {
+			Object location = Environment.isBukkit() ? getLocation(player) : getHeadRotation(player);
+			return String.valueOf(Utils.truncate(Environment.isBukkit() ? ((org.bukkit.Location) location).getYaw() : Environment.isSponge() ? ((Vector3d) location).getX() : ((float[]) location)[0], 2));
+		}));
+		PLAYER_PLACEHOLDERS.put("{pitch}", cache(CachedResolver.PER_TICK, (player, language) -> {
+			Object location = Environment.isBukkit() ? getLocation(player) : getHeadRotation(player);
+			return String.valueOf(Utils.truncate(Environment.isBukkit() ? ((org.bukkit.Location) location).getPitch() : Environment.isSponge() ? ((Vector3d) location).getY() : ((float[]) location)[1], 2));
+		}));
+		PLAYER_PLACEHOLDERS.put("{chat_color}", (player, language) -> player.getChatColor() == ChatColor.RESET ? player.getRank().formatPlaceholders("{chat_color}", language) : VersionUtils.getVersion().isAtLeast(Version.V1_16) ? player.getChatColor().toString() : player.getChatColor().getClosestDefaultColor().toString());
+	}
+	
+	private static void registerRankPlaceholders() {
+		for (String placeholder : new String[] { "{rank_id}", "{rank_display_name}", "{prefix}", "{suffix}", "{tag_prefix}", "{tag_suffix}", "{tag_name_color}", "{rank_position}", "{rank_description}", "{max_ban_duration}", "{max_mute_duration}" }) {
+			CachedResolver resolver = cache(CachedResolver.UNTIL_INVALIDATED, (player, language) -> player.getRank().formatPlaceholders(placeholder, language));
+			
+			RANK_RESOLVERS.add(resolver);
+			PLAYER_PLACEHOLDERS.put(placeholder, resolver);
+		}
+	}
+	
+	private static void registerServerPlaceholders() {
+		SERVER_PLACEHOLDERS.put("{online}", (player, language) -> String.valueOf(VanishManager.getInstance().getOnlineServer()));
+		SERVER_PLACEHOLDERS.put("{online_total}", (player, language) -> String.valueOf(ProxyManager.getInstance().isEnabled() ? ProxyManager.getInstance().getOnlinePlayers("ALL", true) : VanishManager.getInstance().getOnlineServer()));
+		SERVER_PLACEHOLDERS.put("{max_players}", (player, language) -> String.valueOf(Utils.getMaxPlayers()));
+		SERVER_PLACEHOLDERS.put("{vanished}", (player, language) -> String.valueOf(VanishManager.getInstance().getVanishedAmount()));
+		SERVER_PLACEHOLDERS.put("{date_full}", (player, language) -> Utils.formatDate(System.currentTimeMillis(), language, DateFormat.FULL));
+		SERVER_PLACEHOLDERS.put("{date_day}", (player, language) -> Utils.formatDate(System.currentTimeMillis(), language, DateFormat.DAY));
+		SERVER_PLACEHOLDERS.put("{date_hour}", (player, language) -> Utils.formatDate(System.currentTimeMillis(), language, DateFormat.HOUR));
+		SERVER_PLACEHOLDERS.put("{enabled_worlds}", (player, language) -> String.valueOf((ServerPlayerManager.getInstance().getEnabledWorlds().contains("*") ? Utils.getWorlds() : ServerPlayerManager.getInstance().getEnabledWorlds()).size()));
+		SERVER_PLACEHOLDERS.put("{enabled_players}", (player, language) -> String.valueOf(ServerPlayerManager.getInstance().getPlayers().size()));
+		SERVER_PLACEHOLDERS.put("{enabled_managers}", (player, language) -> String.valueOf(ChatPluginManagers.getInstance().getEnabledManagers().size()));
+		SERVER_PLACEHOLDERS.put("{startup_time}", (player, language) -> String.valueOf(ChatPlugin.getInstance().getStartupTime()));
+		SERVER_PLACEHOLDERS.put("{last_reload_time}", (player, language) -> String.valueOf(ChatPlugin.getInstance().getLastReloadTime()));
+		SERVER_PLACEHOLDERS.put("{uptime}", (player, language) -> Utils.formatTime(ManagementFactory.getRuntimeMXBean().getUptime(), language, false, true));
+		SERVER_PLACEHOLDERS.put("{plugin_version}", (player, language) -> ChatPlugin.VERSION);
+		SERVER_PLACEHOLDERS.put("{server_version}", (player, language) -> VersionUtils.getVersion().format());
+		SERVER_PLACEHOLDERS.put("{server_version_protocol}", (player, language) -> String.valueOf(VersionUtils.getVersion().getProtocol()));
+		SERVER_PLACEHOLDERS.put("{server_nms_version}", (player, language) -> VersionUtils.getNMSVersion());
+		SERVER_PLACEHOLDERS.put("{server_java_version}", (player, language) -> System.getProperty("java.version"));
+		SERVER_PLACEHOLDERS.put("{server_id}", (player, language) -> ProxyManager.getInstance().getServerID());
+		SERVER_PLACEHOLDERS.put("{server_display_name}", (player, language) -> ProxyManager.getInstance().getServerDisplayName());
+		SERVER_PLACEHOLDERS.put("{main_language_id}", (player, language) -> Language.getMainLanguage().getID());
+		SERVER_PLACEHOLDERS.put("{main_language_display_name}", (player, language) -> Language.getMainLanguage().getDisplayName());
+		SERVER_PLACEHOLDERS.put("{total_storage}", (player, language) -> MemoryUtils.formatMemory(Utils.getTotalStorage(), MemoryUtils.GIGABYTE));
+		SERVER_PLACEHOLDERS.put("{used_storage}", (player, language) -> MemoryUtils.formatMemory(Utils.getTotalStorage() - Utils.getFreeStorage(), MemoryUtils.GIGABYTE));
+		SERVER_PLACEHOLDERS.put("{free_storage}", (player, language) -> MemoryUtils.formatMemory(Utils.getFreeStorage(), MemoryUtils.GIGABYTE));
+		SERVER_PLACEHOLDERS.put("{unallocated_storage}", (player, language) -> MemoryUtils.formatMemory(Utils.getUnallocatedStorage(), MemoryUtils.GIGABYTE));
+		SERVER_PLACEHOLDERS.put("{server_os_name}", (player, language) -> System.getProperty("os.name"));
+		SERVER_PLACEHOLDERS.put("{server_os_arch}", (player, language) -> System.getProperty("os.arch"));
+		SERVER_PLACEHOLDERS.put("{server_os_version}", (player, language) -> System.getProperty("os.version"));
+		SERVER_PLACEHOLDERS.put("{active_threads}", (player, language) -> String.valueOf(Thread.activeCount()));
+		SERVER_PLACEHOLDERS.put("{total_players}", (player, language) -> String.valueOf(ServerPlayerManager.getInstance().getStorageCount()));
+		SERVER_PLACEHOLDERS.put("{total_bans}", (player, language) -> String.valueOf(BanManager.getInstance().getStorageCount()));
+		SERVER_PLACEHOLDERS.put("{total_warnings}", (player, language) -> String.valueOf(WarningManager.getInstance().getStorageCount()));
+		SERVER_PLACEHOLDERS.put("{total_kicks}", (player, language) -> String.valueOf(KickManager.getInstance().getStorageCount()));
+		SERVER_PLACEHOLDERS.put("{total_mutes}", (player, language) -> String.valueOf(MuteManager.getInstance().getStorageCount()));
+		SERVER_PLACEHOLDERS.put("{total_staff_bans}", (player, language) -> String.valueOf(BanManager.getInstance().getStaffStorageCount()));
+		SERVER_PLACEHOLDERS.put("{total_staff_warnings}", (player, language) -> String.valueOf(WarningManager.getInstance().getStaffStorageCount()));
+		SERVER_PLACEHOLDERS.put("{total_staff_kicks}", (player, language) -> String.valueOf(KickManager.getInstance().getStaffStorageCount()));
+		SERVER_PLACEHOLDERS.put("{total_staff_mutes}", (player, language) -> String.valueOf(MuteManager.getInstance().getStaffStorageCount()));
+		SERVER_PLACEHOLDERS.put("{total_anticheat_bans}", (player, language) -> String.valueOf(BanManager.getInstance().getAnticheatStorageCount()));
+		SERVER_PLACEHOLDERS.put("{total_anticheat_warnings}", (player, language) -> String.valueOf(WarningManager.getInstance().getAnticheatStorageCount()));
+		SERVER_PLACEHOLDERS.put("{total_anticheat_kicks}", (player, language) -> String.valueOf(KickManager.getInstance().getAnticheatStorageCount()));
+		SERVER_PLACEHOLDERS.put("{total_anticheat_mutes}", (player, language) -> String.valueOf(MuteManager.getInstance().getAnticheatStorageCount()));
+		SERVER_PLACEHOLDERS.put("{database_ping}", (player, language) -> DatabaseManager.getInstance() == null ? "-1" : String.valueOf(DatabaseManager.getInstance().getPing().get()));
+		SERVER_PLACEHOLDERS.put("{max_memory}", (player, language) -> MemoryUtils.formatMemory(RUNTIME.maxMemory()));
+		SERVER_PLACEHOLDERS.put("{total_memory}", (player, language) -> MemoryUtils.formatMemory(RUNTIME.totalMemory()));
+		SERVER_PLACEHOLDERS.put("{used_memory}", (player, language) -> MemoryUtils.formatMemory(RUNTIME.totalMemory() - RUNTIME.freeMemory()));
+		SERVER_PLACEHOLDERS.put("{free_memory}", (player, language) -> MemoryUtils.formatMemory(RUNTIME.freeMemory()));
+		SERVER_PLACEHOLDERS.put("{cpu_threads}", (player, language) -> String.valueOf(RUNTIME.availableProcessors()));
+		SERVER_PLACEHOLDERS.put("{discord_punishments_channel_id}", (player, language) -> String.valueOf(DiscordIntegrationManager.getInstance().isEnabled() ? DiscordIntegrationManager.getInstance().getPunishmentsChannelID() : -1));
+		SERVER_PLACEHOLDERS.put("{discord_staff_notifications_channel_id}", (player, language) -> String.valueOf(DiscordIntegrationManager.getInstance().isEnabled() ? DiscordIntegrationManager.getInstance().getStaffNotificationsChannelID() : -1));
+		SERVER_PLACEHOLDERS.put("{random_color}", (player, language) -> ChatColor.getRandomColor().toString());
+	}
+	
+	private static void registerIntegrationsPlaceholders() {
+		INTEGRATIONS_PLACEHOLDERS.put("{balance}", (player, language) -> {
 			double balance;
 			
 			if (IntegrationType.VAULT.isEnabled() && (balance = IntegrationType.VAULT.get().getBalance(player)) != Double.MIN_VALUE)
-				input = input.replace("{balance}", IntegrationType.VAULT.get().formatBalance(balance));
-			else if (IntegrationType.ESSENTIALSX.isEnabled() && (balance = IntegrationType.ESSENTIALSX.get().getBalance(player)) != Double.MIN_VALUE)
-				input = input.replace("{balance}", IntegrationType.ESSENTIALSX.get().formatBalance(balance));
-		} if (IntegrationType.PLACEHOLDERAPI.isEnabled())
-			input = IntegrationType.PLACEHOLDERAPI.get().translatePlaceholders(input, player);
-		if (IntegrationType.MVDWPLACEHOLDERAPI.isEnabled())
-			input = IntegrationType.MVDWPLACEHOLDERAPI.get().translatePlaceholders(input, player);
-		return translateColors ? ChatColor.translate(input) : input;
+				return IntegrationType.VAULT.get().formatBalance(balance);
+			if (IntegrationType.ESSENTIALSX.isEnabled() && (balance = IntegrationType.ESSENTIALSX.get().getBalance(player)) != Double.MIN_VALUE)
+				return IntegrationType.ESSENTIALSX.get().formatBalance(balance);
+			return null;
+		});
 	}
 	
 }
@@ -0,0 +1,142 @@
+/*
+ * 	ChatPlugin - A feature-rich and modular chat ecosystem, lightweight and efficient by design.
+ * 	Copyright 2025  Remigio07
+ * 	
+ * 	This program is distributed in the hope that it will be useful,
+ * 	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * 	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * 	GNU Affero General Public License for more details.
+ * 	
+ * 	You should have received a copy of the GNU Affero General Public License
+ * 	along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ * 	
+ * 	<https://remigio07.me/chatplugin>
+ */
+
+package me.remigio07.chatplugin.server.util.manager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import me.remigio07.chatplugin.api.common.util.annotation.Nullable;
+import me.remigio07.chatplugin.api.server.language.Language;
+import me.remigio07.chatplugin.api.server.player.ChatPluginServerPlayer;
+
+/**
+ * Input string parsed once into literal segments and placeholder slots.
+ * 
+ * <p>Rendering a template appends its segments and its slots' values to a reused
+ * {@link StringBuilder} in a single pass, instead of running a <code>contains(...)</code>
+ * and <code>replace(...)</code> chain over the whole input for every placeholder.</p>
+ * 
+ * <p>Placeholders translated by other components on the whole string (ranks, IP lookups,
+ * TPS, etc.) are not slots: {@link #hasPostProcessor(int)} tells which of them are required.</p>
+ * 
+ * <p>Unlike the old chain, slots' values are not scanned again: a value containing "{uuid}"
+ * is rendered as is instead of being translated by a following placeholder. Post processors
+ * run on the rendered output, so they do see the values of the template's slots.</p>
+ */
+public class PlaceholderTemplate {
+	
+	private static final int MAX_BUILDER_CAPACITY = 8192;
+	private static final ThreadLocal<StringBuilder> BUILDERS = ThreadLocal.withInitial(StringBuilder::new);
+	private String[] literals, tokens;
+	private Resolver[] resolvers;
+	private int postProcessors;
+	
+	/**
+	 * Compiles a new template.
+	 * 
+	 * <p>Every "{token}" contained in the input is looked up in the specified
+	 * maps, in order; tokens which are not found are kept as literals.</p>
+	 * 
+	 * @param input Input to compile
+	 * @param placeholders Resolvers mapped by their "{tokens}"
+	 * @param postProcessors Post processors' flags
+	 */
+	public PlaceholderTemplate(String input, List<Map<String, Resolver>> placeholders, int postProcessors) {
+		List<String> literals = new ArrayList<>(), tokens = new ArrayList<>();
+		List<Resolver> resolvers = new ArrayList<>();
+		int literalStart = 0, index = 0;
+		
+		while ((index = input.indexOf('{', index)) != -1) {
+			int end = input.indexOf('}', index);
+			
+			if (end == -1)
+				break;
+			int start = input.lastIndexOf('{', end); // "{{player}" contains "{player}"
+			String token = input.substring(start, end + 1);
+			
+			for (Map<String, Resolver> map : placeholders) {
+				Resolver resolver = map.get(token);
+				
+				if (resolver != null) {
+					literals.add(input.substring(literalStart, start));
+					tokens.add(token);
+					resolvers.add(resolver);
+					
+					literalStart = end + 1;
+					break;
+				}
+			} index = end + 1;
+		} literals.add(input.substring(literalStart));
+		
+		this.literals = literals.toArray(new String[0]);
+		this.tokens = tokens.toArray(new String[0]);
+		this.resolvers = resolvers.toArray(new Resolver[0]);
+		this.postProcessors = postProcessors;
+	}
+	
+	/**
+	 * Renders this template for the specified player.
+	 * 
+	 * <p>Resolvers returning <code>null</code> leave their "{token}" untranslated.</p>
+	 * 
+	 * @param player Target player
+	 * @param language Language used to translate the placeholders
+	 * @return Rendered template
+	 */
+	public String render(@Nullable(why = "Player may not be required by this template's placeholders") ChatPluginServerPlayer player, Language language) {
+		if (resolvers.length == 0)
+			return literals[0];
+		StringBuilder builder = BUILDERS.get();
+		
+		builder.setLength(0);
+		
+		for (int i = 0; i < resolvers.length; i++) {
+			String value = resolvers[i].resolve(player, language);
+			
+			builder.append(literals[i]).append(value == null ? tokens[i] : value);
+		} String output = builder.append(literals[resolvers.length]).toString();
+		
+		if (builder.capacity() > MAX_BUILDER_CAPACITY)
+			BUILDERS.remove();
+		return output;
+	}
+	
+	public boolean hasPostProcessor(int postProcessor) {
+		return (postProcessors & postProcessor) != 0;
+	}
+	
+	/**
+	 * Represents a placeholder's value calculator.
+	 * 
+	 * <p>Resolvers must not render other templates.</p>
+	 */
+	@FunctionalInterface
+	public interface Resolver {
+		
+		/**
+		 * Calculates the placeholder's value.
+		 * 
+		 * @param player Target player
+		 * @param language Language used to translate the placeholder
+		 * @return Placeholder's value or <code>null</code> to leave it untranslated
+		 */
+		@Nullable(why = "Placeholder may not be available at the moment")
+		public String resolve(ChatPluginServerPlayer player, Language language);
+		
+	}
+	
+}
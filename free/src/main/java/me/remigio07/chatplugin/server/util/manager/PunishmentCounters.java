@@ -0,0 +1,152 @@
+/*
+ * 	ChatPlugin - A feature-rich and modular chat ecosystem, lightweight and efficient by design.
+ * 	Copyright 2025  Remigio07
+ * 	
+ * 	This program is distributed in the hope that it will be useful,
+ * 	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * 	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * 	GNU Affero General Public License for more details.
+ * 	
+ * 	You should have received a copy of the GNU Affero General Public License
+ * 	along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ * 	
+ * 	<https://remigio07.me/chatplugin>
+ */
+
+package me.remigio07.chatplugin.server.util.manager;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import me.remigio07.chatplugin.api.common.storage.DataContainer;
+import me.remigio07.chatplugin.api.common.storage.StorageConnector;
+import me.remigio07.chatplugin.api.common.storage.database.DatabaseConnector;
+import me.remigio07.chatplugin.api.common.util.annotation.Nullable;
+import me.remigio07.chatplugin.api.server.integration.anticheat.AnticheatManager;
+
+/**
+ * Punishments' counters used by the storage placeholders.
+ * 
+ * <p>{@link #refresh(StorageConnector)} computes every counter, for the whole server and for each
+ * player, with one grouped scan per punishments' container regardless of how many players are online;
+ * {@link #increment(DataContainer, String, String, String)} keeps them updated between refreshes.</p>
+ * 
+ * <p>Anticheat punishments are the ones issued by "CONSOLE" whose reason satisfies
+ * {@link AnticheatManager#isAnticheatReason(String)}; each distinct reason is classified once per refresh.</p>
+ */
+public class PunishmentCounters {
+	
+	public static final DataContainer[] CONTAINERS = new DataContainer[] { DataContainer.BANS, DataContainer.WARNINGS, DataContainer.KICKS, DataContainer.MUTES };
+	private static final int TOTAL = 0, STAFF = 1, ANTICHEAT = 2;
+	private volatile Snapshot snapshot = new Snapshot();
+	
+	/**
+	 * Recalculates every counter reading the specified storage.
+	 * 
+	 * @param storage Storage to read
+	 * @throws SQLException If something goes wrong and the storage is a database
+	 */
+	public void refresh(StorageConnector storage) throws SQLException {
+		Snapshot snapshot = new Snapshot();
+		Map<String, Boolean> anticheatReasons = new HashMap<>();
+		
+		for (int i = 0; i < CONTAINERS.length; i++) {
+			if (storage instanceof DatabaseConnector) {
+				try (
+						PreparedStatement statement = ((DatabaseConnector) storage).prepareStatement("SELECT player_name, "
+								+ "CASE WHEN staff_member = 'CONSOLE' THEN 1 ELSE 0 END, "
+								+ "CASE WHEN staff_member = 'CONSOLE' THEN reason END, "
+								+ "COUNT(*) FROM " + CONTAINERS[i].getDatabaseTableID() + " GROUP BY 1, 2, 3");
+						ResultSet result = statement.executeQuery();
+						) {
+					while (result.next())
+						snapshot.add(i, result.getString(1), result.getInt(2) == 1, result.getString(3), result.getInt(4), anticheatReasons);
+				}
+			} else {
+				List<String> playerNames = storage.getColumnValues(CONTAINERS[i], "player_name", String.class);
+				List<String> staffMembers = storage.getColumnValues(CONTAINERS[i], "staff_member", String.class);
+				List<String> reasons = storage.getColumnValues(CONTAINERS[i], "reason", String.class);
+				
+				for (int j = 0; j < playerNames.size(); j++)
+					snapshot.add(i, playerNames.get(j), "CONSOLE".equalsIgnoreCase(staffMembers.get(j)), reasons.get(j), 1, anticheatReasons);
+			}
+		} this.snapshot = snapshot;
+	}
+	
+	/**
+	 * Counts a new punishment until the next {@link #refresh(StorageConnector)}.
+	 * 
+	 * @param container Punishment's container
+	 * @param playerName Punished player's name
+	 * @param staffMember Punishment's Staff member
+	 * @param reason Punishment's reason
+	 */
+	public void increment(DataContainer container, @Nullable(why = "IP bans may not specify a player") String playerName, String staffMember, @Nullable(why = "Reason may not have been specified") String reason) {
+		snapshot.add(indexOf(container), playerName, "CONSOLE".equalsIgnoreCase(staffMember), reason, 1, new HashMap<>());
+	}
+	
+	public void clear() {
+		snapshot = new Snapshot();
+	}
+	
+	public int getTotal(DataContainer container) {
+		return snapshot.totals.get(indexOf(container) * 3 + TOTAL);
+	}
+	
+	public int getStaff(DataContainer container) {
+		return snapshot.totals.get(indexOf(container) * 3 + STAFF);
+	}
+	
+	public int getAnticheat(DataContainer container) {
+		return snapshot.totals.get(indexOf(container) * 3 + ANTICHEAT);
+	}
+	
+	/**
+	 * Gets the amount of punishments issued to the specified
+	 * player by Staff members or by the anticheat.
+	 * 
+	 * @param container Punishments' container
+	 * @param playerName Player's name
+	 * @return Player's punishments
+	 */
+	public short getPlayerPunishments(DataContainer container, String playerName) {
+		AtomicIntegerArray counters = snapshot.players.get(playerName.toLowerCase(Locale.ROOT));
+		int index = indexOf(container) * 2;
+		return counters == null ? 0 : (short) (counters.get(index) + counters.get(index + 1));
+	}
+	
+	private static int indexOf(DataContainer container) {
+		for (int i = 0; i < CONTAINERS.length; i++)
+			if (CONTAINERS[i] == container)
+				return i;
+		throw new IllegalArgumentException("Specified container does not contain punishments: " + container.name());
+	}
+	
+	private static class Snapshot {
+		
+		private AtomicIntegerArray totals = new AtomicIntegerArray(CONTAINERS.length * 3);
+		private Map<String, AtomicIntegerArray> players = new ConcurrentHashMap<>();
+		
+		private void add(int container, String playerName, boolean console, String reason, int amount, Map<String, Boolean> anticheatReasons) {
+			int type = !console ? STAFF : reason != null && anticheatReasons.computeIfAbsent(reason, k -> AnticheatManager.getInstance().isEnabled() && AnticheatManager.getInstance().isAnticheatReason(k)) ? ANTICHEAT : -1;
+			
+			totals.addAndGet(container * 3 + TOTAL, amount);
+			
+			if (type == -1)
+				return;
+			totals.addAndGet(container * 3 + type, amount);
+			
+			if (playerName != null)
+				players.computeIfAbsent(playerName.toLowerCase(Locale.ROOT), k -> new AtomicIntegerArray(CONTAINERS.length * 2)).addAndGet(container * 2 + type - 1, amount);
+		}
+		
+	}
+	
+}
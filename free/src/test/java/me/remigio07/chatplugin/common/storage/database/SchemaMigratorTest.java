@@ -0,0 +1,122 @@
+/*
+ * 	ChatPlugin - A feature-rich and modular chat ecosystem, lightweight and efficient by design.
+ * 	Copyright 2025  Remigio07
+ * 	
+ * 	This program is distributed in the hope that it will be useful,
+ * 	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * 	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * 	GNU Affero General Public License for more details.
+ * 	
+ * 	You should have received a copy of the GNU Affero General Public License
+ * 	along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ * 	
+ * 	<https://remigio07.me/chatplugin>
+ */
+
+
+package me.remigio07.chatplugin.common.storage.database;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import me.remigio07.chatplugin.api.common.storage.DataContainer;
+import me.remigio07.chatplugin.api.common.storage.database.DatabaseConnector;
+import me.remigio07.chatplugin.api.common.storage.database.SchemaMigrator;
+
+public class SchemaMigratorTest {
+	
+	private DatabaseConnector connector;
+	
+	@BeforeEach
+	public void setUp() throws Exception {
+		connector = TestDatabases.h2();
+	}
+	
+	@AfterEach
+	public void tearDown() throws Exception {
+		connector.unload();
+	}
+	
+	@Test
+	public void testQueriesUseIndexes() throws Exception {
+		SchemaMigrator.migrate(connector);
+		
+		String players = DataContainer.PLAYERS.getDatabaseTableID();
+		String bans = DataContainer.BANS.getDatabaseTableID();
+		String mutes = DataContainer.MUTES.getDatabaseTableID();
+		String publicMessages = DataContainer.PUBLIC_MESSAGES.getDatabaseTableID();
+		String privateMessages = DataContainer.PRIVATE_MESSAGES.getDatabaseTableID();
+		String ipHistory = SchemaMigrator.getIPHistoryTableID();
+		
+		assertUsesIndex(players + "_player_uuid", "SELECT id FROM " + players + " WHERE player_uuid = ?");
+		assertUsesIndex(players + "_player_name", "SELECT id FROM " + players + " WHERE player_name = ?");
+		assertUsesIndex(players + "_player_ip", "SELECT id FROM " + players + " WHERE player_ip = ?");
+		assertUsesIndex(bans + "_player_uuid_active", "SELECT id FROM " + bans + " WHERE player_uuid = ? AND active = TRUE");
+		assertUsesIndex(bans + "_player_ip_active", "SELECT id FROM " + bans + " WHERE player_ip = ? AND active = TRUE");
+		assertUsesIndex(mutes + "_staff_member", "SELECT COUNT(*) FROM " + mutes + " WHERE staff_member = ?");
+		assertUsesIndex(publicMessages + "_sender_uuid_date", "SELECT content FROM " + publicMessages + " WHERE sender_uuid = ? AND date > ?");
+		assertUsesIndex(privateMessages + "_recipient_uuid_date", "SELECT content FROM " + privateMessages + " WHERE recipient_uuid = ? AND date > ?");
+		assertUsesIndex(ipHistory + "_ip", "SELECT player_id FROM " + ipHistory + " WHERE ip = ?");
+	}
+	
+	@Test
+	public void testMigrationIsIdempotent() throws Exception {
+		SchemaMigrator.migrate(connector);
+		connector.executeUpdate("DELETE FROM " + SchemaMigrator.getVersionTableID()); // as if the version had never been written
+		SchemaMigrator.migrate(connector);
+		assertEquals(SchemaMigrator.getLatestVersion(), SchemaMigrator.getVersion(connector));
+	}
+	
+	@Test
+	public void testInterruptedBackfillIsResumed() throws Exception {
+		String players = DataContainer.PLAYERS.getDatabaseTableID();
+		
+		connector.executeUpdate("INSERT INTO " + players + " (player_uuid, player_name, player_ip, last_logout) VALUES (?, ?, ?, ?)", "00000000-0000-0000-0000-000000000001", "Player", "10.0.0.1", 1000L);
+		connector.executeUpdate("INSERT INTO " + DataContainer.IP_ADDRESSES.getDatabaseTableID() + " (player_id, ip_addresses) VALUES (?, ?)", 1, "[10.0.0.2, 10.0.0.3, 10.0.0.1]");
+		SchemaMigrator.migrate(connector);
+		
+		// simulates a failure after the backfill had already inserted some rows
+		connector.executeUpdate("UPDATE " + SchemaMigrator.getVersionTableID() + " SET `version` = ?", 1);
+		SchemaMigrator.migrate(connector);
+		assertEquals(SchemaMigrator.getLatestVersion(), SchemaMigrator.getVersion(connector));
+		assertEquals(3, connector.get("SELECT COUNT(*) FROM " + SchemaMigrator.getIPHistoryTableID() + " WHERE player_id = ?", 1, Number.class, 1).intValue());
+		assertEquals(1000L, connector.get("SELECT last_seen FROM " + SchemaMigrator.getIPHistoryTableID() + " WHERE ip = ?", 1, Number.class, "10.0.0.1").longValue());
+	}
+	
+	@Test
+	public void testMigrationIsIdempotentOnSQLite(@TempDir Path folder) throws Exception {
+		DatabaseConnector sqlite = TestDatabases.sqlite(folder.resolve("chatplugin-sqlite.db"));
+		
+		try {
+			SchemaMigrator.migrate(sqlite);
+			sqlite.executeUpdate("UPDATE " + SchemaMigrator.getVersionTableID() + " SET `version` = ?", 0);
+			SchemaMigrator.migrate(sqlite);
+			assertEquals(SchemaMigrator.getLatestVersion(), SchemaMigrator.getVersion(sqlite));
+		} finally {
+			sqlite.unload();
+		}
+	}
+	
+	private void assertUsesIndex(String index, String query) throws Exception {
+		try (
+				PreparedStatement statement = connector.prepareStatement("EXPLAIN " + query);
+				ResultSet result = statement.executeQuery();
+				) {
+			assertTrue(result.next());
+			
+			String plan = result.getString(1);
+			
+			assertTrue(plan.toLowerCase().contains(index.toLowerCase() + ":"), "Query \"" + query + "\" does not use index " + index + ": " + plan);
+		}
+	}
+	
+}
@@ -0,0 +1,141 @@
+/*
+ * 	ChatPlugin - A feature-rich and modular chat ecosystem, lightweight and efficient by design.
+ * 	Copyright 2025  Remigio07
+ * 	
+ * 	This program is distributed in the hope that it will be useful,
+ * 	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * 	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * 	GNU Affero General Public License for more details.
+ * 	
+ * 	You should have received a copy of the GNU Affero General Public License
+ * 	along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ * 	
+ * 	<https://remigio07.me/chatplugin>
+ */
+
+package me.remigio07.chatplugin.common.storage.database;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import me.remigio07.chatplugin.api.common.storage.DataContainer;
+import me.remigio07.chatplugin.api.common.storage.StorageMethod;
+import me.remigio07.chatplugin.api.common.storage.database.DatabaseConnector;
+import me.remigio07.chatplugin.api.common.storage.database.SchemaMigrator;
+
+public class StorageMigratorTest {
+	
+	@Test
+	public void testMigratesH2ToSQLite(@TempDir Path folder) throws Exception {
+		DatabaseConnector source = TestDatabases.h2();
+		DatabaseConnector target = TestDatabases.sqlite(folder.resolve("chatplugin-sqlite.db"));
+		
+		try {
+			fill(source);
+			new StorageMigrator(StorageMethod.SQLITE).migrate(source, target);
+			assertSameRows(source, target);
+		} finally {
+			source.unload();
+			target.unload();
+		}
+	}
+	
+	@Test
+	public void testMigratesSQLiteToH2(@TempDir Path folder) throws Exception {
+		DatabaseConnector source = TestDatabases.sqlite(folder.resolve("chatplugin-sqlite.db"));
+		DatabaseConnector target = TestDatabases.h2();
+		
+		try {
+			fill(source);
+			new StorageMigrator(StorageMethod.H2).migrate(source, target);
+			assertSameRows(source, target);
+		} finally {
+			source.unload();
+			target.unload();
+		}
+	}
+	
+	@Test
+	public void testInterruptedMigrationIsResumed(@TempDir Path folder) throws Exception {
+		DatabaseConnector source = TestDatabases.h2();
+		DatabaseConnector target = TestDatabases.sqlite(folder.resolve("chatplugin-sqlite.db"));
+		
+		try {
+			fill(source);
+			new StorageMigrator(StorageMethod.SQLITE).migrate(source, target);
+			
+			// simulates a migration interrupted after some rows had been copied
+			target.executeUpdate("DELETE FROM " + DataContainer.PLAYERS.getDatabaseTableID() + " WHERE id > ?", 1);
+			target.executeUpdate("DELETE FROM " + DataContainer.PUBLIC_MESSAGES.getDatabaseTableID() + " WHERE content = ?", "second");
+			target.executeUpdate("DELETE FROM " + SchemaMigrator.getIPHistoryTableID() + " WHERE player_id > ?", 1);
+			new StorageMigrator(StorageMethod.SQLITE).migrate(source, target);
+			assertSameRows(source, target);
+		} finally {
+			source.unload();
+			target.unload();
+		}
+	}
+	
+	private static void fill(DatabaseConnector connector) throws Exception {
+		for (int i = 1; i <= 3; i++) {
+			connector.executeUpdate(
+					"INSERT INTO " + DataContainer.PLAYERS.getDatabaseTableID() + " (player_uuid, player_name, player_ip, last_logout) VALUES (?, ?, ?, ?)",
+					"00000000-0000-0000-0000-00000000000" + i,
+					"Player" + i,
+					"10.0.0." + i,
+					1000L * i
+					);
+			connector.executeUpdate("INSERT INTO " + DataContainer.IP_ADDRESSES.getDatabaseTableID() + " (player_id, ip_addresses) VALUES (?, ?)", i, "[10.0.1." + i + ", 10.0.0." + i + "]");
+		} for (String content : new String[] { "first", "second", "third", "fourth" }) // same date: no total order on "date"
+			connector.executeUpdate(
+					"INSERT INTO " + DataContainer.PUBLIC_MESSAGES.getDatabaseTableID() + " (sender_uuid, sender_name, rank_id, server, world, content, date) VALUES (?, ?, ?, ?, ?, ?, ?)",
+					"00000000-0000-0000-0000-000000000001",
+					"Player1",
+					"default",
+					"lobby",
+					"world",
+					content,
+					5000L
+					);
+		SchemaMigrator.migrate(connector);
+	}
+	
+	private static void assertSameRows(DatabaseConnector expected, DatabaseConnector actual) throws Exception {
+		String[] queries = {
+				"SELECT id, player_uuid, player_name, player_ip FROM " + DataContainer.PLAYERS.getDatabaseTableID(),
+				"SELECT sender_uuid, world, content, date FROM " + DataContainer.PUBLIC_MESSAGES.getDatabaseTableID(),
+				"SELECT player_id, ip FROM " + SchemaMigrator.getIPHistoryTableID()
+				};
+		
+		for (String query : queries)
+			assertEquals(getRows(expected, query), getRows(actual, query), query);
+	}
+	
+	private static List<String> getRows(DatabaseConnector connector, String query) throws Exception {
+		List<String> rows = new ArrayList<>();
+		
+		try (
+				PreparedStatement statement = connector.prepareStatement(query);
+				ResultSet result = statement.executeQuery();
+				) {
+			while (result.next()) {
+				List<String> values = new ArrayList<>();
+				
+				for (int i = 1; i <= result.getMetaData().getColumnCount(); i++)
+					values.add(result.getString(i));
+				rows.add(String.join(", ", values));
+			}
+		} Collections.sort(rows);
+		return rows;
+	}
+	
+}
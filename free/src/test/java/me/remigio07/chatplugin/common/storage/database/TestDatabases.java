@@ -0,0 +1,194 @@
+/*
+ * 	ChatPlugin - A feature-rich and modular chat ecosystem, lightweight and efficient by design.
+ * 	Copyright 2025  Remigio07
+ * 	
+ * 	This program is distributed in the hope that it will be useful,
+ * 	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * 	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * 	GNU Affero General Public License for more details.
+ * 	
+ * 	You should have received a copy of the GNU Affero General Public License
+ * 	along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ * 	
+ * 	<https://remigio07.me/chatplugin>
+ */
+
+
+package me.remigio07.chatplugin.common.storage.database;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.UUID;
+
+import me.remigio07.chatplugin.api.common.storage.DataContainer;
+import me.remigio07.chatplugin.api.common.storage.configuration.Configuration;
+import me.remigio07.chatplugin.api.common.storage.configuration.ConfigurationManager;
+import me.remigio07.chatplugin.api.common.storage.configuration.ConfigurationType;
+import me.remigio07.chatplugin.api.common.storage.database.DatabaseConnector;
+import me.remigio07.chatplugin.api.common.util.manager.ChatPluginManagerException;
+import me.remigio07.chatplugin.api.common.util.manager.LogManager;
+
+/**
+ * Opens H2 and SQLite databases for tests without going through the libraries' loader
+ * and installs the in-memory configuration and the logger required by the connectors.
+ */
+final class TestDatabases {
+	
+	private TestDatabases() {
+		
+	}
+	
+	static void setUp() throws ChatPluginManagerException {
+		if (ConfigurationManager.getInstance() == null)
+			new TestConfigurationManager().load();
+		if (LogManager.getInstance() == null)
+			new TestLogManager().load();
+	}
+	
+	/**
+	 * Opens a new in-memory H2 database containing every {@link DataContainer}'s table.
+	 * 
+	 * @return H2 connector
+	 * @throws Exception If something goes wrong
+	 */
+	static DatabaseConnector h2() throws Exception {
+		setUp();
+		return open(new TestH2Connector("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;MODE=MySQL"));
+	}
+	
+	/**
+	 * Opens a new SQLite database in the specified file containing every {@link DataContainer}'s table.
+	 * 
+	 * @param file Database's file
+	 * @return SQLite connector
+	 * @throws Exception If something goes wrong
+	 */
+	static DatabaseConnector sqlite(Path file) throws Exception {
+		setUp();
+		return open(new TestSQLiteConnector("jdbc:sqlite:" + file.toAbsolutePath()));
+	}
+	
+	private static DatabaseConnector open(DatabaseConnector connector) throws Exception {
+		connector.load();
+		
+		for (DataContainer container : connector.getMissingDataContainers())
+			connector.createDataContainer(container);
+		return connector;
+	}
+	
+	private static class TestH2Connector extends H2Connector {
+		
+		private String url;
+		
+		private TestH2Connector(String url) {
+			this.url = url;
+		}
+		
+		@Override
+		public void load() throws ChatPluginManagerException {
+			try {
+				connection = createConnection();
+			} catch (Exception e) {
+				throw new ChatPluginManagerException("test H2 connector", e);
+			} loadPool();
+		}
+		
+		@Override
+		protected Connection createConnection() throws Exception {
+			Connection connection = DriverManager.getConnection(url);
+			
+			try (Statement statement = connection.createStatement()) {
+				statement.execute("SET IGNORECASE TRUE");
+			} return connection;
+		}
+		
+	}
+	
+	private static class TestSQLiteConnector extends SQLiteConnector {
+		
+		private String url;
+		
+		private TestSQLiteConnector(String url) {
+			this.url = url;
+		}
+		
+		@Override
+		public void load() throws ChatPluginManagerException {
+			try {
+				connection = createConnection();
+			} catch (Exception e) {
+				throw new ChatPluginManagerException("test SQLite connector", e);
+			} loadPool();
+		}
+		
+		@Override
+		protected Connection createConnection() throws Exception {
+			return DriverManager.getConnection(url);
+		}
+		
+	}
+	
+	private static class TestConfigurationManager extends ConfigurationManager {
+		
+		@Override
+		public void load() {
+			instance = this;
+			Configuration config = new TestConfiguration(ConfigurationType.CONFIG);
+			
+			config.set("storage.database.table-prefix", "chatplugin_");
+			config.set("storage.database.pool.size", 2);
+			config.set("storage.database.pool.statement-cache-size", 32);
+			config.set("storage.database.pool.validation-interval", "30s");
+			config.set("storage.database.pool.borrow-timeout", "10s");
+			config.set("storage.database.player-cache.max-size", 1000);
+			config.set("storage.migration.batch-size", 100);
+			putConfiguration(config);
+			
+			enabled = true;
+		}
+		
+		@Override
+		public Configuration createConfiguration(Path path) {
+			throw new UnsupportedOperationException();
+		}
+		
+	}
+	
+	private static class TestConfiguration extends Configuration {
+		
+		private TestConfiguration(ConfigurationType type) {
+			this.type = type;
+			mappings = createMappings(new LinkedHashMap<>());
+		}
+		
+		@Override
+		public void load() {
+			
+		}
+		
+		@Override
+		public void save() {
+			
+		}
+		
+	}
+	
+	private static class TestLogManager extends LogManager {
+		
+		@Override
+		public void load() {
+			instance = this;
+			enabled = true;
+		}
+		
+		@Override
+		public void logMessage(String message, LogLevel logLevel, Object... args) {
+			
+		}
+		
+	}
+	
+}
@@ -0,0 +1,108 @@
+/*
+ * 	ChatPlugin - A feature-rich and modular chat ecosystem, lightweight and efficient by design.
+ * 	Copyright 2025  Remigio07
+ * 	
+ * 	This program is distributed in the hope that it will be useful,
+ * 	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * 	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * 	GNU Affero General Public License for more details.
+ * 	
+ * 	You should have received a copy of the GNU Affero General Public License
+ * 	along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ * 	
+ * 	<https://remigio07.me/chatplugin>
+ */
+
+package me.remigio07.chatplugin.common.storage.flat_file;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.github.cliftonlabs.json_simple.JsonObject;
+import com.github.cliftonlabs.json_simple.Jsoner;
+
+import me.remigio07.chatplugin.api.common.storage.DataContainer;
+import me.remigio07.chatplugin.api.common.storage.StorageConnector;
+
+/**
+ * Compares the average time taken by {@link JournalConnector} and {@link JSONConnector}
+ * to update a single player's data as the players' data container grows.
+ * 
+ * <p>Run it using <code>gradlew benchmark</code>.</p>
+ */
+@Tag("benchmark")
+public class JournalConnectorBenchmark {
+	
+	private static final int[] PLAYERS = { 1000, 10000, 50000 };
+	private static final int JSON_UPDATES = 20, JOURNAL_UPDATES = 2000;
+	
+	@Test
+	public void benchmarkUpdates(@TempDir Path folder) throws Exception {
+		double[] json = new double[PLAYERS.length], journal = new double[PLAYERS.length];
+		
+		System.out.println(String.format("%10s %12s %16s %16s", "Players", "File (KB)", "JSON (us/op)", "Journal (us/op)"));
+		
+		for (int i = 0; i < PLAYERS.length; i++) {
+			Path subfolder = Files.createDirectories(folder.resolve(String.valueOf(PLAYERS[i])));
+			
+			TestJournals.setUp(subfolder);
+			
+			try {
+				writePlayers(subfolder.resolve(DataContainer.PLAYERS.getName() + ".json"), PLAYERS[i]);
+				
+				long size = Files.size(subfolder.resolve(DataContainer.PLAYERS.getName() + ".json"));
+				json[i] = run(TestJournals.json(), PLAYERS[i], JSON_UPDATES);
+				journal[i] = run(TestJournals.journal(), PLAYERS[i], JOURNAL_UPDATES); // imports the JSON file
+				
+				System.out.println(String.format("%10d %12d %16.1f %16.1f", PLAYERS[i], size / 1024, json[i], journal[i]));
+			} finally {
+				TestJournals.tearDown();
+			}
+		} assertTrue(journal[PLAYERS.length - 1] < json[PLAYERS.length - 1], "Journal updates are slower than JSON ones");
+	}
+	
+	private static double run(StorageConnector connector, int players, int updates) throws Exception {
+		Random random = new Random(players);
+		
+		try {
+			for (int i = 0; i < updates / 10; i++) // warmup
+				connector.setData(DataContainer.PLAYERS, "messages_sent", random.nextInt(players) + 1, i);
+			long ns = System.nanoTime();
+			
+			for (int i = 0; i < updates; i++)
+				connector.setData(DataContainer.PLAYERS, "messages_sent", random.nextInt(players) + 1, i);
+			return (System.nanoTime() - ns) / 1000D / updates;
+		} finally {
+			connector.unload();
+		}
+	}
+	
+	private static void writePlayers(Path file, int players) throws Exception {
+		JsonObject mappings = new JsonObject();
+		
+		for (int id = 1; id <= players; id++) {
+			JsonObject row = new JsonObject();
+			
+			row.put("playerUUID", new UUID(0, id).toString());
+			row.put("playerName", "Player" + id);
+			row.put("playerIP", "10.0." + (id >> 8 & 255) + "." + (id & 255));
+			row.put("timePlayed", 3_600_000L * (id % 100));
+			row.put("messagesSent", id % 1000);
+			mappings.put(String.valueOf(id), row);
+		} mappings.put("currentID", players);
+		
+		try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+			writer.write(Jsoner.prettyPrint(mappings.toJson()) + "\n");
+		}
+	}
+	
+}
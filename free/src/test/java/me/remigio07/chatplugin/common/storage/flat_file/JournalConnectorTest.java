@@ -0,0 +1,182 @@
+/*
+ * 	ChatPlugin - A feature-rich and modular chat ecosystem, lightweight and efficient by design.
+ * 	Copyright 2025  Remigio07
+ * 	
+ * 	This program is distributed in the hope that it will be useful,
+ * 	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * 	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * 	GNU Affero General Public License for more details.
+ * 	
+ * 	You should have received a copy of the GNU Affero General Public License
+ * 	along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ * 	
+ * 	<https://remigio07.me/chatplugin>
+ */
+
+package me.remigio07.chatplugin.common.storage.flat_file;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import me.remigio07.chatplugin.api.common.storage.DataContainer;
+import me.remigio07.chatplugin.api.common.storage.StorageConnector;
+import me.remigio07.chatplugin.api.common.storage.StorageConnector.WhereCondition;
+import me.remigio07.chatplugin.api.common.storage.StorageConnector.WhereCondition.WhereOperator;
+
+public class JournalConnectorTest {
+	
+	private static final String UUID = "00000000-0000-0000-0000-000000000001";
+	@TempDir
+	public Path folder;
+	
+	@BeforeEach
+	public void setUp() {
+		TestJournals.setUp(folder);
+	}
+	
+	@AfterEach
+	public void tearDown() {
+		TestJournals.tearDown();
+	}
+	
+	@Test
+	public void testRoundTrip() throws Exception {
+		JournalConnector journal = TestJournals.journal();
+		
+		journal.setData(DataContainer.PLAYERS, "player_uuid", 1, UUID);
+		journal.setData(DataContainer.PLAYERS, "player_name", 1, "Tab\tNew\nLine\\Slash");
+		journal.setData(DataContainer.PLAYERS, "player_ip", 1, "10.0.0.1");
+		journal.setData(DataContainer.PLAYERS, "messages_sent", 1, 42);
+		journal.setData(DataContainer.PLAYERS, "time_played", 1, 1_234_567_890_123L);
+		journal.setData(DataContainer.PLAYERS, "bans", 1, (short) 3);
+		journal.setData(DataContainer.PLAYERS, "chat_color", 1, null);
+		journal.setData(DataContainer.PLAYERS, "player_name", 2, "Removed");
+		journal.removeEntry(DataContainer.PLAYERS, 2);
+		journal.setData(DataContainer.PLAYERS, "player_name", 1, "Tab\tNew\nLine\\Slash"); // overwrites with the same value
+		journal.unload();
+		
+		journal = TestJournals.journal();
+		
+		try {
+			assertEquals(Arrays.asList(1), journal.getIDs(DataContainer.PLAYERS));
+			assertEquals(3, journal.getNextID(DataContainer.PLAYERS));
+			assertEquals("Tab\tNew\nLine\\Slash", journal.select(DataContainer.PLAYERS, "player_name", String.class, equal("player_uuid", UUID)));
+			assertEquals(Integer.valueOf(42), journal.select(DataContainer.PLAYERS, "messages_sent", Integer.class, equal("player_ip", "10.0.0.1")));
+			assertEquals(Long.valueOf(1_234_567_890_123L), journal.select(DataContainer.PLAYERS, "time_played", Long.class, equal("id", 1)));
+			assertEquals(Short.valueOf((short) 3), journal.select(DataContainer.PLAYERS, "bans", Short.class, equal("id", 1)));
+			assertNull(journal.select(DataContainer.PLAYERS, "chat_color", String.class, equal("id", 1)));
+			assertEquals(0, journal.count(DataContainer.PLAYERS, equal("player_name", "Removed")).intValue());
+		} finally {
+			journal.unload();
+		}
+	}
+	
+	@Test
+	public void testCompaction() throws Exception {
+		JournalConnector journal = TestJournals.journal();
+		Path file = DataContainer.PLAYERS.getFlatFile();
+		
+		journal.setData(DataContainer.PLAYERS, "player_uuid", 1, UUID);
+		
+		for (int i = 0; i < 5000; i++)
+			journal.setData(DataContainer.PLAYERS, "messages_sent", 1, i);
+		assertTrue(Files.readAllLines(file).size() > 5000);
+		journal.unload(); // compacts journals grown past their rows' amount
+		
+		assertEquals(3, Files.readAllLines(file).size()); // version, next ID and the only row
+		
+		journal = TestJournals.journal();
+		
+		try {
+			assertEquals(Integer.valueOf(4999), journal.select(DataContainer.PLAYERS, "messages_sent", Integer.class, equal("player_uuid", UUID)));
+			assertEquals(2, journal.getNextID(DataContainer.PLAYERS));
+		} finally {
+			journal.unload();
+		}
+	}
+	
+	@Test
+	public void testTruncatedRecordIsDiscarded() throws Exception {
+		JournalConnector journal = TestJournals.journal();
+		Path file = DataContainer.PLAYERS.getFlatFile();
+		
+		journal.setData(DataContainer.PLAYERS, "player_uuid", 1, UUID);
+		journal.setData(DataContainer.PLAYERS, "player_name", 1, "Player1");
+		journal.unload();
+		
+		long size = Files.size(file);
+		
+		// simulates a crash while a record was being appended
+		Files.write(file, "P\t2\tplayer_name\tsPlay".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+		
+		journal = TestJournals.journal();
+		
+		try {
+			assertEquals(size, Files.size(file));
+			assertEquals(Arrays.asList(1), journal.getIDs(DataContainer.PLAYERS));
+			assertEquals("Player1", journal.select(DataContainer.PLAYERS, "player_name", String.class, equal("id", 1)));
+			
+			journal.setData(DataContainer.PLAYERS, "player_name", 2, "Player2"); // appended after the discarded record
+		} finally {
+			journal.unload();
+		} journal = TestJournals.journal();
+		
+		try {
+			assertEquals("Player2", journal.select(DataContainer.PLAYERS, "player_name", String.class, equal("id", 2)));
+		} finally {
+			journal.unload();
+		}
+	}
+	
+	@Test
+	public void testImportsJSON() throws Exception {
+		testImport(TestJournals.json());
+	}
+	
+	@Test
+	public void testImportsYAML() throws Exception {
+		testImport(TestJournals.yaml());
+	}
+	
+	private static void testImport(StorageConnector source) throws Exception {
+		source.setData(DataContainer.PLAYERS, "player_uuid", 1, UUID);
+		source.setData(DataContainer.PLAYERS, "player_name", 1, "Player1");
+		source.setData(DataContainer.PLAYERS, "player_ip", 1, "10.0.0.1");
+		source.setData(DataContainer.PLAYERS, "messages_sent", 1, 42);
+		source.setData(DataContainer.PLAYERS, "time_played", 1, 1_234_567_890_123L);
+		source.setData(DataContainer.PLAYERS, "player_name", 3, "Player3");
+		source.setData(DataContainer.IP_ADDRESSES, "ip_addresses", 1, "[10.0.0.1]");
+		source.unload();
+		
+		JournalConnector journal = TestJournals.journal();
+		
+		try {
+			assertEquals(Arrays.asList(1, 3), journal.getIDs(DataContainer.PLAYERS));
+			assertEquals(4, journal.getNextID(DataContainer.PLAYERS));
+			assertEquals("Player1", journal.select(DataContainer.PLAYERS, "player_name", String.class, equal("player_uuid", UUID)));
+			assertEquals(42, journal.select(DataContainer.PLAYERS, "messages_sent", Number.class, equal("player_ip", "10.0.0.1")).intValue());
+			assertEquals(1_234_567_890_123L, journal.select(DataContainer.PLAYERS, "time_played", Number.class, equal("id", 1)).longValue());
+			assertEquals("Player3", journal.select(DataContainer.PLAYERS, "player_name", String.class, equal("id", 3)));
+			assertEquals("[10.0.0.1]", journal.select(DataContainer.IP_ADDRESSES, "ip_addresses", String.class, equal("player_id", 1)));
+		} finally {
+			journal.unload();
+		}
+	}
+	
+	private static WhereCondition equal(String position, Object value) {
+		return new WhereCondition(position, WhereOperator.EQUAL, value);
+	}
+	
+}
@@ -0,0 +1,157 @@
+/*
+ * 	ChatPlugin - A feature-rich and modular chat ecosystem, lightweight and efficient by design.
+ * 	Copyright 2025  Remigio07
+ * 	
+ * 	This program is distributed in the hope that it will be useful,
+ * 	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * 	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * 	GNU Affero General Public License for more details.
+ * 	
+ * 	You should have received a copy of the GNU Affero General Public License
+ * 	along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ * 	
+ * 	<https://remigio07.me/chatplugin>
+ */
+
+package me.remigio07.chatplugin.common.storage.flat_file;
+
+import java.nio.file.Path;
+
+import me.remigio07.chatplugin.api.common.storage.DataContainer;
+import me.remigio07.chatplugin.api.common.storage.StorageConnector;
+import me.remigio07.chatplugin.api.common.storage.StorageManager;
+import me.remigio07.chatplugin.api.common.storage.StorageMethod;
+import me.remigio07.chatplugin.api.common.storage.configuration.ConfigurationManager;
+import me.remigio07.chatplugin.api.common.util.manager.LogManager;
+import me.remigio07.chatplugin.api.common.util.manager.TaskManager;
+import me.remigio07.chatplugin.common.storage.configuration.BaseConfigurationManager;
+
+/**
+ * Installs the storage, task, configuration and log managers required by the flat-file connectors
+ * and opens them on a temporary folder. {@link #tearDown()} restores the previous configuration
+ * manager, which may be used by other tests running in the same JVM.
+ */
+final class TestJournals {
+	
+	private static ConfigurationManager previousConfigurationManager;
+	
+	private TestJournals() {
+		
+	}
+	
+	static void setUp(Path folder) {
+		previousConfigurationManager = ConfigurationManager.getInstance();
+		
+		new TestConfigurationManager().load();
+		new TestStorageManager(folder).load();
+		
+		if (!(TaskManager.getInstance() instanceof TestTaskManager))
+			new TestTaskManager().load();
+		if (LogManager.getInstance() == null)
+			new TestLogManager().load();
+	}
+	
+	static void tearDown() {
+		TestConfigurationManager.restore(previousConfigurationManager);
+		
+		previousConfigurationManager = null;
+	}
+	
+	/**
+	 * Opens a new {@link JournalConnector}, creating or importing its missing data containers.
+	 * 
+	 * @return Journal connector
+	 * @throws Exception If something goes wrong
+	 */
+	static JournalConnector journal() throws Exception {
+		return open(new JournalConnector(), StorageMethod.JOURNAL);
+	}
+	
+	/**
+	 * Opens a new {@link JSONConnector}, creating its missing data containers.
+	 * 
+	 * @return JSON connector
+	 * @throws Exception If something goes wrong
+	 */
+	static JSONConnector json() throws Exception {
+		return open(new JSONConnector(), StorageMethod.JSON);
+	}
+	
+	/**
+	 * Opens a new {@link YAMLConnector}, creating its missing data containers.
+	 * 
+	 * @return YAML connector
+	 * @throws Exception If something goes wrong
+	 */
+	static YAMLConnector yaml() throws Exception {
+		return open(new YAMLConnector(), StorageMethod.YAML);
+	}
+	
+	private static <C extends StorageConnector> C open(C connector, StorageMethod method) throws Exception {
+		((TestStorageManager) StorageManager.getInstance()).setMethod(method);
+		
+		for (DataContainer container : DataContainer.values())
+			if (!container.getFlatFile().toFile().exists())
+				connector.createDataContainer(container);
+		connector.load();
+		return connector;
+	}
+	
+	private static class TestStorageManager extends StorageManager {
+		
+		private TestStorageManager(Path folder) {
+			this.folder = folder;
+		}
+		
+		@Override
+		public void load() {
+			instance = this;
+			enabled = true;
+		}
+		
+		private void setMethod(StorageMethod method) {
+			this.method = method;
+		}
+		
+	}
+	
+	private static class TestTaskManager extends TaskManager {
+		
+		@Override
+		public void load() {
+			instance = this;
+			enabled = true;
+		}
+		
+	}
+	
+	private static class TestConfigurationManager extends BaseConfigurationManager {
+		
+		@Override
+		public void load() {
+			instance = this;
+			enabled = true;
+		}
+		
+		private static void restore(ConfigurationManager previous) {
+			instance = previous;
+		}
+		
+	}
+	
+	private static class TestLogManager extends LogManager {
+		
+		@Override
+		public void load() {
+			instance = this;
+			enabled = true;
+		}
+		
+		@Override
+		public void logMessage(String message, LogLevel logLevel, Object... args) {
+			
+		}
+		
+	}
+	
+}
@@ -0,0 +1,86 @@
+/*
+ * 	ChatPlugin - A feature-rich and modular chat ecosystem, lightweight and efficient by design.
+ * 	Copyright 2025  Remigio07
+ * 	
+ * 	This program is distributed in the hope that it will be useful,
+ * 	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * 	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * 	GNU Affero General Public License for more details.
+ * 	
+ * 	You should have received a copy of the GNU Affero General Public License
+ * 	along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ * 	
+ * 	<https://remigio07.me/chatplugin>
+ */
+
+package me.remigio07.chatplugin.server.chat.antispam;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+public class LeetLetterTest {
+	
+	private static final int ITERATIONS = 100000;
+	
+	@Test
+	public void testFiltersLikeReplacementsChain() {
+		List<String> tokens = getUnambiguousTokens();
+		Random random = new Random(0);
+		
+		assertFalse(tokens.isEmpty());
+		
+		for (int i = 0; i < ITERATIONS; i++) {
+			StringBuilder input = new StringBuilder();
+			
+			for (int j = random.nextInt(16); j > 0; j--)
+				input.append(tokens.get(random.nextInt(tokens.size())));
+			assertEquals(LegacyAntispam.filterLeet(input.toString()), LeetLetter.filter(input.toString()), input::toString);
+		}
+	}
+	
+	@Test
+	public void testPrefersLongestReplacements() {
+		// the chain used to replace C's "(" before U's "(_)" and produce "c_)"
+		assertEquals("u", LeetLetter.filter("(_)"));
+		assertEquals("c_)", LegacyAntispam.filterLeet("(_)"));
+		assertEquals("u", LeetLetter.filter("|_|"));
+		
+		assertEquals("shit", LeetLetter.filter("5h!7"));
+		assertEquals("bow", LeetLetter.filter("|3()\\/\\/"));
+	}
+	
+	/**
+	 * Gets the replacements and the ASCII characters which cannot be part of a longer
+	 * replacement, where the chain and the single pass are expected to agree.
+	 * 
+	 * @return Unambiguous tokens
+	 */
+	private static List<String> getUnambiguousTokens() {
+		Set<String> candidates = new LinkedHashSet<>();
+		StringBuilder longer = new StringBuilder();
+		List<String> tokens = new ArrayList<>();
+		
+		for (char character = ' '; character <= '~'; character++)
+			candidates.add(String.valueOf(character));
+		for (LeetLetter letter : LeetLetter.values())
+			for (String replacement : letter.getReplacements()) {
+				for (String variant : new String[] { replacement, replacement.toUpperCase() })
+					if (variant.codePointCount(0, variant.length()) == 1)
+						candidates.add(variant);
+					else longer.append(variant);
+			}
+		for (String candidate : candidates)
+			if (longer.indexOf(candidate) == -1 && longer.indexOf(candidate.toLowerCase()) == -1 && longer.indexOf(candidate.toUpperCase()) == -1)
+				tokens.add(candidate);
+		return tokens;
+	}
+	
+}
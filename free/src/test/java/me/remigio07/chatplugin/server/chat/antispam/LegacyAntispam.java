@@ -0,0 +1,68 @@
+/*
+ * 	ChatPlugin - A feature-rich and modular chat ecosystem, lightweight and efficient by design.
+ * 	Copyright 2025  Remigio07
+ * 	
+ * 	This program is distributed in the hope that it will be useful,
+ * 	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * 	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * 	GNU Affero General Public License for more details.
+ * 	
+ * 	You should have received a copy of the GNU Affero General Public License
+ * 	along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ * 	
+ * 	<https://remigio07.me/chatplugin>
+ */
+
+package me.remigio07.chatplugin.server.chat.antispam;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The words' blacklist's and the leet filter's implementations replaced by
+ * {@link WordsBlacklistMatcher} and {@link LeetLetter#filter(String)}, used as references.
+ */
+final class LegacyAntispam {
+	
+	private LegacyAntispam() {
+		
+	}
+	
+	static List<Pattern> patterns(List<String> list) {
+		List<Pattern> patterns = new ArrayList<>();
+		
+		for (String word : list) {
+			StringBuilder sb = new StringBuilder("(?i)");
+			char[] array = word.trim().toCharArray();
+			
+			if (word.startsWith(" "))
+				sb.append("(?<![a-z])");
+			for (int i = 0; i < array.length; i++) {
+				sb.append(array[i]);
+				
+				if (i != array.length - 1)
+					sb.append("+(\\W|\\d|_)*");
+			} if (word.endsWith(" "))
+				sb.append("(?![a-z])");
+			patterns.add(Pattern.compile(sb.toString()));
+		} return patterns;
+	}
+	
+	static Matcher getDisallowedWord(List<Pattern> patterns, String message) {
+		for (Pattern pattern : patterns) {
+			Matcher matcher = pattern.matcher(message);
+			
+			if (matcher.find())
+				return matcher;
+		} return null;
+	}
+	
+	static String filterLeet(String message) {
+		for (LeetLetter letter : LeetLetter.values())
+			message = letter.replace(message);
+		return message;
+	}
+	
+}
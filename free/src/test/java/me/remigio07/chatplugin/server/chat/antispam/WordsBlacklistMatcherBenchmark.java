@@ -0,0 +1,104 @@
+/*
+ * 	ChatPlugin - A feature-rich and modular chat ecosystem, lightweight and efficient by design.
+ * 	Copyright 2025  Remigio07
+ * 	
+ * 	This program is distributed in the hope that it will be useful,
+ * 	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * 	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * 	GNU Affero General Public License for more details.
+ * 	
+ * 	You should have received a copy of the GNU Affero General Public License
+ * 	along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ * 	
+ * 	<https://remigio07.me/chatplugin>
+ */
+
+package me.remigio07.chatplugin.server.chat.antispam;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares the throughput of {@link WordsBlacklistMatcher} and {@link LeetLetter#filter(String)}
+ * with the per-word regular expressions and the replacements' chain they replaced.
+ * 
+ * <p>Run it using <code>gradlew benchmark</code>.</p>
+ */
+@Tag("benchmark")
+public class WordsBlacklistMatcherBenchmark {
+	
+	private static final int[] WORDS = { 10, 100, 1000 };
+	private static final int MESSAGES = 1000, WARMUP_ROUNDS = 3, ROUNDS = 10;
+	private static final String ALPHABET = "abcdefghijklmnopqrstuvwxyz";
+	
+	@Test
+	public void benchmarkWordsBlacklist() {
+		Random random = new Random(0);
+		List<String> messages = getMessages(random);
+		
+		System.out.println(String.format("%10s %20s %20s", "Words", "Regex (msgs/ms)", "Matcher (msgs/ms)"));
+		
+		for (int amount : WORDS) {
+			List<String> words = new ArrayList<>();
+			
+			for (int i = 0; i < amount; i++)
+				words.add(getWord(random, 5 + random.nextInt(4)));
+			List<Pattern> patterns = LegacyAntispam.patterns(words);
+			WordsBlacklistMatcher matcher = new WordsBlacklistMatcher(words);
+			
+			System.out.println(String.format(
+					"%10d %20.1f %20.1f",
+					amount,
+					run(messages, message -> LegacyAntispam.getDisallowedWord(patterns, message)),
+					run(messages, matcher::find)
+					));
+		}
+	}
+	
+	@Test
+	public void benchmarkLeetFilter() {
+		List<String> messages = getMessages(new Random(1));
+		
+		System.out.println(String.format("%20s %20s", "Chain (msgs/ms)", "Filter (msgs/ms)"));
+		System.out.println(String.format("%20.1f %20.1f", run(messages, LegacyAntispam::filterLeet), run(messages, LeetLetter::filter)));
+	}
+	
+	private static double run(List<String> messages, Function<String, Object> check) {
+		for (int i = 0; i < WARMUP_ROUNDS; i++)
+			for (String message : messages)
+				check.apply(message);
+		long ns = System.nanoTime();
+		
+		for (int i = 0; i < ROUNDS; i++)
+			for (String message : messages)
+				check.apply(message);
+		return ROUNDS * messages.size() / ((System.nanoTime() - ns) / 1_000_000D);
+	}
+	
+	private static List<String> getMessages(Random random) {
+		List<String> messages = new ArrayList<>();
+		
+		for (int i = 0; i < MESSAGES; i++) {
+			StringBuilder message = new StringBuilder();
+			
+			while (message.length() < 60)
+				message.append(getWord(random, 2 + random.nextInt(6))).append(random.nextInt(8) == 0 ? "! " : " ");
+			messages.add(message.toString().trim());
+		} return messages;
+	}
+	
+	private static String getWord(Random random, int length) {
+		char[] characters = new char[length];
+		
+		for (int i = 0; i < length; i++)
+			characters[i] = ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+		return new String(characters);
+	}
+	
+}
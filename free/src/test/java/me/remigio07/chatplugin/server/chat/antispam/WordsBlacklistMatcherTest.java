@@ -0,0 +1,92 @@
+/*
+ * 	ChatPlugin - A feature-rich and modular chat ecosystem, lightweight and efficient by design.
+ * 	Copyright 2025  Remigio07
+ * 	
+ * 	This program is distributed in the hope that it will be useful,
+ * 	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * 	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * 	GNU Affero General Public License for more details.
+ * 	
+ * 	You should have received a copy of the GNU Affero General Public License
+ * 	along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ * 	
+ * 	<https://remigio07.me/chatplugin>
+ */
+
+package me.remigio07.chatplugin.server.chat.antispam;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.MatchResult;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+public class WordsBlacklistMatcherTest {
+	
+	private static final String ALPHABET = "abcAB .1_-";
+	private static final int ITERATIONS = 100000;
+	
+	@Test
+	public void testMatchesLikeRegularExpressions() {
+		Random random = new Random(0);
+		
+		for (int i = 0; i < ITERATIONS; i++) {
+			List<String> words = new ArrayList<>();
+			
+			for (int j = random.nextInt(3) + 1; j > 0; j--)
+				words.add((random.nextInt(3) == 0 ? " " : "") + randomString(random, "abc", random.nextInt(3) + 1) + (random.nextInt(3) == 0 ? " " : ""));
+			String message = randomString(random, ALPHABET, random.nextInt(12));
+			Matcher expected = LegacyAntispam.getDisallowedWord(LegacyAntispam.patterns(words), message);
+			MatchResult actual = new WordsBlacklistMatcher(words).find(message);
+			
+			assertEquals(expected != null, start(actual) != -1, () -> words + " in \"" + message + "\"");
+		}
+	}
+	
+	@Test
+	public void testMatchesLeftmostWordLikeRegularExpressions() {
+		Random random = new Random(1);
+		
+		for (int i = 0; i < ITERATIONS; i++) {
+			List<String> words = Arrays.asList((random.nextInt(3) == 0 ? " " : "") + randomString(random, "abc", random.nextInt(3) + 1) + (random.nextInt(3) == 0 ? " " : ""));
+			String message = randomString(random, ALPHABET, random.nextInt(12));
+			Matcher expected = LegacyAntispam.getDisallowedWord(LegacyAntispam.patterns(words), message);
+			MatchResult actual = new WordsBlacklistMatcher(words).find(message);
+			
+			assertEquals(expected == null ? -1 : expected.start(), start(actual), () -> words + " in \"" + message + "\"");
+		}
+	}
+	
+	@Test
+	public void testFindsObfuscatedWords() {
+		WordsBlacklistMatcher matcher = new WordsBlacklistMatcher(Arrays.asList("shit", " ass "));
+		
+		assertEquals("sHh.ii-1t", matcher.find("oh sHh.ii-1t!").group());
+		assertEquals("ass", matcher.find("you ass.").group());
+		assertEquals(-1, start(matcher.find("you pass")));
+		assertEquals(-1, start(matcher.find("assets")));
+	}
+	
+	private static int start(MatchResult result) {
+		try {
+			return result.start();
+		} catch (IllegalStateException ise) {
+			return -1;
+		}
+	}
+	
+	private static String randomString(Random random, String alphabet, int length) {
+		char[] characters = new char[length];
+		
+		for (int i = 0; i < length; i++)
+			characters[i] = alphabet.charAt(random.nextInt(alphabet.length()));
+		return new String(characters);
+	}
+	
+}
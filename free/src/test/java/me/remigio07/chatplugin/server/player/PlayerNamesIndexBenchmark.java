@@ -0,0 +1,137 @@
+/*
+ * 	ChatPlugin - A feature-rich and modular chat ecosystem, lightweight and efficient by design.
+ * 	Copyright 2025  Remigio07
+ * 	
+ * 	This program is distributed in the hope that it will be useful,
+ * 	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * 	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * 	GNU Affero General Public License for more details.
+ * 	
+ * 	You should have received a copy of the GNU Affero General Public License
+ * 	along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ * 	
+ * 	<https://remigio07.me/chatplugin>
+ */
+
+
+package me.remigio07.chatplugin.server.player;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares the throughput of {@link PlayerNamesIndex#findAll(String, boolean)}
+ * with the per-player regular expressions compiled for every message it replaced.
+ * 
+ * <p>Run it using <code>gradlew benchmark</code>.</p>
+ */
+@Tag("benchmark")
+public class PlayerNamesIndexBenchmark {
+	
+	private static final int[] PLAYERS = { 10, 100, 1000 };
+	private static final int MESSAGES = 200, WARMUP_ROUNDS = 3, ROUNDS = 5;
+	private static final String ALPHABET = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789_";
+	
+	@Test
+	public void benchmarkPingedPlayers() {
+		Random random = new Random(0);
+		
+		System.out.println(String.format("%10s %20s %20s", "Players", "Regex (msgs/ms)", "Index (msgs/ms)"));
+		
+		for (int amount : PLAYERS) {
+			List<String> names = new ArrayList<>();
+			PlayerNamesIndex index = new PlayerNamesIndex();
+			
+			for (int i = 0; i < amount; i++) {
+				String name = getWord(random, 3 + random.nextInt(14));
+				
+				names.add(name);
+				index.add(name, null);
+			} List<String> messages = getMessages(random, names);
+			Function<String, Set<String>> regex = message -> {
+				Set<String> pinged = new TreeSet<>();
+				
+				for (String name : names)
+					if (pattern(name).matcher(message).find())
+						pinged.add(name);
+				return pinged;
+			}, trie = message -> {
+				Set<String> pinged = new TreeSet<>();
+				
+				for (PlayerNamesIndex.Match match : index.findAll(message, false))
+					pinged.add(match.getName());
+				return pinged;
+			};
+			
+			for (String message : messages)
+				assertEquals(regex.apply(message), trie.apply(message), message);
+			System.out.println(String.format(
+					"%10d %20.1f %20.1f",
+					amount,
+					run(messages, regex),
+					run(messages, trie)
+					));
+		}
+	}
+	
+	private static double run(List<String> messages, Function<String, ?> check) {
+		for (int i = 0; i < WARMUP_ROUNDS; i++)
+			for (String message : messages)
+				check.apply(message);
+		long ns = System.nanoTime();
+		
+		for (int i = 0; i < ROUNDS; i++)
+			for (String message : messages)
+				check.apply(message);
+		return ROUNDS * messages.size() / ((System.nanoTime() - ns) / 1_000_000D);
+	}
+	
+	private static Pattern pattern(String name) { // PlayerPingManagerImpl's old pattern, without the at sign
+		StringBuilder sb = new StringBuilder("(?i)(?<=^|\\W)");
+		
+		for (char c : name.toCharArray())
+			sb.append("(§[0-9A-FK-ORX])*(?-i:").append(c).append(')');
+		return Pattern.compile(sb.append("(§[0-9A-FK-ORX])*(?=$|\\W)").toString());
+	}
+	
+	private static List<String> getMessages(Random random, List<String> names) {
+		List<String> messages = new ArrayList<>();
+		
+		for (int i = 0; i < MESSAGES; i++) {
+			StringBuilder message = new StringBuilder();
+			
+			while (message.length() < 60) {
+				switch (random.nextInt(16)) {
+				case 0:
+					message.append('@').append(names.get(random.nextInt(names.size())));
+					break;
+				case 1:
+					message.append("§a").append(names.get(random.nextInt(names.size())));
+					break;
+				default:
+					message.append(getWord(random, 2 + random.nextInt(6)).toLowerCase());
+					break;
+				} message.append(random.nextInt(8) == 0 ? "! " : " ");
+			} messages.add(message.toString().trim());
+		} return messages;
+	}
+	
+	private static String getWord(Random random, int length) {
+		char[] characters = new char[length];
+		
+		for (int i = 0; i < length; i++)
+			characters[i] = ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+		return new String(characters);
+	}
+	
+}
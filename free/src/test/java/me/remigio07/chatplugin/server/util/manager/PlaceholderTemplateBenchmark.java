@@ -0,0 +1,91 @@
+/*
+ * 	ChatPlugin - A feature-rich and modular chat ecosystem, lightweight and efficient by design.
+ * 	Copyright 2025  Remigio07
+ * 	
+ * 	This program is distributed in the hope that it will be useful,
+ * 	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * 	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * 	GNU Affero General Public License for more details.
+ * 	
+ * 	You should have received a copy of the GNU Affero General Public License
+ * 	along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ * 	
+ * 	<https://remigio07.me/chatplugin>
+ */
+
+
+package me.remigio07.chatplugin.server.util.manager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import me.remigio07.chatplugin.server.util.manager.PlaceholderTemplate.Resolver;
+
+/**
+ * Compares the throughput of {@link PlaceholderTemplate}s, looked up by input like
+ * {@link PlaceholderManagerImpl} does, with the <code>contains(...)</code> and
+ * <code>replace(...)</code> chain over every placeholder they replaced.
+ * 
+ * <p>Run it using <code>gradlew benchmark</code>.</p>
+ */
+@Tag("benchmark")
+public class PlaceholderTemplateBenchmark {
+	
+	private static final int PLACEHOLDERS = 60, RENDERS = 100000, WARMUP_ROUNDS = 3, ROUNDS = 10;
+	private static final String[] INPUTS = {
+			"&7Online: &f{placeholder_5}",
+			"{placeholder_0}{placeholder_1} &8» &f",
+			"&e{placeholder_0} &7- {placeholder_10}/{placeholder_11} &7(#{placeholder_20}) &a{placeholder_30} &b{placeholder_40} &c{placeholder_50} &d{placeholder_59}"
+	};
+	
+	@Test
+	public void benchmarkPlaceholders() {
+		Map<String, Resolver> placeholders = new LinkedHashMap<>();
+		Map<String, PlaceholderTemplate> templates = new ConcurrentHashMap<>();
+		
+		for (int i = 0; i < PLACEHOLDERS; i++) {
+			String value = "value-" + i;
+			
+			placeholders.put("{placeholder_" + i + "}", (player, language) -> value);
+		} Function<String, String> chain = input -> {
+			for (Entry<String, Resolver> placeholder : placeholders.entrySet())
+				if (input.contains(placeholder.getKey()))
+					input = input.replace(placeholder.getKey(), placeholder.getValue().resolve(null, null));
+			return input;
+		}, template = input -> templates.computeIfAbsent(input, key -> new PlaceholderTemplate(key, Collections.singletonList(placeholders), 0)).render(null, null);
+		
+		System.out.println(String.format("%10s %20s %20s", "Slots", "Chain (ops/ms)", "Template (ops/ms)"));
+		
+		for (String input : INPUTS) {
+			assertEquals(chain.apply(input), template.apply(input));
+			System.out.println(String.format(
+					"%10d %20.1f %20.1f",
+					input.split("\\{", -1).length - 1,
+					run(input, chain),
+					run(input, template)
+					));
+		}
+	}
+	
+	private static double run(String input, Function<String, String> translator) {
+		for (int i = 0; i < WARMUP_ROUNDS; i++)
+			for (int j = 0; j < RENDERS; j++)
+				translator.apply(input);
+		long ns = System.nanoTime();
+		
+		for (int i = 0; i < ROUNDS; i++)
+			for (int j = 0; j < RENDERS; j++)
+				translator.apply(input);
+		return ROUNDS * RENDERS / ((System.nanoTime() - ns) / 1_000_000D);
+	}
+	
+}
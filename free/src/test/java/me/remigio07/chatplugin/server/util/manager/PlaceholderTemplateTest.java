@@ -0,0 +1,85 @@
+/*
+ * 	ChatPlugin - A feature-rich and modular chat ecosystem, lightweight and efficient by design.
+ * 	Copyright 2025  Remigio07
+ * 	
+ * 	This program is distributed in the hope that it will be useful,
+ * 	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * 	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * 	GNU Affero General Public License for more details.
+ * 	
+ * 	You should have received a copy of the GNU Affero General Public License
+ * 	along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ * 	
+ * 	<https://remigio07.me/chatplugin>
+ */
+
+
+package me.remigio07.chatplugin.server.util.manager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import me.remigio07.chatplugin.server.util.manager.PlaceholderTemplate.Resolver;
+
+public class PlaceholderTemplateTest {
+	
+	@Test
+	public void testSlotsAreRenderedInOrder() {
+		List<String> calls = new ArrayList<>();
+		Map<String, Resolver> placeholders = new HashMap<>();
+		
+		placeholders.put("{a}", (player, language) -> {
+			calls.add("a");
+			return "1";
+		});
+		placeholders.put("{b}", (player, language) -> {
+			calls.add("b");
+			return "2";
+		});
+		assertEquals("<1|2|1>", render("<{a}|{b}|{a}>", placeholders));
+		assertEquals(Arrays.asList("a", "b", "a"), calls);
+	}
+	
+	@Test
+	public void testValuesAreNotRescanned() {
+		Map<String, Resolver> placeholders = new HashMap<>();
+		
+		placeholders.put("{a}", (player, language) -> "{b}");
+		placeholders.put("{b}", (player, language) -> "{a}");
+		assertEquals("{b} {a}", render("{a} {b}", placeholders)); // a replace(...) chain would have returned "{a} {a}"
+	}
+	
+	@Test
+	public void testEarlierMapsWin() {
+		Map<String, Resolver> first = Collections.singletonMap("{player}", (player, language) -> "first");
+		Map<String, Resolver> second = new HashMap<>();
+		
+		second.put("{player}", (player, language) -> "second");
+		second.put("{uuid}", (player, language) -> "uuid");
+		assertEquals("first uuid", new PlaceholderTemplate("{player} {uuid}", Arrays.asList(first, second), 0).render(null, null));
+	}
+	
+	@Test
+	public void testUnknownTokensAndNullValuesAreKept() {
+		Map<String, Resolver> placeholders = new HashMap<>();
+		
+		placeholders.put("{a}", (player, language) -> null);
+		placeholders.put("{b}", (player, language) -> "b");
+		assertEquals("{x} {a} b {b", render("{x} {a} {b} {b", placeholders));
+		assertEquals("{b", render("{{b}", placeholders));
+		assertEquals("no placeholders", render("no placeholders", placeholders));
+	}
+	
+	private static String render(String input, Map<String, Resolver> placeholders) {
+		return new PlaceholderTemplate(input, Collections.singletonList(placeholders), 0).render(null, null);
+	}
+	
+}